@@ -0,0 +1,82 @@
+#!/usr/bin/env bash
+#
+# Startup benchmark - time from process launch to the first successful
+# GET /api/hello/health, for each startup mode that has been built.
+#
+# Usage:
+#   mvn -Pappcds package -DskipTests        # fat jar, thin jar and CDS archive
+#   scripts/startup-benchmark.sh [runs]
+#
+# Results are printed and written to target/startup-benchmark.csv.
+
+set -u
+
+RUNS="${1:-5}"
+PORT="${PORT:-18080}"
+TARGET="$(cd "$(dirname "$0")/.." && pwd)/target"
+NAME="maven-springboot-multiversion"
+URL="http://localhost:${PORT}/api/hello/health"
+CSV="${TARGET}/startup-benchmark.csv"
+
+now_ms() {
+    date +%s%3N
+}
+
+# Launch a command, poll the health endpoint, print elapsed milliseconds
+measure() {
+    local start pid elapsed
+    start=$(now_ms)
+    "$@" --server.port="${PORT}" > /dev/null 2>&1 &
+    pid=$!
+    until curl -sf -o /dev/null "${URL}"; do
+        if ! kill -0 "${pid}" 2> /dev/null; then
+            echo "-1"
+            return
+        fi
+        sleep 0.01
+    done
+    elapsed=$(( $(now_ms) - start ))
+    kill "${pid}" 2> /dev/null
+    wait "${pid}" 2> /dev/null
+    echo "${elapsed}"
+}
+
+run_mode() {
+    local mode=$1
+    shift
+    local total=0 ok=0 result i
+    for ((i = 1; i <= RUNS; i++)); do
+        result=$(measure "$@")
+        echo "${mode},${i},${result}" >> "${CSV}"
+        # -1 marks a process that exited before becoming healthy
+        if [ "${result}" -lt 0 ]; then
+            echo "${mode}: run ${i} failed to start" >&2
+            continue
+        fi
+        total=$((total + result))
+        ok=$((ok + 1))
+    done
+    if [ "${ok}" -eq 0 ]; then
+        printf '%-10s all %d runs failed\n' "${mode}" "${RUNS}"
+        return
+    fi
+    printf '%-10s avg %6d ms over %d runs' "${mode}" $((total / ok)) "${ok}"
+    if [ "${ok}" -lt "${RUNS}" ]; then
+        printf ' (%d failed)' $((RUNS - ok))
+    fi
+    printf '\n'
+}
+
+echo "mode,run,millis" > "${CSV}"
+
+if [ -f "${TARGET}/${NAME}.jar" ]; then
+    run_mode default java -jar "${TARGET}/${NAME}.jar"
+    run_mode lazy java -jar "${TARGET}/${NAME}.jar" --spring.profiles.active=fast-startup
+fi
+
+if [ -f "${TARGET}/${NAME}-cds.jar" ] && [ -f "${TARGET}/app-cds.jsa" ]; then
+    run_mode appcds java -XX:SharedArchiveFile="${TARGET}/app-cds.jsa" -Xlog:cds=off \
+        -jar "${TARGET}/${NAME}-cds.jar" --spring.profiles.active=fast-startup
+fi
+
+echo "Results written to ${CSV}"
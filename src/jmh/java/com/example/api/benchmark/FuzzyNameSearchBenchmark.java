@@ -0,0 +1,124 @@
+package com.example.api.benchmark;
+
+import com.example.api.search.FuzzyNameIndex;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Fuzzy Name Search Benchmark
+ *
+ * Compares FuzzyNameIndex against computing the edit distance to every
+ * user's names, for a million users drawn from 5,000 first names and
+ * 150,000 last names. Each query is a user's last name with one letter
+ * changed, so it sits among many near neighbours.
+ *
+ * Run: mvn -Pbenchmark test-compile exec:exec -Djmh.args="FuzzyNameSearchBenchmark"
+ *
+ * @author Your Name
+ * @version 1.0.0
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class FuzzyNameSearchBenchmark {
+
+    private static final String[] SYLLABLES = {
+        "an", "ber", "cha", "da", "el", "for", "ga", "hal", "in", "jo",
+        "ka", "lin", "mar", "no", "ol", "per", "qui", "ro", "son", "ta"
+    };
+
+    @Param({"1000000"})
+    private int users;
+
+    @Param({"1", "2"})
+    private int maxEdits;
+
+    private FuzzyNameIndex index;
+    private String[] firstNames;
+    private String[] lastNames;
+    private String[] queries;
+    private int next;
+
+    @Setup
+    public void setUp() {
+        Random random = new Random(42);
+        String[] firstNamePool = names(random, 5_000);
+        String[] lastNamePool = names(random, 150_000);
+        index = new FuzzyNameIndex();
+        firstNames = new String[users];
+        lastNames = new String[users];
+        for (int id = 0; id < users; id++) {
+            firstNames[id] = firstNamePool[random.nextInt(firstNamePool.length)];
+            lastNames[id] = lastNamePool[random.nextInt(lastNamePool.length)];
+            index.add(id, firstNames[id], lastNames[id]);
+        }
+        queries = new String[64];
+        for (int i = 0; i < queries.length; i++) {
+            char[] query = lastNames[random.nextInt(users)].toCharArray();
+            query[random.nextInt(query.length)] = (char) ('a' + random.nextInt(26));
+            queries[i] = new String(query);
+        }
+    }
+
+    @Benchmark
+    public long[] index() {
+        return index.search(nextQuery(), maxEdits, 100);
+    }
+
+    @Benchmark
+    public int scan() {
+        String query = nextQuery();
+        int found = 0;
+        for (int id = 0; id < users && found < 100; id++) {
+            if (distance(query, firstNames[id]) <= maxEdits || distance(query, lastNames[id]) <= maxEdits) {
+                found++;
+            }
+        }
+        return found;
+    }
+
+    private String nextQuery() {
+        return queries[next++ & (queries.length - 1)];
+    }
+
+    private static String[] names(Random random, int count) {
+        String[] names = new String[count];
+        for (int i = 0; i < count; i++) {
+            StringBuilder name = new StringBuilder();
+            int syllables = 2 + random.nextInt(3);
+            for (int s = 0; s < syllables; s++) {
+                name.append(SYLLABLES[random.nextInt(SYLLABLES.length)]);
+            }
+            names[i] = name.toString();
+        }
+        return names;
+    }
+
+    private static int distance(String a, String b) {
+        int[] previous = new int[a.length() + 1];
+        int[] current = new int[a.length() + 1];
+        for (int i = 0; i <= a.length(); i++) {
+            previous[i] = i;
+        }
+        for (int j = 1; j <= b.length(); j++) {
+            current[0] = j;
+            for (int i = 1; i <= a.length(); i++) {
+                int substitution = previous[i - 1] + (a.charAt(i - 1) == b.charAt(j - 1) ? 0 : 1);
+                current[i] = Math.min(substitution, Math.min(previous[i], current[i - 1]) + 1);
+            }
+            int[] swap = previous;
+            previous = current;
+            current = swap;
+        }
+        return previous[a.length()];
+    }
+}
@@ -0,0 +1,66 @@
+package com.example.api.benchmark;
+
+import com.example.api.repository.LongCounter;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Long Counter Benchmark
+ *
+ * Compares LongCounter, as loaded on the running JDK, against the
+ * AtomicLong it replaced for ID allocation and statistics. The setup
+ * prints which LongCounter implementation was loaded.
+ *
+ * Run against the multi-release jar on another JDK:
+ * mvn -Pmultirelease,benchmark package exec:exec -DskipTests \
+ *     -Djmh.args="LongCounterBenchmark -jvm /path/to/jdk8/bin/java"
+ *
+ * Add -t 4 to measure contended updates.
+ *
+ * @author Your Name
+ * @version 1.0.0
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class LongCounterBenchmark {
+
+    private LongCounter counter;
+    private AtomicLong atomic;
+
+    @Setup
+    public void setUp() {
+        counter = new LongCounter();
+        atomic = new AtomicLong();
+        System.out.println("LongCounter implementation: " + LongCounter.implementation()
+                + " on Java " + System.getProperty("java.version"));
+    }
+
+    @Benchmark
+    public long counterIncrement() {
+        return counter.getAndIncrement();
+    }
+
+    @Benchmark
+    public long atomicLongIncrement() {
+        return atomic.getAndIncrement();
+    }
+
+    @Benchmark
+    public long counterAdvance() {
+        return counter.advanceTo(counter.get() + 1);
+    }
+
+    @Benchmark
+    public long atomicLongAdvance() {
+        return atomic.accumulateAndGet(atomic.get() + 1, Math::max);
+    }
+}
@@ -0,0 +1,70 @@
+package com.example.api.benchmark;
+
+import com.example.api.model.User;
+import com.example.api.repository.CompactUserRepository;
+import com.example.api.repository.InMemoryUserRepository;
+import com.example.api.repository.UserRepository;
+import org.openjdk.jol.info.GraphStats;
+
+import java.util.Random;
+
+/**
+ * User Footprint Report
+ *
+ * Loads the same synthetic users into InMemoryUserRepository (one User
+ * object per user) and CompactUserRepository, then prints the retained
+ * heap of each store as measured by JOL. Names and domains are drawn
+ * from fixed pools so that, as in real data, most last names and
+ * domains repeat.
+ *
+ * Run: mvn -Pbenchmark test-compile exec:exec
+ *          -Dbenchmark.main=com.example.api.benchmark.UserFootprintReport -Djmh.args=1000000
+ *
+ * @author Your Name
+ * @version 1.0.0
+ */
+public final class UserFootprintReport {
+
+    private static final int DEFAULT_USERS = 1_000_000;
+    private static final int LAST_NAMES = 5_000;
+    private static final int FIRST_NAMES = 1_000;
+    private static final int DOMAINS = 200;
+
+    private UserFootprintReport() {
+    }
+
+    public static void main(String[] args) {
+        int users = args.length > 0 && args[0].matches("\\d+") ? Integer.parseInt(args[0]) : DEFAULT_USERS;
+
+        long objects = measure(new InMemoryUserRepository(), users);
+        long compact = measure(new CompactUserRepository(), users);
+
+        System.out.printf("%-26s %15s %12s%n", "Store (" + String.format("%,d", users) + " users)",
+                "Retained bytes", "Bytes/user");
+        print("InMemoryUserRepository", objects, users);
+        print("CompactUserRepository", compact, users);
+        System.out.printf("Compact store uses %.1f%% of the object store%n", 100.0 * compact / objects);
+    }
+
+    private static long measure(UserRepository repository, int users) {
+        Random random = new Random(42);
+        for (int i = 0; i < users; i++) {
+            repository.insert(new User(null,
+                    "user" + i,
+                    "user" + i + "@domain" + random.nextInt(DOMAINS) + ".com",
+                    "First" + random.nextInt(FIRST_NAMES),
+                    "Last" + skewed(random, LAST_NAMES)));
+        }
+        return GraphStats.parseInstance(repository).totalSize();
+    }
+
+    // Roughly Zipf-like: small indexes are much more common
+    private static int skewed(Random random, int bound) {
+        double u = random.nextDouble();
+        return (int) (bound * u * u * u);
+    }
+
+    private static void print(String name, long bytes, int users) {
+        System.out.printf("%-26s %,15d %12.1f%n", name, bytes, (double) bytes / users);
+    }
+}
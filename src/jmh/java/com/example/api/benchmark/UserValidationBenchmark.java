@@ -0,0 +1,77 @@
+package com.example.api.benchmark;
+
+import com.example.api.model.User;
+import com.example.api.validation.UserValidator;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.springframework.validation.BeanPropertyBindingResult;
+import org.springframework.validation.Errors;
+import org.springframework.validation.Validator;
+import org.springframework.validation.beanvalidation.SpringValidatorAdapter;
+
+import javax.validation.Validation;
+import javax.validation.ValidatorFactory;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * User Validation Benchmark
+ * 
+ * Compares Hibernate Validator (as Spring MVC runs it for @Valid)
+ * against the compiled UserValidator, for valid and invalid users.
+ * 
+ * Run: mvn -Pbenchmark test-compile exec:exec -Djmh.args="UserValidationBenchmark"
+ * 
+ * @author Your Name
+ * @version 1.0.0
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class UserValidationBenchmark {
+
+    @Param({"valid", "invalid"})
+    private String payload;
+
+    private ValidatorFactory factory;
+    private Validator reflective;
+    private Validator compiled;
+    private User user;
+
+    @Setup
+    public void setUp() {
+        factory = Validation.buildDefaultValidatorFactory();
+        reflective = new SpringValidatorAdapter(factory.getValidator());
+        compiled = new UserValidator();
+        user = "valid".equals(payload)
+                ? new User(null, "johndoe", "john.doe@example.com", "John", "Doe")
+                : new User(null, "jd", "not-an-email", "J", "Doe");
+    }
+
+    @TearDown
+    public void tearDown() {
+        factory.close();
+    }
+
+    @Benchmark
+    public Errors reflective() {
+        return validate(reflective);
+    }
+
+    @Benchmark
+    public Errors compiled() {
+        return validate(compiled);
+    }
+
+    private Errors validate(Validator validator) {
+        Errors errors = new BeanPropertyBindingResult(user, "user");
+        validator.validate(user, errors);
+        return errors;
+    }
+}
@@ -0,0 +1,280 @@
+package com.example.api.loadtest;
+
+import com.example.api.Application;
+import com.example.api.model.User;
+import com.example.api.service.UserService;
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.io.File;
+import java.io.FileNotFoundException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.PrintStream;
+import java.net.HttpURLConnection;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Load Test - Open-model load generator for the REST API
+ *
+ * Boots Application on a random port, creates sample users, then starts
+ * requests at a fixed rate from the configured operation mix. Arrivals
+ * do not wait for earlier responses, and each latency is measured from
+ * the moment the request was scheduled to start, not from when a client
+ * thread got to send it, so queueing behind a slow server is counted
+ * (no coordinated omission). Requests still queued when the run gives
+ * up waiting are counted as errors at the latency they had reached.
+ *
+ * Prints p50/p99/p99.9 per operation, writes HdrHistogram percentile
+ * files to target/loadtest, and exits with status 1 when a latency
+ * budget or the error budget is exceeded.
+ *
+ * Run: mvn -Ploadtest test-compile exec:exec -Dloadtest.args="rate=500 duration=60s"
+ *
+ * @author Your Name
+ * @version 1.0.0
+ */
+public final class LoadTest {
+
+    private static final int TIMEOUT_MILLIS = 10_000;
+    private static final File OUTPUT_DIR = new File("target/loadtest");
+
+    private final LoadTestConfig config;
+    private final String baseUrl;
+    private final long maxId;
+    private final Map<Operation, Histogram> latencies = new EnumMap<>(Operation.class);
+    private final Map<Operation, LongAdder> errors = new EnumMap<>(Operation.class);
+    private final Operation[] schedule;
+
+    private LoadTest(LoadTestConfig config, String baseUrl, long maxId) {
+        this.config = config;
+        this.baseUrl = baseUrl;
+        this.maxId = maxId;
+        int totalWeight = 0;
+        for (Operation operation : Operation.values()) {
+            // Microseconds, auto-resizing, 3 significant digits
+            latencies.put(operation, new ConcurrentHistogram(3));
+            errors.put(operation, new LongAdder());
+            totalWeight += config.mix.get(operation);
+        }
+        if (totalWeight <= 0) {
+            throw new IllegalArgumentException("Operation mix has no weight");
+        }
+        schedule = new Operation[totalWeight];
+        int slot = 0;
+        for (Operation operation : Operation.values()) {
+            for (int i = 0; i < config.mix.get(operation); i++) {
+                schedule[slot++] = operation;
+            }
+        }
+    }
+
+    public static void main(String[] args) throws Exception {
+        LoadTestConfig config = LoadTestConfig.parse(args);
+        // HttpURLConnection keeps only 5 idle connections per host by default
+        System.setProperty("http.maxConnections", String.valueOf(config.threads));
+        // A devtools restart would run the application in a second class loader
+        System.setProperty("spring.devtools.restart.enabled", "false");
+
+        boolean passed;
+        ConfigurableApplicationContext context = new SpringApplicationBuilder(Application.class)
+                .run(config.applicationArgs);
+        try {
+            int port = ((WebServerApplicationContext) context).getWebServer().getPort();
+            String baseUrl = "http://localhost:" + port
+                    + context.getEnvironment().getProperty("server.servlet.context-path", "");
+            long maxId = createUsers(context.getBean(UserService.class), config.users);
+            passed = new LoadTest(config, baseUrl, maxId).run();
+        } finally {
+            context.close();
+        }
+        System.exit(passed ? 0 : 1);
+    }
+
+    private static long createUsers(UserService userService, int count) {
+        Random random = new Random(7);
+        for (int i = 0; i < count; i++) {
+            String last = Operation.LAST_NAMES[random.nextInt(Operation.LAST_NAMES.length)];
+            userService.createUser(new User(null, "seed" + i, "seed" + i + "@example.com", "Seed", last));
+        }
+        long maxId = 0;
+        for (User user : userService.getAllUsers()) {
+            maxId = Math.max(maxId, user.getId());
+        }
+        return maxId;
+    }
+
+    private boolean run() throws InterruptedException, FileNotFoundException {
+        System.out.printf("Load test: %d req/s, %ds warm-up, %ds measured, %d threads, %d users%n",
+                config.rate, TimeUnit.NANOSECONDS.toSeconds(config.warmupNanos),
+                TimeUnit.NANOSECONDS.toSeconds(config.durationNanos), config.threads, maxId);
+
+        ExecutorService pool = Executors.newFixedThreadPool(config.threads);
+        Random random = new Random(config.seed);
+        long start = System.nanoTime();
+        long measureFrom = start + config.warmupNanos;
+        long end = measureFrom + config.durationNanos;
+        for (long i = 0; ; i++) {
+            long intendedStart = start + i * TimeUnit.SECONDS.toNanos(1) / config.rate;
+            if (intendedStart >= end) {
+                break;
+            }
+            long wait;
+            while ((wait = intendedStart - System.nanoTime()) > 0) {
+                LockSupport.parkNanos(wait);
+            }
+            Operation operation = schedule[random.nextInt(schedule.length)];
+            String path = operation.path(random, maxId);
+            String body = operation.body(random, i);
+            boolean measured = intendedStart >= measureFrom;
+            pool.execute(new Request(operation, path, body, intendedStart, measured));
+        }
+        pool.shutdown();
+        if (!pool.awaitTermination(TIMEOUT_MILLIS * 2L, TimeUnit.MILLISECONDS)) {
+            // Requests still queued are the slowest of the run; dropping them would flatter the tail
+            for (Runnable queued : pool.shutdownNow()) {
+                Request request = (Request) queued;
+                record(request.operation, request.intendedStart, request.measured, true);
+            }
+            // Requests in flight finish within their read timeout
+            if (!pool.awaitTermination(TIMEOUT_MILLIS * 2L, TimeUnit.MILLISECONDS)) {
+                System.out.println("Some requests did not finish and are not counted");
+            }
+        }
+        return report();
+    }
+
+    private void send(Operation operation, String path, String body, long intendedStart, boolean measured) {
+        boolean failed;
+        try {
+            HttpURLConnection connection = (HttpURLConnection) new URL(baseUrl + path).openConnection();
+            connection.setRequestMethod(operation.getMethod());
+            connection.setConnectTimeout(TIMEOUT_MILLIS);
+            connection.setReadTimeout(TIMEOUT_MILLIS);
+            if (body != null) {
+                connection.setDoOutput(true);
+                connection.setRequestProperty("Content-Type", "application/json");
+                try (OutputStream out = connection.getOutputStream()) {
+                    out.write(body.getBytes(StandardCharsets.UTF_8));
+                }
+            }
+            int status = connection.getResponseCode();
+            failed = status >= 400;
+            // Read to the end so the connection goes back to the keep-alive pool
+            InputStream in = failed ? connection.getErrorStream() : connection.getInputStream();
+            if (in != null) {
+                try (InputStream stream = in) {
+                    byte[] buffer = new byte[8192];
+                    while (stream.read(buffer) >= 0) {
+                        // discard
+                    }
+                }
+            }
+        } catch (IOException ex) {
+            failed = true;
+        }
+        record(operation, intendedStart, measured, failed);
+    }
+
+    private void record(Operation operation, long intendedStart, boolean measured, boolean failed) {
+        if (measured) {
+            latencies.get(operation).recordValue(TimeUnit.NANOSECONDS.toMicros(System.nanoTime() - intendedStart));
+            if (failed) {
+                errors.get(operation).increment();
+            }
+        }
+    }
+
+    /**
+     * One scheduled request, kept so that requests never started can still be recorded
+     */
+    private final class Request implements Runnable {
+
+        final Operation operation;
+        final String path;
+        final String body;
+        final long intendedStart;
+        final boolean measured;
+
+        Request(Operation operation, String path, String body, long intendedStart, boolean measured) {
+            this.operation = operation;
+            this.path = path;
+            this.body = body;
+            this.intendedStart = intendedStart;
+            this.measured = measured;
+        }
+
+        @Override
+        public void run() {
+            send(operation, path, body, intendedStart, measured);
+        }
+    }
+
+    private boolean report() throws FileNotFoundException {
+        Histogram all = new Histogram(3);
+        long allErrors = 0;
+        OUTPUT_DIR.mkdirs();
+
+        System.out.printf("%n%-8s %9s %7s %9s %9s %9s %9s%n",
+                "Op", "Count", "Errors", "p50 ms", "p99 ms", "p99.9 ms", "Max ms");
+        for (Operation operation : Operation.values()) {
+            Histogram histogram = latencies.get(operation);
+            long operationErrors = errors.get(operation).sum();
+            if (histogram.getTotalCount() == 0) {
+                continue;
+            }
+            all.add(histogram);
+            allErrors += operationErrors;
+            printRow(operation.name(), histogram, operationErrors);
+            writePercentiles(operation.name().toLowerCase(), histogram);
+        }
+        printRow("ALL", all, allErrors);
+        writePercentiles("all", all);
+
+        double errorRatio = all.getTotalCount() == 0 ? 1.0 : (double) allErrors / all.getTotalCount();
+        boolean passed = all.getTotalCount() > 0;
+        System.out.println();
+        passed &= check("p50", millis(all, 50.0), config.p50BudgetMillis, "ms");
+        passed &= check("p99", millis(all, 99.0), config.p99BudgetMillis, "ms");
+        passed &= check("p99.9", millis(all, 99.9), config.p999BudgetMillis, "ms");
+        passed &= check("errors", errorRatio, config.maxErrorRatio, "");
+        System.out.println(passed ? "RESULT: PASS" : "RESULT: FAIL");
+        System.out.println("Percentile distributions: " + OUTPUT_DIR.getPath());
+        return passed;
+    }
+
+    private static void printRow(String name, Histogram histogram, long errorCount) {
+        System.out.printf("%-8s %9d %7d %9.2f %9.2f %9.2f %9.2f%n", name, histogram.getTotalCount(), errorCount,
+                millis(histogram, 50.0), millis(histogram, 99.0), millis(histogram, 99.9),
+                histogram.getMaxValue() / 1000.0);
+    }
+
+    private static boolean check(String name, double actual, double budget, String unit) {
+        boolean ok = actual <= budget;
+        System.out.printf("%-7s %10.3f%s <= %.3f%s  %s%n", name, actual, unit, budget, unit, ok ? "PASS" : "FAIL");
+        return ok;
+    }
+
+    private static double millis(Histogram histogram, double percentile) {
+        return histogram.getValueAtPercentile(percentile) / 1000.0;
+    }
+
+    private static void writePercentiles(String name, Histogram histogram) throws FileNotFoundException {
+        try (PrintStream out = new PrintStream(new File(OUTPUT_DIR, name + ".hgrm"))) {
+            histogram.outputPercentileDistribution(out, 1000.0);
+        }
+    }
+}
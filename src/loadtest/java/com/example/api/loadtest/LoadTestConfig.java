@@ -0,0 +1,153 @@
+package com.example.api.loadtest;
+
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Load Test Configuration - Settings parsed from key=value arguments
+ *
+ * Recognised keys (defaults in brackets):
+ * - rate: requests started per second, independent of response times [200]
+ * - duration: measured run length, e.g. 30s or 2m [30s]
+ * - warmup: unmeasured run before it [10s]
+ * - threads: client threads; requests wait for a free one [64]
+ * - users: users created before the run [1000]
+ * - mix: operation weights, e.g. read:60,search:15,write:10 [see Operation]
+ * - p50, p99, p999: latency budgets in milliseconds for all requests [5, 50, 200]
+ * - errors: highest accepted error ratio [0.001]
+ * - seed: random seed for the request sequence [42]
+ *
+ * Arguments starting with -- (e.g. --app.users.store=compact) are
+ * passed to the application, which otherwise starts on a random port
+ * with logging at WARN so the log does not compete with the requests.
+ *
+ * @author Your Name
+ * @version 1.0.0
+ */
+final class LoadTestConfig {
+
+    int rate = 200;
+    long durationNanos = TimeUnit.SECONDS.toNanos(30);
+    long warmupNanos = TimeUnit.SECONDS.toNanos(10);
+    int threads = 64;
+    int users = 1000;
+    long seed = 42;
+    double p50BudgetMillis = 5;
+    double p99BudgetMillis = 50;
+    double p999BudgetMillis = 200;
+    double maxErrorRatio = 0.001;
+    final Map<Operation, Integer> mix = new EnumMap<>(Operation.class);
+    String[] applicationArgs = new String[0];
+
+    private static final String[] APPLICATION_DEFAULTS = {
+        "--server.port=0",
+        "--spring.main.banner-mode=off",
+        "--logging.level.root=WARN",
+        "--logging.level.com.example.api=WARN"
+    };
+
+    private LoadTestConfig() {
+        for (Operation operation : Operation.values()) {
+            mix.put(operation, operation.getDefaultWeight());
+        }
+    }
+
+    /**
+     * Parse command-line arguments
+     *
+     * @param args key=value pairs and application arguments
+     * @return The parsed configuration
+     * @throws IllegalArgumentException on an unknown key or bad value
+     */
+    static LoadTestConfig parse(String[] args) {
+        LoadTestConfig config = new LoadTestConfig();
+        List<String> passThrough = new ArrayList<>();
+        for (String arg : args) {
+            if (arg.startsWith("--")) {
+                passThrough.add(arg);
+                continue;
+            }
+            int eq = arg.indexOf('=');
+            if (eq < 0) {
+                throw new IllegalArgumentException("Expected key=value but got: " + arg);
+            }
+            config.set(arg.substring(0, eq), arg.substring(eq + 1));
+        }
+        for (String fallback : APPLICATION_DEFAULTS) {
+            String key = fallback.substring(0, fallback.indexOf('=') + 1);
+            if (passThrough.stream().noneMatch(arg -> arg.startsWith(key))) {
+                passThrough.add(fallback);
+            }
+        }
+        config.applicationArgs = passThrough.toArray(new String[0]);
+        return config;
+    }
+
+    private void set(String key, String value) {
+        switch (key) {
+            case "rate":
+                rate = Integer.parseInt(value);
+                break;
+            case "duration":
+                durationNanos = parseDuration(value);
+                break;
+            case "warmup":
+                warmupNanos = parseDuration(value);
+                break;
+            case "threads":
+                threads = Integer.parseInt(value);
+                break;
+            case "users":
+                users = Integer.parseInt(value);
+                break;
+            case "seed":
+                seed = Long.parseLong(value);
+                break;
+            case "p50":
+                p50BudgetMillis = Double.parseDouble(value);
+                break;
+            case "p99":
+                p99BudgetMillis = Double.parseDouble(value);
+                break;
+            case "p999":
+                p999BudgetMillis = Double.parseDouble(value);
+                break;
+            case "errors":
+                maxErrorRatio = Double.parseDouble(value);
+                break;
+            case "mix":
+                parseMix(value);
+                break;
+            default:
+                throw new IllegalArgumentException("Unknown load test setting: " + key);
+        }
+    }
+
+    private void parseMix(String value) {
+        for (Operation operation : Operation.values()) {
+            mix.put(operation, 0);
+        }
+        for (String part : value.split(",")) {
+            String[] weight = part.split(":");
+            if (weight.length != 2) {
+                throw new IllegalArgumentException("Expected operation:weight but got: " + part);
+            }
+            mix.put(Operation.valueOf(weight[0].trim().toUpperCase()), Integer.parseInt(weight[1].trim()));
+        }
+    }
+
+    private static long parseDuration(String value) {
+        long amount = Long.parseLong(value.substring(0, value.length() - 1));
+        switch (value.charAt(value.length() - 1)) {
+            case 's':
+                return TimeUnit.SECONDS.toNanos(amount);
+            case 'm':
+                return TimeUnit.MINUTES.toNanos(amount);
+            default:
+                throw new IllegalArgumentException("Duration must end in s or m: " + value);
+        }
+    }
+}
@@ -0,0 +1,103 @@
+package com.example.api.loadtest;
+
+import java.util.Random;
+
+/**
+ * Operation - One kind of request in the load mix
+ *
+ * Each operation builds its request from the run's random sequence and
+ * the highest user id created so far.
+ *
+ * @author Your Name
+ * @version 1.0.0
+ */
+enum Operation {
+
+    /** GET /users/{id} for an existing id */
+    READ("GET", 60) {
+        @Override
+        String path(Random random, long maxId) {
+            return "/users/" + (1 + (long) (random.nextDouble() * maxId));
+        }
+    },
+
+    /** GET /users/search?name= with a short prefix */
+    SEARCH("GET", 15) {
+        @Override
+        String path(Random random, long maxId) {
+            return "/users/search?name=" + SEARCH_TERMS[random.nextInt(SEARCH_TERMS.length)];
+        }
+    },
+
+    /** GET /users/stats */
+    STATS("GET", 10) {
+        @Override
+        String path(Random random, long maxId) {
+            return "/users/stats";
+        }
+    },
+
+    /** GET /users, which grows with the store */
+    LIST("GET", 5) {
+        @Override
+        String path(Random random, long maxId) {
+            return "/users";
+        }
+    },
+
+    /** POST /users with a new, valid user */
+    WRITE("POST", 10) {
+        @Override
+        String path(Random random, long maxId) {
+            return "/users";
+        }
+
+        @Override
+        String body(Random random, long sequence) {
+            String last = LAST_NAMES[random.nextInt(LAST_NAMES.length)];
+            return "{\"username\":\"load" + sequence + "\","
+                    + "\"email\":\"load" + sequence + "@example.com\","
+                    + "\"firstName\":\"Load\","
+                    + "\"lastName\":\"" + last + "\"}";
+        }
+    };
+
+    static final String[] LAST_NAMES = {"Smith", "Jones", "Garcia", "Miller", "Davis", "Lopez", "Wilson", "Moore"};
+    private static final String[] SEARCH_TERMS = {"smi", "jon", "gar", "load", "doe", "xyz"};
+
+    private final String method;
+    private final int defaultWeight;
+
+    Operation(String method, int defaultWeight) {
+        this.method = method;
+        this.defaultWeight = defaultWeight;
+    }
+
+    String getMethod() {
+        return method;
+    }
+
+    int getDefaultWeight() {
+        return defaultWeight;
+    }
+
+    /**
+     * Build the request path, relative to the context path
+     *
+     * @param random Run's random sequence
+     * @param maxId Highest user id known to exist
+     * @return Path and query string
+     */
+    abstract String path(Random random, long maxId);
+
+    /**
+     * Build the JSON request body
+     *
+     * @param random Run's random sequence
+     * @param sequence Unique number for this request
+     * @return Body, or null for none
+     */
+    String body(Random random, long sequence) {
+        return null;
+    }
+}
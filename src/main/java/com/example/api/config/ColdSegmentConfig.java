@@ -0,0 +1,35 @@
+package com.example.api.config;
+
+import com.example.api.repository.ColdUserSegment;
+import com.example.api.repository.CompactUserRepository;
+import com.example.api.repository.InMemoryUserRepository;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Cold Segment Configuration
+ *
+ * Deactivated users are kept in the same kind of storage as active
+ * ones: objects for app.users.store=memory, packed columns for
+ * compact. The JDBC store defines its own segment in
+ * JdbcUserStoreConfig.
+ *
+ * @author Your Name
+ * @version 1.0.0
+ */
+@Configuration
+public class ColdSegmentConfig {
+
+    @Bean
+    @ConditionalOnProperty(name = "app.users.store", havingValue = "memory", matchIfMissing = true)
+    public ColdUserSegment inMemoryColdUserSegment() {
+        return new ColdUserSegment(new InMemoryUserRepository());
+    }
+
+    @Bean
+    @ConditionalOnProperty(name = "app.users.store", havingValue = "compact")
+    public ColdUserSegment compactColdUserSegment() {
+        return new ColdUserSegment(new CompactUserRepository());
+    }
+}
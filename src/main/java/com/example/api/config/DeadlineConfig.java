@@ -0,0 +1,41 @@
+package com.example.api.config;
+
+import com.example.api.deadline.RequestDeadlineInterceptor;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+/**
+ * Deadline Configuration
+ *
+ * Registers RequestDeadlineInterceptor so endpoints marked with
+ * @RequestDeadline get a per-request Deadline. Budgets are set with
+ * the app.deadlines.* properties named in each annotation; with
+ * app.deadlines.adaptive they shrink to each endpoint's observed latency.
+ *
+ * @author Your Name
+ * @version 1.0.0
+ */
+@Configuration
+public class DeadlineConfig implements WebMvcConfigurer {
+
+    private final RequestDeadlineInterceptor interceptor;
+
+    public DeadlineConfig(Environment environment, ObjectProvider<MeterRegistry> meterRegistry,
+                          @Value("${app.deadlines.adaptive:false}") boolean adaptive,
+                          @Value("${app.deadlines.adaptive-min-ms:250}") long floorMillis,
+                          @Value("${app.deadlines.adaptive-deviations:4}") double deviations,
+                          @Value("${app.deadlines.adaptive-min-samples:50}") int minSamples) {
+        this.interceptor = new RequestDeadlineInterceptor(environment::resolveRequiredPlaceholders,
+                meterRegistry::getIfAvailable, adaptive, floorMillis, deviations, minSamples, System::nanoTime);
+    }
+
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        registry.addInterceptor(interceptor);
+    }
+}
@@ -0,0 +1,47 @@
+package com.example.api.config;
+
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.env.EnvironmentPostProcessor;
+import org.springframework.core.env.ConfigurableEnvironment;
+import org.springframework.core.env.MapPropertySource;
+import org.springframework.util.StringUtils;
+
+import java.util.Collections;
+
+/**
+ * JDBC Store Environment Post-Processor
+ * 
+ * spring-boot-starter-jdbc and H2 are on the classpath for
+ * app.users.store=jdbc, which would make Boot create a connection
+ * pool, an embedded database and a "db" health contributor on every
+ * start. Unless the JDBC store is selected, this excludes the
+ * DataSource auto-configuration (anything else JDBC-related is
+ * conditional on a DataSource), so the default in-memory store starts
+ * without them. Exclusions already configured are kept.
+ * 
+ * Registered in META-INF/spring.factories.
+ * 
+ * @author Your Name
+ * @version 1.0.0
+ */
+public class JdbcStoreEnvironmentPostProcessor implements EnvironmentPostProcessor {
+
+    static final String EXCLUDE_PROPERTY = "spring.autoconfigure.exclude";
+
+    static final String DATA_SOURCE_AUTO_CONFIGURATIONS =
+            "org.springframework.boot.autoconfigure.jdbc.DataSourceAutoConfiguration,"
+            + "org.springframework.boot.actuate.autoconfigure.jdbc.DataSourceHealthContributorAutoConfiguration";
+
+    @Override
+    public void postProcessEnvironment(ConfigurableEnvironment environment, SpringApplication application) {
+        if ("jdbc".equals(environment.getProperty("app.users.store"))) {
+            return;
+        }
+        String configured = environment.getProperty(EXCLUDE_PROPERTY);
+        String exclude = StringUtils.hasText(configured)
+                ? configured + "," + DATA_SOURCE_AUTO_CONFIGURATIONS
+                : DATA_SOURCE_AUTO_CONFIGURATIONS;
+        environment.getPropertySources().addFirst(new MapPropertySource("jdbcStoreExclusions",
+                Collections.<String, Object>singletonMap(EXCLUDE_PROPERTY, exclude)));
+    }
+}
@@ -0,0 +1,65 @@
+package com.example.api.config;
+
+import com.example.api.repository.CachingUserRepository;
+import com.example.api.repository.ColdUserSegment;
+import com.example.api.repository.JdbcUserRepository;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import javax.sql.DataSource;
+
+/**
+ * JDBC User Store Configuration
+ * 
+ * Active when app.users.store=jdbc. Users live in the database given
+ * by spring.datasource.* (an in-memory H2 database if none is set),
+ * behind a CachingUserRepository whose counters are exported as
+ * users.cache.* metrics. Deactivated users are moved to the
+ * users_cold table, which is not cached.
+ * 
+ * @author Your Name
+ * @version 1.0.0
+ */
+@Configuration
+@ConditionalOnProperty(name = "app.users.store", havingValue = "jdbc")
+public class JdbcUserStoreConfig {
+
+    @Bean
+    public CachingUserRepository userRepository(DataSource dataSource,
+                                                @Value("${app.users.cache.max-size:100000}") int maxSize,
+                                                @Value("${app.users.cache.ttl-ms:60000}") long ttlMillis,
+                                                @Value("${app.users.cache.negative-ttl-ms:5000}") long negativeTtlMillis,
+                                                ObjectProvider<MeterRegistry> meterRegistry) {
+        CachingUserRepository repository = new CachingUserRepository(
+                new JdbcUserRepository(new JdbcTemplate(dataSource)), maxSize, ttlMillis, negativeTtlMillis);
+        meterRegistry.ifAvailable(registry -> bindMetrics(repository, registry));
+        return repository;
+    }
+
+    @Bean
+    public ColdUserSegment jdbcColdUserSegment(DataSource dataSource) {
+        return new ColdUserSegment(new JdbcUserRepository(new JdbcTemplate(dataSource), "users_cold"));
+    }
+
+    private static void bindMetrics(CachingUserRepository cache, MeterRegistry registry) {
+        FunctionCounter.builder("users.cache.hits", cache, CachingUserRepository::getHitCount)
+                .description("User lookups answered from the cache").register(registry);
+        FunctionCounter.builder("users.cache.negative.hits", cache, CachingUserRepository::getNegativeHitCount)
+                .description("Lookups of missing ids answered from the cache").register(registry);
+        FunctionCounter.builder("users.cache.misses", cache, CachingUserRepository::getMissCount)
+                .description("User lookups not answered from the cache").register(registry);
+        FunctionCounter.builder("users.cache.loads", cache, CachingUserRepository::getLoadCount)
+                .description("Lookups sent to the database").register(registry);
+        FunctionCounter.builder("users.cache.evictions", cache, CachingUserRepository::getEvictionCount)
+                .description("Entries evicted to stay within max size").register(registry);
+        Gauge.builder("users.cache.size", cache, CachingUserRepository::size).register(registry);
+        Gauge.builder("users.cache.hit.rate", cache, CachingUserRepository::getHitRate).register(registry);
+    }
+}
@@ -0,0 +1,17 @@
+package com.example.api.config;
+
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+/**
+ * Scheduling Configuration
+ * 
+ * Enables @Scheduled background tasks such as the readiness cache refresh.
+ * 
+ * @author Your Name
+ * @version 1.0.0
+ */
+@Configuration
+@EnableScheduling
+public class SchedulingConfig {
+}
@@ -0,0 +1,33 @@
+package com.example.api.config;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.ApplicationListener;
+import org.springframework.stereotype.Component;
+
+/**
+ * Startup Training Run Listener
+ * 
+ * When app.startup.training-run=true the application shuts down as
+ * soon as it is ready. The appcds Maven profile uses this to run the
+ * application once under -XX:ArchiveClassesAtExit so that every class
+ * loaded during startup ends up in the class-data-sharing archive.
+ * 
+ * @author Your Name
+ * @version 1.0.0
+ */
+@Component
+@ConditionalOnProperty(name = "app.startup.training-run", havingValue = "true")
+public class StartupTrainingRunListener implements ApplicationListener<ApplicationReadyEvent> {
+
+    private static final Logger logger = LoggerFactory.getLogger(StartupTrainingRunListener.class);
+
+    @Override
+    public void onApplicationEvent(ApplicationReadyEvent event) {
+        logger.info("Training run complete, exiting so the CDS archive can be written");
+        System.exit(SpringApplication.exit(event.getApplicationContext(), () -> 0));
+    }
+}
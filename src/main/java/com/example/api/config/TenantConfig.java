@@ -0,0 +1,35 @@
+package com.example.api.config;
+
+import com.example.api.tenant.TenantArgumentResolver;
+import com.example.api.tenant.TenantRegistry;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.method.support.HandlerMethodArgumentResolver;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+import java.util.List;
+
+/**
+ * Tenant Configuration
+ *
+ * Registers TenantArgumentResolver so user endpoints can take a Tenant
+ * parameter resolved from the X-Tenant-Id header. Limits are set with
+ * the app.tenants.* properties read by TenantRegistry.
+ *
+ * @author Your Name
+ * @version 1.0.0
+ */
+@Configuration
+public class TenantConfig implements WebMvcConfigurer {
+
+    private final TenantArgumentResolver resolver;
+
+    public TenantConfig(ObjectProvider<TenantRegistry> tenantRegistry) {
+        this.resolver = new TenantArgumentResolver(tenantRegistry::getObject);
+    }
+
+    @Override
+    public void addArgumentResolvers(List<HandlerMethodArgumentResolver> resolvers) {
+        resolvers.add(resolver);
+    }
+}
@@ -0,0 +1,33 @@
+package com.example.api.config;
+
+import com.example.api.warmup.FirstRequestTimer;
+import com.example.api.warmup.WarmupReport;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+/**
+ * Warm-up Configuration
+ *
+ * Registers FirstRequestTimer on the /users endpoints so the
+ * WarmupReport can compare the first real requests with the cold
+ * warm-up calls. Does nothing unless app.warmup.enabled=true.
+ *
+ * @author Your Name
+ * @version 1.0.0
+ */
+@Configuration
+public class WarmupConfig implements WebMvcConfigurer {
+
+    private final FirstRequestTimer timer;
+
+    public WarmupConfig(ObjectProvider<WarmupReport> warmupReport) {
+        this.timer = new FirstRequestTimer(warmupReport::getIfAvailable);
+    }
+
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        registry.addInterceptor(timer).addPathPatterns("/users", "/users/**");
+    }
+}
@@ -1,9 +1,16 @@
 package com.example.api.controller;
 
+import com.example.api.health.ReadinessCache;
+import com.example.api.repository.LongCounter;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
 
+import java.nio.charset.StandardCharsets;
 import java.util.HashMap;
 import java.util.Map;
 
@@ -22,6 +29,27 @@ import java.util.Map;
 @RequestMapping("/hello")
 public class HelloController {
 
+    private static final String APPLICATION_NAME = "maven-springboot-multiversion";
+    private static final String JAVA_VERSION = System.getProperty("java.version");
+
+    // Probe responses are encoded once and reused for every request
+    private static final ResponseEntity<byte[]> LIVE = ResponseEntity.ok()
+            .contentType(MediaType.APPLICATION_JSON)
+            .body("{\"status\":\"UP\"}".getBytes(StandardCharsets.UTF_8));
+    private static final ResponseEntity<byte[]> READY = ResponseEntity.ok()
+            .contentType(MediaType.APPLICATION_JSON)
+            .body("{\"status\":\"UP\"}".getBytes(StandardCharsets.UTF_8));
+    private static final ResponseEntity<byte[]> NOT_READY = ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+            .contentType(MediaType.APPLICATION_JSON)
+            .body("{\"status\":\"OUT_OF_SERVICE\"}".getBytes(StandardCharsets.UTF_8));
+
+    private final ReadinessCache readinessCache;
+
+    @Autowired
+    public HelloController(ReadinessCache readinessCache) {
+        this.readinessCache = readinessCache;
+    }
+
     /**
      * Simple hello endpoint
      * 
@@ -44,9 +72,30 @@ public class HelloController {
     public Map<String, Object> health() {
         Map<String, Object> response = new HashMap<>();
         response.put("status", "UP");
-        response.put("application", "maven-springboot-multiversion");
-        response.put("javaVersion", System.getProperty("java.version"));
+        response.put("application", APPLICATION_NAME);
+        response.put("javaVersion", JAVA_VERSION);
+        response.put("counterImplementation", LongCounter.implementation());
         response.put("timestamp", System.currentTimeMillis());
         return response;
     }
-}
\ No newline at end of file
+
+    /**
+     * Liveness probe - the process is up and serving HTTP
+     * 
+     * @return Pre-encoded UP body
+     */
+    @GetMapping("/live")
+    public ResponseEntity<byte[]> live() {
+        return LIVE;
+    }
+
+    /**
+     * Readiness probe - the last background readiness evaluation
+     * 
+     * @return Pre-encoded UP body, or 503 while not ready
+     */
+    @GetMapping("/ready")
+    public ResponseEntity<byte[]> ready() {
+        return readinessCache.isReady() ? READY : NOT_READY;
+    }
+}
@@ -0,0 +1,236 @@
+package com.example.api.controller;
+
+import com.example.api.exception.IdempotencyKeyReuseException;
+import com.example.api.model.User;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+import java.util.function.Supplier;
+
+/**
+ * Idempotency Cache - Remembers POST /users responses by Idempotency-Key
+ *
+ * The first request with a key runs and its response is stored; any
+ * later request with the same key and the same body gets the stored
+ * response back (marked with Idempotent-Replayed: true) without the
+ * user being created again. A request that arrives while the first
+ * is still running waits for it and shares its response, so two
+ * concurrent retries create one user.
+ *
+ * Only successful responses are kept: if creating the user fails the
+ * key is forgotten and the next retry runs again. Reusing a key with a
+ * different body is rejected with IdempotencyKeyReuseException.
+ *
+ * Keys expire after a TTL and at most maxKeys are kept; past that the
+ * oldest are dropped first. Entries are kept in insertion order, which
+ * with a single TTL is also expiry order, so expired keys are always at
+ * the head and are dropped as new ones arrive. A key whose create is
+ * still running is never dropped, since a retry would then create the
+ * user again; while many creates run the cache may briefly hold more
+ * than maxKeys.
+ *
+ * Settings (app.idempotency.*): max-keys, ttl.
+ *
+ * @author Your Name
+ * @version 1.0.0
+ */
+@Component
+public class IdempotencyCache {
+
+    /** Request header carrying the client's key */
+    public static final String KEY_HEADER = "Idempotency-Key";
+
+    /** Response header set on replayed responses */
+    public static final String REPLAYED_HEADER = "Idempotent-Replayed";
+
+    private static final int MAX_KEY_LENGTH = 255;
+
+    private final int maxKeys;
+    private final long ttlMillis;
+    private final LongSupplier clock;
+
+    // Insertion order is expiry order; guarded by itself
+    private final LinkedHashMap<String, Entry> entries = new LinkedHashMap<>();
+
+    private final AtomicLong replays = new AtomicLong();
+    private final AtomicLong evictions = new AtomicLong();
+
+    @Autowired
+    public IdempotencyCache(@Value("${app.idempotency.max-keys:10000}") int maxKeys,
+                            @Value("${app.idempotency.ttl:24h}") Duration ttl) {
+        this(maxKeys, ttl.toMillis(), System::currentTimeMillis);
+    }
+
+    /**
+     * Create a cache with a custom clock (used in tests)
+     *
+     * @param maxKeys Maximum number of keys remembered
+     * @param ttlMillis How long a key is remembered
+     * @param clock Source of the current time in milliseconds
+     */
+    public IdempotencyCache(int maxKeys, long ttlMillis, LongSupplier clock) {
+        this.maxKeys = maxKeys;
+        this.ttlMillis = ttlMillis;
+        this.clock = clock;
+    }
+
+    /**
+     * Run a create request at most once per key
+     *
+     * @param tenantId Tenant the request is for; each tenant has its own keys
+     * @param clientKey Idempotency-Key sent by the client
+     * @param fingerprint Identifies the request body; a replay must match it
+     * @param create Starts creating the user; not called on a replay
+     * @return The new or the stored response
+     * @throws IllegalArgumentException if the key is empty or too long
+     * @throws IdempotencyKeyReuseException if the key was used with another body
+     */
+    public CompletableFuture<ResponseEntity<User>> execute(String tenantId, String clientKey, String fingerprint,
+                                                           Supplier<CompletableFuture<ResponseEntity<User>>> create) {
+        if (clientKey.isEmpty() || clientKey.length() > MAX_KEY_LENGTH) {
+            throw new IllegalArgumentException(KEY_HEADER + " must be 1 to " + MAX_KEY_LENGTH + " characters");
+        }
+        // Tenant IDs cannot contain ':'
+        String key = tenantId + ':' + clientKey;
+        long now = clock.getAsLong();
+        Entry entry = new Entry(fingerprint, now + ttlMillis);
+        Entry existing;
+        synchronized (entries) {
+            removeExpired(now);
+            existing = entries.get(key);
+            if (existing == null) {
+                entries.put(key, entry);
+                if (entries.size() > maxKeys) {
+                    evictEldestDone();
+                }
+            }
+        }
+
+        if (existing != null) {
+            if (!existing.fingerprint.equals(fingerprint)) {
+                throw new IdempotencyKeyReuseException(clientKey);
+            }
+            replays.incrementAndGet();
+            return existing.response.thenApply(IdempotencyCache::replayed);
+        }
+
+        CompletableFuture<ResponseEntity<User>> started;
+        try {
+            started = create.get();
+        } catch (RuntimeException ex) {
+            forget(key, entry);
+            entry.response.completeExceptionally(ex);
+            throw ex;
+        }
+        started.whenComplete((response, failure) -> {
+            if (failure != null) {
+                forget(key, entry);
+                entry.response.completeExceptionally(failure);
+            } else {
+                if (!response.getStatusCode().is2xxSuccessful()) {
+                    forget(key, entry);
+                }
+                entry.response.complete(snapshot(response));
+            }
+        });
+        return entry.response;
+    }
+
+    /**
+     * Get the number of requests answered from the cache
+     *
+     * @return Replay count
+     */
+    public long getReplays() {
+        return replays.get();
+    }
+
+    /**
+     * Get the number of keys dropped before they expired
+     *
+     * @return Eviction count
+     */
+    public long getEvictions() {
+        return evictions.get();
+    }
+
+    /**
+     * Get the number of keys currently remembered
+     *
+     * @return Cache size
+     */
+    public int size() {
+        synchronized (entries) {
+            return entries.size();
+        }
+    }
+
+    private void removeExpired(long now) {
+        Iterator<Entry> head = entries.values().iterator();
+        while (head.hasNext()) {
+            Entry next = head.next();
+            if (next.expiresAt > now) {
+                break;
+            }
+            if (next.response.isDone()) {
+                head.remove();
+            }
+        }
+    }
+
+    // Pending entries are skipped: they are few, at most one per running create
+    private void evictEldestDone() {
+        Iterator<Entry> eldest = entries.values().iterator();
+        while (eldest.hasNext()) {
+            if (eldest.next().response.isDone()) {
+                eldest.remove();
+                evictions.incrementAndGet();
+                return;
+            }
+        }
+    }
+
+    private void forget(String key, Entry entry) {
+        synchronized (entries) {
+            entries.remove(key, entry);
+        }
+    }
+
+    // The stored user may be changed later; replays show it as created
+    private static ResponseEntity<User> snapshot(ResponseEntity<User> response) {
+        User body = response.getBody();
+        return new ResponseEntity<>(body == null ? null : new User(body),
+                response.getHeaders(), response.getStatusCode());
+    }
+
+    private static ResponseEntity<User> replayed(ResponseEntity<User> response) {
+        HttpHeaders headers = new HttpHeaders();
+        headers.putAll(response.getHeaders());
+        headers.set(REPLAYED_HEADER, "true");
+        return new ResponseEntity<>(response.getBody(), headers, response.getStatusCode());
+    }
+
+    /**
+     * A remembered key: the request it was first used with and its response
+     */
+    private static final class Entry {
+        final String fingerprint;
+        final long expiresAt;
+        final CompletableFuture<ResponseEntity<User>> response = new CompletableFuture<>();
+
+        Entry(String fingerprint, long expiresAt) {
+            this.fingerprint = fingerprint;
+            this.expiresAt = expiresAt;
+        }
+    }
+}
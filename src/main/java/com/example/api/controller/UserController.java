@@ -1,22 +1,46 @@
 package com.example.api.controller;
 
+import com.example.api.deadline.Deadline;
+import com.example.api.deadline.RequestDeadline;
 import com.example.api.model.User;
+import com.example.api.service.SearchResult;
 import com.example.api.service.UserService;
+import com.example.api.tenant.Tenant;
+import com.example.api.validation.UserValidator;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.WebDataBinder;
 import org.springframework.web.bind.annotation.*;
 
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.time.Instant;
+import java.time.format.DateTimeParseException;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.stream.LongStream;
 import javax.validation.Valid;
 
 /**
  * User Controller - REST API endpoints for user management
  * 
  * Provides RESTful endpoints for CRUD operations on users.
+ * Every endpoint works on the tenant named by the X-Tenant-Id header
+ * (the default tenant if absent). Reads go straight to the tenant's
+ * UserService; mutations go through its UserWriter and complete
+ * asynchronously, so request threads never wait on the writer in
+ * single-writer mode.
  * Base URL: http://localhost:8080/api/users
  * 
  * @author Your Name
@@ -26,132 +50,384 @@ import javax.validation.Valid;
 @RequestMapping("/users")
 public class UserController {
 
-    private final UserService userService;
+    // Upper bound on ids per multi-get request
+    private static final int MAX_BATCH_IDS = 10_000;
+
+    // Set on search responses cut short by the request deadline
+    static final String PARTIAL_RESULTS_HEADER = "X-Partial-Results";
+
+    private final Optional<UserValidator> userValidator;
+    private final ObjectMapper objectMapper;
+    private final ObjectWriter userJsonWriter;
+    private final IdempotencyCache idempotencyCache;
+    private final int maxFuzzyEdits;
+    private final int fuzzyLimit;
 
     @Autowired
-    public UserController(UserService userService) {
-        this.userService = userService;
+    public UserController(Optional<UserValidator> userValidator, ObjectMapper objectMapper,
+                          IdempotencyCache idempotencyCache,
+                          @Value("${app.users.search.max-edits:2}") int maxFuzzyEdits,
+                          @Value("${app.users.search.fuzzy-limit:100}") int fuzzyLimit) {
+        this.userValidator = userValidator;
+        this.objectMapper = objectMapper;
+        this.idempotencyCache = idempotencyCache;
+        this.maxFuzzyEdits = maxFuzzyEdits;
+        this.fuzzyLimit = fuzzyLimit;
+        // Serializer resolved once; flushing is left to the servlet buffer
+        this.userJsonWriter = objectMapper.writerFor(User.class)
+                .without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+    }
+
+    /**
+     * Use the compiled User validator for @Valid request bodies when enabled
+     * 
+     * @param binder Binder for the "user" request body
+     */
+    @InitBinder("user")
+    public void initUserBinder(WebDataBinder binder) {
+        userValidator.ifPresent(binder::setValidator);
     }
 
     /**
-     * Get all users
+     * Get all users, optionally as they were at a past time
      * 
+     * @param tenant Tenant named by X-Tenant-Id
+     * @param asOf ISO-8601 instant, e.g. 2024-01-31T12:00:00Z; 400 if in the future or past the history retention
+     * @param deadline Request deadline; 503 if it passes before all users are read
      * @return List of all users
-     * @endpoint GET /api/users
+     * @endpoint GET /api/users?asOf={instant}
      */
     @GetMapping
-    public ResponseEntity<List<User>> getAllUsers() {
-        List<User> users = userService.getAllUsers();
-        return ResponseEntity.ok(users);
+    @RequestDeadline("${app.deadlines.list-ms:5000}")
+    public ResponseEntity<List<User>> getAllUsers(
+            Tenant tenant,
+            @RequestParam(required = false) String asOf,
+            @RequestAttribute(name = Deadline.REQUEST_ATTRIBUTE, required = false) Deadline deadline) {
+        try (Tenant.ScanPermit scan = tenant.startScan()) {
+            List<User> users = asOf == null
+                    ? tenant.getService().getAllUsers(orNone(deadline))
+                    : tenant.getService().getAllUsersAsOf(parseAsOf(asOf), orNone(deadline));
+            return ResponseEntity.ok(users);
+        }
     }
 
     /**
      * Get active users only
      * 
+     * @param tenant Tenant named by X-Tenant-Id
+     * @param deadline Request deadline; 503 if it passes before all users are read
      * @return List of active users
      * @endpoint GET /api/users/active
      */
     @GetMapping("/active")
-    public ResponseEntity<List<User>> getActiveUsers() {
-        List<User> users = userService.getActiveUsers();
-        return ResponseEntity.ok(users);
+    @RequestDeadline("${app.deadlines.list-ms:5000}")
+    public ResponseEntity<List<User>> getActiveUsers(
+            Tenant tenant,
+            @RequestAttribute(name = Deadline.REQUEST_ATTRIBUTE, required = false) Deadline deadline) {
+        try (Tenant.ScanPermit scan = tenant.startScan()) {
+            List<User> users = tenant.getService().getActiveUsers(orNone(deadline));
+            return ResponseEntity.ok(users);
+        }
     }
 
     /**
-     * Get user by ID
+     * Get user by ID, optionally as it was at a past time
      * 
+     * @param tenant Tenant named by X-Tenant-Id
      * @param id User ID
-     * @return User if found, 404 if not found
-     * @endpoint GET /api/users/{id}
+     * @param asOf ISO-8601 instant; 400 if in the future or past the history retention
+     * @return User if found, 404 if not found (or, with asOf, if it did not exist then)
+     * @endpoint GET /api/users/{id}?asOf={instant}
      */
     @GetMapping("/{id}")
-    public ResponseEntity<User> getUserById(@PathVariable Long id) {
-        Optional<User> user = userService.getUserById(id);
+    public ResponseEntity<User> getUserById(Tenant tenant, @PathVariable Long id,
+                                            @RequestParam(required = false) String asOf) {
+        Optional<User> user = asOf == null
+                ? tenant.getService().getUserById(id)
+                : tenant.getService().getUserByIdAsOf(id, parseAsOf(asOf));
         return user.map(ResponseEntity::ok)
                    .orElse(ResponseEntity.notFound().build());
     }
 
+    /**
+     * Get many users by ID
+     * 
+     * @param tenant Tenant named by X-Tenant-Id
+     * @param ids Comma-separated user IDs
+     * @param response Response the result is streamed to
+     * @throws IOException if writing the response fails
+     * @endpoint GET /api/users/batch?ids={id},{id},...
+     */
+    @GetMapping("/batch")
+    public void getUsersBatch(Tenant tenant, @RequestParam long[] ids, HttpServletResponse response)
+            throws IOException {
+        writeUsersBatch(tenant.getService(), ids, response);
+    }
+
+    /**
+     * Get many users by ID, for id lists too long for a query string
+     * 
+     * @param tenant Tenant named by X-Tenant-Id
+     * @param ids JSON array of user IDs
+     * @param response Response the result is streamed to
+     * @throws IOException if writing the response fails
+     * @endpoint POST /api/users/batch
+     */
+    @PostMapping("/batch")
+    public void postUsersBatch(Tenant tenant, @RequestBody long[] ids, HttpServletResponse response)
+            throws IOException {
+        writeUsersBatch(tenant.getService(), ids, response);
+    }
+
     /**
      * Create a new user
      * 
+     * With an Idempotency-Key header the user is created at most once
+     * per key: a retry with the same key and body gets the first
+     * response back, and the same key with a different body is
+     * rejected with 422. Keys are per tenant.
+     * 
+     * A tenant at its user quota gets 403.
+     * 
+     * @param tenant Tenant named by X-Tenant-Id
      * @param user User object from request body
+     * @param idempotencyKey Optional client-chosen key for safe retries
      * @return Created user with 201 status
      * @endpoint POST /api/users
      */
     @PostMapping
-    public ResponseEntity<User> createUser(@Valid @RequestBody User user) {
-        User createdUser = userService.createUser(user);
-        return ResponseEntity.status(HttpStatus.CREATED).body(createdUser);
+    public CompletableFuture<ResponseEntity<User>> createUser(
+            Tenant tenant,
+            @Valid @RequestBody User user,
+            @RequestHeader(value = IdempotencyCache.KEY_HEADER, required = false) String idempotencyKey) {
+        if (idempotencyKey == null) {
+            return create(tenant, user);
+        }
+        return idempotencyCache.execute(tenant.getId(), idempotencyKey, fingerprint(user),
+                () -> create(tenant, user));
+    }
+
+    private CompletableFuture<ResponseEntity<User>> create(Tenant tenant, User user) {
+        tenant.checkQuota(1);
+        return tenant.getWriter().createUser(user)
+                .thenApply(createdUser -> ResponseEntity.status(HttpStatus.CREATED).body(createdUser));
+    }
+
+    // Fields a create request is made of; the id is assigned by the service
+    private static String fingerprint(User user) {
+        return user.getUsername() + '\0' + user.getEmail() + '\0' + user.getFirstName()
+                + '\0' + user.getLastName() + '\0' + user.isActive();
     }
 
     /**
      * Update an existing user
      * 
+     * @param tenant Tenant named by X-Tenant-Id
      * @param id User ID to update
      * @param user Updated user data
      * @return Updated user if found, 404 if not found
      * @endpoint PUT /api/users/{id}
      */
     @PutMapping("/{id}")
-    public ResponseEntity<User> updateUser(@PathVariable Long id, @Valid @RequestBody User user) {
-        Optional<User> updatedUser = userService.updateUser(id, user);
-        return updatedUser.map(ResponseEntity::ok)
-                          .orElse(ResponseEntity.notFound().build());
+    public CompletableFuture<ResponseEntity<User>> updateUser(Tenant tenant, @PathVariable Long id,
+                                                              @Valid @RequestBody User user) {
+        return tenant.getWriter().updateUser(id, user)
+                .thenApply(updatedUser -> updatedUser.map(ResponseEntity::ok)
+                                                     .orElse(ResponseEntity.notFound().build()));
     }
 
     /**
      * Delete a user
      * 
+     * @param tenant Tenant named by X-Tenant-Id
      * @param id User ID to delete
      * @return 204 No Content if deleted, 404 if not found
      * @endpoint DELETE /api/users/{id}
      */
     @DeleteMapping("/{id}")
-    public ResponseEntity<Void> deleteUser(@PathVariable Long id) {
-        boolean deleted = userService.deleteUser(id);
-        return deleted ? ResponseEntity.noContent().build() 
-                      : ResponseEntity.notFound().build();
+    public CompletableFuture<ResponseEntity<Void>> deleteUser(Tenant tenant, @PathVariable Long id) {
+        return tenant.getWriter().deleteUser(id)
+                .thenApply(deleted -> deleted ? ResponseEntity.noContent().<Void>build()
+                                              : ResponseEntity.notFound().<Void>build());
     }
 
     /**
      * Deactivate a user (soft delete)
      * 
+     * @param tenant Tenant named by X-Tenant-Id
      * @param id User ID to deactivate
      * @return Deactivated user if found, 404 if not found
      * @endpoint PATCH /api/users/{id}/deactivate
      */
     @PatchMapping("/{id}/deactivate")
-    public ResponseEntity<User> deactivateUser(@PathVariable Long id) {
-        Optional<User> user = userService.deactivateUser(id);
-        return user.map(ResponseEntity::ok)
-                   .orElse(ResponseEntity.notFound().build());
+    public CompletableFuture<ResponseEntity<User>> deactivateUser(Tenant tenant, @PathVariable Long id) {
+        return tenant.getWriter().deactivateUser(id)
+                .thenApply(user -> user.map(ResponseEntity::ok)
+                                       .orElse(ResponseEntity.notFound().build()));
     }
 
     /**
      * Search users by name
      * 
+     * If the deadline passes mid-search, the users found so far are
+     * returned with the X-Partial-Results: true header.
+     * 
+     * With fuzzy above 0 the term must instead be within that many
+     * edits of a whole first or last name. Such searches use the name
+     * index rather than a scan, and return at most
+     * app.users.search.fuzzy-limit users, closest first.
+     * 
+     * @param tenant Tenant named by X-Tenant-Id
      * @param name Search term for first or last name
+     * @param fuzzy Edits allowed; 0 for substring search, 400 above app.users.search.max-edits
+     * @param deadline Request deadline
      * @return List of matching users
-     * @endpoint GET /api/users/search?name={name}
+     * @endpoint GET /api/users/search?name={name}&fuzzy={edits}
      */
     @GetMapping("/search")
-    public ResponseEntity<List<User>> searchUsers(@RequestParam String name) {
-        List<User> users = userService.searchUsersByName(name);
-        return ResponseEntity.ok(users);
+    @RequestDeadline("${app.deadlines.search-ms:2000}")
+    public ResponseEntity<List<User>> searchUsers(
+            Tenant tenant,
+            @RequestParam String name,
+            @RequestParam(defaultValue = "0") int fuzzy,
+            @RequestAttribute(name = Deadline.REQUEST_ATTRIBUTE, required = false) Deadline deadline) {
+        if (fuzzy < 0 || fuzzy > maxFuzzyEdits) {
+            throw new IllegalArgumentException("fuzzy must be between 0 and " + maxFuzzyEdits);
+        }
+        if (fuzzy > 0) {
+            return ResponseEntity.ok(tenant.getService().searchUsersByNameFuzzy(name, fuzzy, fuzzyLimit));
+        }
+        SearchResult result;
+        try (Tenant.ScanPermit scan = tenant.startScan()) {
+            result = tenant.getService().searchUsersByName(name, orNone(deadline));
+        }
+        if (!result.isComplete()) {
+            return ResponseEntity.ok().header(PARTIAL_RESULTS_HEADER, "true").body(result.getUsers());
+        }
+        return ResponseEntity.ok(result.getUsers());
     }
 
     /**
      * Get user statistics
      * 
+     * @param tenant Tenant named by X-Tenant-Id
      * @return Statistics about users
      * @endpoint GET /api/users/stats
      */
     @GetMapping("/stats")
-    public ResponseEntity<Map<String, Object>> getUserStats() {
+    public ResponseEntity<Map<String, Object>> getUserStats(Tenant tenant) {
+        UserService userService = tenant.getService();
         Map<String, Object> stats = new HashMap<>();
         stats.put("totalUsers", userService.getUserCount());
         stats.put("activeUsers", userService.getActiveUserCount());
         stats.put("inactiveUsers", userService.getUserCount() - userService.getActiveUserCount());
         return ResponseEntity.ok(stats);
     }
+
+    /**
+     * Get the most common email domains (approximate counts)
+     * 
+     * @param tenant Tenant named by X-Tenant-Id
+     * @param limit Maximum number of domains to return
+     * @return Domain distribution plus approximate distinct domain count
+     * @endpoint GET /api/users/stats/domains?limit={limit}
+     */
+    @GetMapping("/stats/domains")
+    public ResponseEntity<Map<String, Object>> getDomainStats(
+            Tenant tenant, @RequestParam(defaultValue = "10") int limit) {
+        UserService userService = tenant.getService();
+        Map<String, Object> stats = new HashMap<>();
+        stats.put("domains", userService.getEmailDomainCounts(limit));
+        stats.put("distinctDomainsEstimate", userService.getDistinctEmailDomainEstimate());
+        return ResponseEntity.ok(stats);
+    }
+
+    /**
+     * Get the most common last names (approximate)
+     * 
+     * @param tenant Tenant named by X-Tenant-Id
+     * @param limit Maximum number of last names to return
+     * @return Last name to estimated count, most common first
+     * @endpoint GET /api/users/stats/last-names?limit={limit}
+     */
+    @GetMapping("/stats/last-names")
+    public ResponseEntity<Map<String, Long>> getLastNameStats(
+            Tenant tenant, @RequestParam(defaultValue = "10") int limit) {
+        return ResponseEntity.ok(tenant.getService().getTopLastNames(limit));
+    }
+
+    /**
+     * Get the most common first names (approximate)
+     * 
+     * @param tenant Tenant named by X-Tenant-Id
+     * @param limit Maximum number of first names to return
+     * @return First name to estimated count, most common first
+     * @endpoint GET /api/users/stats/first-names?limit={limit}
+     */
+    @GetMapping("/stats/first-names")
+    public ResponseEntity<Map<String, Long>> getFirstNameStats(
+            Tenant tenant, @RequestParam(defaultValue = "10") int limit) {
+        return ResponseEntity.ok(tenant.getService().getTopFirstNames(limit));
+    }
+
+    /**
+     * Get user creation counts over recent time windows
+     * 
+     * @param tenant Tenant named by X-Tenant-Id
+     * @return Creations in the last 1, 5, 15 and 60 minutes
+     * @endpoint GET /api/users/stats/creation-rate
+     */
+    @GetMapping("/stats/creation-rate")
+    public ResponseEntity<Map<String, Long>> getCreationRate(Tenant tenant) {
+        return ResponseEntity.ok(tenant.getService().getCreationRate());
+    }
+
+    private static Deadline orNone(Deadline deadline) {
+        return deadline != null ? deadline : Deadline.none();
+    }
+
+    private static long parseAsOf(String asOf) {
+        try {
+            return Instant.parse(asOf).toEpochMilli();
+        } catch (DateTimeParseException ex) {
+            throw new IllegalArgumentException("asOf must be an ISO-8601 instant such as 2024-01-31T12:00:00Z: " + asOf);
+        }
+    }
+
+    /**
+     * Stream {"users": [...], "missing": [...]} for a multi-get
+     * 
+     * Users are written to the response as the store resolves them,
+     * without building a result list.
+     */
+    private void writeUsersBatch(UserService userService, long[] ids, HttpServletResponse response)
+            throws IOException {
+        if (ids.length > MAX_BATCH_IDS) {
+            throw new IllegalArgumentException("At most " + MAX_BATCH_IDS + " ids can be requested at once");
+        }
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        LongStream.Builder missing = LongStream.builder();
+        try (JsonGenerator generator = objectMapper.getFactory().createGenerator(response.getOutputStream())) {
+            generator.writeStartObject();
+            generator.writeArrayFieldStart("users");
+            try {
+                userService.getUsersByIds(ids, user -> {
+                    try {
+                        userJsonWriter.writeValue(generator, user);
+                    } catch (IOException ex) {
+                        throw new UncheckedIOException(ex);
+                    }
+                }, missing::add);
+            } catch (UncheckedIOException ex) {
+                throw ex.getCause();
+            }
+            generator.writeEndArray();
+            generator.writeArrayFieldStart("missing");
+            for (long id : missing.build().toArray()) {
+                generator.writeNumber(id);
+            }
+            generator.writeEndArray();
+            generator.writeEndObject();
+        }
+    }
 }
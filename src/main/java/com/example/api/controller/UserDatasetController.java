@@ -0,0 +1,151 @@
+package com.example.api.controller;
+
+import com.example.api.dataset.UserDatasetReader;
+import com.example.api.dataset.UserDatasetWriter;
+import com.example.api.model.User;
+import com.example.api.tenant.Tenant;
+import com.example.api.validation.UserValidator;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.validation.BeanPropertyBindingResult;
+import org.springframework.validation.Errors;
+import org.springframework.validation.FieldError;
+import org.springframework.validation.Validator;
+import org.springframework.validation.beanvalidation.SpringValidatorAdapter;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.channels.Channels;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * User Dataset Controller - Bulk export and import of all users
+ *
+ * Moves the whole dataset as a column-chunk file (see
+ * UserDatasetFormat) streamed through NIO channels: the export
+ * reads the store a chunk at a time and the import applies each chunk
+ * as it arrives, so neither side holds more than one chunk however
+ * many users there are. Imported records skip JSON parsing but not
+ * validation: every user of a chunk is checked with the validator the
+ * REST endpoints use, and a chunk holding an invalid user is rejected
+ * with 400 before any of it is applied.
+ *
+ * Chunks are applied in order through UserWriter. If a stream is
+ * rejected part-way the chunks before it stay imported; importing the
+ * same file again skips them, since their IDs are taken.
+ *
+ * Both work on the tenant named by X-Tenant-Id and take one of its
+ * scan slots for their whole run. An import stops with 403 at the
+ * first chunk whose new users would take the tenant past its user
+ * quota.
+ *
+ * Base URL: http://localhost:8080/api/admin/users
+ *
+ * @author Your Name
+ * @version 1.0.0
+ */
+@RestController
+@RequestMapping("/admin/users")
+public class UserDatasetController {
+
+    /** Media type of an exported user dataset */
+    public static final String DATASET_MEDIA_TYPE = "application/vnd.example.user-dataset";
+
+    private final int chunkRows;
+    private final Validator validator;
+
+    @Autowired
+    public UserDatasetController(@Value("${app.users.dataset.chunk-rows:8192}") int chunkRows,
+                                 Optional<UserValidator> userValidator,
+                                 javax.validation.Validator beanValidator) {
+        this.chunkRows = chunkRows;
+        this.validator = userValidator.isPresent()
+                ? userValidator.get() : new SpringValidatorAdapter(beanValidator);
+    }
+
+    /**
+     * Export every user, active and deactivated
+     *
+     * @param tenant Tenant named by X-Tenant-Id
+     * @param response Response the dataset is streamed to
+     * @throws IOException if writing the response fails
+     * @endpoint GET /api/admin/users/export
+     */
+    @GetMapping("/export")
+    public void exportUsers(Tenant tenant, HttpServletResponse response) throws IOException {
+        try (Tenant.ScanPermit scan = tenant.startScan()) {
+            response.setContentType(DATASET_MEDIA_TYPE);
+            response.setHeader(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"users.ucol\"");
+            UserDatasetWriter writer =
+                    new UserDatasetWriter(Channels.newChannel(response.getOutputStream()), chunkRows);
+            try {
+                tenant.getService().exportUsers(chunkRows, page -> {
+                    try {
+                        writer.writeAll(page);
+                    } catch (IOException ex) {
+                        throw new UncheckedIOException(ex);
+                    }
+                });
+            } catch (UncheckedIOException ex) {
+                throw ex.getCause();
+            }
+            writer.finish();
+        }
+    }
+
+    /**
+     * Import a dataset produced by the export, keeping user IDs
+     *
+     * @param tenant Tenant named by X-Tenant-Id
+     * @param request Request the dataset is read from
+     * @return Counts of users read, imported and skipped (ID already taken)
+     * @throws IOException if reading the request fails
+     * @throws IllegalArgumentException if a chunk is damaged or holds an invalid user
+     * @endpoint POST /api/admin/users/import
+     */
+    @PostMapping(value = "/import", consumes = {DATASET_MEDIA_TYPE, MediaType.APPLICATION_OCTET_STREAM_VALUE})
+    public ResponseEntity<Map<String, Object>> importUsers(Tenant tenant, HttpServletRequest request)
+            throws IOException {
+        UserDatasetReader reader = new UserDatasetReader(Channels.newChannel(request.getInputStream()));
+        long imported = 0;
+        try (Tenant.ScanPermit scan = tenant.startScan()) {
+            List<User> chunk;
+            while ((chunk = reader.readChunk()) != null) {
+                validate(chunk);
+                // Users already in the store are skipped, so only new ones count
+                tenant.checkQuota(tenant.getService().countNewUsers(chunk));
+                // One chunk at a time: waiting here keeps the writer queue short
+                imported += tenant.getWriter().importUsers(chunk).join();
+            }
+        }
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("read", reader.getRowCount());
+        result.put("imported", imported);
+        result.put("skipped", reader.getRowCount() - imported);
+        return ResponseEntity.ok(result);
+    }
+
+    private void validate(List<User> chunk) {
+        for (User user : chunk) {
+            Errors errors = new BeanPropertyBindingResult(user, "user");
+            validator.validate(user, errors);
+            FieldError error = errors.getFieldError();
+            if (error != null) {
+                throw new IllegalArgumentException(
+                        "Invalid user " + user.getId() + " in dataset: " + error.getDefaultMessage());
+            }
+        }
+    }
+}
@@ -0,0 +1,123 @@
+package com.example.api.dataset;
+
+import java.nio.ByteBuffer;
+
+/**
+ * User Dataset Format - Layout of exported user files (.ucol)
+ *
+ * A file is a header, a sequence of column chunks and a trailer:
+ *
+ *   file    := "UCOL" version:u8 chunk* trailer
+ *   chunk   := rows:u32 rawLength:u32 compressedLength:u32 crc32:u32 deflate(body)
+ *   trailer := 0:u32 totalRows:u64
+ *
+ * Fixed-width numbers are big-endian. Each chunk body holds one
+ * column after the other for its rows; the CRC covers the
+ * uncompressed body.
+ *
+ *   body       := ids active username emailLocal emailDomain firstName lastName
+ *   ids        := varint(zigzag(id - previous id)) per row, previous starts at 0
+ *   active     := bitmap, ceil(rows / 8) bytes, lowest bit first
+ *   plain      := varint(length + 1) per row, then the UTF-8 bytes of every row;
+ *                 length 0 encodes null (username, emailLocal)
+ *   dictionary := varint(entries) plain(entries) varint(code) per row;
+ *                 code 0 is null, code n is entry n - 1 (emailDomain, firstName, lastName)
+ *
+ * Emails are split at the last '@' so domains share dictionary
+ * entries; an email without '@' has a null domain. Dictionaries are
+ * per chunk, so a chunk decodes on its own and memory stays bounded
+ * by the chunk size on both sides.
+ *
+ * @author Your Name
+ * @version 1.0.0
+ */
+final class UserDatasetFormat {
+
+    static final byte[] MAGIC = {'U', 'C', 'O', 'L'};
+    static final byte VERSION = 1;
+
+    // rows, rawLength, compressedLength, crc32
+    static final int CHUNK_HEADER_BYTES = 16;
+
+    static final int MAX_CHUNK_ROWS = 65_536;
+    static final int MAX_CHUNK_BYTES = 64 * 1024 * 1024;
+
+    private UserDatasetFormat() {
+    }
+
+    static long zigzag(long value) {
+        return (value << 1) ^ (value >> 63);
+    }
+
+    static long unzigzag(long value) {
+        return (value >>> 1) ^ -(value & 1);
+    }
+
+    static void putVarLong(ByteSink sink, long value) {
+        while ((value & ~0x7FL) != 0) {
+            sink.put((byte) ((value & 0x7F) | 0x80));
+            value >>>= 7;
+        }
+        sink.put((byte) value);
+    }
+
+    static long getVarLong(ByteBuffer buffer) {
+        long value = 0;
+        for (int shift = 0; shift < 64; shift += 7) {
+            byte b = buffer.get();
+            value |= (long) (b & 0x7F) << shift;
+            if (b >= 0) {
+                return value;
+            }
+        }
+        throw new IllegalArgumentException("Corrupt user dataset: varint too long");
+    }
+
+    static int getVarInt(ByteBuffer buffer, int max) {
+        long value = getVarLong(buffer);
+        if (value < 0 || value > max) {
+            throw new IllegalArgumentException("Corrupt user dataset: value " + value + " out of range");
+        }
+        return (int) value;
+    }
+
+    /**
+     * Growable byte buffer a chunk body is encoded into
+     */
+    static final class ByteSink {
+
+        private byte[] bytes = new byte[64 * 1024];
+        private int size;
+
+        void put(byte b) {
+            ensure(1);
+            bytes[size++] = b;
+        }
+
+        void put(byte[] source) {
+            ensure(source.length);
+            System.arraycopy(source, 0, bytes, size, source.length);
+            size += source.length;
+        }
+
+        byte[] array() {
+            return bytes;
+        }
+
+        int size() {
+            return size;
+        }
+
+        void reset() {
+            size = 0;
+        }
+
+        private void ensure(int extra) {
+            if (size + extra > bytes.length) {
+                byte[] grown = new byte[Math.max(bytes.length * 2, size + extra)];
+                System.arraycopy(bytes, 0, grown, 0, size);
+                bytes = grown;
+            }
+        }
+    }
+}
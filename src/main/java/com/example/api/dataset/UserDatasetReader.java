@@ -0,0 +1,234 @@
+package com.example.api.dataset;
+
+import com.example.api.model.User;
+
+import java.io.IOException;
+import java.nio.Buffer;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.zip.CRC32;
+import java.util.zip.DataFormatException;
+import java.util.zip.Inflater;
+
+/**
+ * User Dataset Reader - Reads column chunks written by UserDatasetWriter
+ *
+ * Decodes one chunk at a time straight into User objects, so a
+ * dataset of any size is read in memory bounded by the chunk size.
+ * Every chunk is checked against its CRC, and the row count in the
+ * trailer against the rows read; a truncated or damaged stream is
+ * rejected with IllegalArgumentException. Not thread-safe.
+ *
+ * As in UserDatasetWriter, buffers are positioned through the Buffer
+ * type for -source 8 builds.
+ *
+ * @author Your Name
+ * @version 1.0.0
+ */
+public class UserDatasetReader {
+
+    private final ReadableByteChannel channel;
+    private final ByteBuffer header = ByteBuffer.allocate(UserDatasetFormat.CHUNK_HEADER_BYTES);
+    private final Inflater inflater = new Inflater();
+    private final CRC32 crc = new CRC32();
+    private byte[] compressed = new byte[64 * 1024];
+    private byte[] raw = new byte[64 * 1024];
+
+    private long rowCount;
+    private boolean finished;
+
+    /**
+     * Open a dataset and check its header
+     *
+     * @param channel Channel the dataset is read from
+     * @throws IOException if reading fails
+     * @throws IllegalArgumentException if the stream is not a user dataset
+     */
+    public UserDatasetReader(ReadableByteChannel channel) throws IOException {
+        this.channel = channel;
+        ByteBuffer start = ByteBuffer.allocate(UserDatasetFormat.MAGIC.length + 1);
+        readFully(start);
+        byte[] magic = new byte[UserDatasetFormat.MAGIC.length];
+        start.get(magic);
+        if (!Arrays.equals(magic, UserDatasetFormat.MAGIC)) {
+            throw new IllegalArgumentException("Not a user dataset");
+        }
+        byte version = start.get();
+        if (version != UserDatasetFormat.VERSION) {
+            throw new IllegalArgumentException("Unsupported user dataset version " + version);
+        }
+    }
+
+    /**
+     * Read the next chunk of users
+     *
+     * @return The users of the next chunk, or null after the last one
+     * @throws IOException if reading fails
+     * @throws IllegalArgumentException if the stream is truncated or damaged
+     */
+    public List<User> readChunk() throws IOException {
+        if (finished) {
+            return null;
+        }
+        ((Buffer) header).clear().limit(4);
+        readFully(header);
+        int rows = header.getInt();
+        if (rows == 0) {
+            readTrailer();
+            return null;
+        }
+        ((Buffer) header).clear().limit(UserDatasetFormat.CHUNK_HEADER_BYTES - 4);
+        readFully(header);
+        int rawLength = header.getInt();
+        int compressedLength = header.getInt();
+        int checksum = header.getInt();
+        if (rows < 0 || rows > UserDatasetFormat.MAX_CHUNK_ROWS
+                || rawLength < 0 || rawLength > UserDatasetFormat.MAX_CHUNK_BYTES
+                || compressedLength < 0 || compressedLength > UserDatasetFormat.MAX_CHUNK_BYTES) {
+            throw new IllegalArgumentException("Corrupt user dataset: bad chunk header");
+        }
+
+        if (compressed.length < compressedLength) {
+            compressed = new byte[compressedLength];
+        }
+        readFully(ByteBuffer.wrap(compressed, 0, compressedLength));
+        if (raw.length < rawLength) {
+            raw = new byte[rawLength];
+        }
+        inflate(compressedLength, rawLength);
+        crc.reset();
+        crc.update(raw, 0, rawLength);
+        if ((int) crc.getValue() != checksum) {
+            throw new IllegalArgumentException("Corrupt user dataset: chunk checksum mismatch");
+        }
+
+        try {
+            List<User> users = decodeBody(ByteBuffer.wrap(raw, 0, rawLength), rows);
+            rowCount += rows;
+            return users;
+        } catch (BufferUnderflowException | IndexOutOfBoundsException ex) {
+            throw new IllegalArgumentException("Corrupt user dataset: chunk body too short", ex);
+        }
+    }
+
+    /**
+     * Get the number of users read so far
+     *
+     * @return Row count
+     */
+    public long getRowCount() {
+        return rowCount;
+    }
+
+    private void readTrailer() throws IOException {
+        ByteBuffer trailer = ByteBuffer.allocate(8);
+        readFully(trailer);
+        long total = trailer.getLong();
+        if (total != rowCount) {
+            throw new IllegalArgumentException(
+                    "Corrupt user dataset: trailer counts " + total + " users, read " + rowCount);
+        }
+        finished = true;
+        inflater.end();
+    }
+
+    private void inflate(int compressedLength, int rawLength) {
+        inflater.reset();
+        inflater.setInput(compressed, 0, compressedLength);
+        try {
+            int length = 0;
+            while (length < rawLength && !inflater.finished()) {
+                int inflated = inflater.inflate(raw, length, rawLength - length);
+                if (inflated == 0 && (inflater.needsInput() || inflater.needsDictionary())) {
+                    break;
+                }
+                length += inflated;
+            }
+            if (length != rawLength || !inflater.finished()) {
+                throw new IllegalArgumentException("Corrupt user dataset: chunk length mismatch");
+            }
+        } catch (DataFormatException ex) {
+            throw new IllegalArgumentException("Corrupt user dataset: " + ex.getMessage(), ex);
+        }
+    }
+
+    private static List<User> decodeBody(ByteBuffer body, int rows) {
+        long[] ids = new long[rows];
+        long id = 0;
+        for (int row = 0; row < rows; row++) {
+            id += UserDatasetFormat.unzigzag(UserDatasetFormat.getVarLong(body));
+            if (id < 1) {
+                throw new IllegalArgumentException("Corrupt user dataset: user id " + id);
+            }
+            ids[row] = id;
+        }
+        byte[] active = new byte[(rows + 7) >>> 3];
+        body.get(active);
+
+        String[] usernames = getPlain(body, rows);
+        String[] emailLocalParts = getPlain(body, rows);
+        String[] emailDomains = getDictionary(body, rows);
+        String[] firstNames = getDictionary(body, rows);
+        String[] lastNames = getDictionary(body, rows);
+        if (body.hasRemaining()) {
+            throw new IllegalArgumentException("Corrupt user dataset: trailing bytes in chunk");
+        }
+
+        List<User> users = new ArrayList<>(rows);
+        for (int row = 0; row < rows; row++) {
+            String email = emailLocalParts[row];
+            if (email != null && emailDomains[row] != null) {
+                email = email + '@' + emailDomains[row];
+            }
+            User user = new User(ids[row], usernames[row], email, firstNames[row], lastNames[row]);
+            user.setActive((active[row >>> 3] & (1 << (row & 7))) != 0);
+            users.add(user);
+        }
+        return users;
+    }
+
+    private static String[] getPlain(ByteBuffer body, int count) {
+        int[] lengths = new int[count];
+        for (int i = 0; i < count; i++) {
+            lengths[i] = UserDatasetFormat.getVarInt(body, body.remaining() + 1);
+        }
+        String[] values = new String[count];
+        for (int i = 0; i < count; i++) {
+            if (lengths[i] > 0) {
+                int length = lengths[i] - 1;
+                if (length > body.remaining()) {
+                    throw new BufferUnderflowException();
+                }
+                values[i] = new String(body.array(), body.arrayOffset() + body.position(), length,
+                        StandardCharsets.UTF_8);
+                ((Buffer) body).position(body.position() + length);
+            }
+        }
+        return values;
+    }
+
+    private static String[] getDictionary(ByteBuffer body, int rows) {
+        int entries = UserDatasetFormat.getVarInt(body, rows);
+        String[] dictionary = getPlain(body, entries);
+        String[] values = new String[rows];
+        for (int row = 0; row < rows; row++) {
+            int code = UserDatasetFormat.getVarInt(body, entries);
+            values[row] = code == 0 ? null : dictionary[code - 1];
+        }
+        return values;
+    }
+
+    private void readFully(ByteBuffer buffer) throws IOException {
+        while (buffer.hasRemaining()) {
+            if (channel.read(buffer) < 0) {
+                throw new IllegalArgumentException("Corrupt user dataset: unexpected end of stream");
+            }
+        }
+        ((Buffer) buffer).flip();
+    }
+}
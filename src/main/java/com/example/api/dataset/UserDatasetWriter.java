@@ -0,0 +1,244 @@
+package com.example.api.dataset;
+
+import com.example.api.dataset.UserDatasetFormat.ByteSink;
+import com.example.api.model.User;
+
+import java.io.IOException;
+import java.nio.Buffer;
+import java.nio.ByteBuffer;
+import java.nio.channels.WritableByteChannel;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.zip.CRC32;
+import java.util.zip.Deflater;
+
+/**
+ * User Dataset Writer - Streams users to a channel as column chunks
+ *
+ * Users are buffered until a chunk is full, then encoded column by
+ * column (see UserDatasetFormat), deflated and written. Only one
+ * chunk is held at a time, so any number of users can be written in
+ * constant memory.
+ *
+ * finish() must be called to write the last chunk and the trailer; a
+ * stream that stops without a trailer is rejected on import, so a
+ * failed export can never pass for a complete one. The channel is not
+ * closed. Not thread-safe.
+ *
+ * Buffers are flipped through the Buffer type so the class also runs
+ * when built with -source 8 on a newer JDK.
+ *
+ * @author Your Name
+ * @version 1.0.0
+ */
+public class UserDatasetWriter {
+
+    private final WritableByteChannel channel;
+    private final int chunkRows;
+
+    private final List<User> pending;
+    private final ByteSink body = new ByteSink();
+    private final Deflater deflater = new Deflater(Deflater.DEFAULT_COMPRESSION);
+    private final CRC32 crc = new CRC32();
+    private byte[] compressed = new byte[64 * 1024];
+
+    private long rowCount;
+    private boolean finished;
+
+    /**
+     * Start a dataset and write its header
+     *
+     * @param channel Channel the dataset is written to
+     * @param chunkRows Users per chunk (1 to 65536)
+     * @throws IOException if writing the header fails
+     */
+    public UserDatasetWriter(WritableByteChannel channel, int chunkRows) throws IOException {
+        if (chunkRows < 1 || chunkRows > UserDatasetFormat.MAX_CHUNK_ROWS) {
+            throw new IllegalArgumentException("chunkRows must be 1 to " + UserDatasetFormat.MAX_CHUNK_ROWS);
+        }
+        this.channel = channel;
+        this.chunkRows = chunkRows;
+        this.pending = new ArrayList<>(chunkRows);
+        ByteBuffer header = ByteBuffer.allocate(UserDatasetFormat.MAGIC.length + 1);
+        header.put(UserDatasetFormat.MAGIC).put(UserDatasetFormat.VERSION);
+        ((Buffer) header).flip();
+        writeFully(header);
+    }
+
+    /**
+     * Append users, writing a chunk whenever one fills up
+     *
+     * @param users Users with their IDs set
+     * @throws IOException if writing to the channel fails
+     */
+    public void writeAll(List<User> users) throws IOException {
+        for (User user : users) {
+            write(user);
+        }
+    }
+
+    /**
+     * Append one user
+     *
+     * @param user User with its ID set
+     * @throws IOException if writing to the channel fails
+     */
+    public void write(User user) throws IOException {
+        if (finished) {
+            throw new IllegalStateException("Dataset already finished");
+        }
+        pending.add(user);
+        if (pending.size() == chunkRows) {
+            flushChunk();
+        }
+    }
+
+    /**
+     * Write the last partial chunk and the trailer
+     *
+     * @throws IOException if writing to the channel fails
+     */
+    public void finish() throws IOException {
+        if (finished) {
+            return;
+        }
+        if (!pending.isEmpty()) {
+            flushChunk();
+        }
+        ByteBuffer trailer = ByteBuffer.allocate(12);
+        trailer.putInt(0).putLong(rowCount);
+        ((Buffer) trailer).flip();
+        writeFully(trailer);
+        finished = true;
+        deflater.end();
+    }
+
+    /**
+     * Get the number of users written so far
+     *
+     * @return Row count
+     */
+    public long getRowCount() {
+        return rowCount + pending.size();
+    }
+
+    private void flushChunk() throws IOException {
+        int rows = pending.size();
+        body.reset();
+        encodeBody(rows);
+
+        crc.reset();
+        crc.update(body.array(), 0, body.size());
+        int compressedLength = deflate();
+
+        ByteBuffer header = ByteBuffer.allocate(UserDatasetFormat.CHUNK_HEADER_BYTES);
+        header.putInt(rows).putInt(body.size()).putInt(compressedLength).putInt((int) crc.getValue());
+        ((Buffer) header).flip();
+        writeFully(header);
+        writeFully(ByteBuffer.wrap(compressed, 0, compressedLength));
+
+        rowCount += rows;
+        pending.clear();
+    }
+
+    private void encodeBody(int rows) {
+        long previousId = 0;
+        for (User user : pending) {
+            UserDatasetFormat.putVarLong(body, UserDatasetFormat.zigzag(user.getId() - previousId));
+            previousId = user.getId();
+        }
+
+        byte[] active = new byte[(rows + 7) >>> 3];
+        for (int row = 0; row < rows; row++) {
+            if (pending.get(row).isActive()) {
+                active[row >>> 3] |= (byte) (1 << (row & 7));
+            }
+        }
+        body.put(active);
+
+        String[] usernames = new String[rows];
+        String[] emailLocalParts = new String[rows];
+        String[] emailDomains = new String[rows];
+        String[] firstNames = new String[rows];
+        String[] lastNames = new String[rows];
+        for (int row = 0; row < rows; row++) {
+            User user = pending.get(row);
+            usernames[row] = user.getUsername();
+            firstNames[row] = user.getFirstName();
+            lastNames[row] = user.getLastName();
+            String email = user.getEmail();
+            int at = email == null ? -1 : email.lastIndexOf('@');
+            emailLocalParts[row] = at < 0 ? email : email.substring(0, at);
+            emailDomains[row] = at < 0 ? null : email.substring(at + 1);
+        }
+        putPlain(usernames, rows);
+        putPlain(emailLocalParts, rows);
+        putDictionary(emailDomains, rows);
+        putDictionary(firstNames, rows);
+        putDictionary(lastNames, rows);
+    }
+
+    // All lengths first, then all bytes: similar bytes sit together for deflate
+    private void putPlain(String[] values, int count) {
+        byte[][] encoded = new byte[count][];
+        for (int i = 0; i < count; i++) {
+            if (values[i] == null) {
+                UserDatasetFormat.putVarLong(body, 0);
+            } else {
+                encoded[i] = values[i].getBytes(StandardCharsets.UTF_8);
+                UserDatasetFormat.putVarLong(body, encoded[i].length + 1L);
+            }
+        }
+        for (byte[] bytes : encoded) {
+            if (bytes != null) {
+                body.put(bytes);
+            }
+        }
+    }
+
+    private void putDictionary(String[] values, int rows) {
+        Map<String, Integer> codes = new LinkedHashMap<>();
+        int[] rowCodes = new int[rows];
+        for (int row = 0; row < rows; row++) {
+            String value = values[row];
+            if (value != null) {
+                Integer code = codes.get(value);
+                if (code == null) {
+                    code = codes.size() + 1;
+                    codes.put(value, code);
+                }
+                rowCodes[row] = code;
+            }
+        }
+        UserDatasetFormat.putVarLong(body, codes.size());
+        putPlain(codes.keySet().toArray(new String[0]), codes.size());
+        for (int code : rowCodes) {
+            UserDatasetFormat.putVarLong(body, code);
+        }
+    }
+
+    private int deflate() {
+        deflater.reset();
+        deflater.setInput(body.array(), 0, body.size());
+        deflater.finish();
+        int length = 0;
+        while (!deflater.finished()) {
+            if (length == compressed.length) {
+                byte[] grown = new byte[compressed.length * 2];
+                System.arraycopy(compressed, 0, grown, 0, length);
+                compressed = grown;
+            }
+            length += deflater.deflate(compressed, length, compressed.length - length);
+        }
+        return length;
+    }
+
+    private void writeFully(ByteBuffer buffer) throws IOException {
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+    }
+}
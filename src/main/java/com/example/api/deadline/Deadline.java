@@ -0,0 +1,130 @@
+package com.example.api.deadline;
+
+import com.example.api.exception.DeadlineExceededException;
+
+import java.util.function.LongSupplier;
+
+/**
+ * Deadline - Point in time by which a request must be answered
+ *
+ * Created per request by RequestDeadlineInterceptor and passed down to
+ * UserService, where long scans call isExpired() or check() between
+ * pages and stop early. Checking costs one System.nanoTime() call.
+ *
+ * A deadline remembers whether it was checked and whether it was found
+ * expired, so the interceptor can count requests that ran out of time
+ * and learn latencies only from requests the deadline could have cut short.
+ *
+ * @author Your Name
+ * @version 1.0.0
+ */
+public final class Deadline {
+
+    /** Request attribute holding the current request's deadline */
+    public static final String REQUEST_ATTRIBUTE = "com.example.api.deadline.Deadline";
+
+    private static final Deadline NONE = new Deadline(0, System::nanoTime, true);
+
+    private final long expiresAtNanos;
+    private final LongSupplier nanoClock;
+    private final boolean unbounded;
+    private volatile boolean checked;
+    private volatile boolean hit;
+
+    private Deadline(long expiresAtNanos, LongSupplier nanoClock, boolean unbounded) {
+        this.expiresAtNanos = expiresAtNanos;
+        this.nanoClock = nanoClock;
+        this.unbounded = unbounded;
+    }
+
+    /**
+     * A deadline that never expires
+     *
+     * @return Shared unbounded deadline
+     */
+    public static Deadline none() {
+        return NONE;
+    }
+
+    /**
+     * A deadline the given time from now
+     *
+     * @param timeoutMillis Time allowed, in milliseconds
+     * @return New deadline
+     */
+    public static Deadline afterMillis(long timeoutMillis) {
+        return afterMillis(timeoutMillis, System::nanoTime);
+    }
+
+    /**
+     * A deadline the given time from now on a custom clock (used in tests)
+     *
+     * @param timeoutMillis Time allowed, in milliseconds
+     * @param nanoClock Source of System.nanoTime()-like readings
+     * @return New deadline
+     */
+    public static Deadline afterMillis(long timeoutMillis, LongSupplier nanoClock) {
+        return new Deadline(nanoClock.getAsLong() + timeoutMillis * 1_000_000L, nanoClock, false);
+    }
+
+    /**
+     * Check whether the deadline has passed
+     *
+     * @return true once the deadline has passed
+     */
+    public boolean isExpired() {
+        if (!checked) {
+            checked = true;
+        }
+        if (hit) {
+            return true;
+        }
+        // Compare by difference: nanoTime values may be negative or wrap
+        if (!unbounded && nanoClock.getAsLong() - expiresAtNanos >= 0) {
+            hit = true;
+        }
+        return hit;
+    }
+
+    /**
+     * Fail if the deadline has passed
+     *
+     * @param operation Name of the work being cut short, for the error message
+     * @throws DeadlineExceededException if the deadline has passed
+     */
+    public void check(String operation) {
+        if (isExpired()) {
+            throw new DeadlineExceededException(operation);
+        }
+    }
+
+    /**
+     * Get the time left before the deadline
+     *
+     * @return Remaining milliseconds, 0 once expired, Long.MAX_VALUE if unbounded
+     */
+    public long remainingMillis() {
+        if (unbounded) {
+            return Long.MAX_VALUE;
+        }
+        return Math.max(0, (expiresAtNanos - nanoClock.getAsLong()) / 1_000_000L);
+    }
+
+    /**
+     * Check whether any caller found the deadline expired
+     *
+     * @return true if isExpired() or check() ever saw the deadline passed
+     */
+    public boolean wasHit() {
+        return hit;
+    }
+
+    /**
+     * Check whether anyone asked if the deadline had passed
+     *
+     * @return true if isExpired() or check() was ever called
+     */
+    public boolean wasChecked() {
+        return checked;
+    }
+}
@@ -0,0 +1,83 @@
+package com.example.api.deadline;
+
+/**
+ * Latency Estimate - Rolling response time of one endpoint
+ *
+ * Keeps a smoothed mean and mean deviation of observed latencies, updated
+ * the way TCP sets its retransmission timeout (RFC 6298): each sample
+ * moves the mean by 1/8 and the deviation by 1/4 of the difference. The
+ * budget is the mean plus a number of deviations, kept between a floor
+ * and the endpoint's configured budget. Until minSamples requests have
+ * been seen the budget is the configured one.
+ *
+ * Updates are synchronized; budgetMillis() is a volatile read.
+ *
+ * @author Your Name
+ * @version 1.0.0
+ */
+final class LatencyEstimate {
+
+    private final long ceilingMillis;
+    private final long floorMillis;
+    private final double deviations;
+    private final int minSamples;
+
+    private double meanMillis;
+    private double deviationMillis;
+    private long samples;
+    private volatile long budgetMillis;
+
+    /**
+     * Create an estimate with no samples
+     *
+     * @param ceilingMillis Configured budget, never exceeded
+     * @param floorMillis Smallest budget the estimate may set
+     * @param deviations Mean deviations added to the mean latency
+     * @param minSamples Samples needed before the budget adapts
+     */
+    LatencyEstimate(long ceilingMillis, long floorMillis, double deviations, int minSamples) {
+        this.ceilingMillis = ceilingMillis;
+        this.floorMillis = floorMillis;
+        this.deviations = deviations;
+        this.minSamples = minSamples;
+        this.budgetMillis = ceilingMillis;
+    }
+
+    /**
+     * Add one request's latency
+     *
+     * @param millis Time the request took, in milliseconds
+     */
+    synchronized void record(double millis) {
+        if (samples == 0) {
+            meanMillis = millis;
+            deviationMillis = millis / 2;
+        } else {
+            deviationMillis += (Math.abs(millis - meanMillis) - deviationMillis) / 4;
+            meanMillis += (millis - meanMillis) / 8;
+        }
+        samples++;
+        if (samples >= minSamples) {
+            long estimate = (long) Math.ceil(meanMillis + deviations * deviationMillis);
+            budgetMillis = Math.min(ceilingMillis, Math.max(floorMillis, estimate));
+        }
+    }
+
+    /**
+     * Get the budget for the next request
+     *
+     * @return Budget in milliseconds
+     */
+    long budgetMillis() {
+        return budgetMillis;
+    }
+
+    /**
+     * Get the configured budget
+     *
+     * @return Ceiling in milliseconds
+     */
+    long ceilingMillis() {
+        return ceilingMillis;
+    }
+}
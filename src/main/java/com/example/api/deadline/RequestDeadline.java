@@ -0,0 +1,32 @@
+package com.example.api.deadline;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Request Deadline - Time budget for a controller endpoint
+ *
+ * Marks a handler method whose requests get a Deadline, available as
+ * the Deadline.REQUEST_ATTRIBUTE request attribute. A client can ask
+ * for less time with the X-Request-Timeout-Ms header, never for more.
+ *
+ * Example: {@code @RequestDeadline("${app.deadlines.search-ms:2000}")}
+ *
+ * @author Your Name
+ * @version 1.0.0
+ */
+@Documented
+@Target(ElementType.METHOD)
+@Retention(RetentionPolicy.RUNTIME)
+public @interface RequestDeadline {
+
+    /**
+     * Budget in milliseconds; ${...} placeholders are resolved
+     *
+     * @return Timeout expression
+     */
+    String value();
+}
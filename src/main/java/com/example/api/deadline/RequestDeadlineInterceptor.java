@@ -0,0 +1,197 @@
+package com.example.api.deadline;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import org.springframework.http.HttpStatus;
+import org.springframework.lang.Nullable;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.HandlerInterceptor;
+import org.springframework.web.servlet.HandlerMapping;
+
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.lang.reflect.Method;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.LongSupplier;
+import java.util.function.Supplier;
+import java.util.function.UnaryOperator;
+
+/**
+ * Request Deadline Interceptor - Starts the clock for @RequestDeadline endpoints
+ *
+ * Before the handler runs, computes the request's Deadline as the
+ * endpoint's budget, or the X-Request-Timeout-Ms header if that is
+ * shorter, and stores it as a request attribute. After the request,
+ * counts deadlines that were hit in the users.deadline.exceeded metric,
+ * tagged with the endpoint's uri pattern and the outcome: partial
+ * (a 2xx with partial results) or rejected (a 503).
+ *
+ * When adaptive, the endpoint's budget follows a LatencyEstimate of its
+ * recent requests (exported as the users.deadline.budget gauge), with the
+ * configured budget as the ceiling. A request stopped by its deadline
+ * only shows the endpoint needs more than the budget, so it is sampled
+ * at twice its latency and a slowed-down endpoint backs off towards the
+ * ceiling, as TCP doubles its timeout. Requests that never checked
+ * their deadline (fuzzy searches answered from the index, say) and
+ * requests stopped by a shorter client header are not sampled at all.
+ * There is one estimate per endpoint, shared by every tenant, so
+ * adaptive budgets are off by default.
+ *
+ * @author Your Name
+ * @version 1.0.0
+ */
+public class RequestDeadlineInterceptor implements HandlerInterceptor {
+
+    /** Request header a client can use to ask for a shorter deadline */
+    public static final String TIMEOUT_HEADER = "X-Request-Timeout-Ms";
+
+    private static final String TIMING_ATTRIBUTE = RequestDeadlineInterceptor.class.getName() + ".timing";
+
+    private final UnaryOperator<String> placeholderResolver;
+    private final Supplier<MeterRegistry> meterRegistry;
+    private final boolean adaptive;
+    private final long floorMillis;
+    private final double deviations;
+    private final int minSamples;
+    private final LongSupplier nanoClock;
+
+    // Budgets resolved once per handler method
+    private final Map<Method, LatencyEstimate> budgets = new ConcurrentHashMap<>();
+
+    /**
+     * Create an interceptor with fixed budgets
+     *
+     * @param placeholderResolver Resolves ${...} in @RequestDeadline values
+     * @param meterRegistry Looks up the registry for the exceeded counter; may supply null
+     */
+    public RequestDeadlineInterceptor(UnaryOperator<String> placeholderResolver,
+                                      Supplier<MeterRegistry> meterRegistry) {
+        this(placeholderResolver, meterRegistry, false, 0, 0, 0, System::nanoTime);
+    }
+
+    /**
+     * Create an interceptor whose budgets may adapt to observed latency
+     *
+     * @param placeholderResolver Resolves ${...} in @RequestDeadline values
+     * @param meterRegistry Looks up the registry for the metrics; may supply null
+     * @param adaptive Whether budgets follow each endpoint's latency estimate
+     * @param floorMillis Smallest budget an estimate may set
+     * @param deviations Mean deviations added to the mean latency
+     * @param minSamples Requests an endpoint needs before its budget adapts
+     * @param nanoClock Source of System.nanoTime()-like readings
+     */
+    public RequestDeadlineInterceptor(UnaryOperator<String> placeholderResolver,
+                                      Supplier<MeterRegistry> meterRegistry, boolean adaptive,
+                                      long floorMillis, double deviations, int minSamples,
+                                      LongSupplier nanoClock) {
+        this.placeholderResolver = placeholderResolver;
+        this.meterRegistry = meterRegistry;
+        this.adaptive = adaptive;
+        this.floorMillis = floorMillis;
+        this.deviations = deviations;
+        this.minSamples = minSamples;
+        this.nanoClock = nanoClock;
+    }
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        if (!(handler instanceof HandlerMethod)) {
+            return true;
+        }
+        HandlerMethod handlerMethod = (HandlerMethod) handler;
+        RequestDeadline annotation = handlerMethod.getMethodAnnotation(RequestDeadline.class);
+        if (annotation == null) {
+            return true;
+        }
+        LatencyEstimate estimate = budgets.computeIfAbsent(handlerMethod.getMethod(),
+                method -> newEstimate(annotation, request));
+        long budget = estimate.budgetMillis();
+        boolean clientLimited = false;
+        String requested = request.getHeader(TIMEOUT_HEADER);
+        if (requested != null) {
+            long requestedMillis = parseMillis(requested, TIMEOUT_HEADER);
+            clientLimited = requestedMillis < budget;
+            budget = Math.min(budget, requestedMillis);
+        }
+        request.setAttribute(Deadline.REQUEST_ATTRIBUTE, Deadline.afterMillis(budget, nanoClock));
+        if (adaptive) {
+            request.setAttribute(TIMING_ATTRIBUTE, new Timing(estimate, nanoClock.getAsLong(), clientLimited));
+        }
+        return true;
+    }
+
+    @Override
+    public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler,
+                                @Nullable Exception ex) {
+        Object deadline = request.getAttribute(Deadline.REQUEST_ATTRIBUTE);
+        if (!(deadline instanceof Deadline)) {
+            return;
+        }
+        boolean hit = ((Deadline) deadline).wasHit();
+        Object timing = request.getAttribute(TIMING_ATTRIBUTE);
+        if (timing instanceof Timing && ((Deadline) deadline).wasChecked()) {
+            ((Timing) timing).record(nanoClock.getAsLong(), hit);
+        }
+        if (!hit) {
+            return;
+        }
+        MeterRegistry registry = meterRegistry.get();
+        if (registry == null) {
+            return;
+        }
+        Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        String outcome = response.getStatus() == HttpStatus.SERVICE_UNAVAILABLE.value() ? "rejected" : "partial";
+        registry.counter("users.deadline.exceeded",
+                "uri", pattern != null ? pattern.toString() : "UNKNOWN",
+                "outcome", outcome).increment();
+    }
+
+    private LatencyEstimate newEstimate(RequestDeadline annotation, HttpServletRequest request) {
+        long configured = parseMillis(placeholderResolver.apply(annotation.value()), "@RequestDeadline");
+        LatencyEstimate estimate = new LatencyEstimate(configured, floorMillis, deviations, minSamples);
+        MeterRegistry registry = adaptive ? meterRegistry.get() : null;
+        if (registry != null) {
+            Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+            registry.gauge("users.deadline.budget", Tags.of("uri", pattern != null ? pattern.toString() : "UNKNOWN"),
+                    estimate, LatencyEstimate::budgetMillis);
+        }
+        return estimate;
+    }
+
+    private static long parseMillis(String value, String source) {
+        try {
+            long millis = Long.parseLong(value.trim());
+            if (millis >= 0) {
+                return millis;
+            }
+        } catch (NumberFormatException ex) {
+            // Reported below
+        }
+        throw new IllegalArgumentException(source + " must be a non-negative number of milliseconds: " + value);
+    }
+
+    /**
+     * When an adaptive request started, and whether it may be sampled
+     */
+    private static final class Timing {
+
+        final LatencyEstimate estimate;
+        final long startNanos;
+        final boolean clientLimited;
+
+        Timing(LatencyEstimate estimate, long startNanos, boolean clientLimited) {
+            this.estimate = estimate;
+            this.startNanos = startNanos;
+            this.clientLimited = clientLimited;
+        }
+
+        void record(long nowNanos, boolean hit) {
+            if (hit && clientLimited) {
+                return;
+            }
+            double millis = (nowNanos - startNanos) / 1_000_000.0;
+            estimate.record(hit ? 2 * millis : millis);
+        }
+    }
+}
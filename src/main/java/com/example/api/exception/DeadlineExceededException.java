@@ -0,0 +1,23 @@
+package com.example.api.exception;
+
+/**
+ * Deadline Exceeded Exception
+ *
+ * Thrown when a request's deadline passes before work that cannot
+ * return a partial result has finished. Mapped to 503 Service
+ * Unavailable by GlobalExceptionHandler.
+ *
+ * @author Your Name
+ * @version 1.0.0
+ */
+public class DeadlineExceededException extends RuntimeException {
+
+    /**
+     * Create the exception for an operation that ran out of time
+     *
+     * @param operation Name of the operation that was cut short
+     */
+    public DeadlineExceededException(String operation) {
+        super("Request deadline exceeded during " + operation);
+    }
+}
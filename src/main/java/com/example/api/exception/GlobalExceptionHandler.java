@@ -1,5 +1,6 @@
 package com.example.api.exception;
 
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.validation.FieldError;
@@ -55,6 +56,38 @@ public class GlobalExceptionHandler {
         return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(response);
     }
 
+    /**
+     * Handle a User request body rejected while it was being read
+     *
+     * A field over its length limit is reported like a validation
+     * error on that field; anything else is a plain 400 or 413.
+     *
+     * @param ex UserPayloadException
+     * @param request WebRequest
+     * @return Error response
+     */
+    @ExceptionHandler(UserPayloadException.class)
+    public ResponseEntity<Map<String, Object>> handleUserPayloadException(
+            UserPayloadException ex, WebRequest request) {
+
+        Map<String, Object> response = new HashMap<>();
+        response.put("timestamp", LocalDateTime.now());
+        response.put("status", ex.getStatus().value());
+        if (ex.getField() != null) {
+            Map<String, String> errors = new HashMap<>();
+            errors.put(ex.getField(), ex.getMessage());
+            response.put("error", "Validation Failed");
+            response.put("message", "Invalid input data");
+            response.put("validationErrors", errors);
+        } else {
+            response.put("error", ex.getStatus().getReasonPhrase());
+            response.put("message", ex.getMessage());
+        }
+        response.put("path", request.getDescription(false).replace("uri=", ""));
+
+        return ResponseEntity.status(ex.getStatus()).body(response);
+    }
+
     /**
      * Handle generic exceptions
      * 
@@ -97,6 +130,92 @@ public class GlobalExceptionHandler {
         return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(response);
     }
 
+    /**
+     * Handle an Idempotency-Key reused with a different request
+     * 
+     * @param ex IdempotencyKeyReuseException
+     * @param request WebRequest
+     * @return Error response
+     */
+    @ExceptionHandler(IdempotencyKeyReuseException.class)
+    public ResponseEntity<Map<String, Object>> handleIdempotencyKeyReuseException(
+            IdempotencyKeyReuseException ex, WebRequest request) {
+        
+        Map<String, Object> response = new HashMap<>();
+        response.put("timestamp", LocalDateTime.now());
+        response.put("status", HttpStatus.UNPROCESSABLE_ENTITY.value());
+        response.put("error", "Unprocessable Entity");
+        response.put("message", ex.getMessage());
+        response.put("path", request.getDescription(false).replace("uri=", ""));
+        
+        return ResponseEntity.status(HttpStatus.UNPROCESSABLE_ENTITY).body(response);
+    }
+
+    /**
+     * Handle a request that ran past its deadline
+     * 
+     * @param ex DeadlineExceededException
+     * @param request WebRequest
+     * @return Error response
+     */
+    @ExceptionHandler(DeadlineExceededException.class)
+    public ResponseEntity<Map<String, Object>> handleDeadlineExceededException(
+            DeadlineExceededException ex, WebRequest request) {
+        
+        Map<String, Object> response = new HashMap<>();
+        response.put("timestamp", LocalDateTime.now());
+        response.put("status", HttpStatus.SERVICE_UNAVAILABLE.value());
+        response.put("error", "Service Unavailable");
+        response.put("message", ex.getMessage());
+        response.put("path", request.getDescription(false).replace("uri=", ""));
+        
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).body(response);
+    }
+
+    /**
+     * Handle a write or new tenant beyond a tenant quota
+     *
+     * @param ex TenantQuotaExceededException
+     * @param request WebRequest
+     * @return Error response
+     */
+    @ExceptionHandler(TenantQuotaExceededException.class)
+    public ResponseEntity<Map<String, Object>> handleTenantQuotaExceededException(
+            TenantQuotaExceededException ex, WebRequest request) {
+
+        Map<String, Object> response = new HashMap<>();
+        response.put("timestamp", LocalDateTime.now());
+        response.put("status", HttpStatus.FORBIDDEN.value());
+        response.put("error", "Forbidden");
+        response.put("message", ex.getMessage());
+        response.put("path", request.getDescription(false).replace("uri=", ""));
+
+        return ResponseEntity.status(HttpStatus.FORBIDDEN).body(response);
+    }
+
+    /**
+     * Handle a scan refused because the tenant is running its maximum
+     *
+     * @param ex TenantBusyException
+     * @param request WebRequest
+     * @return Error response with Retry-After
+     */
+    @ExceptionHandler(TenantBusyException.class)
+    public ResponseEntity<Map<String, Object>> handleTenantBusyException(
+            TenantBusyException ex, WebRequest request) {
+
+        Map<String, Object> response = new HashMap<>();
+        response.put("timestamp", LocalDateTime.now());
+        response.put("status", HttpStatus.TOO_MANY_REQUESTS.value());
+        response.put("error", "Too Many Requests");
+        response.put("message", ex.getMessage());
+        response.put("path", request.getDescription(false).replace("uri=", ""));
+
+        return ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS)
+                .header(HttpHeaders.RETRY_AFTER, "1")
+                .body(response);
+    }
+
     /**
      * Handle NullPointerException
      * 
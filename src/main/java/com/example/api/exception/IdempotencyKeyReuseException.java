@@ -0,0 +1,23 @@
+package com.example.api.exception;
+
+/**
+ * Idempotency Key Reuse Exception
+ *
+ * Thrown when an Idempotency-Key that is still remembered is sent
+ * again with a different request body. Mapped to 422 Unprocessable
+ * Entity by GlobalExceptionHandler.
+ *
+ * @author Your Name
+ * @version 1.0.0
+ */
+public class IdempotencyKeyReuseException extends RuntimeException {
+
+    /**
+     * Create the exception for a reused key
+     *
+     * @param key The Idempotency-Key that was reused
+     */
+    public IdempotencyKeyReuseException(String key) {
+        super("Idempotency-Key '" + key + "' was already used with a different request");
+    }
+}
@@ -0,0 +1,24 @@
+package com.example.api.exception;
+
+/**
+ * Tenant Busy Exception
+ *
+ * Thrown when a tenant already runs as many scans (listings, searches,
+ * exports, imports) as it is allowed at once. Mapped to 429 Too Many
+ * Requests with a Retry-After header by GlobalExceptionHandler.
+ *
+ * @author Your Name
+ * @version 1.0.0
+ */
+public class TenantBusyException extends RuntimeException {
+
+    /**
+     * Create the exception
+     *
+     * @param tenantId Tenant whose scan limit was reached
+     * @param maxConcurrentScans The limit
+     */
+    public TenantBusyException(String tenantId, int maxConcurrentScans) {
+        super("Tenant '" + tenantId + "' already has " + maxConcurrentScans + " scans running");
+    }
+}
@@ -0,0 +1,23 @@
+package com.example.api.exception;
+
+/**
+ * Tenant Quota Exceeded Exception
+ *
+ * Thrown when a write would take a tenant past its user quota, or a
+ * request names a new tenant when the tenant limit is reached.
+ * Mapped to 403 Forbidden by GlobalExceptionHandler.
+ *
+ * @author Your Name
+ * @version 1.0.0
+ */
+public class TenantQuotaExceededException extends RuntimeException {
+
+    /**
+     * Create the exception
+     *
+     * @param message Which quota was hit
+     */
+    public TenantQuotaExceededException(String message) {
+        super(message);
+    }
+}
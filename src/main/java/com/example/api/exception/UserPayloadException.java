@@ -0,0 +1,44 @@
+package com.example.api.exception;
+
+import org.springframework.http.HttpInputMessage;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.converter.HttpMessageNotReadableException;
+
+/**
+ * User Payload Exception
+ *
+ * Thrown by the streaming User JSON reader when a request body is
+ * malformed (400), too large (413), or has a field longer than User
+ * allows (400, reported like a validation error on that field).
+ * Mapped by GlobalExceptionHandler.
+ *
+ * @author Your Name
+ * @version 1.0.0
+ */
+public class UserPayloadException extends HttpMessageNotReadableException {
+
+    private final HttpStatus status;
+    private final String field;
+
+    /**
+     * Create the exception
+     *
+     * @param status Response status: 400 or 413
+     * @param field Field that failed its length check, or null
+     * @param message Error message
+     * @param inputMessage Request being read
+     */
+    public UserPayloadException(HttpStatus status, String field, String message, HttpInputMessage inputMessage) {
+        super(message, inputMessage);
+        this.status = status;
+        this.field = field;
+    }
+
+    public HttpStatus getStatus() {
+        return status;
+    }
+
+    public String getField() {
+        return field;
+    }
+}
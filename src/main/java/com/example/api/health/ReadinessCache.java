@@ -0,0 +1,61 @@
+package com.example.api.health;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.actuate.health.HealthComponent;
+import org.springframework.boot.actuate.health.HealthEndpoint;
+import org.springframework.boot.actuate.health.Status;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * Readiness Cache - Background-refreshed readiness result
+ * 
+ * Evaluates the actuator "readiness" health group on a fixed schedule
+ * and keeps the last status, so probes read a volatile field instead
+ * of running every health indicator per request.
+ * 
+ * Refresh interval: app.health.refresh-interval-ms (default 2000)
+ * 
+ * @author Your Name
+ * @version 1.0.0
+ */
+@Component
+public class ReadinessCache {
+
+    private static final String READINESS_GROUP = "readiness";
+
+    private final HealthEndpoint healthEndpoint;
+    private volatile Status status = Status.UNKNOWN;
+
+    @Autowired
+    public ReadinessCache(HealthEndpoint healthEndpoint) {
+        this.healthEndpoint = healthEndpoint;
+    }
+
+    /**
+     * Re-evaluate the readiness group
+     */
+    @Scheduled(fixedDelayString = "${app.health.refresh-interval-ms:2000}")
+    public void refresh() {
+        HealthComponent readiness = healthEndpoint.healthForPath(READINESS_GROUP);
+        status = readiness != null ? readiness.getStatus() : Status.UNKNOWN;
+    }
+
+    /**
+     * Get the last evaluated readiness status
+     * 
+     * @return Cached status
+     */
+    public Status getStatus() {
+        return status;
+    }
+
+    /**
+     * Check whether the last evaluation reported UP
+     * 
+     * @return true if ready
+     */
+    public boolean isReady() {
+        return Status.UP.equals(status);
+    }
+}
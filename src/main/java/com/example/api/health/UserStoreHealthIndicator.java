@@ -0,0 +1,38 @@
+package com.example.api.health;
+
+import com.example.api.service.UserService;
+import com.example.api.service.UserStoreState;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.actuate.health.Health;
+import org.springframework.boot.actuate.health.HealthIndicator;
+import org.springframework.stereotype.Component;
+
+/**
+ * User Store Health Indicator - Readiness of the user store
+ * 
+ * Reports UP only while the store is READY. Loading, log replay and
+ * overload all report OUT_OF_SERVICE so the instance is taken out of
+ * the load balancer without being restarted.
+ * 
+ * Registered as "userStore" and included in the readiness group.
+ * 
+ * @author Your Name
+ * @version 1.0.0
+ */
+@Component("userStore")
+public class UserStoreHealthIndicator implements HealthIndicator {
+
+    private final UserService userService;
+
+    @Autowired
+    public UserStoreHealthIndicator(UserService userService) {
+        this.userService = userService;
+    }
+
+    @Override
+    public Health health() {
+        UserStoreState state = userService.getStoreState();
+        Health.Builder builder = state.acceptsTraffic() ? Health.up() : Health.outOfService();
+        return builder.withDetail("state", state.name()).build();
+    }
+}
@@ -0,0 +1,103 @@
+package com.example.api.json;
+
+import com.example.api.exception.UserPayloadException;
+import com.example.api.model.User;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.HttpInputMessage;
+import org.springframework.http.HttpOutputMessage;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.http.converter.HttpMessageNotWritableException;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * User JSON Message Converter - Reads User request bodies without Jackson
+ *
+ * Spring Boot places HttpMessageConverter beans ahead of its defaults,
+ * so @RequestBody User parameters (POST and PUT /users) are read by
+ * UserJsonParser, which fails fast on malformed or oversized bodies
+ * and over-long fields. Validation still runs on the result. Responses
+ * are left to Jackson: canWrite is always false, so Spring never picks
+ * this converter to write.
+ *
+ * A Content-Length above app.users.json.max-body-bytes is refused
+ * with 413 before any of the body is read; a body without one is cut
+ * off at that size. Set app.users.json-reader=jackson to go back to
+ * Jackson databind.
+ *
+ * @author Your Name
+ * @version 1.0.0
+ */
+@Component
+@ConditionalOnProperty(name = "app.users.json-reader", havingValue = "streaming", matchIfMissing = true)
+public class UserJsonHttpMessageConverter implements HttpMessageConverter<User> {
+
+    private static final List<MediaType> SUPPORTED_MEDIA_TYPES = Collections.unmodifiableList(Arrays.asList(
+            MediaType.APPLICATION_JSON, new MediaType("application", "*+json")));
+
+    private final long maxBodyBytes;
+
+    public UserJsonHttpMessageConverter(@Value("${app.users.json.max-body-bytes:16384}") long maxBodyBytes) {
+        if (maxBodyBytes <= 0) {
+            throw new IllegalArgumentException("app.users.json.max-body-bytes must be positive");
+        }
+        this.maxBodyBytes = maxBodyBytes;
+    }
+
+    @Override
+    public boolean canRead(Class<?> clazz, MediaType mediaType) {
+        if (User.class != clazz) {
+            return false;
+        }
+        if (mediaType == null) {
+            return true;
+        }
+        for (MediaType supported : SUPPORTED_MEDIA_TYPES) {
+            if (supported.includes(mediaType)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    @Override
+    public boolean canWrite(Class<?> clazz, MediaType mediaType) {
+        return false;
+    }
+
+    @Override
+    public List<MediaType> getSupportedMediaTypes() {
+        return SUPPORTED_MEDIA_TYPES;
+    }
+
+    @Override
+    public User read(Class<? extends User> clazz, HttpInputMessage inputMessage) throws IOException {
+        long contentLength = inputMessage.getHeaders().getContentLength();
+        if (contentLength > maxBodyBytes) {
+            throw new UserPayloadException(HttpStatus.PAYLOAD_TOO_LARGE, null,
+                    "Request body exceeds " + maxBodyBytes + " bytes", inputMessage);
+        }
+        MediaType contentType = inputMessage.getHeaders().getContentType();
+        Charset charset = contentType != null ? contentType.getCharset() : null;
+        if (charset != null && !StandardCharsets.UTF_8.equals(charset)) {
+            throw new UserPayloadException(HttpStatus.BAD_REQUEST, null,
+                    "User JSON must be UTF-8, not " + charset.name(), inputMessage);
+        }
+        return UserJsonParser.parse(inputMessage, maxBodyBytes);
+    }
+
+    @Override
+    public void write(User user, MediaType contentType, HttpOutputMessage outputMessage) {
+        // Unreachable through Spring MVC, which calls canWrite first
+        throw new HttpMessageNotWritableException("UserJsonHttpMessageConverter only reads");
+    }
+}
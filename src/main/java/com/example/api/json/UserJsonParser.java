@@ -0,0 +1,486 @@
+package com.example.api.json;
+
+import com.example.api.exception.UserPayloadException;
+import com.example.api.model.User;
+import org.springframework.http.HttpInputMessage;
+import org.springframework.http.HttpStatus;
+
+import java.io.IOException;
+import java.io.InputStream;
+
+/**
+ * User JSON Parser - Single-pass reader for a User request body
+ *
+ * Reads the body through one small byte buffer and decodes UTF-8
+ * straight into a char array sized for the longest allowed field, so
+ * each accepted field costs one String and nothing else. The length
+ * limits of User are checked while characters arrive: an over-long
+ * field, a malformed body or more than maxBodyBytes fails at that
+ * byte, without reading or buffering the rest of the body.
+ *
+ * Follows the application's Jackson settings for User: unknown
+ * properties are skipped, a repeated property keeps its last value,
+ * and null for active means false. Field values must have their JSON
+ * type: no coercion of numbers to strings or back.
+ *
+ * @author Your Name
+ * @version 1.0.0
+ */
+final class UserJsonParser {
+
+    // Same upper bounds as the @Size constraints on User, and the longest
+    // address EmailAddressValidator accepts (64 + "@" + 255)
+    static final int MAX_NAME_LENGTH = 50;
+    static final int MAX_EMAIL_LENGTH = 320;
+
+    private static final int BUFFER_SIZE = 4096;
+    private static final int MAX_KEY_LENGTH = 16;
+    private static final int MAX_DEPTH = 32;
+
+    private static final int END = -1;
+
+    private static final String[] KEYS = {"id", "username", "email", "firstName", "lastName", "active"};
+
+    private final InputStream in;
+    private final HttpInputMessage inputMessage;
+    private final long maxBodyBytes;
+    private final byte[] buffer;
+    private final char[] chars = new char[MAX_EMAIL_LENGTH];
+    private int pos;
+    private int limit;
+    private long offset;
+
+    // Second half of a supplementary character decoded from UTF-8
+    private char pendingLowSurrogate;
+
+    private UserJsonParser(HttpInputMessage inputMessage, long maxBodyBytes) throws IOException {
+        this.in = inputMessage.getBody();
+        this.inputMessage = inputMessage;
+        this.maxBodyBytes = maxBodyBytes;
+        this.buffer = new byte[(int) Math.min(BUFFER_SIZE, maxBodyBytes + 1)];
+    }
+
+    /**
+     * Read one User from a JSON request body
+     *
+     * @param inputMessage Request whose body holds a JSON object
+     * @param maxBodyBytes Largest body accepted
+     * @return Parsed user; constraints other than maximum lengths are left to validation
+     * @throws IOException if reading the body fails
+     * @throws UserPayloadException if the body is malformed, too large or has an over-long field
+     */
+    static User parse(HttpInputMessage inputMessage, long maxBodyBytes) throws IOException {
+        return new UserJsonParser(inputMessage, maxBodyBytes).readUser();
+    }
+
+    private User readUser() throws IOException {
+        User user = new User();
+        expect(nextToken(), '{');
+        int c = nextToken();
+        if (c != '}') {
+            while (true) {
+                expect(c, '"');
+                String key = readKey();
+                expect(nextToken(), ':');
+                readField(key, user);
+                c = nextToken();
+                if (c == '}') {
+                    break;
+                }
+                expect(c, ',');
+                c = nextToken();
+            }
+        }
+        if (nextToken() != END) {
+            throw malformed("unexpected content after the user object");
+        }
+        return user;
+    }
+
+    private void readField(String key, User user) throws IOException {
+        int c = nextToken();
+        if (key == null) {
+            skipValue(c, 0);
+            return;
+        }
+        switch (key) {
+            case "id":
+                user.setId(readId(c));
+                break;
+            case "username":
+                user.setUsername(readString(c, MAX_NAME_LENGTH, "username",
+                        "Username must be between 3 and 50 characters"));
+                break;
+            case "email":
+                user.setEmail(readString(c, MAX_EMAIL_LENGTH, "email", "Email must be valid"));
+                break;
+            case "firstName":
+                user.setFirstName(readString(c, MAX_NAME_LENGTH, "firstName",
+                        "First name must be between 2 and 50 characters"));
+                break;
+            case "lastName":
+                user.setLastName(readString(c, MAX_NAME_LENGTH, "lastName",
+                        "Last name must be between 2 and 50 characters"));
+                break;
+            case "active":
+                user.setActive(readBoolean(c));
+                break;
+            default:
+                skipValue(c, 0);
+        }
+    }
+
+    // Property names are matched against User's; longer ones are skipped as unknown
+    private String readKey() throws IOException {
+        int length = 0;
+        int c;
+        while ((c = nextStringChar()) != END) {
+            if (length < MAX_KEY_LENGTH) {
+                chars[length] = (char) c;
+            }
+            length++;
+        }
+        return length <= MAX_KEY_LENGTH ? knownKey(length) : null;
+    }
+
+    private String knownKey(int length) {
+        for (String key : KEYS) {
+            if (key.length() == length && startsWith(key)) {
+                return key;
+            }
+        }
+        return null;
+    }
+
+    private boolean startsWith(String key) {
+        for (int i = 0; i < key.length(); i++) {
+            if (chars[i] != key.charAt(i)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private String readString(int c, int maxLength, String field, String tooLongMessage) throws IOException {
+        if (c == 'n') {
+            readLiteral("ull");
+            return null;
+        }
+        if (c != '"') {
+            throw malformed("expected a string for " + field);
+        }
+        int length = 0;
+        while ((c = nextStringChar()) != END) {
+            if (length == maxLength) {
+                throw new UserPayloadException(HttpStatus.BAD_REQUEST, field, tooLongMessage, inputMessage);
+            }
+            chars[length++] = (char) c;
+        }
+        return new String(chars, 0, length);
+    }
+
+    private Long readId(int c) throws IOException {
+        if (c == 'n') {
+            readLiteral("ull");
+            return null;
+        }
+        boolean negative = c == '-';
+        if (negative) {
+            c = next();
+        }
+        if (c < '0' || c > '9') {
+            throw malformed("expected an integer for id");
+        }
+        boolean leadingZero = c == '0';
+        long value = 0;
+        do {
+            if (value > (Long.MAX_VALUE - (c - '0')) / 10) {
+                throw malformed("id is out of range");
+            }
+            value = value * 10 + (c - '0');
+            c = next();
+            if (leadingZero && isDigit(c)) {
+                throw malformed("leading zeros are not allowed");
+            }
+        } while (isDigit(c));
+        if (c == '.' || c == 'e' || c == 'E') {
+            throw malformed("expected an integer for id");
+        }
+        unread(c);
+        return negative ? -value : value;
+    }
+
+    private boolean readBoolean(int c) throws IOException {
+        switch (c) {
+            case 't':
+                readLiteral("rue");
+                return true;
+            case 'f':
+                readLiteral("alse");
+                return false;
+            case 'n':
+                readLiteral("ull");
+                return false;
+            default:
+                throw malformed("expected true or false for active");
+        }
+    }
+
+    private void skipValue(int c, int depth) throws IOException {
+        if (depth == MAX_DEPTH) {
+            throw malformed("nesting is too deep");
+        }
+        switch (c) {
+            case '"':
+                while (nextStringChar() != END) {
+                    // Skipped
+                }
+                return;
+            case '{':
+                c = nextToken();
+                if (c == '}') {
+                    return;
+                }
+                while (true) {
+                    expect(c, '"');
+                    while (nextStringChar() != END) {
+                        // Skipped
+                    }
+                    expect(nextToken(), ':');
+                    skipValue(nextToken(), depth + 1);
+                    c = nextToken();
+                    if (c == '}') {
+                        return;
+                    }
+                    expect(c, ',');
+                    c = nextToken();
+                }
+            case '[':
+                c = nextToken();
+                if (c == ']') {
+                    return;
+                }
+                while (true) {
+                    skipValue(c, depth + 1);
+                    c = nextToken();
+                    if (c == ']') {
+                        return;
+                    }
+                    expect(c, ',');
+                    c = nextToken();
+                }
+            case 't':
+                readLiteral("rue");
+                return;
+            case 'f':
+                readLiteral("alse");
+                return;
+            case 'n':
+                readLiteral("ull");
+                return;
+            default:
+                skipNumber(c);
+        }
+    }
+
+    // Same grammar as Jackson: -?(0|[1-9][0-9]*)(.[0-9]+)?([eE][+-]?[0-9]+)?
+    private void skipNumber(int c) throws IOException {
+        if (c != '-' && !isDigit(c)) {
+            throw malformed("unexpected " + describe(c));
+        }
+        if (c == '-') {
+            c = next();
+        }
+        c = skipDigits(c, true);
+        if (c == '.') {
+            c = skipDigits(next(), false);
+        }
+        if (c == 'e' || c == 'E') {
+            c = next();
+            if (c == '+' || c == '-') {
+                c = next();
+            }
+            c = skipDigits(c, false);
+        }
+        unread(c);
+    }
+
+    // Skips one or more digits and returns the byte after them
+    private int skipDigits(int c, boolean integerPart) throws IOException {
+        if (!isDigit(c)) {
+            throw malformed("expected a digit but found " + describe(c));
+        }
+        boolean leadingZero = integerPart && c == '0';
+        c = next();
+        if (leadingZero && isDigit(c)) {
+            throw malformed("leading zeros are not allowed");
+        }
+        while (isDigit(c)) {
+            c = next();
+        }
+        return c;
+    }
+
+    private void readLiteral(String rest) throws IOException {
+        for (int i = 0; i < rest.length(); i++) {
+            if (next() != rest.charAt(i)) {
+                throw malformed("invalid literal");
+            }
+        }
+    }
+
+    /**
+     * Decode the next UTF-16 unit of a string whose opening quote was read
+     *
+     * Characters outside the BMP are returned as two calls, high
+     * surrogate first.
+     *
+     * @return Next char, or END at the closing quote
+     */
+    private int nextStringChar() throws IOException {
+        if (pendingLowSurrogate != 0) {
+            char low = pendingLowSurrogate;
+            pendingLowSurrogate = 0;
+            return low;
+        }
+        int b = next();
+        if (b == '"') {
+            return END;
+        }
+        if (b == '\\') {
+            return readEscape();
+        }
+        if (b < 0x20) {
+            throw malformed(b == END ? "unterminated string" : "control character in string");
+        }
+        if (b < 0x80) {
+            return b;
+        }
+        int codePoint;
+        int continuation;
+        int min;
+        if ((b & 0xE0) == 0xC0) {
+            codePoint = b & 0x1F;
+            continuation = 1;
+            min = 0x80;
+        } else if ((b & 0xF0) == 0xE0) {
+            codePoint = b & 0x0F;
+            continuation = 2;
+            min = 0x800;
+        } else if ((b & 0xF8) == 0xF0) {
+            codePoint = b & 0x07;
+            continuation = 3;
+            min = 0x10000;
+        } else {
+            throw malformed("invalid UTF-8");
+        }
+        for (int i = 0; i < continuation; i++) {
+            int next = next();
+            if ((next & 0xC0) != 0x80) {
+                throw malformed("invalid UTF-8");
+            }
+            codePoint = (codePoint << 6) | (next & 0x3F);
+        }
+        if (codePoint < min || codePoint > Character.MAX_CODE_POINT
+                || (codePoint >= Character.MIN_SURROGATE && codePoint <= Character.MAX_SURROGATE)) {
+            throw malformed("invalid UTF-8");
+        }
+        if (codePoint >= Character.MIN_SUPPLEMENTARY_CODE_POINT) {
+            pendingLowSurrogate = Character.lowSurrogate(codePoint);
+            return Character.highSurrogate(codePoint);
+        }
+        return codePoint;
+    }
+
+    private int readEscape() throws IOException {
+        int c = next();
+        switch (c) {
+            case '"':
+            case '\\':
+            case '/':
+                return c;
+            case 'b':
+                return '\b';
+            case 'f':
+                return '\f';
+            case 'n':
+                return '\n';
+            case 'r':
+                return '\r';
+            case 't':
+                return '\t';
+            case 'u':
+                int value = 0;
+                for (int i = 0; i < 4; i++) {
+                    int digit = Character.digit(next(), 16);
+                    if (digit < 0) {
+                        throw malformed("invalid \\u escape");
+                    }
+                    value = (value << 4) | digit;
+                }
+                return value;
+            default:
+                throw malformed("invalid escape");
+        }
+    }
+
+    private void expect(int c, char expected) {
+        if (c != expected) {
+            throw malformed("expected '" + expected + "' but found " + describe(c));
+        }
+    }
+
+    private int nextToken() throws IOException {
+        int c;
+        do {
+            c = next();
+        } while (c == ' ' || c == '\n' || c == '\r' || c == '\t');
+        return c;
+    }
+
+    private int next() throws IOException {
+        if (pos == limit) {
+            if (limit < 0) {
+                return END;
+            }
+            offset += limit;
+            int read = in.read(buffer, 0, buffer.length);
+            if (read <= 0) {
+                limit = -1;
+                pos = -1;
+                return END;
+            }
+            if (offset + read > maxBodyBytes) {
+                throw new UserPayloadException(HttpStatus.PAYLOAD_TOO_LARGE, null,
+                        "Request body exceeds " + maxBodyBytes + " bytes", inputMessage);
+            }
+            pos = 0;
+            limit = read;
+        }
+        return buffer[pos++] & 0xFF;
+    }
+
+    // Steps back over the byte just returned by next(), which is still in the buffer
+    private void unread(int c) {
+        if (c != END) {
+            pos--;
+        }
+    }
+
+    private UserPayloadException malformed(String problem) {
+        long at = offset + Math.max(pos, 0);
+        return new UserPayloadException(HttpStatus.BAD_REQUEST, null,
+                "Malformed user JSON at byte " + at + ": " + problem, inputMessage);
+    }
+
+    private static boolean isDigit(int c) {
+        return c >= '0' && c <= '9';
+    }
+
+    private static String describe(int c) {
+        if (c == END) {
+            return "end of body";
+        }
+        return c >= 0x20 && c < 0x7F ? "'" + (char) c + "'" : String.format("byte 0x%02x", c);
+    }
+}
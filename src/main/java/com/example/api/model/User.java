@@ -61,6 +61,20 @@ public class User {
         this.active = true;
     }
 
+    /**
+     * Copy constructor
+     * 
+     * @param other User to copy
+     */
+    public User(User other) {
+        this.id = other.id;
+        this.username = other.username;
+        this.email = other.email;
+        this.firstName = other.firstName;
+        this.lastName = other.lastName;
+        this.active = other.active;
+    }
+
     // Getters and Setters
 
     public Long getId() {
@@ -0,0 +1,169 @@
+package com.example.api.profiling;
+
+import jdk.jfr.Configuration;
+import jdk.jfr.Recording;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.boot.actuate.endpoint.annotation.Selector;
+import org.springframework.boot.actuate.endpoint.annotation.WriteOperation;
+import org.springframework.boot.actuate.endpoint.web.WebEndpointResponse;
+import org.springframework.lang.Nullable;
+import org.springframework.stereotype.Component;
+
+import javax.annotation.PreDestroy;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.text.ParseException;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * JFR Recording Endpoint - Start, stop and dump a flight recording on demand
+ *
+ * Endpoints (under /actuator/jfr):
+ * - GET: state of the current recording
+ * - POST /start: start recording with JFR's "default" settings (low
+ *   overhead) or settings=profile; UserOperationEvent is always on
+ * - POST /dump: write what has been recorded so far to a file
+ * - POST /stop: stop, write the file and discard the recording
+ *
+ * Files go to app.jfr.dump-dir and can be summarised offline with
+ * UserOperationReport. The endpoint is not exposed over HTTP unless
+ * jfr is added to management.endpoints.web.exposure.include. Recordings keep at most app.jfr.max-age of
+ * data, so one left running does not fill the disk.
+ *
+ * @author Your Name
+ * @version 1.0.0
+ */
+@Component
+@Endpoint(id = "jfr")
+public class JfrRecordingEndpoint {
+
+    private static final int STATUS_CONFLICT = 409;
+    private static final DateTimeFormatter FILE_TIME = DateTimeFormatter.ofPattern("yyyyMMdd-HHmmss");
+
+    private final Path dumpDir;
+    private final Duration maxAge;
+
+    private Recording recording;
+
+    /**
+     * Constructor
+     *
+     * @param dumpDir Directory recordings are written to
+     * @param maxAge Oldest data a running recording keeps
+     */
+    public JfrRecordingEndpoint(@Value("${app.jfr.dump-dir:${java.io.tmpdir}}") String dumpDir,
+                                @Value("${app.jfr.max-age:15m}") Duration maxAge) {
+        this.dumpDir = Paths.get(dumpDir);
+        this.maxAge = maxAge;
+    }
+
+    /**
+     * Describe the current recording
+     *
+     * @return Recording state
+     */
+    @ReadOperation
+    public synchronized Map<String, Object> status() {
+        Map<String, Object> status = new LinkedHashMap<>();
+        status.put("recording", recording != null);
+        if (recording != null) {
+            status.put("name", recording.getName());
+            status.put("startTime", String.valueOf(recording.getStartTime()));
+            status.put("maxAge", String.valueOf(recording.getMaxAge()));
+        }
+        return status;
+    }
+
+    /**
+     * Start, dump or stop the recording
+     *
+     * @param action start, dump or stop
+     * @param settings JFR settings for start: default or profile
+     * @return Recording state, with "file" after dump or stop
+     */
+    @WriteOperation
+    public synchronized WebEndpointResponse<Map<String, Object>> control(@Selector String action,
+                                                                        @Nullable String settings) {
+        try {
+            switch (action) {
+                case "start":
+                    return start(settings == null ? "default" : settings);
+                case "dump":
+                    return dump(false);
+                case "stop":
+                    return dump(true);
+                default:
+                    return error(WebEndpointResponse.STATUS_BAD_REQUEST, "Unknown action: " + action);
+            }
+        } catch (IOException ex) {
+            return error(WebEndpointResponse.STATUS_INTERNAL_SERVER_ERROR, ex.getMessage());
+        }
+    }
+
+    private WebEndpointResponse<Map<String, Object>> start(String settings) {
+        if (recording != null) {
+            return error(STATUS_CONFLICT, "A recording is already running");
+        }
+        Configuration configuration;
+        try {
+            configuration = Configuration.getConfiguration(settings);
+        } catch (IOException | ParseException ex) {
+            return error(WebEndpointResponse.STATUS_BAD_REQUEST, "Unknown settings: " + settings);
+        }
+        Recording started = new Recording(configuration);
+        started.setName("users-" + LocalDateTime.now().format(FILE_TIME));
+        started.setMaxAge(maxAge);
+        started.enable(UserOperationEvent.class).withoutThreshold();
+        started.start();
+        recording = started;
+        return new WebEndpointResponse<>(status());
+    }
+
+    private WebEndpointResponse<Map<String, Object>> dump(boolean stop) throws IOException {
+        if (recording == null) {
+            return error(STATUS_CONFLICT, "No recording is running");
+        }
+        Path file = dumpDir.resolve(recording.getName() + "-" + LocalDateTime.now().format(FILE_TIME) + ".jfr");
+        try {
+            if (stop) {
+                recording.stop();
+            }
+            Files.createDirectories(dumpDir);
+            recording.dump(file);
+        } finally {
+            // A failed stop still discards the recording, so a new one can be started
+            if (stop) {
+                recording.close();
+                recording = null;
+            }
+        }
+        Map<String, Object> body = status();
+        body.put("file", file.toAbsolutePath().toString());
+        return new WebEndpointResponse<>(body);
+    }
+
+    private static WebEndpointResponse<Map<String, Object>> error(int status, String message) {
+        Map<String, Object> body = new LinkedHashMap<>();
+        body.put("error", message);
+        return new WebEndpointResponse<>(body, status);
+    }
+
+    /**
+     * Discard a running recording on shutdown
+     */
+    @PreDestroy
+    public synchronized void close() {
+        if (recording != null) {
+            recording.close();
+            recording = null;
+        }
+    }
+}
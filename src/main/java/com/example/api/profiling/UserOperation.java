@@ -0,0 +1,34 @@
+package com.example.api.profiling;
+
+/**
+ * User Operation - Timing of one UserService call
+ *
+ * What UserService sees of UserOperationEvent. No jdk.jfr type appears
+ * here, so callers compile against the plain Java 8 API (the
+ * multirelease profile builds with release 8); only this package needs
+ * JFR, which Java 8 has from 8u262.
+ *
+ * @author Your Name
+ * @version 1.0.0
+ */
+public interface UserOperation {
+
+    /**
+     * Start timing an operation
+     *
+     * @param operation Operation name, e.g. searchUsersByName
+     * @param userId Target user id, or -1 if none
+     * @return The started operation; pass it to finish
+     */
+    static UserOperation begin(String operation, long userId) {
+        return UserOperationEvent.begin(operation, userId);
+    }
+
+    /**
+     * Stop timing and record the operation if a recording wants it
+     *
+     * @param resultSize Users returned to the caller
+     * @param scanCount Users read from the store
+     */
+    void finish(int resultSize, long scanCount);
+}
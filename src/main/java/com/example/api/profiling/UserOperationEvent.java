@@ -0,0 +1,76 @@
+package com.example.api.profiling;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * User Operation Event - JDK Flight Recorder event for one UserService call
+ *
+ * Records the operation name, the user id it targeted (-1 if none), how
+ * many users it returned and how many it read from the store, plus the
+ * duration JFR takes between begin and finish. Stack traces are off to
+ * keep the event cheap; when no recording has the event enabled, begin
+ * and finish cost a few field writes.
+ *
+ * @author Your Name
+ * @version 1.0.0
+ */
+@Name(UserOperationEvent.NAME)
+@Label("User Operation")
+@Category({"Example API", "Users"})
+@Description("A UserService call and the store work it did")
+@StackTrace(false)
+public class UserOperationEvent extends Event implements UserOperation {
+
+    /** Event type name, as it appears in recordings */
+    public static final String NAME = "com.example.api.UserOperation";
+
+    @Label("Operation")
+    private String operation;
+
+    @Label("User ID")
+    private long userId;
+
+    @Label("Result Size")
+    @Description("Users returned to the caller")
+    private int resultSize;
+
+    @Label("Scan Count")
+    @Description("Users read from the store")
+    private long scanCount;
+
+    /**
+     * Start timing an operation
+     *
+     * @param operation Operation name, e.g. searchUsersByName
+     * @param userId Target user id, or -1 if none
+     * @return The started event; pass it to finish
+     */
+    public static UserOperationEvent begin(String operation, long userId) {
+        UserOperationEvent event = new UserOperationEvent();
+        event.operation = operation;
+        event.userId = userId;
+        event.begin();
+        return event;
+    }
+
+    /**
+     * Stop timing and commit if a recording wants the event
+     *
+     * @param resultSize Users returned to the caller
+     * @param scanCount Users read from the store
+     */
+    @Override
+    public void finish(int resultSize, long scanCount) {
+        end();
+        if (shouldCommit()) {
+            this.resultSize = resultSize;
+            this.scanCount = scanCount;
+            commit();
+        }
+    }
+}
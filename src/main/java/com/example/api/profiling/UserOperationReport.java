@@ -0,0 +1,253 @@
+package com.example.api.profiling;
+
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.TreeMap;
+
+/**
+ * User Operation Report - Offline summary of UserOperationEvents in a JFR file
+ *
+ * Reads a recording written by JfrRecordingEndpoint (or jcmd JFR.dump)
+ * and reports, per operation, the call count, p50/p99/max duration and
+ * users scanned, followed by the slowest individual calls.
+ *
+ * Run: java -cp target/classes com.example.api.profiling.UserOperationReport recording.jfr [slowest]
+ *
+ * @author Your Name
+ * @version 1.0.0
+ */
+public final class UserOperationReport {
+
+    private static final int DEFAULT_SLOWEST = 20;
+
+    private final Map<String, OperationSummary> operations;
+    private final List<SlowOperation> slowest;
+
+    private UserOperationReport(Map<String, OperationSummary> operations, List<SlowOperation> slowest) {
+        this.operations = operations;
+        this.slowest = slowest;
+    }
+
+    /**
+     * Read a recording
+     *
+     * @param recording JFR file
+     * @param slowestLimit Number of slowest calls to keep
+     * @return The report
+     * @throws IOException if the file cannot be read
+     */
+    public static UserOperationReport read(Path recording, int slowestLimit) throws IOException {
+        Map<String, Accumulator> byOperation = new TreeMap<>();
+        Comparator<SlowOperation> byDuration = Comparator.comparing(SlowOperation::getDuration);
+        PriorityQueue<SlowOperation> slowest = new PriorityQueue<>(byDuration);
+
+        try (RecordingFile file = new RecordingFile(recording)) {
+            while (file.hasMoreEvents()) {
+                RecordedEvent event = file.readEvent();
+                if (!UserOperationEvent.NAME.equals(event.getEventType().getName())) {
+                    continue;
+                }
+                byOperation.computeIfAbsent(event.getString("operation"), key -> new Accumulator()).add(event);
+                slowest.add(new SlowOperation(event));
+                if (slowest.size() > slowestLimit) {
+                    slowest.poll();
+                }
+            }
+        }
+
+        Map<String, OperationSummary> operations = new TreeMap<>();
+        byOperation.forEach((name, calls) -> operations.put(name, new OperationSummary(name, calls)));
+        List<SlowOperation> slowestFirst = new ArrayList<>(slowest);
+        slowestFirst.sort(byDuration.reversed());
+        return new UserOperationReport(operations, slowestFirst);
+    }
+
+    /**
+     * Get the per-operation summaries
+     *
+     * @return Summaries keyed by operation name
+     */
+    public Map<String, OperationSummary> getOperations() {
+        return Collections.unmodifiableMap(operations);
+    }
+
+    /**
+     * Get the slowest calls
+     *
+     * @return Calls ordered slowest first
+     */
+    public List<SlowOperation> getSlowest() {
+        return Collections.unmodifiableList(slowest);
+    }
+
+    /**
+     * Print the report as text tables
+     *
+     * @param out Destination
+     */
+    public void print(PrintStream out) {
+        out.printf("%-20s %8s %10s %10s %10s %12s%n", "Operation", "Count", "p50 ms", "p99 ms", "Max ms", "Scanned");
+        for (OperationSummary summary : operations.values()) {
+            out.printf("%-20s %8d %10.3f %10.3f %10.3f %12d%n", summary.getOperation(), summary.getCount(),
+                    millis(summary.getP50()), millis(summary.getP99()), millis(summary.getMax()),
+                    summary.getScanned());
+        }
+        out.println();
+        out.printf("%-20s %10s %8s %8s %10s  %-30s %s%n",
+                "Slowest", "ms", "User ID", "Result", "Scanned", "Start", "Thread");
+        for (SlowOperation call : slowest) {
+            out.printf("%-20s %10.3f %8d %8d %10d  %-30s %s%n", call.getOperation(), millis(call.getDuration()),
+                    call.getUserId(), call.getResultSize(), call.getScanCount(), call.getStartTime(),
+                    call.getThread());
+        }
+    }
+
+    public static void main(String[] args) throws IOException {
+        if (args.length == 0) {
+            System.err.println("Usage: UserOperationReport <recording.jfr> [slowest]");
+            System.exit(2);
+        }
+        int slowestLimit = args.length > 1 ? Integer.parseInt(args[1]) : DEFAULT_SLOWEST;
+        read(Paths.get(args[0]), slowestLimit).print(System.out);
+    }
+
+    private static double millis(Duration duration) {
+        return duration.toNanos() / 1_000_000.0;
+    }
+
+    // Durations and scan total of one operation, without keeping the events
+    private static final class Accumulator {
+
+        long[] nanos = new long[64];
+        int count;
+        long scanned;
+
+        void add(RecordedEvent event) {
+            if (count == nanos.length) {
+                nanos = Arrays.copyOf(nanos, count * 2);
+            }
+            nanos[count++] = event.getDuration().toNanos();
+            scanned += event.getLong("scanCount");
+        }
+    }
+
+    /**
+     * Operation Summary - Aggregates for one operation name
+     */
+    public static final class OperationSummary {
+
+        private final String operation;
+        private final int count;
+        private final Duration p50;
+        private final Duration p99;
+        private final Duration max;
+        private final long scanned;
+
+        OperationSummary(String operation, Accumulator calls) {
+            long[] nanos = Arrays.copyOf(calls.nanos, calls.count);
+            Arrays.sort(nanos);
+            this.operation = operation;
+            this.count = nanos.length;
+            this.p50 = Duration.ofNanos(percentile(nanos, 50));
+            this.p99 = Duration.ofNanos(percentile(nanos, 99));
+            this.max = Duration.ofNanos(nanos[nanos.length - 1]);
+            this.scanned = calls.scanned;
+        }
+
+        // Nearest-rank percentile of sorted values
+        private static long percentile(long[] sorted, double percentile) {
+            int rank = (int) Math.ceil(percentile / 100 * sorted.length);
+            return sorted[Math.max(rank, 1) - 1];
+        }
+
+        public String getOperation() {
+            return operation;
+        }
+
+        public int getCount() {
+            return count;
+        }
+
+        public Duration getP50() {
+            return p50;
+        }
+
+        public Duration getP99() {
+            return p99;
+        }
+
+        public Duration getMax() {
+            return max;
+        }
+
+        public long getScanned() {
+            return scanned;
+        }
+    }
+
+    /**
+     * Slow Operation - One recorded call
+     */
+    public static final class SlowOperation {
+
+        private final String operation;
+        private final long userId;
+        private final int resultSize;
+        private final long scanCount;
+        private final Duration duration;
+        private final Instant startTime;
+        private final String thread;
+
+        SlowOperation(RecordedEvent event) {
+            this.operation = event.getString("operation");
+            this.userId = event.getLong("userId");
+            this.resultSize = event.getInt("resultSize");
+            this.scanCount = event.getLong("scanCount");
+            this.duration = event.getDuration();
+            this.startTime = event.getStartTime();
+            this.thread = event.getThread() == null ? "" : event.getThread().getJavaName();
+        }
+
+        public String getOperation() {
+            return operation;
+        }
+
+        public long getUserId() {
+            return userId;
+        }
+
+        public int getResultSize() {
+            return resultSize;
+        }
+
+        public long getScanCount() {
+            return scanCount;
+        }
+
+        public Duration getDuration() {
+            return duration;
+        }
+
+        public Instant getStartTime() {
+            return startTime;
+        }
+
+        public String getThread() {
+            return thread;
+        }
+    }
+}
@@ -0,0 +1,201 @@
+package com.example.api.repository;
+
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Byte Arena - Append-only store for short strings
+ *
+ * Strings are written back to back into 1 MiB pages and referenced by
+ * an int (page number and offset), so a stored field costs its encoded
+ * bytes plus a one or two byte header instead of a String and its
+ * backing array. Strings whose chars all fit in ISO-8859-1 take one
+ * byte per char; anything else falls back to UTF-8. The header is a
+ * varint of (length << 1 | utf8).
+ *
+ * The arena itself never reclaims space: a replaced or deleted field
+ * stays in its page. Owners track how many bytes they have dropped
+ * (sizeOf) and copy the live strings into a fresh arena (copy) once
+ * enough are dead. Not thread-safe; callers synchronize.
+ *
+ * @author Your Name
+ * @version 1.0.0
+ */
+class ByteArena {
+
+    /** Reference returned for a null string */
+    static final int NULL = -1;
+
+    private static final int PAGE_BITS = 20;
+    private static final int PAGE_SIZE = 1 << PAGE_BITS;
+    private static final int OFFSET_MASK = PAGE_SIZE - 1;
+    private static final int MAX_PAGES = Integer.MAX_VALUE >>> PAGE_BITS;
+
+    private byte[][] pages = new byte[4][];
+    private int pageCount;
+    private int position = PAGE_SIZE;
+
+    /**
+     * Append a string
+     *
+     * @param value String to store, may be null
+     * @return Reference to pass to read, or NULL
+     * @throws IllegalArgumentException if the encoded string exceeds one page
+     */
+    int append(String value) {
+        if (value == null) {
+            return NULL;
+        }
+        int length = value.length();
+        if (isLatin1(value)) {
+            byte[] page = reserve(headerSize(length << 1) + length);
+            int offset = position;
+            position = writeHeader(page, position, length << 1);
+            for (int i = 0; i < length; i++) {
+                page[position++] = (byte) value.charAt(i);
+            }
+            return reference(offset);
+        }
+        byte[] utf8 = value.getBytes(StandardCharsets.UTF_8);
+        byte[] page = reserve(headerSize(utf8.length << 1 | 1) + utf8.length);
+        int offset = position;
+        position = writeHeader(page, position, utf8.length << 1 | 1);
+        System.arraycopy(utf8, 0, page, position, utf8.length);
+        position += utf8.length;
+        return reference(offset);
+    }
+
+    /**
+     * Read a string back
+     *
+     * @param reference Value returned by append
+     * @return The stored string, or null for NULL
+     */
+    String read(int reference) {
+        if (reference == NULL) {
+            return null;
+        }
+        byte[] page = pages[reference >>> PAGE_BITS];
+        int offset = reference & OFFSET_MASK;
+        int header = 0;
+        int shift = 0;
+        byte b;
+        do {
+            b = page[offset++];
+            header |= (b & 0x7F) << shift;
+            shift += 7;
+        } while (b < 0);
+        return new String(page, offset, header >>> 1,
+                (header & 1) == 0 ? StandardCharsets.ISO_8859_1 : StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Copy a string from another arena without decoding it
+     *
+     * @param source Arena the reference belongs to
+     * @param reference Value returned by source.append
+     * @return Reference into this arena, or NULL
+     */
+    int copy(ByteArena source, int reference) {
+        if (reference == NULL) {
+            return NULL;
+        }
+        byte[] from = source.pages[reference >>> PAGE_BITS];
+        int size = source.sizeOf(reference);
+        byte[] page = reserve(size);
+        int offset = position;
+        System.arraycopy(from, reference & OFFSET_MASK, page, offset, size);
+        position += size;
+        return reference(offset);
+    }
+
+    /**
+     * Get the number of bytes a stored string takes, header included
+     *
+     * @param reference Value returned by append
+     * @return Bytes used, or 0 for NULL
+     */
+    int sizeOf(int reference) {
+        if (reference == NULL) {
+            return 0;
+        }
+        byte[] page = pages[reference >>> PAGE_BITS];
+        int offset = reference & OFFSET_MASK;
+        int header = 0;
+        int shift = 0;
+        int headerBytes = 0;
+        byte b;
+        do {
+            b = page[offset + headerBytes++];
+            header |= (b & 0x7F) << shift;
+            shift += 7;
+        } while (b < 0);
+        return headerBytes + (header >>> 1);
+    }
+
+    /**
+     * Get the number of bytes written so far, including unused page tails
+     *
+     * @return Bytes up to the current position
+     */
+    long usedBytes() {
+        return pageCount == 0 ? 0 : (long) (pageCount - 1) * PAGE_SIZE + position;
+    }
+
+    /**
+     * Get the number of bytes allocated for pages
+     *
+     * @return Allocated bytes, used or not
+     */
+    long allocatedBytes() {
+        return (long) pageCount * PAGE_SIZE;
+    }
+
+    private byte[] reserve(int bytes) {
+        if (bytes > PAGE_SIZE) {
+            throw new IllegalArgumentException("Value too long for compact storage: " + bytes + " bytes");
+        }
+        if (position + bytes > PAGE_SIZE) {
+            if (pageCount == MAX_PAGES) {
+                throw new IllegalStateException("Compact storage is full");
+            }
+            if (pageCount == pages.length) {
+                byte[][] grown = new byte[pages.length * 2][];
+                System.arraycopy(pages, 0, grown, 0, pageCount);
+                pages = grown;
+            }
+            pages[pageCount++] = new byte[PAGE_SIZE];
+            position = 0;
+        }
+        return pages[pageCount - 1];
+    }
+
+    private int reference(int offset) {
+        return (pageCount - 1) << PAGE_BITS | offset;
+    }
+
+    private static boolean isLatin1(String value) {
+        for (int i = 0; i < value.length(); i++) {
+            if (value.charAt(i) > 0xFF) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static int headerSize(int header) {
+        int size = 1;
+        while ((header >>>= 7) != 0) {
+            size++;
+        }
+        return size;
+    }
+
+    private static int writeHeader(byte[] page, int offset, int header) {
+        while ((header & ~0x7F) != 0) {
+            page[offset++] = (byte) (header & 0x7F | 0x80);
+            header >>>= 7;
+        }
+        page[offset++] = (byte) header;
+        return offset;
+    }
+}
@@ -0,0 +1,382 @@
+package com.example.api.repository;
+
+import com.example.api.model.User;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Consumer;
+import java.util.function.LongConsumer;
+import java.util.function.LongSupplier;
+
+/**
+ * Caching User Repository - Bounded read-through/write-through cache
+ * 
+ * Sits in front of a slower repository (usually JDBC) so that
+ * GET /users/{id} does not cost a database round trip:
+ * - LRU eviction once maxSize entries are cached
+ * - entries expire after a TTL; missing ids are cached too
+ *   (negative caching) with their own, usually shorter, TTL
+ * - concurrent misses on the same id share one load (single flight)
+ * - inserts and updates write through to the delegate, then refresh the cache
+ * 
+ * A load that overlaps a write to the same id is not cached, so a slow
+ * read cannot overwrite the value the write put in the cache. Writes to
+ * other ids do not affect it.
+ * 
+ * findAllById answers what it can from the cache and loads all
+ * misses with one delegate call. findAll, findPage and count always
+ * go to the delegate.
+ * 
+ * @author Your Name
+ * @version 1.0.0
+ */
+public class CachingUserRepository implements UserRepository {
+
+    private final UserRepository delegate;
+    private final long ttlMillis;
+    private final long negativeTtlMillis;
+    private final LongSupplier clock;
+
+    private final Map<Long, CacheEntry> entries;
+    private final Map<Long, CompletableFuture<Optional<User>>> inFlight = new ConcurrentHashMap<>();
+    // Loads in progress by id, guarded by this; a write to the id drops its marker
+    private final Map<Long, Object> pendingLoads = new HashMap<>();
+
+    private final LongCounter hits = new LongCounter();
+    private final LongCounter negativeHits = new LongCounter();
+    private final LongCounter misses = new LongCounter();
+    private final LongCounter loads = new LongCounter();
+    private final LongCounter evictions = new LongCounter();
+
+    /**
+     * Create a cache using the system clock
+     * 
+     * @param delegate Repository that owns the data
+     * @param maxSize Maximum number of cached ids
+     * @param ttlMillis Lifetime of a cached user
+     * @param negativeTtlMillis Lifetime of a cached "not found"
+     */
+    public CachingUserRepository(UserRepository delegate, int maxSize, long ttlMillis, long negativeTtlMillis) {
+        this(delegate, maxSize, ttlMillis, negativeTtlMillis, System::currentTimeMillis);
+    }
+
+    /**
+     * Create a cache with a custom clock (used in tests)
+     * 
+     * @param delegate Repository that owns the data
+     * @param maxSize Maximum number of cached ids
+     * @param ttlMillis Lifetime of a cached user
+     * @param negativeTtlMillis Lifetime of a cached "not found"
+     * @param clock Source of the current time in milliseconds
+     */
+    public CachingUserRepository(UserRepository delegate, int maxSize, long ttlMillis,
+                                 long negativeTtlMillis, LongSupplier clock) {
+        this.delegate = delegate;
+        this.ttlMillis = ttlMillis;
+        this.negativeTtlMillis = negativeTtlMillis;
+        this.clock = clock;
+        this.entries = new LinkedHashMap<Long, CacheEntry>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Long, CacheEntry> eldest) {
+                if (size() > maxSize) {
+                    evictions.incrementAndGet();
+                    return true;
+                }
+                return false;
+            }
+        };
+    }
+
+    @Override
+    public Optional<User> findById(Long id) {
+        CacheEntry entry = lookup(id);
+        if (entry != null) {
+            if (entry.user != null) {
+                hits.incrementAndGet();
+            } else {
+                negativeHits.incrementAndGet();
+            }
+            return Optional.ofNullable(entry.user);
+        }
+        misses.incrementAndGet();
+
+        CompletableFuture<Optional<User>> load = new CompletableFuture<>();
+        CompletableFuture<Optional<User>> existing = inFlight.putIfAbsent(id, load);
+        if (existing != null) {
+            return awaitLoad(existing);
+        }
+        beginLoad(id, load);
+        try {
+            Optional<User> loaded = delegate.findById(id);
+            loads.incrementAndGet();
+            storeLoaded(id, loaded.orElse(null), load);
+            load.complete(loaded);
+            return loaded;
+        } catch (RuntimeException ex) {
+            load.completeExceptionally(ex);
+            throw ex;
+        } finally {
+            endLoad(id, load);
+            inFlight.remove(id, load);
+        }
+    }
+
+    @Override
+    public void findAllById(long[] ids, Consumer<User> onFound, LongConsumer onMissing) {
+        long[] missed = new long[ids.length];
+        int missedCount = 0;
+        for (long id : ids) {
+            CacheEntry entry = lookup(id);
+            if (entry == null) {
+                missed[missedCount++] = id;
+            } else if (entry.user != null) {
+                hits.incrementAndGet();
+                onFound.accept(entry.user);
+            } else {
+                negativeHits.incrementAndGet();
+                onMissing.accept(id);
+            }
+        }
+        if (missedCount == 0) {
+            return;
+        }
+        misses.addAndGet(missedCount);
+        loads.addAndGet(missedCount);
+        long[] toLoad = Arrays.copyOf(missed, missedCount);
+        Object load = new Object();
+        beginLoads(toLoad, load);
+        try {
+            delegate.findAllById(toLoad, user -> {
+                storeLoaded(user.getId(), user, load);
+                onFound.accept(user);
+            }, id -> {
+                storeLoaded(id, null, load);
+                onMissing.accept(id);
+            });
+        } finally {
+            endLoads(toLoad, load);
+        }
+    }
+
+    @Override
+    public List<User> findAll() {
+        return delegate.findAll();
+    }
+
+    @Override
+    public List<User> findPage(long afterId, int limit) {
+        return delegate.findPage(afterId, limit);
+    }
+
+    @Override
+    public User insert(User user, LongConsumer beforePublish) {
+        User inserted = delegate.insert(user, beforePublish);
+        storeAfterWrite(inserted.getId(), inserted);
+        return inserted;
+    }
+
+    @Override
+    public void restore(User user) {
+        try {
+            delegate.restore(user);
+        } catch (RuntimeException ex) {
+            invalidate(user.getId());
+            throw ex;
+        }
+        storeAfterWrite(user.getId(), user);
+    }
+
+    @Override
+    public void restoreAll(List<User> users) {
+        try {
+            delegate.restoreAll(users);
+        } catch (RuntimeException ex) {
+            users.forEach(user -> invalidate(user.getId()));
+            throw ex;
+        }
+        users.forEach(user -> storeAfterWrite(user.getId(), user));
+    }
+
+    @Override
+    public void reserveIds(long maxId) {
+        delegate.reserveIds(maxId);
+    }
+
+    @Override
+    public void update(User user) {
+        try {
+            delegate.update(user);
+        } catch (RuntimeException ex) {
+            invalidate(user.getId());
+            throw ex;
+        }
+        storeAfterWrite(user.getId(), user);
+    }
+
+    @Override
+    public Optional<User> deleteById(Long id) {
+        Optional<User> deleted;
+        try {
+            deleted = delegate.deleteById(id);
+        } catch (RuntimeException ex) {
+            invalidate(id);
+            throw ex;
+        }
+        storeAfterWrite(id, null);
+        return deleted;
+    }
+
+    @Override
+    public long count() {
+        return delegate.count();
+    }
+
+    @Override
+    public void drop() {
+        delegate.drop();
+        synchronized (this) {
+            entries.clear();
+        }
+    }
+
+    /**
+     * Get cache statistics
+     * 
+     * @return Map of hit, miss, load and eviction counters plus hit rate
+     */
+    public Map<String, Object> getStats() {
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("hits", hits.get());
+        stats.put("negativeHits", negativeHits.get());
+        stats.put("misses", misses.get());
+        stats.put("loads", loads.get());
+        stats.put("evictions", evictions.get());
+        stats.put("size", size());
+        stats.put("hitRate", getHitRate());
+        return stats;
+    }
+
+    /**
+     * Get the fraction of lookups answered from the cache, including negative hits
+     * 
+     * @return Hit rate between 0 and 1
+     */
+    public double getHitRate() {
+        long answered = hits.get() + negativeHits.get();
+        long total = answered + misses.get();
+        return total == 0 ? 0.0 : (double) answered / total;
+    }
+
+    // Individual counters, exported as metrics
+
+    public long getHitCount() {
+        return hits.get();
+    }
+
+    public long getNegativeHitCount() {
+        return negativeHits.get();
+    }
+
+    public long getMissCount() {
+        return misses.get();
+    }
+
+    public long getLoadCount() {
+        return loads.get();
+    }
+
+    public long getEvictionCount() {
+        return evictions.get();
+    }
+
+    /**
+     * Get the number of cached entries, including expired ones not yet replaced
+     * 
+     * @return Cache size
+     */
+    public synchronized int size() {
+        return entries.size();
+    }
+
+    private synchronized CacheEntry lookup(Long id) {
+        CacheEntry entry = entries.get(id);
+        if (entry == null || entry.expiresAt <= clock.getAsLong()) {
+            return null;
+        }
+        return entry;
+    }
+
+    // A later load of the same id replaces the marker; then only that load may store
+    private synchronized void beginLoad(Long id, Object load) {
+        pendingLoads.put(id, load);
+    }
+
+    private synchronized void beginLoads(long[] ids, Object load) {
+        for (long id : ids) {
+            pendingLoads.put(id, load);
+        }
+    }
+
+    private synchronized void storeLoaded(Long id, User user, Object load) {
+        if (pendingLoads.remove(id, load)) {
+            entries.put(id, newEntry(user));
+        }
+    }
+
+    private synchronized void endLoad(Long id, Object load) {
+        pendingLoads.remove(id, load);
+    }
+
+    private synchronized void endLoads(long[] ids, Object load) {
+        for (long id : ids) {
+            pendingLoads.remove(id, load);
+        }
+    }
+
+    private synchronized void storeAfterWrite(Long id, User user) {
+        pendingLoads.remove(id);
+        entries.put(id, newEntry(user));
+    }
+
+    private synchronized void invalidate(Long id) {
+        pendingLoads.remove(id);
+        entries.remove(id);
+    }
+
+    private CacheEntry newEntry(User user) {
+        long ttl = user != null ? ttlMillis : negativeTtlMillis;
+        return new CacheEntry(user, clock.getAsLong() + ttl);
+    }
+
+    private static Optional<User> awaitLoad(CompletableFuture<Optional<User>> load) {
+        try {
+            return load.join();
+        } catch (CompletionException ex) {
+            if (ex.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) ex.getCause();
+            }
+            throw ex;
+        }
+    }
+
+    /**
+     * A cached user, or a cached absence when user is null
+     */
+    private static final class CacheEntry {
+
+        final User user;
+        final long expiresAt;
+
+        CacheEntry(User user, long expiresAt) {
+            this.user = user;
+            this.expiresAt = expiresAt;
+        }
+    }
+}
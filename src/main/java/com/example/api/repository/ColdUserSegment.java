@@ -0,0 +1,204 @@
+package com.example.api.repository;
+
+import com.example.api.model.User;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.function.Consumer;
+import java.util.function.LongConsumer;
+import java.util.function.LongSupplier;
+
+/**
+ * Cold User Segment - Storage for deactivated users
+ *
+ * Deactivated users are moved here out of the main (hot) repository so
+ * that reads of active users never walk past them. Users keep their ID
+ * while in the segment and can be moved back with the same ID.
+ *
+ * The time each user entered the segment is kept in deactivation order,
+ * so the users past a retention period are always at the head and can
+ * be expired without scanning the rest. Users already in the backing
+ * store when the segment is opened count as deactivated at that moment.
+ *
+ * @author Your Name
+ * @version 1.0.0
+ */
+public class ColdUserSegment {
+
+    private final UserRepository store;
+    private final LongSupplier clock;
+
+    // Insertion order is deactivation order
+    private final LinkedHashMap<Long, Long> deactivatedAt = new LinkedHashMap<>();
+
+    /**
+     * Create a segment using the system clock
+     *
+     * @param store Repository holding the deactivated users
+     */
+    public ColdUserSegment(UserRepository store) {
+        this(store, System::currentTimeMillis);
+    }
+
+    /**
+     * Create a segment with a custom clock (used in tests)
+     *
+     * @param store Repository holding the deactivated users
+     * @param clock Source of the current time in milliseconds
+     */
+    public ColdUserSegment(UserRepository store, LongSupplier clock) {
+        this.store = store;
+        this.clock = clock;
+        long now = clock.getAsLong();
+        for (User user : store.findAll()) {
+            deactivatedAt.put(user.getId(), now);
+        }
+    }
+
+    /**
+     * Add a deactivated user, keeping its ID
+     *
+     * @param user User with its ID set
+     */
+    public synchronized void add(User user) {
+        store.restore(user);
+        deactivatedAt.remove(user.getId());
+        deactivatedAt.put(user.getId(), clock.getAsLong());
+    }
+
+    /**
+     * Add many deactivated users in one store call, keeping their IDs
+     *
+     * @param users Users with their IDs set; none may be in the segment
+     */
+    public synchronized void addAll(List<User> users) {
+        store.restoreAll(users);
+        long now = clock.getAsLong();
+        for (User user : users) {
+            deactivatedAt.put(user.getId(), now);
+        }
+    }
+
+    /**
+     * Find a deactivated user by ID
+     *
+     * @param id User ID
+     * @return Optional containing the user if it is in the segment
+     */
+    public Optional<User> findById(Long id) {
+        return store.findById(id);
+    }
+
+    /**
+     * Look up many deactivated users in one pass
+     *
+     * @param ids User IDs to look up
+     * @param onFound Receives each user found
+     * @param onMissing Receives each id not in the segment
+     */
+    public void findAllById(long[] ids, Consumer<User> onFound, LongConsumer onMissing) {
+        store.findAllById(ids, onFound, onMissing);
+    }
+
+    /**
+     * Find all deactivated users in id order
+     *
+     * @return List of deactivated users
+     */
+    public List<User> findAll() {
+        return store.findAll();
+    }
+
+    /**
+     * Find the next deactivated users after an ID, in id order
+     *
+     * @param afterId Only users with a greater ID are returned
+     * @param limit Maximum number of users returned
+     * @return Up to limit users
+     */
+    public List<User> findPage(long afterId, int limit) {
+        return store.findPage(afterId, limit);
+    }
+
+    /**
+     * Persist changes to a user that stays deactivated
+     *
+     * @param user User with its ID set
+     */
+    public synchronized void update(User user) {
+        store.update(user);
+    }
+
+    /**
+     * Remove a user, e.g. to reactivate or delete it
+     *
+     * @param id User ID
+     * @return The removed user, or empty if it was not in the segment
+     */
+    public synchronized Optional<User> remove(Long id) {
+        deactivatedAt.remove(id);
+        return store.deleteById(id);
+    }
+
+    /**
+     * Remove up to limit users deactivated before the cutoff, oldest first
+     *
+     * Each user is passed to beforeRemove (e.g. to archive it) before it
+     * is removed; if beforeRemove throws, nothing from the batch is
+     * removed. Holds the segment lock for the whole batch, so keep the
+     * limit small.
+     *
+     * @param cutoffMillis Users deactivated before this time are expired
+     * @param limit Maximum number of users to remove
+     * @param beforeRemove Receives the batch before removal
+     * @return The removed users
+     */
+    public synchronized List<User> removeExpired(long cutoffMillis, int limit, Consumer<List<User>> beforeRemove) {
+        long[] ids = new long[Math.min(limit, deactivatedAt.size())];
+        int count = 0;
+        Iterator<Map.Entry<Long, Long>> entries = deactivatedAt.entrySet().iterator();
+        while (count < ids.length && entries.hasNext()) {
+            Map.Entry<Long, Long> entry = entries.next();
+            if (entry.getValue() >= cutoffMillis) {
+                break;
+            }
+            ids[count++] = entry.getKey();
+        }
+        List<User> expired = new ArrayList<>(count);
+        if (count == 0) {
+            return expired;
+        }
+        store.findAllById(Arrays.copyOf(ids, count), expired::add, deactivatedAt::remove);
+        if (expired.isEmpty()) {
+            return expired;
+        }
+        beforeRemove.accept(expired);
+        for (User user : expired) {
+            deactivatedAt.remove(user.getId());
+            store.deleteById(user.getId());
+        }
+        return expired;
+    }
+
+    /**
+     * Count deactivated users
+     *
+     * @return Number of users in the segment
+     */
+    public long count() {
+        return store.count();
+    }
+
+    /**
+     * Delete the segment's storage; the segment must not be used afterwards
+     */
+    public synchronized void drop() {
+        store.drop();
+        deactivatedAt.clear();
+    }
+}
@@ -0,0 +1,408 @@
+package com.example.api.repository;
+
+import com.example.api.model.User;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Repository;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Consumer;
+import java.util.function.LongConsumer;
+
+/**
+ * Compact User Repository - Column-oriented in-memory user storage
+ *
+ * Users are not kept as objects. Each field lives in a primitive
+ * column indexed by id - 1 (ids are assigned from 1 in order):
+ * - username, first name and the local part of the email are packed
+ *   into a ByteArena (one byte per char for Latin-1 text)
+ * - last names and email domains are codes into StringDictionary
+ * - the active flag and the slot's liveness share one byte
+ *
+ * Columns are split into pages of 1024 slots, allocated on first use
+ * and released when their last user is deleted, so sparse ids (as in a
+ * cold segment) and deleted ranges cost no column space. Replaced and
+ * deleted strings are counted as dead; once they make up more than
+ * half of the arena, the live strings are copied into a fresh arena
+ * and the dictionaries are rebuilt, so the footprint follows the live
+ * users under update and delete churn.
+ *
+ * Every read builds a fresh User, so callers must go through update
+ * to change a stored user. Readers share a read lock; writers are
+ * exclusive.
+ *
+ * Selected by app.users.store=compact.
+ *
+ * @author Your Name
+ * @version 1.0.0
+ */
+@Repository
+@ConditionalOnProperty(name = "app.users.store", havingValue = "compact")
+public class CompactUserRepository implements UserRepository {
+
+    private static final int PAGE_BITS = 10;
+    private static final int PAGE_SLOTS = 1 << PAGE_BITS;
+    private static final int SLOT_MASK = PAGE_SLOTS - 1;
+    private static final int NO_CODE = -1;
+
+    // Smaller arenas are not worth compacting
+    private static final long MIN_COMPACTION_BYTES = 64 * 1024;
+
+    private static final byte PRESENT = 1;
+    private static final byte ACTIVE = 2;
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private ByteArena arena = new ByteArena();
+    private StringDictionary lastNames = new StringDictionary();
+    private StringDictionary emailDomains = new StringDictionary();
+
+    private SlotPage[] pages = new SlotPage[16];
+
+    // Slots handed out so far; the next id is slots + 1
+    private int slots;
+    private long userCount;
+    // Arena bytes of replaced and deleted strings
+    private long deadBytes;
+
+    @Override
+    public Optional<User> findById(Long id) {
+        lock.readLock().lock();
+        try {
+            int slot = slotOf(id);
+            return slot < 0 ? Optional.empty() : Optional.of(materialize(slot));
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    @Override
+    public void findAllById(long[] ids, Consumer<User> onFound, LongConsumer onMissing) {
+        lock.readLock().lock();
+        try {
+            for (long id : ids) {
+                int slot = slotOf(id);
+                if (slot < 0) {
+                    onMissing.accept(id);
+                } else {
+                    onFound.accept(materialize(slot));
+                }
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    @Override
+    public List<User> findAll() {
+        lock.readLock().lock();
+        try {
+            List<User> users = new ArrayList<>((int) userCount);
+            collect(0, Integer.MAX_VALUE, users);
+            return users;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    @Override
+    public List<User> findPage(long afterId, int limit) {
+        lock.readLock().lock();
+        try {
+            List<User> page = new ArrayList<>(Math.min(limit, 1024));
+            collect((int) Math.max(0, Math.min(afterId, slots)), limit, page);
+            return page;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    @Override
+    public User insert(User user, LongConsumer beforePublish) {
+        lock.writeLock().lock();
+        try {
+            if (slots == Integer.MAX_VALUE) {
+                throw new IllegalStateException("Compact storage is full");
+            }
+            int slot = slots;
+            // Readers wait for the write lock, so the user is not visible yet
+            beforePublish.accept((long) slot + 1);
+            slots++;
+            store(slot, user);
+            user.setId((long) slot + 1);
+            return user;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public void restore(User user) {
+        lock.writeLock().lock();
+        try {
+            long id = user.getId();
+            if (id < 1 || id > Integer.MAX_VALUE) {
+                throw new IllegalArgumentException("User id out of range: " + id);
+            }
+            slots = Math.max(slots, (int) id);
+            if (slotOf(id) < 0) {
+                store((int) (id - 1), user);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    // Slots skipped over stay empty; later inserts continue after maxId
+    @Override
+    public void reserveIds(long maxId) {
+        lock.writeLock().lock();
+        try {
+            if (maxId > Integer.MAX_VALUE) {
+                throw new IllegalArgumentException("User id out of range: " + maxId);
+            }
+            slots = Math.max(slots, (int) maxId);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public void update(User user) {
+        lock.writeLock().lock();
+        try {
+            int slot = slotOf(user.getId());
+            if (slot >= 0) {
+                store(slot, user);
+                compactIfMostlyDead();
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public Optional<User> deleteById(Long id) {
+        lock.writeLock().lock();
+        try {
+            int slot = slotOf(id);
+            if (slot < 0) {
+                return Optional.empty();
+            }
+            User removed = materialize(slot);
+            SlotPage page = pages[slot >>> PAGE_BITS];
+            int index = slot & SLOT_MASK;
+            deadBytes += page.stringBytes(arena, index);
+            page.flags[index] = 0;
+            userCount--;
+            if (--page.live == 0) {
+                pages[slot >>> PAGE_BITS] = null;
+            }
+            compactIfMostlyDead();
+            return Optional.of(removed);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public long count() {
+        lock.readLock().lock();
+        try {
+            return userCount;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Get the number of distinct last names stored
+     *
+     * @return Last name dictionary size
+     */
+    public int getDistinctLastNames() {
+        lock.readLock().lock();
+        try {
+            return lastNames.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Get the number of distinct email domains stored
+     *
+     * @return Email domain dictionary size
+     */
+    public int getDistinctEmailDomains() {
+        lock.readLock().lock();
+        try {
+            return emailDomains.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Get the bytes allocated for string pages and column pages
+     *
+     * @return Allocated bytes, excluding the dictionaries
+     */
+    long allocatedBytes() {
+        lock.readLock().lock();
+        try {
+            long columns = 0;
+            for (SlotPage page : pages) {
+                if (page != null) {
+                    columns += SlotPage.BYTES;
+                }
+            }
+            return arena.allocatedBytes() + columns;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private void collect(int fromSlot, int limit, List<User> users) {
+        int slot = fromSlot;
+        while (slot < slots && users.size() < limit) {
+            SlotPage page = pageOf(slot);
+            if (page == null) {
+                // Skip the whole page; stop if that runs past the last possible slot
+                slot = (slot | SLOT_MASK) + 1;
+                if (slot < 0) {
+                    break;
+                }
+                continue;
+            }
+            if ((page.flags[slot & SLOT_MASK] & PRESENT) != 0) {
+                users.add(materialize(slot));
+            }
+            slot++;
+        }
+    }
+
+    private int slotOf(Long id) {
+        if (id == null || id < 1 || id > slots) {
+            return -1;
+        }
+        int slot = (int) (id - 1);
+        SlotPage page = pageOf(slot);
+        return page != null && (page.flags[slot & SLOT_MASK] & PRESENT) != 0 ? slot : -1;
+    }
+
+    // Reserved slots may lie past the page table
+    private SlotPage pageOf(int slot) {
+        int pageIndex = slot >>> PAGE_BITS;
+        return pageIndex < pages.length ? pages[pageIndex] : null;
+    }
+
+    private void store(int slot, User user) {
+        int pageIndex = slot >>> PAGE_BITS;
+        if (pageIndex >= pages.length) {
+            pages = Arrays.copyOf(pages, Math.max(pageIndex + 1, pages.length + (pages.length >> 1)));
+        }
+        SlotPage page = pages[pageIndex];
+        if (page == null) {
+            page = new SlotPage();
+            pages[pageIndex] = page;
+        }
+        int index = slot & SLOT_MASK;
+        if ((page.flags[index] & PRESENT) != 0) {
+            deadBytes += page.stringBytes(arena, index);
+        } else {
+            page.live++;
+            userCount++;
+        }
+        page.flags[index] = (byte) (PRESENT | (user.isActive() ? ACTIVE : 0));
+        page.usernames[index] = arena.append(user.getUsername());
+        page.firstNames[index] = arena.append(user.getFirstName());
+        page.lastNameCodes[index] = user.getLastName() == null ? NO_CODE : lastNames.encode(user.getLastName());
+
+        String email = user.getEmail();
+        int at = email == null ? -1 : email.lastIndexOf('@');
+        if (at < 0) {
+            page.emailLocalParts[index] = arena.append(email);
+            page.emailDomainCodes[index] = NO_CODE;
+        } else {
+            page.emailLocalParts[index] = arena.append(email.substring(0, at));
+            page.emailDomainCodes[index] = emailDomains.encode(email.substring(at + 1));
+        }
+    }
+
+    private User materialize(int slot) {
+        SlotPage page = pages[slot >>> PAGE_BITS];
+        int index = slot & SLOT_MASK;
+        String email = arena.read(page.emailLocalParts[index]);
+        if (page.emailDomainCodes[index] != NO_CODE) {
+            email = email + '@' + emailDomains.decode(page.emailDomainCodes[index]);
+        }
+        User user = new User((long) slot + 1,
+                arena.read(page.usernames[index]),
+                email,
+                arena.read(page.firstNames[index]),
+                page.lastNameCodes[index] == NO_CODE ? null : lastNames.decode(page.lastNameCodes[index]));
+        user.setActive((page.flags[index] & ACTIVE) != 0);
+        return user;
+    }
+
+    // Copy live strings into a fresh arena and drop unused dictionary entries
+    private void compactIfMostlyDead() {
+        if (deadBytes < MIN_COMPACTION_BYTES || deadBytes * 2 <= arena.usedBytes()) {
+            return;
+        }
+        ByteArena live = new ByteArena();
+        StringDictionary liveLastNames = new StringDictionary();
+        StringDictionary liveEmailDomains = new StringDictionary();
+        for (SlotPage page : pages) {
+            if (page == null) {
+                continue;
+            }
+            for (int index = 0; index < PAGE_SLOTS; index++) {
+                if ((page.flags[index] & PRESENT) == 0) {
+                    continue;
+                }
+                page.usernames[index] = live.copy(arena, page.usernames[index]);
+                page.firstNames[index] = live.copy(arena, page.firstNames[index]);
+                page.emailLocalParts[index] = live.copy(arena, page.emailLocalParts[index]);
+                if (page.lastNameCodes[index] != NO_CODE) {
+                    page.lastNameCodes[index] = liveLastNames.encode(lastNames.decode(page.lastNameCodes[index]));
+                }
+                if (page.emailDomainCodes[index] != NO_CODE) {
+                    page.emailDomainCodes[index] =
+                            liveEmailDomains.encode(emailDomains.decode(page.emailDomainCodes[index]));
+                }
+            }
+        }
+        arena = live;
+        lastNames = liveLastNames;
+        emailDomains = liveEmailDomains;
+        deadBytes = 0;
+    }
+
+    /**
+     * Columns for PAGE_SLOTS consecutive slots
+     */
+    private static final class SlotPage {
+
+        // Approximate heap size, for allocatedBytes
+        static final long BYTES = PAGE_SLOTS * (1L + 5 * Integer.BYTES);
+
+        final byte[] flags = new byte[PAGE_SLOTS];
+        final int[] usernames = new int[PAGE_SLOTS];
+        final int[] firstNames = new int[PAGE_SLOTS];
+        final int[] lastNameCodes = new int[PAGE_SLOTS];
+        final int[] emailLocalParts = new int[PAGE_SLOTS];
+        final int[] emailDomainCodes = new int[PAGE_SLOTS];
+        // Present slots
+        int live;
+
+        long stringBytes(ByteArena arena, int index) {
+            return arena.sizeOf(usernames[index]) + arena.sizeOf(firstNames[index])
+                    + arena.sizeOf(emailLocalParts[index]);
+        }
+    }
+}
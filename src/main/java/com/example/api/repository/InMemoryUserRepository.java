@@ -0,0 +1,110 @@
+package com.example.api.repository;
+
+import com.example.api.model.User;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Repository;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentNavigableMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.function.Consumer;
+import java.util.function.LongConsumer;
+
+/**
+ * In-Memory User Repository - Default user storage
+ * 
+ * Users are kept in a concurrent map ordered by id; ids are assigned
+ * in increasing order, so iteration follows creation order. Readers
+ * never lock and may run alongside a single writer thread.
+ * 
+ * @author Your Name
+ * @version 1.0.0
+ */
+@Repository
+@ConditionalOnProperty(name = "app.users.store", havingValue = "memory", matchIfMissing = true)
+public class InMemoryUserRepository implements UserRepository {
+
+    private final ConcurrentNavigableMap<Long, User> users = new ConcurrentSkipListMap<>();
+    private final LongCounter idCounter = new LongCounter(1);
+
+    // ConcurrentSkipListMap.size() walks the map, so the size is tracked separately
+    private final LongCounter userCount = new LongCounter();
+
+    @Override
+    public Optional<User> findById(Long id) {
+        return Optional.ofNullable(users.get(id));
+    }
+
+    @Override
+    public void findAllById(long[] ids, Consumer<User> onFound, LongConsumer onMissing) {
+        for (long id : ids) {
+            User user = users.get(id);
+            if (user != null) {
+                onFound.accept(user);
+            } else {
+                onMissing.accept(id);
+            }
+        }
+    }
+
+    @Override
+    public List<User> findAll() {
+        return new ArrayList<>(users.values());
+    }
+
+    @Override
+    public List<User> findPage(long afterId, int limit) {
+        List<User> page = new ArrayList<>(Math.min(limit, 1024));
+        for (User user : users.tailMap(afterId, false).values()) {
+            if (page.size() == limit) {
+                break;
+            }
+            page.add(user);
+        }
+        return page;
+    }
+
+    @Override
+    public User insert(User user, LongConsumer beforePublish) {
+        long id = idCounter.getAndIncrement();
+        beforePublish.accept(id);
+        user.setId(id);
+        users.put(id, user);
+        userCount.incrementAndGet();
+        return user;
+    }
+
+    @Override
+    public void restore(User user) {
+        if (users.putIfAbsent(user.getId(), user) == null) {
+            userCount.incrementAndGet();
+        }
+        reserveIds(user.getId());
+    }
+
+    @Override
+    public void reserveIds(long maxId) {
+        idCounter.advanceTo(maxId + 1);
+    }
+
+    @Override
+    public void update(User user) {
+        users.replace(user.getId(), user);
+    }
+
+    @Override
+    public Optional<User> deleteById(Long id) {
+        User removed = users.remove(id);
+        if (removed != null) {
+            userCount.decrementAndGet();
+        }
+        return Optional.ofNullable(removed);
+    }
+
+    @Override
+    public long count() {
+        return userCount.get();
+    }
+}
@@ -0,0 +1,228 @@
+package com.example.api.repository;
+
+import com.example.api.model.User;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.function.Consumer;
+import java.util.function.LongConsumer;
+
+/**
+ * JDBC User Repository - Users stored in a relational table
+ * 
+ * Creates its table (users unless another name is given) on startup
+ * if it does not exist. The DDL uses standard identity columns and
+ * works on H2 and most databases.
+ * 
+ * Identity columns do not move past explicitly inserted ids, so
+ * restoreAll and reserveIds restart the column when needed. Its next
+ * value is read from H2's information schema; other databases need
+ * their own query there.
+ * 
+ * insert runs its beforePublish callback inside the inserting
+ * transaction, before the commit makes the row visible.
+ * 
+ * @author Your Name
+ * @version 1.0.0
+ */
+public class JdbcUserRepository implements UserRepository {
+
+    private static final String CREATE_TABLE = "CREATE TABLE IF NOT EXISTS %s ("
+            + "id BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY, "
+            + "username VARCHAR(50) NOT NULL, "
+            + "email VARCHAR(320) NOT NULL, "
+            + "first_name VARCHAR(50) NOT NULL, "
+            + "last_name VARCHAR(50) NOT NULL, "
+            + "active BOOLEAN NOT NULL)";
+    private static final String COLUMNS = "id, username, email, first_name, last_name, active";
+
+    // Keeps IN lists well under driver bind-parameter limits
+    private static final int IN_CHUNK_SIZE = 500;
+
+    private static final RowMapper<User> USER_ROW_MAPPER = (rs, rowNum) -> {
+        User user = new User(rs.getLong("id"), rs.getString("username"), rs.getString("email"),
+                rs.getString("first_name"), rs.getString("last_name"));
+        user.setActive(rs.getBoolean("active"));
+        return user;
+    };
+
+    private final JdbcTemplate jdbcTemplate;
+    private final String table;
+
+    /**
+     * Create the repository on the users table and ensure it exists
+     * 
+     * @param jdbcTemplate Template bound to the user database
+     */
+    public JdbcUserRepository(JdbcTemplate jdbcTemplate) {
+        this(jdbcTemplate, "users");
+    }
+
+    /**
+     * Create the repository on a named table and ensure it exists
+     * 
+     * @param jdbcTemplate Template bound to the user database
+     * @param table Table name (trusted configuration, not user input)
+     */
+    public JdbcUserRepository(JdbcTemplate jdbcTemplate, String table) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.table = table;
+        jdbcTemplate.execute(String.format(CREATE_TABLE, table));
+    }
+
+    @Override
+    public Optional<User> findById(Long id) {
+        List<User> users = jdbcTemplate.query(
+                "SELECT " + COLUMNS + " FROM " + table + " WHERE id = ?", USER_ROW_MAPPER, id);
+        return users.isEmpty() ? Optional.empty() : Optional.of(users.get(0));
+    }
+
+    @Override
+    public void findAllById(long[] ids, Consumer<User> onFound, LongConsumer onMissing) {
+        for (int from = 0; from < ids.length; from += IN_CHUNK_SIZE) {
+            int to = Math.min(ids.length, from + IN_CHUNK_SIZE);
+            Object[] args = new Object[to - from];
+            StringBuilder sql = new StringBuilder("SELECT " + COLUMNS + " FROM " + table + " WHERE id IN (");
+            for (int i = from; i < to; i++) {
+                sql.append(i == from ? "?" : ", ?");
+                args[i - from] = ids[i];
+            }
+            sql.append(')');
+            Map<Long, User> found = new HashMap<>();
+            jdbcTemplate.query(sql.toString(), rs -> {
+                User user = USER_ROW_MAPPER.mapRow(rs, 0);
+                found.put(user.getId(), user);
+            }, args);
+            for (int i = from; i < to; i++) {
+                User user = found.get(ids[i]);
+                if (user != null) {
+                    onFound.accept(user);
+                } else {
+                    onMissing.accept(ids[i]);
+                }
+            }
+        }
+    }
+
+    @Override
+    public List<User> findAll() {
+        return jdbcTemplate.query("SELECT " + COLUMNS + " FROM " + table + " ORDER BY id", USER_ROW_MAPPER);
+    }
+
+    @Override
+    public List<User> findPage(long afterId, int limit) {
+        return jdbcTemplate.query(
+                "SELECT " + COLUMNS + " FROM " + table + " WHERE id > ? ORDER BY id FETCH FIRST ? ROWS ONLY",
+                USER_ROW_MAPPER, afterId, limit);
+    }
+
+    @Override
+    public User insert(User user, LongConsumer beforePublish) {
+        long id = jdbcTemplate.execute((ConnectionCallback<Long>) connection -> {
+            boolean autoCommit = connection.getAutoCommit();
+            connection.setAutoCommit(false);
+            try (PreparedStatement statement = connection.prepareStatement(
+                    "INSERT INTO " + table + " (username, email, first_name, last_name, active) VALUES (?, ?, ?, ?, ?)",
+                    new String[] {"id"})) {
+                statement.setString(1, user.getUsername());
+                statement.setString(2, user.getEmail());
+                statement.setString(3, user.getFirstName());
+                statement.setString(4, user.getLastName());
+                statement.setBoolean(5, user.isActive());
+                statement.executeUpdate();
+                long newId;
+                try (ResultSet keys = statement.getGeneratedKeys()) {
+                    if (!keys.next()) {
+                        throw new SQLException("No id generated for the inserted user");
+                    }
+                    newId = keys.getLong(1);
+                }
+                beforePublish.accept(newId);
+                connection.commit();
+                return newId;
+            } catch (SQLException | RuntimeException ex) {
+                connection.rollback();
+                throw ex;
+            } finally {
+                connection.setAutoCommit(autoCommit);
+            }
+        });
+        user.setId(id);
+        return user;
+    }
+
+    @Override
+    public void restore(User user) {
+        jdbcTemplate.update(
+                "INSERT INTO " + table + " (" + COLUMNS + ") VALUES (?, ?, ?, ?, ?, ?)",
+                user.getId(), user.getUsername(), user.getEmail(), user.getFirstName(), user.getLastName(),
+                user.isActive());
+    }
+
+    @Override
+    public void restoreAll(List<User> users) {
+        List<Object[]> rows = new ArrayList<>(users.size());
+        long maxId = 0;
+        for (User user : users) {
+            rows.add(new Object[] {user.getId(), user.getUsername(), user.getEmail(), user.getFirstName(),
+                    user.getLastName(), user.isActive()});
+            maxId = Math.max(maxId, user.getId());
+        }
+        jdbcTemplate.batchUpdate("INSERT INTO " + table + " (" + COLUMNS + ") VALUES (?, ?, ?, ?, ?, ?)", rows);
+        reserveIds(maxId);
+    }
+
+    @Override
+    public void reserveIds(long maxId) {
+        if (maxId > 0 && nextId() <= maxId) {
+            jdbcTemplate.execute("ALTER TABLE " + table + " ALTER COLUMN id RESTART WITH " + (maxId + 1));
+        }
+    }
+
+    @Override
+    public void update(User user) {
+        jdbcTemplate.update(
+                "UPDATE " + table + " SET username = ?, email = ?, first_name = ?, last_name = ?, active = ? WHERE id = ?",
+                user.getUsername(), user.getEmail(), user.getFirstName(), user.getLastName(),
+                user.isActive(), user.getId());
+    }
+
+    @Override
+    public Optional<User> deleteById(Long id) {
+        Optional<User> existing = findById(id);
+        if (existing.isPresent() && jdbcTemplate.update("DELETE FROM " + table + " WHERE id = ?", id) == 0) {
+            return Optional.empty();
+        }
+        return existing;
+    }
+
+    @Override
+    public long count() {
+        Long count = jdbcTemplate.queryForObject("SELECT COUNT(*) FROM " + table, Long.class);
+        return count != null ? count : 0;
+    }
+
+    @Override
+    public void drop() {
+        jdbcTemplate.execute("DROP TABLE IF EXISTS " + table);
+    }
+
+    // H2 keeps the next value of an identity column in its information schema
+    private long nextId() {
+        Long next = jdbcTemplate.queryForObject(
+                "SELECT IDENTITY_BASE FROM INFORMATION_SCHEMA.COLUMNS "
+                        + "WHERE TABLE_SCHEMA = SCHEMA() AND TABLE_NAME = ? AND COLUMN_NAME = 'ID'",
+                Long.class, table.toUpperCase(Locale.ROOT));
+        return next != null ? next : 1;
+    }
+}
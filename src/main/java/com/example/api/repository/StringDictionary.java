@@ -0,0 +1,59 @@
+package com.example.api.repository;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * String Dictionary - Maps repeated values to small integer codes
+ *
+ * Each distinct value is stored once and referenced by its code.
+ * Codes are never reused: a value stays in the dictionary after the
+ * last user referencing it is gone, until the owner re-encodes its
+ * live values into a new dictionary (CompactUserRepository does so
+ * when it compacts). Not thread-safe; callers synchronize.
+ *
+ * @author Your Name
+ * @version 1.0.0
+ */
+class StringDictionary {
+
+    private final Map<String, Integer> codes = new HashMap<>();
+    private final List<String> values = new ArrayList<>();
+
+    /**
+     * Get the code for a value, adding it if new
+     *
+     * @param value Value to encode (not null)
+     * @return Code of the value
+     */
+    int encode(String value) {
+        Integer code = codes.get(value);
+        if (code == null) {
+            code = values.size();
+            values.add(value);
+            codes.put(value, code);
+        }
+        return code;
+    }
+
+    /**
+     * Get the value for a code
+     *
+     * @param code Code returned by encode
+     * @return The shared value instance
+     */
+    String decode(int code) {
+        return values.get(code);
+    }
+
+    /**
+     * Get the number of distinct values
+     *
+     * @return Dictionary size
+     */
+    int size() {
+        return values.size();
+    }
+}
@@ -0,0 +1,166 @@
+package com.example.api.repository;
+
+import com.example.api.model.User;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.function.Consumer;
+import java.util.function.LongConsumer;
+
+/**
+ * User Repository - Storage abstraction behind UserService
+ * 
+ * Implementations:
+ * - InMemoryUserRepository: concurrent in-process map (default)
+ * - CompactUserRepository: in-process columns with packed strings
+ * - JdbcUserRepository: relational table through JDBC
+ * - CachingUserRepository: read-through/write-through cache in front of another repository
+ * 
+ * Selected by app.users.store (memory, compact or jdbc).
+ * 
+ * @author Your Name
+ * @version 1.0.0
+ */
+public interface UserRepository {
+
+    /**
+     * Find a user by ID
+     * 
+     * @param id User ID
+     * @return Optional containing the user if found
+     */
+    Optional<User> findById(Long id);
+
+    /**
+     * Look up many users in one pass
+     * 
+     * Each id is reported exactly once, to onFound or onMissing, in no
+     * particular order. The default implementation falls back to
+     * findById per id.
+     * 
+     * @param ids User IDs to look up
+     * @param onFound Receives each user found
+     * @param onMissing Receives each id not found
+     */
+    default void findAllById(long[] ids, Consumer<User> onFound, LongConsumer onMissing) {
+        for (long id : ids) {
+            Optional<User> user = findById(id);
+            if (user.isPresent()) {
+                onFound.accept(user.get());
+            } else {
+                onMissing.accept(id);
+            }
+        }
+    }
+
+    /**
+     * Find all users in id order
+     * 
+     * @return List of all users
+     */
+    List<User> findAll();
+
+    /**
+     * Find the next users after an ID, in id order
+     * 
+     * Lets callers walk the whole store a page at a time instead of
+     * holding every user at once.
+     * 
+     * @param afterId Only users with a greater ID are returned (0 for the first page)
+     * @param limit Maximum number of users returned
+     * @return Up to limit users; fewer means the end was reached
+     */
+    List<User> findPage(long afterId, int limit);
+
+    /**
+     * Insert a new user and assign its ID
+     * 
+     * @param user User to insert; its id is overwritten
+     * @return The inserted user with its new ID
+     */
+    default User insert(User user) {
+        return insert(user, id -> { });
+    }
+
+    /**
+     * Insert a new user, running a callback once its ID is assigned
+     * 
+     * The callback runs before any other caller can find the user, so
+     * whatever it records (e.g. the creation in a UserVersionHistory)
+     * is in place by the time the user is visible. If it throws, the
+     * user is not inserted.
+     * 
+     * @param user User to insert; its id is overwritten
+     * @param beforePublish Receives the new ID before the user is visible
+     * @return The inserted user with its new ID
+     */
+    User insert(User user, LongConsumer beforePublish);
+
+    /**
+     * Put back a user that already has an ID
+     * 
+     * Used to move a user between segments without changing its ID.
+     * The ID must not be in use in this repository.
+     * 
+     * @param user User with its ID set
+     */
+    void restore(User user);
+
+    /**
+     * Put back many users that already have IDs
+     * 
+     * Later inserts are assigned IDs above every restored one. The
+     * default implementation restores one user at a time.
+     * 
+     * @param users Users with their IDs set; none may be in use
+     */
+    default void restoreAll(List<User> users) {
+        long maxId = 0;
+        for (User user : users) {
+            restore(user);
+            maxId = Math.max(maxId, user.getId());
+        }
+        reserveIds(maxId);
+    }
+
+    /**
+     * Make sure insert never assigns an ID up to maxId
+     * 
+     * Used when IDs are taken elsewhere, e.g. by users imported straight
+     * into the cold segment.
+     * 
+     * @param maxId Highest ID that must not be assigned
+     */
+    void reserveIds(long maxId);
+
+    /**
+     * Persist changes to an existing user
+     * 
+     * @param user User with its ID set
+     */
+    void update(User user);
+
+    /**
+     * Delete a user by ID
+     * 
+     * @param id User ID
+     * @return The deleted user, or empty if not found
+     */
+    Optional<User> deleteById(Long id);
+
+    /**
+     * Count all users
+     * 
+     * @return Number of users
+     */
+    long count();
+
+    /**
+     * Delete the storage of a repository that is no longer used
+     * 
+     * The repository must not be used afterwards. The default does
+     * nothing: in-process stores are freed with the repository.
+     */
+    default void drop() {
+    }
+}
@@ -0,0 +1,262 @@
+package com.example.api.repository;
+
+import com.example.api.model.User;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.LongSupplier;
+
+/**
+ * User Version History - Past versions of users for point-in-time reads
+ *
+ * The stores keep only each user's current version, so this history
+ * keeps the ones they replace. Before each change the service records
+ * the user as it was, stamped with the commit time at which it stopped
+ * being current; creations and removals are recorded the same way,
+ * with "absent" as the version before or after. A read as of a time takes the stored
+ * user unless the history holds the version that was current then.
+ * Users with no recorded change are as stored.
+ *
+ * Each user's entry is an immutable list, newest version first, that
+ * writers replace atomically; readers never lock. Because a version is
+ * recorded before the stored user is replaced, a reader that copies the
+ * stored user first and consults the history second either copied an
+ * unchanged user or finds the version it needs.
+ *
+ * trim() drops versions that stopped being current before a cutoff.
+ * Reads before the cutoff, or before the history was opened, are
+ * refused, since the versions they need are gone or were never kept.
+ * The history is kept in memory only.
+ *
+ * @author Your Name
+ * @version 1.0.0
+ */
+public class UserVersionHistory {
+
+    private final LongSupplier clock;
+    private final Map<Long, Entry> entries = new ConcurrentHashMap<>();
+
+    // Oldest time reads can be answered for
+    private volatile long horizon;
+
+    /**
+     * Create a history using the system clock
+     */
+    public UserVersionHistory() {
+        this(System::currentTimeMillis);
+    }
+
+    /**
+     * Create a history with a custom clock (used in tests)
+     *
+     * @param clock Source of commit times in milliseconds
+     */
+    public UserVersionHistory(LongSupplier clock) {
+        this.clock = clock;
+        this.horizon = clock.getAsLong();
+    }
+
+    /**
+     * Check that reads as of a time can be answered
+     *
+     * The time must be in the past, so that every write committed at
+     * or before it is complete, and no older than the horizon.
+     *
+     * @param asOf Time in milliseconds
+     * @throws IllegalArgumentException if the time cannot be read
+     */
+    public void checkReadable(long asOf) {
+        if (asOf >= clock.getAsLong()) {
+            throw new IllegalArgumentException("asOf must be in the past");
+        }
+        if (asOf < horizon) {
+            throw new IllegalArgumentException(
+                    "asOf is before the oldest retained version: " + Instant.ofEpochMilli(horizon));
+        }
+    }
+
+    /**
+     * Get the oldest time reads can be answered for
+     *
+     * @return Time in milliseconds
+     */
+    public long getHorizon() {
+        return horizon;
+    }
+
+    /**
+     * Record that a user ID has come into use
+     *
+     * @param id ID of the created or imported user
+     */
+    public void recordCreated(long id) {
+        record(id, null, true);
+    }
+
+    /**
+     * Record a user as it was before a change; call before replacing it
+     *
+     * @param before The user as it is now, never changed afterwards
+     */
+    public void recordChanged(User before) {
+        record(before.getId(), before, true);
+    }
+
+    /**
+     * Record a user as it was before removal; call before removing it
+     *
+     * @param before Copy of the user as it is now
+     */
+    public void recordRemoved(User before) {
+        record(before.getId(), before, false);
+    }
+
+    private void record(long id, User before, boolean present) {
+        long now = clock.getAsLong();
+        entries.compute(id, (key, entry) -> entry == null
+                ? new Entry(now, present, new Version(before, Long.MIN_VALUE, now, null))
+                : new Entry(now, present, new Version(before, entry.since, now, entry.past)));
+    }
+
+    /**
+     * Resolve one user as of a time
+     *
+     * @param id User ID
+     * @param current The user as stored, read before this call
+     * @param asOf Time in milliseconds
+     * @return The user as it was then, if it existed
+     */
+    public Optional<User> resolve(long id, Optional<User> current, long asOf) {
+        Entry entry = entries.get(id);
+        return entry == null ? current : entry.resolve(current, asOf);
+    }
+
+    /**
+     * Resolve a listing as of a time
+     *
+     * Users changed, created or removed since then are replaced,
+     * dropped or added back from the history.
+     *
+     * @param current Users as stored, read before this call
+     * @param asOf Time in milliseconds
+     * @return Users that existed then, as they were, in id order
+     */
+    public List<User> resolveAll(List<User> current, long asOf) {
+        TreeMap<Long, User> byId = new TreeMap<>();
+        for (User user : current) {
+            byId.put(user.getId(), new User(user));
+        }
+        for (Map.Entry<Long, Entry> changed : entries.entrySet()) {
+            Long id = changed.getKey();
+            Optional<User> user = changed.getValue().resolve(Optional.ofNullable(byId.get(id)), asOf);
+            if (user.isPresent()) {
+                byId.put(id, user.get());
+            } else {
+                byId.remove(id);
+            }
+        }
+        return new ArrayList<>(byId.values());
+    }
+
+    /**
+     * Drop versions that stopped being current before a cutoff
+     *
+     * @param cutoff Time in milliseconds; reads before it are refused from now on
+     * @return Number of versions dropped
+     */
+    public int trim(long cutoff) {
+        horizon = Math.max(horizon, cutoff);
+        int[] dropped = new int[1];
+        for (Long id : entries.keySet()) {
+            entries.computeIfPresent(id, (key, entry) -> entry.trim(cutoff, dropped));
+        }
+        return dropped[0];
+    }
+
+    /**
+     * Count the users with recorded versions
+     *
+     * @return Number of users
+     */
+    public int size() {
+        return entries.size();
+    }
+
+    /**
+     * One user's history: its current state and the versions before it
+     */
+    private static final class Entry {
+
+        // Commit time of the current state
+        private final long since;
+        private final boolean present;
+        private final Version past;
+
+        Entry(long since, boolean present, Version past) {
+            this.since = since;
+            this.present = present;
+            this.past = past;
+        }
+
+        Optional<User> resolve(Optional<User> current, long asOf) {
+            if (since <= asOf) {
+                return present ? current : Optional.empty();
+            }
+            for (Version version = past; version != null; version = version.previous) {
+                if (version.from <= asOf && asOf < version.to) {
+                    return version.user == null ? Optional.empty() : Optional.of(new User(version.user));
+                }
+            }
+            return Optional.empty();
+        }
+
+        // Versions are newest first, so the ones to keep are a prefix
+        Entry trim(long cutoff, int[] dropped) {
+            List<Version> kept = new ArrayList<>();
+            int length = 0;
+            for (Version version = past; version != null; version = version.previous) {
+                length++;
+                if (version.to > cutoff) {
+                    kept.add(version);
+                }
+            }
+            dropped[0] += length - kept.size();
+            if (kept.isEmpty() && since <= cutoff) {
+                return null;
+            }
+            if (kept.size() == length) {
+                return this;
+            }
+            Version rebuilt = null;
+            for (int i = kept.size() - 1; i >= 0; i--) {
+                Version version = kept.get(i);
+                rebuilt = new Version(version.user, version.from, version.to, rebuilt);
+            }
+            return new Entry(since, present, rebuilt);
+        }
+    }
+
+    /**
+     * A past version of a user, current from one commit time until another
+     */
+    private static final class Version {
+
+        // Null if the user did not exist
+        private final User user;
+        private final long from;
+        private final long to;
+        private final Version previous;
+
+        Version(User user, long from, long to, Version previous) {
+            this.user = user;
+            this.from = from;
+            this.to = to;
+            this.previous = previous;
+        }
+    }
+}
@@ -0,0 +1,325 @@
+package com.example.api.search;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Fuzzy Name Index - Finds users by first or last name within an edit distance
+ *
+ * A BK-tree over the distinct names (lower-cased), each holding the
+ * sorted IDs of the users with that first or last name. Edges are
+ * labelled with the Levenshtein distance between parent and child, so
+ * by the triangle inequality a search for names within k edits of a
+ * term at distance d from a node only descends into edges d-k to d+k.
+ * Searches therefore touch a small part of the dictionary, and their
+ * cost depends on the number of distinct names, not of users.
+ *
+ * Updated by UserService on every mutation. A name whose last user
+ * goes away stays in the tree as an empty node; the tree is rebuilt
+ * from the live names once empty nodes outnumber them.
+ *
+ * Searches share a read lock; updates take the write lock briefly.
+ *
+ * @author Your Name
+ * @version 1.0.0
+ */
+public class FuzzyNameIndex {
+
+    /** Longest search term accepted */
+    public static final int MAX_TERM_LENGTH = 64;
+
+    // Rebuilding small trees is not worth it
+    private static final int MIN_EMPTY_NODES_TO_REBUILD = 1024;
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Map<String, Node> nodes = new HashMap<>();
+    private Node root;
+    private int emptyNodes;
+
+    /**
+     * Index a user's names
+     *
+     * @param id User ID
+     * @param firstName First name; may be null
+     * @param lastName Last name; may be null
+     */
+    public void add(long id, String firstName, String lastName) {
+        lock.writeLock().lock();
+        try {
+            addName(id, firstName);
+            addName(id, lastName);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Remove a user's names, as they were indexed
+     *
+     * @param id User ID
+     * @param firstName Indexed first name; may be null
+     * @param lastName Indexed last name; may be null
+     */
+    public void remove(long id, String firstName, String lastName) {
+        lock.writeLock().lock();
+        try {
+            removeName(id, firstName);
+            removeName(id, lastName);
+            if (emptyNodes >= MIN_EMPTY_NODES_TO_REBUILD && emptyNodes > nodes.size() - emptyNodes) {
+                rebuild();
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Find users with a first or last name within maxEdits of a term
+     *
+     * Case is ignored. Users are ranked by the distance of their closer
+     * name, then by ID.
+     *
+     * @param term Search term
+     * @param maxEdits Most insertions, deletions or substitutions allowed
+     * @param limit Most user IDs returned
+     * @return Matching user IDs, best first
+     * @throws IllegalArgumentException if the term is blank or longer than MAX_TERM_LENGTH
+     */
+    public long[] search(String term, int maxEdits, int limit) {
+        String query = term.trim().toLowerCase(Locale.ROOT);
+        if (query.isEmpty() || query.length() > MAX_TERM_LENGTH) {
+            throw new IllegalArgumentException(
+                    "Fuzzy search term must be 1 to " + MAX_TERM_LENGTH + " characters");
+        }
+        List<List<Node>> byDistance = new ArrayList<>(maxEdits + 1);
+        for (int d = 0; d <= maxEdits; d++) {
+            byDistance.add(new ArrayList<>());
+        }
+        lock.readLock().lock();
+        try {
+            if (root == null) {
+                return new long[0];
+            }
+            int[] previous = new int[query.length() + 1];
+            int[] current = new int[query.length() + 1];
+            Deque<Node> pending = new ArrayDeque<>();
+            pending.push(root);
+            while (!pending.isEmpty()) {
+                Node node = pending.pop();
+                int distance = editDistance(query, node.name, previous, current);
+                if (distance <= maxEdits && node.size > 0) {
+                    byDistance.get(distance).add(node);
+                }
+                int highest = Math.min(distance + maxEdits, node.children.length - 1);
+                for (int edge = Math.max(1, distance - maxEdits); edge <= highest; edge++) {
+                    if (node.children[edge] != null) {
+                        pending.push(node.children[edge]);
+                    }
+                }
+            }
+            return rank(byDistance, limit);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Count the distinct names in the tree, including empty ones
+     *
+     * @return Number of names
+     */
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return nodes.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // Called under the read lock, so the ID arrays are stable
+    private static long[] rank(List<List<Node>> byDistance, int limit) {
+        long[] ranked = new long[0];
+        int count = 0;
+        Set<Long> seen = new HashSet<>();
+        for (List<Node> matches : byDistance) {
+            if (count == limit) {
+                break;
+            }
+            int total = 0;
+            for (Node node : matches) {
+                total += node.size;
+            }
+            long[] ids = new long[total];
+            int filled = 0;
+            for (Node node : matches) {
+                System.arraycopy(node.ids, 0, ids, filled, node.size);
+                filled += node.size;
+            }
+            Arrays.sort(ids);
+            for (long id : ids) {
+                if (count == limit) {
+                    break;
+                }
+                if (seen.add(id)) {
+                    if (count == ranked.length) {
+                        ranked = Arrays.copyOf(ranked, Math.min(limit, Math.max(16, count * 2)));
+                    }
+                    ranked[count++] = id;
+                }
+            }
+        }
+        return Arrays.copyOf(ranked, count);
+    }
+
+    private void addName(long id, String name) {
+        if (name == null || name.isEmpty()) {
+            return;
+        }
+        String key = name.toLowerCase(Locale.ROOT);
+        Node node = nodes.get(key);
+        if (node == null) {
+            node = new Node(key);
+            nodes.put(key, node);
+            insert(node);
+        } else if (node.size == 0) {
+            emptyNodes--;
+        }
+        node.add(id);
+    }
+
+    private void removeName(long id, String name) {
+        if (name == null || name.isEmpty()) {
+            return;
+        }
+        Node node = nodes.get(name.toLowerCase(Locale.ROOT));
+        if (node != null && node.remove(id) && node.size == 0) {
+            emptyNodes++;
+        }
+    }
+
+    private void insert(Node node) {
+        if (root == null) {
+            root = node;
+            return;
+        }
+        Node parent = root;
+        while (true) {
+            int distance = editDistance(node.name, parent.name);
+            Node child = parent.child(distance);
+            if (child == null) {
+                parent.setChild(distance, node);
+                return;
+            }
+            parent = child;
+        }
+    }
+
+    private void rebuild() {
+        nodes.values().removeIf(node -> node.size == 0);
+        emptyNodes = 0;
+        root = null;
+        for (Node node : nodes.values()) {
+            node.children = Node.NO_CHILDREN;
+            insert(node);
+        }
+    }
+
+    /**
+     * Levenshtein distance between two strings
+     *
+     * @param a First string
+     * @param b Second string
+     * @return Insertions, deletions and substitutions needed to turn a into b
+     */
+    static int editDistance(String a, String b) {
+        return editDistance(a, b, new int[a.length() + 1], new int[a.length() + 1]);
+    }
+
+    // Two rows of the dynamic-programming table, sized to the first string
+    private static int editDistance(String a, String b, int[] previous, int[] current) {
+        for (int i = 0; i <= a.length(); i++) {
+            previous[i] = i;
+        }
+        for (int j = 1; j <= b.length(); j++) {
+            current[0] = j;
+            char c = b.charAt(j - 1);
+            for (int i = 1; i <= a.length(); i++) {
+                int substitution = previous[i - 1] + (a.charAt(i - 1) == c ? 0 : 1);
+                current[i] = Math.min(substitution, Math.min(previous[i], current[i - 1]) + 1);
+            }
+            int[] swap = previous;
+            previous = current;
+            current = swap;
+        }
+        return previous[a.length()];
+    }
+
+    /**
+     * One distinct name: its users and its children by edge distance
+     */
+    private static final class Node {
+
+        private static final Node[] NO_CHILDREN = new Node[0];
+        private static final long[] NO_IDS = new long[0];
+
+        private final String name;
+        private Node[] children = NO_CHILDREN;
+        // Sorted; only the first size entries are used
+        private long[] ids = NO_IDS;
+        private int size;
+
+        Node(String name) {
+            this.name = name;
+        }
+
+        Node child(int distance) {
+            return distance < children.length ? children[distance] : null;
+        }
+
+        void setChild(int distance, Node child) {
+            if (distance >= children.length) {
+                children = Arrays.copyOf(children, distance + 1);
+            }
+            children[distance] = child;
+        }
+
+        // A user whose first and last names are the same is added once
+        boolean add(long id) {
+            int index = Arrays.binarySearch(ids, 0, size, id);
+            if (index >= 0) {
+                return false;
+            }
+            int insertAt = -index - 1;
+            if (size == ids.length) {
+                ids = Arrays.copyOf(ids, Math.max(4, size + (size >> 1)));
+            }
+            System.arraycopy(ids, insertAt, ids, insertAt + 1, size - insertAt);
+            ids[insertAt] = id;
+            size++;
+            return true;
+        }
+
+        boolean remove(long id) {
+            int index = Arrays.binarySearch(ids, 0, size, id);
+            if (index < 0) {
+                return false;
+            }
+            System.arraycopy(ids, index + 1, ids, index, size - index - 1);
+            size--;
+            if (size == 0) {
+                ids = NO_IDS;
+            }
+            return true;
+        }
+    }
+}
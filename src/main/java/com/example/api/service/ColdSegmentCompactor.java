@@ -0,0 +1,204 @@
+package com.example.api.service;
+
+import com.example.api.model.User;
+import com.example.api.tenant.Tenant;
+import com.example.api.tenant.TenantRegistry;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CompletionException;
+import java.util.function.Consumer;
+import java.util.function.LongSupplier;
+
+/**
+ * Cold Segment Compactor - Expires long-deactivated users in the background
+ *
+ * On a fixed schedule, removes users that have been in every tenant's
+ * cold segment longer than the retention period, oldest first. With
+ * expired=archive each batch is appended to a JSON-lines file before it
+ * is removed (if the write fails the batch stays); with expired=purge it
+ * is dropped. The default tenant archives to archive-file, any other
+ * tenant to a file beside it with -t_{id} before the extension
+ * (data/archived-users-t_acme.jsonl).
+ *
+ * Work is throttled: users are removed in small batches with a pause
+ * between them, so a large backlog is spread out instead of holding
+ * the segment lock long enough to show up in request latency. Each
+ * batch is submitted through the tenant's UserWriter like any other
+ * mutation, so with write-mode=single-writer it is applied on the
+ * writer thread, in order with the tenant's other writes; the archive
+ * is written there too, before the batch is removed.
+ *
+ * Settings (app.users.cold.*): compaction-interval-ms, retention,
+ * expired (purge or archive), archive-file, compaction-batch-size,
+ * compaction-pause-ms. Disable with compaction-enabled=false.
+ *
+ * @author Your Name
+ * @version 1.0.0
+ */
+@Component
+@ConditionalOnProperty(name = "app.users.cold.compaction-enabled", havingValue = "true", matchIfMissing = true)
+public class ColdSegmentCompactor {
+
+    private static final Logger logger = LoggerFactory.getLogger(ColdSegmentCompactor.class);
+
+    private final TenantRegistry tenantRegistry;
+    private final ObjectMapper objectMapper;
+    private final Duration retention;
+    private final boolean archive;
+    private final Path archiveFile;
+    private final int batchSize;
+    private final long pauseMillis;
+    private final LongSupplier clock;
+
+    @Autowired
+    public ColdSegmentCompactor(TenantRegistry tenantRegistry,
+                                ObjectMapper objectMapper,
+                                @Value("${app.users.cold.retention:30d}") Duration retention,
+                                @Value("${app.users.cold.expired:archive}") String expired,
+                                @Value("${app.users.cold.archive-file:data/archived-users.jsonl}") String archiveFile,
+                                @Value("${app.users.cold.compaction-batch-size:500}") int batchSize,
+                                @Value("${app.users.cold.compaction-pause-ms:20}") long pauseMillis) {
+        this(tenantRegistry, objectMapper, retention, expired, Paths.get(archiveFile), batchSize, pauseMillis,
+                System::currentTimeMillis);
+    }
+
+    /**
+     * Constructor with a custom clock (used in tests)
+     *
+     * @param tenantRegistry Tenants whose cold segments are compacted
+     * @param objectMapper Serializer for archived users
+     * @param retention How long a user stays deactivated before it expires
+     * @param expired What to do with expired users: purge or archive
+     * @param archiveFile JSON-lines file the default tenant's archived users are appended to
+     * @param batchSize Users removed per batch
+     * @param pauseMillis Pause between batches
+     * @param clock Source of the current time in milliseconds
+     */
+    public ColdSegmentCompactor(TenantRegistry tenantRegistry, ObjectMapper objectMapper, Duration retention,
+                                String expired, Path archiveFile, int batchSize, long pauseMillis,
+                                LongSupplier clock) {
+        if (!"purge".equals(expired) && !"archive".equals(expired)) {
+            throw new IllegalArgumentException("app.users.cold.expired must be purge or archive: " + expired);
+        }
+        this.tenantRegistry = tenantRegistry;
+        this.objectMapper = objectMapper;
+        this.retention = retention;
+        this.archive = "archive".equals(expired);
+        this.archiveFile = archiveFile;
+        this.batchSize = batchSize;
+        this.pauseMillis = pauseMillis;
+        this.clock = clock;
+    }
+
+    /**
+     * Scheduled run
+     */
+    @Scheduled(fixedDelayString = "${app.users.cold.compaction-interval-ms:60000}",
+               initialDelayString = "${app.users.cold.compaction-interval-ms:60000}")
+    public void compact() {
+        int removed = compactOnce();
+        if (removed > 0) {
+            logger.info("Expired {} deactivated users ({})", removed, archive ? "archived" : "purged");
+        }
+    }
+
+    /**
+     * Expire every tenant's users past the retention period, in throttled batches
+     *
+     * A tenant whose archive cannot be written keeps its expired users
+     * and does not stop the others.
+     *
+     * @return Number of users removed
+     */
+    public int compactOnce() {
+        long cutoff = clock.getAsLong() - retention.toMillis();
+        int total = 0;
+        for (Tenant tenant : tenantRegistry.getTenants()) {
+            if (Thread.currentThread().isInterrupted()) {
+                break;
+            }
+            Path file = archiveFile(tenant);
+            try {
+                total += compact(tenant.getWriter(), cutoff, batch -> append(file, batch));
+            } catch (UncheckedIOException ex) {
+                logger.error("Archiving expired users to {} failed; they stay in the cold segment", file, ex);
+            }
+        }
+        return total;
+    }
+
+    private int compact(UserWriter writer, long cutoff, Consumer<List<User>> beforeRemove) {
+        int total = 0;
+        int removed;
+        do {
+            try {
+                removed = writer.expireColdUsers(cutoff, batchSize, beforeRemove).join();
+            } catch (CompletionException ex) {
+                if (ex.getCause() instanceof UncheckedIOException) {
+                    throw (UncheckedIOException) ex.getCause();
+                }
+                throw ex;
+            }
+            total += removed;
+            if (removed == batchSize && pauseMillis > 0) {
+                try {
+                    Thread.sleep(pauseMillis);
+                } catch (InterruptedException ex) {
+                    Thread.currentThread().interrupt();
+                    break;
+                }
+            }
+        } while (removed == batchSize);
+        return total;
+    }
+
+    private Path archiveFile(Tenant tenant) {
+        if (TenantRegistry.DEFAULT_TENANT.equals(tenant.getId())) {
+            return archiveFile;
+        }
+        String name = archiveFile.getFileName().toString();
+        int dot = name.lastIndexOf('.');
+        String suffix = "-t_" + tenant.getId();
+        return archiveFile.resolveSibling(dot > 0
+                ? name.substring(0, dot) + suffix + name.substring(dot)
+                : name + suffix);
+    }
+
+    private void append(Path file, List<User> batch) {
+        if (!archive) {
+            return;
+        }
+        try {
+            Path parent = file.toAbsolutePath().getParent();
+            if (parent != null) {
+                Files.createDirectories(parent);
+            }
+            try (BufferedWriter writer = Files.newBufferedWriter(file, StandardCharsets.UTF_8,
+                    StandardOpenOption.CREATE, StandardOpenOption.APPEND)) {
+                for (User user : batch) {
+                    writer.write(objectMapper.writeValueAsString(user));
+                    writer.newLine();
+                }
+            }
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
+    }
+}
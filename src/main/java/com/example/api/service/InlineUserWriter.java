@@ -0,0 +1,56 @@
+package com.example.api.service;
+
+import com.example.api.model.User;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Consumer;
+
+/**
+ * Inline User Writer - Applies mutations on the calling thread
+ * 
+ * Default write mode; every future is already complete on return.
+ * 
+ * @author Your Name
+ * @version 1.0.0
+ */
+public class InlineUserWriter implements UserWriter {
+
+    private final UserService userService;
+
+    public InlineUserWriter(UserService userService) {
+        this.userService = userService;
+    }
+
+    @Override
+    public CompletableFuture<User> createUser(User user) {
+        return CompletableFuture.completedFuture(userService.createUser(user));
+    }
+
+    @Override
+    public CompletableFuture<Optional<User>> updateUser(Long id, User user) {
+        return CompletableFuture.completedFuture(userService.updateUser(id, user));
+    }
+
+    @Override
+    public CompletableFuture<Boolean> deleteUser(Long id) {
+        return CompletableFuture.completedFuture(userService.deleteUser(id));
+    }
+
+    @Override
+    public CompletableFuture<Optional<User>> deactivateUser(Long id) {
+        return CompletableFuture.completedFuture(userService.deactivateUser(id));
+    }
+
+    @Override
+    public CompletableFuture<Integer> importUsers(List<User> users) {
+        return CompletableFuture.completedFuture(userService.importUsers(users));
+    }
+
+    @Override
+    public CompletableFuture<Integer> expireColdUsers(long cutoffMillis, int limit,
+                                                      Consumer<List<User>> beforeRemove) {
+        return CompletableFuture.completedFuture(userService.expireColdUsers(cutoffMillis, limit, beforeRemove));
+    }
+}
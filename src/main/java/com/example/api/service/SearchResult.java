@@ -0,0 +1,47 @@
+package com.example.api.service;
+
+import com.example.api.model.User;
+
+import java.util.List;
+
+/**
+ * Search Result - Matches of a scan that may have been cut short
+ *
+ * When the request deadline passes mid-scan, the users matched so far
+ * are returned with complete set to false rather than failing the
+ * whole request.
+ *
+ * @author Your Name
+ * @version 1.0.0
+ */
+public class SearchResult {
+
+    private final List<User> users;
+    private final boolean complete;
+    private final long scanned;
+
+    /**
+     * Create a result
+     *
+     * @param users Matching users in id order
+     * @param complete Whether every user was examined
+     * @param scanned Number of users examined
+     */
+    public SearchResult(List<User> users, boolean complete, long scanned) {
+        this.users = users;
+        this.complete = complete;
+        this.scanned = scanned;
+    }
+
+    public List<User> getUsers() {
+        return users;
+    }
+
+    public boolean isComplete() {
+        return complete;
+    }
+
+    public long getScanned() {
+        return scanned;
+    }
+}
@@ -0,0 +1,314 @@
+package com.example.api.service;
+
+import com.example.api.model.User;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.Consumer;
+
+/**
+ * Single Writer User Writer - Batched mutations on one writer thread
+ * 
+ * Request threads append mutations to a lock-free queue and return a
+ * future immediately. A dedicated "user-writer" thread drains the
+ * queue in batches and applies them to UserService, so mutations
+ * never contend with each other and request threads never block.
+ * 
+ * Within a batch, consecutive updates to the same id with no other
+ * mutation of that id in between are coalesced: only the last payload
+ * is applied and every caller receives the resulting user.
+ * 
+ * When the queue grows past the overload threshold the store is
+ * reported OVERLOADED to the readiness probe until it drains to half
+ * the threshold.
+ * 
+ * Enable with app.users.write-mode=single-writer; UserWriterFactory
+ * creates one per tenant.
+ * 
+ * @author Your Name
+ * @version 1.0.0
+ */
+public class SingleWriterUserWriter implements UserWriter, DisposableBean {
+
+    private static final Logger logger = LoggerFactory.getLogger(SingleWriterUserWriter.class);
+
+    private final UserService userService;
+    private final int batchSize;
+    private final int overloadThreshold;
+
+    private final Queue<Mutation<?>> queue = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger queueDepth = new AtomicInteger();
+    private final AtomicLong appliedCount = new AtomicLong();
+    private final AtomicLong coalescedCount = new AtomicLong();
+    private final Thread writerThread;
+    private volatile boolean running = true;
+
+    /**
+     * Create the writer and start its thread
+     * 
+     * @param userService Service mutations are applied to
+     * @param batchSize Most mutations applied per batch
+     * @param overloadThreshold Queue depth at which the store reports OVERLOADED
+     */
+    public SingleWriterUserWriter(UserService userService, int batchSize, int overloadThreshold) {
+        this.userService = userService;
+        this.batchSize = batchSize;
+        this.overloadThreshold = overloadThreshold;
+        this.writerThread = new Thread(this::drainLoop, "user-writer");
+        this.writerThread.setDaemon(true);
+        this.writerThread.start();
+    }
+
+    @Override
+    public CompletableFuture<User> createUser(User user) {
+        return submit(new Mutation<User>(null) {
+            @Override
+            User apply(UserService service) {
+                return service.createUser(user);
+            }
+        });
+    }
+
+    @Override
+    public CompletableFuture<Optional<User>> updateUser(Long id, User user) {
+        return submit(new Update(id, user));
+    }
+
+    @Override
+    public CompletableFuture<Boolean> deleteUser(Long id) {
+        return submit(new Mutation<Boolean>(id) {
+            @Override
+            Boolean apply(UserService service) {
+                return service.deleteUser(id);
+            }
+        });
+    }
+
+    @Override
+    public CompletableFuture<Optional<User>> deactivateUser(Long id) {
+        return submit(new Mutation<Optional<User>>(id) {
+            @Override
+            Optional<User> apply(UserService service) {
+                return service.deactivateUser(id);
+            }
+        });
+    }
+
+    @Override
+    public CompletableFuture<Integer> importUsers(List<User> users) {
+        return submit(new Mutation<Integer>(null) {
+            @Override
+            Integer apply(UserService service) {
+                return service.importUsers(users);
+            }
+        });
+    }
+
+    @Override
+    public CompletableFuture<Integer> expireColdUsers(long cutoffMillis, int limit,
+                                                      Consumer<List<User>> beforeRemove) {
+        return submit(new Mutation<Integer>(null) {
+            @Override
+            Integer apply(UserService service) {
+                return service.expireColdUsers(cutoffMillis, limit, beforeRemove);
+            }
+        });
+    }
+
+    /**
+     * Get the number of mutations applied to the store
+     * 
+     * @return Applied mutation count (coalesced updates count once)
+     */
+    public long getAppliedCount() {
+        return appliedCount.get();
+    }
+
+    /**
+     * Get the number of updates folded into an earlier update
+     * 
+     * @return Coalesced update count
+     */
+    public long getCoalescedCount() {
+        return coalescedCount.get();
+    }
+
+    /**
+     * Get the number of mutations waiting for the writer thread
+     * 
+     * @return Current queue depth
+     */
+    public int getQueueDepth() {
+        return queueDepth.get();
+    }
+
+    /**
+     * Stop accepting mutations, apply everything queued, and stop the writer thread
+     */
+    @Override
+    public void destroy() throws InterruptedException {
+        running = false;
+        LockSupport.unpark(writerThread);
+        writerThread.join(5000);
+        // Anything that slipped in after the writer exited is failed rather than left hanging
+        Mutation<?> leftover;
+        while ((leftover = queue.poll()) != null) {
+            leftover.fail(new RejectedExecutionException("User writer is shut down"));
+        }
+    }
+
+    private <T> CompletableFuture<T> submit(Mutation<T> mutation) {
+        if (!running) {
+            mutation.future.completeExceptionally(new RejectedExecutionException("User writer is shut down"));
+            return mutation.future;
+        }
+        queue.offer(mutation);
+        // destroy may have drained the queue between the check and the offer; if the
+        // mutation is still there nobody else will take it, otherwise whoever did completes it
+        if (!running && queue.remove(mutation)) {
+            mutation.future.completeExceptionally(new RejectedExecutionException("User writer is shut down"));
+            return mutation.future;
+        }
+        if (queueDepth.incrementAndGet() > overloadThreshold
+                && userService.getStoreState() == UserStoreState.READY) {
+            userService.setStoreState(UserStoreState.OVERLOADED);
+        }
+        LockSupport.unpark(writerThread);
+        return mutation.future;
+    }
+
+    private void drainLoop() {
+        List<Mutation<?>> batch = new ArrayList<>(batchSize);
+        while (running || !queue.isEmpty()) {
+            Mutation<?> next;
+            while (batch.size() < batchSize && (next = queue.poll()) != null) {
+                batch.add(next);
+            }
+            if (batch.isEmpty()) {
+                // An unpark issued before this park leaves a permit, so no wakeup is lost
+                LockSupport.park(this);
+                continue;
+            }
+            // Count the batch as dequeued before completing any of its futures
+            int remaining = queueDepth.addAndGet(-batch.size());
+            try {
+                applyBatch(batch);
+            } catch (Throwable ex) {
+                // Keep the writer alive; completed futures ignore the failure
+                logger.error("User mutation batch failed", ex);
+                batch.forEach(mutation -> mutation.fail(ex));
+            }
+            if (remaining <= overloadThreshold / 2
+                    && userService.getStoreState() == UserStoreState.OVERLOADED) {
+                userService.setStoreState(UserStoreState.READY);
+            }
+            batch.clear();
+        }
+    }
+
+    private void applyBatch(List<Mutation<?>> batch) {
+        Map<Long, Update> pendingUpdates = new HashMap<>();
+        List<Mutation<?>> plan = new ArrayList<>(batch.size());
+        for (Mutation<?> mutation : batch) {
+            if (mutation instanceof Update) {
+                Update update = (Update) mutation;
+                Update pending = pendingUpdates.get(update.id);
+                if (pending != null) {
+                    pending.absorb(update);
+                    coalescedCount.incrementAndGet();
+                    continue;
+                }
+                pendingUpdates.put(update.id, update);
+            } else if (mutation.id != null) {
+                pendingUpdates.remove(mutation.id);
+            }
+            plan.add(mutation);
+        }
+        for (Mutation<?> mutation : plan) {
+            run(mutation);
+        }
+    }
+
+    private <T> void run(Mutation<T> mutation) {
+        try {
+            mutation.complete(mutation.apply(userService));
+            appliedCount.incrementAndGet();
+        } catch (Throwable ex) {
+            // Errors too: a dead writer thread would leave every later future hanging
+            logger.warn("User mutation failed", ex);
+            mutation.fail(ex);
+        }
+    }
+
+    /**
+     * A queued mutation and the future its caller is waiting on
+     */
+    private abstract static class Mutation<T> {
+
+        final Long id;
+        final CompletableFuture<T> future = new CompletableFuture<>();
+
+        Mutation(Long id) {
+            this.id = id;
+        }
+
+        abstract T apply(UserService service);
+
+        void complete(T result) {
+            future.complete(result);
+        }
+
+        void fail(Throwable ex) {
+            future.completeExceptionally(ex);
+        }
+    }
+
+    /**
+     * An update that can absorb later updates to the same id
+     */
+    private static final class Update extends Mutation<Optional<User>> {
+
+        private User user;
+        private final List<CompletableFuture<Optional<User>>> absorbed = new ArrayList<>(0);
+
+        Update(Long id, User user) {
+            super(id);
+            this.user = user;
+        }
+
+        void absorb(Update later) {
+            this.user = later.user;
+            absorbed.add(later.future);
+        }
+
+        @Override
+        Optional<User> apply(UserService service) {
+            return service.updateUser(id, user);
+        }
+
+        @Override
+        void complete(Optional<User> result) {
+            super.complete(result);
+            absorbed.forEach(future -> future.complete(result));
+        }
+
+        @Override
+        void fail(Throwable ex) {
+            super.fail(ex);
+            absorbed.forEach(future -> future.completeExceptionally(ex));
+        }
+    }
+}
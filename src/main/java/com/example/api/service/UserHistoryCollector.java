@@ -0,0 +1,84 @@
+package com.example.api.service;
+
+import com.example.api.tenant.Tenant;
+import com.example.api.tenant.TenantRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.function.LongSupplier;
+
+/**
+ * User History Collector - Trims old user versions in the background
+ *
+ * On a fixed schedule, drops every tenant's user versions that stopped
+ * being current longer ago than the retention window, so the history
+ * only grows with the writes made within it. Reads as of a time before
+ * the window are refused afterwards.
+ *
+ * Settings (app.users.history.*): retention, gc-interval-ms.
+ *
+ * @author Your Name
+ * @version 1.0.0
+ */
+@Component
+public class UserHistoryCollector {
+
+    private static final Logger logger = LoggerFactory.getLogger(UserHistoryCollector.class);
+
+    private final TenantRegistry tenantRegistry;
+    private final Duration retention;
+    private final LongSupplier clock;
+
+    @Autowired
+    public UserHistoryCollector(TenantRegistry tenantRegistry,
+                                @Value("${app.users.history.retention:1h}") Duration retention) {
+        this(tenantRegistry, retention, System::currentTimeMillis);
+    }
+
+    /**
+     * Constructor with a custom clock (used in tests)
+     *
+     * @param tenantRegistry Tenants whose histories are trimmed
+     * @param retention How long a replaced version stays readable
+     * @param clock Source of the current time in milliseconds
+     */
+    public UserHistoryCollector(TenantRegistry tenantRegistry, Duration retention, LongSupplier clock) {
+        if (retention.isNegative() || retention.isZero()) {
+            throw new IllegalArgumentException("app.users.history.retention must be positive: " + retention);
+        }
+        this.tenantRegistry = tenantRegistry;
+        this.retention = retention;
+        this.clock = clock;
+    }
+
+    /**
+     * Scheduled run
+     */
+    @Scheduled(fixedDelayString = "${app.users.history.gc-interval-ms:60000}",
+               initialDelayString = "${app.users.history.gc-interval-ms:60000}")
+    public void collect() {
+        int dropped = collectOnce();
+        if (dropped > 0) {
+            logger.debug("Dropped {} user versions older than {}", dropped, retention);
+        }
+    }
+
+    /**
+     * Trim every tenant's history to the retention window
+     *
+     * @return Number of versions dropped
+     */
+    public int collectOnce() {
+        long cutoff = clock.getAsLong() - retention.toMillis();
+        int dropped = 0;
+        for (Tenant tenant : tenantRegistry.getTenants()) {
+            dropped += tenant.getService().trimHistory(cutoff);
+        }
+        return dropped;
+    }
+}
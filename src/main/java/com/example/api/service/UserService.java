@@ -1,19 +1,58 @@
 package com.example.api.service;
 
+import com.example.api.deadline.Deadline;
+import com.example.api.exception.DeadlineExceededException;
 import com.example.api.model.User;
+import com.example.api.profiling.UserOperation;
+import com.example.api.repository.ColdUserSegment;
+import com.example.api.repository.InMemoryUserRepository;
+import com.example.api.repository.UserRepository;
+import com.example.api.repository.UserVersionHistory;
+import com.example.api.search.FuzzyNameIndex;
+import com.example.api.stats.UserAggregates;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
-import java.util.concurrent.atomic.AtomicLong;
-import java.util.stream.Collectors;
+import java.util.Set;
+import java.util.function.BiFunction;
+import java.util.function.Consumer;
+import java.util.function.LongConsumer;
+import java.util.function.Predicate;
 
 /**
  * User Service - Business logic for user operations
  * 
  * This service handles all business logic related to users.
- * Uses in-memory storage for demonstration purposes.
+ * Storage is delegated to a UserRepository: in-memory by default,
+ * or a JDBC database behind a read-through cache.
+ * 
+ * The repository holds active users only. Deactivated users are moved
+ * to a ColdUserSegment with the same ID, so the active-user paths read
+ * hot data alone; lookups by ID, search and listing cover both.
+ * 
+ * Each store operation emits a UserOperationEvent for JDK Flight
+ * Recorder with its result size and the number of users it read.
+ * 
+ * Listing and search read the store a page at a time and take an
+ * optional request Deadline, checked between pages: listings fail
+ * with DeadlineExceededException, search returns what it found.
+ * 
+ * Every mutation first records the user's previous version in a
+ * UserVersionHistory, so lookups and listings can also be answered as
+ * of a recent point in time without holding up writers. Stored users
+ * are never changed in place: an update stores a new copy, so a
+ * reader holding a user always sees one whole version of it.
+ * 
+ * First and last names are also kept in a FuzzyNameIndex, so name
+ * searches that tolerate typos are answered without a scan.
  * 
  * @author Your Name
  * @version 1.0.0
@@ -21,18 +60,147 @@ import java.util.stream.Collectors;
 @Service
 public class UserService {
 
-    // In-memory storage (simulating a database)
-    private final List<User> users = new ArrayList<>();
-    private final AtomicLong idCounter = new AtomicLong(1);
+    // Users read per page by scans; the deadline is checked between pages
+    private static final int SCAN_PAGE_SIZE = 4096;
+
+    /** Users read per page when an existing store is opened */
+    public static final int DEFAULT_LOAD_PAGE_SIZE = 8192;
+
+    private final UserRepository repository;
+    private final ColdUserSegment cold;
+    private final UserVersionHistory history;
+
+    // Distributions maintained on every mutation
+    private final UserAggregates aggregates = new UserAggregates();
+    private final FuzzyNameIndex nameIndex = new FuzzyNameIndex();
+
+    // Reported by the readiness probe
+    private volatile UserStoreState storeState = UserStoreState.LOADING;
 
     /**
-     * Constructor - Initialize with sample data
+     * Constructor - In-memory storage with sample data
      */
     public UserService() {
-        // Add some sample users
-        createUser(new User(null, "johndoe", "john.doe@example.com", "John", "Doe"));
-        createUser(new User(null, "janedoe", "jane.doe@example.com", "Jane", "Doe"));
-        createUser(new User(null, "bobsmith", "bob.smith@example.com", "Bob", "Smith"));
+        this(new InMemoryUserRepository());
+    }
+
+    /**
+     * Constructor - Open the given repository with an in-memory cold segment
+     * 
+     * @param repository User storage
+     */
+    public UserService(UserRepository repository) {
+        this(repository, new ColdUserSegment(new InMemoryUserRepository()));
+    }
+
+    /**
+     * Constructor - Open the given repository and cold segment
+     * 
+     * An empty store is seeded with sample users; otherwise the
+     * aggregates are rebuilt from the stored users, and inactive users
+     * found in the repository are moved to the cold segment.
+     * 
+     * @param repository Storage for active users
+     * @param cold Storage for deactivated users
+     */
+    public UserService(UserRepository repository, ColdUserSegment cold) {
+        this(repository, cold, true);
+    }
+
+    /**
+     * Constructor - Open the given repository and cold segment, reading them in pages
+     * 
+     * @param repository Storage for active users
+     * @param cold Storage for deactivated users
+     * @param loadPageSize Users read per page while the stored users are loaded
+     */
+    @Autowired
+    public UserService(UserRepository repository, ColdUserSegment cold,
+                       @Value("${app.users.dataset.chunk-rows:8192}") int loadPageSize) {
+        this(repository, cold, new UserVersionHistory(), true, loadPageSize);
+    }
+
+    /**
+     * Constructor - Open the given repository and cold segment
+     * 
+     * @param repository Storage for active users
+     * @param cold Storage for deactivated users
+     * @param seedSampleUsers Whether an empty store gets the sample users
+     */
+    public UserService(UserRepository repository, ColdUserSegment cold, boolean seedSampleUsers) {
+        this(repository, cold, new UserVersionHistory(), seedSampleUsers);
+    }
+
+    /**
+     * Constructor - Open the given repository, cold segment and version history
+     * 
+     * @param repository Storage for active users
+     * @param cold Storage for deactivated users
+     * @param history Versions overwritten from now on; reads before it was opened are refused
+     * @param seedSampleUsers Whether an empty store gets the sample users
+     */
+    public UserService(UserRepository repository, ColdUserSegment cold, UserVersionHistory history,
+                       boolean seedSampleUsers) {
+        this(repository, cold, history, seedSampleUsers, DEFAULT_LOAD_PAGE_SIZE);
+    }
+
+    /**
+     * Constructor - Open the given repository, cold segment and version history
+     * 
+     * The stored users are read a page at a time, so opening a large
+     * store holds one page of users besides the aggregates and index.
+     * 
+     * @param repository Storage for active users
+     * @param cold Storage for deactivated users
+     * @param history Versions overwritten from now on; reads before it was opened are refused
+     * @param seedSampleUsers Whether an empty store gets the sample users
+     * @param loadPageSize Users read per page while the stored users are loaded
+     */
+    public UserService(UserRepository repository, ColdUserSegment cold, UserVersionHistory history,
+                       boolean seedSampleUsers, int loadPageSize) {
+        this.repository = repository;
+        this.cold = cold;
+        this.history = history;
+        if (repository.count() == 0 && cold.count() == 0) {
+            if (seedSampleUsers) {
+                // Add some sample users
+                createUser(new User(null, "johndoe", "john.doe@example.com", "John", "Doe"));
+                createUser(new User(null, "janedoe", "jane.doe@example.com", "Jane", "Doe"));
+                createUser(new User(null, "bobsmith", "bob.smith@example.com", "Bob", "Smith"));
+            }
+        } else {
+            // Cold first, so users moved there below are loaded once
+            forEachPage(cold::findPage, loadPageSize, user -> {
+                aggregates.onLoad(user);
+                indexNames(user);
+            });
+            forEachPage(repository::findPage, loadPageSize, user -> {
+                aggregates.onLoad(user);
+                indexNames(user);
+                if (!user.isActive()) {
+                    moveToCold(user);
+                }
+            });
+        }
+        storeState = UserStoreState.READY;
+    }
+
+    /**
+     * Get the current lifecycle state of the store
+     * 
+     * @return Store state
+     */
+    public UserStoreState getStoreState() {
+        return storeState;
+    }
+
+    /**
+     * Change the lifecycle state of the store
+     * 
+     * @param storeState New store state
+     */
+    public void setStoreState(UserStoreState storeState) {
+        this.storeState = storeState;
     }
 
     /**
@@ -41,7 +209,26 @@ public class UserService {
      * @return List of all users
      */
     public List<User> getAllUsers() {
-        return new ArrayList<>(users);
+        return getAllUsers(Deadline.none());
+    }
+
+    /**
+     * Get all users, giving up if the deadline passes first
+     * 
+     * @param deadline Deadline checked between pages
+     * @return List of all users
+     * @throws DeadlineExceededException if the deadline passes before all users are read
+     */
+    public List<User> getAllUsers(Deadline deadline) {
+        UserOperation event = UserOperation.begin("getAllUsers", -1);
+        Scan hot = new Scan(user -> true);
+        Scan coldScan = new Scan(user -> true);
+        boolean complete = hot.run(repository::findPage, deadline) && coldScan.run(cold::findPage, deadline);
+        event.finish(hot.matches.size() + coldScan.matches.size(), hot.scanned + coldScan.scanned);
+        if (!complete) {
+            throw new DeadlineExceededException("getAllUsers");
+        }
+        return mergeById(hot.matches, coldScan.matches);
     }
 
     /**
@@ -50,9 +237,26 @@ public class UserService {
      * @return List of active users
      */
     public List<User> getActiveUsers() {
-        return users.stream()
-                .filter(User::isActive)
-                .collect(Collectors.toList());
+        return getActiveUsers(Deadline.none());
+    }
+
+    /**
+     * Get all active users, giving up if the deadline passes first
+     * 
+     * @param deadline Deadline checked between pages
+     * @return List of active users
+     * @throws DeadlineExceededException if the deadline passes before all users are read
+     */
+    public List<User> getActiveUsers(Deadline deadline) {
+        UserOperation event = UserOperation.begin("getActiveUsers", -1);
+        // The repository only holds active users
+        Scan hot = new Scan(user -> true);
+        boolean complete = hot.run(repository::findPage, deadline);
+        event.finish(hot.matches.size(), hot.scanned);
+        if (!complete) {
+            throw new DeadlineExceededException("getActiveUsers");
+        }
+        return hot.matches;
     }
 
     /**
@@ -62,9 +266,87 @@ public class UserService {
      * @return Optional containing user if found
      */
     public Optional<User> getUserById(Long id) {
-        return users.stream()
-                .filter(user -> user.getId().equals(id))
-                .findFirst();
+        UserOperation event = UserOperation.begin("getUserById", idOf(id));
+        Optional<User> user = findHotOrCold(id);
+        event.finish(user.isPresent() ? 1 : 0, 1);
+        return user;
+    }
+
+    /**
+     * Get a user as it was at a point in time
+     * 
+     * @param id User ID
+     * @param asOfMillis Time in milliseconds since the epoch
+     * @return Optional containing the user if it existed then
+     * @throws IllegalArgumentException if the time is not in the past or is older than the history
+     */
+    public Optional<User> getUserByIdAsOf(Long id, long asOfMillis) {
+        history.checkReadable(asOfMillis);
+        UserOperation event = UserOperation.begin("getUserByIdAsOf", idOf(id));
+        // Copy before consulting the history; see UserVersionHistory
+        Optional<User> current = findHotOrCold(id).map(User::new);
+        Optional<User> user = history.resolve(id, current, asOfMillis);
+        event.finish(user.isPresent() ? 1 : 0, 1);
+        return user;
+    }
+
+    /**
+     * Get all users as they were at a point in time, giving up if the deadline passes first
+     * 
+     * @param asOfMillis Time in milliseconds since the epoch
+     * @param deadline Deadline checked between pages
+     * @return Users that existed then, in id order
+     * @throws IllegalArgumentException if the time is not in the past or is older than the history
+     * @throws DeadlineExceededException if the deadline passes before all users are read
+     */
+    public List<User> getAllUsersAsOf(long asOfMillis, Deadline deadline) {
+        history.checkReadable(asOfMillis);
+        UserOperation event = UserOperation.begin("getAllUsersAsOf", -1);
+        Scan hot = new Scan(user -> true);
+        Scan coldScan = new Scan(user -> true);
+        boolean complete = hot.run(repository::findPage, deadline) && coldScan.run(cold::findPage, deadline);
+        if (!complete) {
+            event.finish(0, hot.scanned + coldScan.scanned);
+            throw new DeadlineExceededException("getAllUsersAsOf");
+        }
+        List<User> users = history.resolveAll(mergeById(hot.matches, coldScan.matches), asOfMillis);
+        event.finish(users.size(), hot.scanned + coldScan.scanned);
+        return users;
+    }
+
+    /**
+     * Get many users by ID in a single store pass
+     * 
+     * Duplicate ids are reported once. Results are passed to the
+     * callbacks as they are resolved, in no particular order.
+     * 
+     * @param ids User IDs to look up
+     * @param onFound Receives each user found
+     * @param onMissing Receives each id not found
+     */
+    public void getUsersByIds(long[] ids, Consumer<User> onFound, LongConsumer onMissing) {
+        long[] distinct = ids.clone();
+        Arrays.sort(distinct);
+        int count = 0;
+        for (int i = 0; i < distinct.length; i++) {
+            if (i == 0 || distinct[i] != distinct[i - 1]) {
+                distinct[count++] = distinct[i];
+            }
+        }
+        UserOperation event = UserOperation.begin("getUsersByIds", -1);
+        int[] found = new int[1];
+        Consumer<User> counted = user -> {
+            found[0]++;
+            onFound.accept(user);
+        };
+        long[] notHot = new long[count];
+        int[] notHotCount = new int[1];
+        repository.findAllById(count == distinct.length ? distinct : Arrays.copyOf(distinct, count),
+                counted, id -> notHot[notHotCount[0]++] = id);
+        if (notHotCount[0] > 0) {
+            cold.findAllById(Arrays.copyOf(notHot, notHotCount[0]), counted, onMissing);
+        }
+        event.finish(found[0], count);
     }
 
     /**
@@ -74,9 +356,13 @@ public class UserService {
      * @return Optional containing user if found
      */
     public Optional<User> getUserByUsername(String username) {
-        return users.stream()
-                .filter(user -> user.getUsername().equals(username))
+        UserOperation event = UserOperation.begin("getUserByUsername", -1);
+        List<User> all = mergeById(repository.findAll(), cold.findAll());
+        Optional<User> user = all.stream()
+                .filter(candidate -> candidate.getUsername().equals(username))
                 .findFirst();
+        event.finish(user.isPresent() ? 1 : 0, all.size());
+        return user;
     }
 
     /**
@@ -86,9 +372,15 @@ public class UserService {
      * @return Created user with generated ID
      */
     public User createUser(User user) {
-        // Assign new ID
-        user.setId(idCounter.getAndIncrement());
-        users.add(user);
+        UserOperation event = UserOperation.begin("createUser", -1);
+        // Repository assigns the new ID; the creation is recorded before the user is visible
+        repository.insert(user, history::recordCreated);
+        if (!user.isActive()) {
+            moveToCold(user);
+        }
+        aggregates.onCreate(user);
+        indexNames(user);
+        event.finish(1, 0);
         return user;
     }
 
@@ -100,18 +392,42 @@ public class UserService {
      * @return Optional containing updated user if found
      */
     public Optional<User> updateUser(Long id, User updatedUser) {
-        Optional<User> existingUser = getUserById(id);
+        UserOperation event = UserOperation.begin("updateUser", idOf(id));
+        Optional<User> existingUser = findHotOrCold(id);
         
         if (existingUser.isPresent()) {
-            User user = existingUser.get();
+            // Readers may hold the stored user: store a new version instead of changing it
+            User current = existingUser.get();
+            User user = new User(current);
             user.setUsername(updatedUser.getUsername());
             user.setEmail(updatedUser.getEmail());
             user.setFirstName(updatedUser.getFirstName());
             user.setLastName(updatedUser.getLastName());
             user.setActive(updatedUser.isActive());
+            boolean wasActive = current.isActive();
+            history.recordChanged(current);
+            if (wasActive && !user.isActive()) {
+                moveToCold(user);
+            } else if (!wasActive && user.isActive()) {
+                if (!cold.remove(id).isPresent()) {
+                    // Expired by the compactor in the meantime
+                    event.finish(0, 1);
+                    return Optional.empty();
+                }
+                repository.restore(user);
+            } else if (wasActive) {
+                repository.update(user);
+            } else {
+                cold.update(user);
+            }
+            aggregates.onUpdate(current.getEmail(), current.getLastName(), current.getFirstName(), user);
+            nameIndex.remove(user.getId(), current.getFirstName(), current.getLastName());
+            indexNames(user);
+            event.finish(1, 1);
             return Optional.of(user);
         }
         
+        event.finish(0, 1);
         return Optional.empty();
     }
 
@@ -122,7 +438,16 @@ public class UserService {
      * @return true if user was deleted, false if not found
      */
     public boolean deleteUser(Long id) {
-        return users.removeIf(user -> user.getId().equals(id));
+        UserOperation event = UserOperation.begin("deleteUser", idOf(id));
+        findHotOrCold(id).ifPresent(user -> history.recordRemoved(new User(user)));
+        Optional<User> removed = repository.deleteById(id);
+        if (!removed.isPresent()) {
+            removed = cold.remove(id);
+        }
+        removed.ifPresent(aggregates::onDelete);
+        removed.ifPresent(this::unindexNames);
+        event.finish(removed.isPresent() ? 1 : 0, 1);
+        return removed.isPresent();
     }
 
     /**
@@ -132,8 +457,18 @@ public class UserService {
      * @return Optional containing deactivated user if found
      */
     public Optional<User> deactivateUser(Long id) {
-        Optional<User> user = getUserById(id);
-        user.ifPresent(u -> u.setActive(false));
+        UserOperation event = UserOperation.begin("deactivateUser", idOf(id));
+        Optional<User> user = repository.findById(id);
+        if (user.isPresent()) {
+            User deactivated = new User(user.get());
+            deactivated.setActive(false);
+            history.recordChanged(user.get());
+            moveToCold(deactivated);
+            user = Optional.of(deactivated);
+        } else {
+            user = cold.findById(id);
+        }
+        event.finish(user.isPresent() ? 1 : 0, 1);
         return user;
     }
 
@@ -144,12 +479,68 @@ public class UserService {
      * @return List of matching users
      */
     public List<User> searchUsersByName(String searchTerm) {
+        return searchUsersByName(searchTerm, Deadline.none()).getUsers();
+    }
+
+    /**
+     * Search users by name, returning what was found if the deadline passes
+     * 
+     * Active users are searched first, then deactivated ones, a page at
+     * a time; once the deadline has passed no further page is read.
+     * 
+     * @param searchTerm Search term to match against first or last name
+     * @param deadline Deadline checked between pages
+     * @return Matching users, flagged incomplete if the scan was cut short
+     */
+    public SearchResult searchUsersByName(String searchTerm, Deadline deadline) {
+        UserOperation event = UserOperation.begin("searchUsersByName", -1);
         String lowerSearch = searchTerm.toLowerCase();
-        return users.stream()
-                .filter(user -> 
-                    user.getFirstName().toLowerCase().contains(lowerSearch) ||
-                    user.getLastName().toLowerCase().contains(lowerSearch))
-                .collect(Collectors.toList());
+        Predicate<User> matches = user ->
+                user.getFirstName().toLowerCase().contains(lowerSearch) ||
+                user.getLastName().toLowerCase().contains(lowerSearch);
+        Scan hot = new Scan(matches);
+        Scan coldScan = new Scan(matches);
+        boolean complete = hot.run(repository::findPage, deadline) && coldScan.run(cold::findPage, deadline);
+        List<User> found = mergeById(hot.matches, coldScan.matches);
+        long scanned = hot.scanned + coldScan.scanned;
+        event.finish(found.size(), scanned);
+        return new SearchResult(found, complete, scanned);
+    }
+
+    /**
+     * Search users by name, tolerating typos
+     * 
+     * Matches users whose first or last name is within maxEdits
+     * insertions, deletions or substitutions of the term, ignoring case.
+     * Answered from the name index, so no store scan is needed.
+     * 
+     * @param searchTerm Search term to match against first or last name
+     * @param maxEdits Most edits between the term and a matching name
+     * @param limit Most users returned
+     * @return Matching users, closest name first, then by ID
+     * @throws IllegalArgumentException if the term is blank or too long for the index
+     */
+    public List<User> searchUsersByNameFuzzy(String searchTerm, int maxEdits, int limit) {
+        UserOperation event = UserOperation.begin("searchUsersByNameFuzzy", -1);
+        long[] ranked = nameIndex.search(searchTerm, maxEdits, limit);
+        Map<Long, User> found = new HashMap<>();
+        long[] ids = ranked.clone();
+        Arrays.sort(ids);
+        long[] notHot = new long[ids.length];
+        int[] notHotCount = new int[1];
+        repository.findAllById(ids, user -> found.put(user.getId(), user), id -> notHot[notHotCount[0]++] = id);
+        if (notHotCount[0] > 0) {
+            cold.findAllById(Arrays.copyOf(notHot, notHotCount[0]), user -> found.put(user.getId(), user), id -> { });
+        }
+        List<User> users = new ArrayList<>(found.size());
+        for (long id : ranked) {
+            User user = found.get(id);
+            if (user != null) {
+                users.add(user);
+            }
+        }
+        event.finish(users.size(), ranked.length);
+        return users;
     }
 
     /**
@@ -158,7 +549,7 @@ public class UserService {
      * @return Total number of users
      */
     public long getUserCount() {
-        return users.size();
+        return repository.count() + cold.count();
     }
 
     /**
@@ -167,6 +558,317 @@ public class UserService {
      * @return Number of active users
      */
     public long getActiveUserCount() {
-        return users.stream().filter(User::isActive).count();
+        return repository.count();
+    }
+
+    /**
+     * Get the most common email domains
+     * 
+     * @param limit Maximum number of domains to return
+     * @return Ordered map of domain to estimated user count, largest first
+     */
+    public Map<String, Long> getEmailDomainCounts(int limit) {
+        return aggregates.getDomainCounts(limit);
+    }
+
+    /**
+     * Get the most common last names (approximate)
+     * 
+     * @param limit Maximum number of last names to return
+     * @return Ordered map of last name to estimated count, largest first
+     */
+    public Map<String, Long> getTopLastNames(int limit) {
+        return aggregates.getTopLastNames(limit);
+    }
+
+    /**
+     * Get the most common first names (approximate)
+     * 
+     * @param limit Maximum number of first names to return
+     * @return Ordered map of first name to estimated count, largest first
+     */
+    public Map<String, Long> getTopFirstNames(int limit) {
+        return aggregates.getTopFirstNames(limit);
+    }
+
+    /**
+     * Estimate the number of distinct email domains ever seen
+     * 
+     * @return Approximate distinct domain count
+     */
+    public long getDistinctEmailDomainEstimate() {
+        return aggregates.getDistinctDomainEstimate();
+    }
+
+    /**
+     * Get user creation counts over recent time windows
+     * 
+     * @return Ordered map of window label to creation count
+     */
+    public Map<String, Long> getCreationRate() {
+        return aggregates.getCreationRate();
+    }
+
+    /**
+     * Get the number of deactivated users in the cold segment
+     * 
+     * @return Deactivated user count
+     */
+    public long getColdUserCount() {
+        return cold.count();
+    }
+
+    /**
+     * Remove a batch of users deactivated before the cutoff
+     * 
+     * @param cutoffMillis Users deactivated before this time are removed
+     * @param limit Maximum number of users to remove
+     * @param beforeRemove Receives the batch before removal, e.g. to archive it
+     * @return Number of users removed; 0 when none are left to expire
+     */
+    public int expireColdUsers(long cutoffMillis, int limit, Consumer<List<User>> beforeRemove) {
+        UserOperation event = UserOperation.begin("expireColdUsers", -1);
+        List<User> expired = cold.removeExpired(cutoffMillis, limit, batch -> {
+            beforeRemove.accept(batch);
+            batch.forEach(user -> history.recordRemoved(new User(user)));
+        });
+        expired.forEach(aggregates::onDelete);
+        expired.forEach(this::unindexNames);
+        event.finish(expired.size(), expired.size());
+        return expired.size();
+    }
+
+    /**
+     * Drop user versions that stopped being current before the cutoff
+     * 
+     * @param cutoffMillis Reads as of earlier times are refused from now on
+     * @return Number of versions dropped
+     */
+    public int trimHistory(long cutoffMillis) {
+        return history.trim(cutoffMillis);
+    }
+
+    /**
+     * Delete the storage of both segments, e.g. a scratch tenant's tables
+     * 
+     * The service must not be used afterwards.
+     */
+    public void dropStore() {
+        repository.drop();
+        cold.drop();
+    }
+
+    /**
+     * Walk every user a page at a time
+     * 
+     * Active users come first, then deactivated ones, each in id order.
+     * Only one page is held at a time. This is not a snapshot: a user
+     * changed during the walk may appear as it was or as it is, and a
+     * user moved between segments meanwhile may be seen twice or not at all.
+     * 
+     * @param pageSize Users per page
+     * @param onPage Receives each page
+     * @return Number of users visited
+     */
+    public long exportUsers(int pageSize, Consumer<List<User>> onPage) {
+        UserOperation event = UserOperation.begin("exportUsers", -1);
+        long total = 0;
+        for (boolean hot : new boolean[] {true, false}) {
+            long afterId = 0;
+            List<User> page;
+            do {
+                page = hot ? repository.findPage(afterId, pageSize) : cold.findPage(afterId, pageSize);
+                if (page.isEmpty()) {
+                    break;
+                }
+                onPage.accept(page);
+                total += page.size();
+                afterId = page.get(page.size() - 1).getId();
+            } while (page.size() == pageSize);
+        }
+        event.finish((int) Math.min(total, Integer.MAX_VALUE), total);
+        return total;
+    }
+
+    /**
+     * Add users exported from another store, keeping their IDs
+     * 
+     * Users go to the active store or the cold segment by their active
+     * flag. Users whose ID is already taken are skipped. The records are
+     * trusted as exported: they are not validated again.
+     * 
+     * @param users Users with their IDs set
+     * @return Number of users added
+     */
+    public int importUsers(List<User> users) {
+        UserOperation event = UserOperation.begin("importUsers", -1);
+        Set<Long> taken = takenIds(users);
+
+        List<User> active = new ArrayList<>(users.size());
+        List<User> inactive = new ArrayList<>();
+        long maxInactiveId = 0;
+        for (User user : users) {
+            // taken.add also drops repeats within the batch
+            if (!taken.add(user.getId())) {
+                continue;
+            }
+            if (user.isActive()) {
+                active.add(user);
+            } else {
+                inactive.add(user);
+                maxInactiveId = Math.max(maxInactiveId, user.getId());
+            }
+        }
+        active.forEach(user -> history.recordCreated(user.getId()));
+        inactive.forEach(user -> history.recordCreated(user.getId()));
+        if (!active.isEmpty()) {
+            repository.restoreAll(active);
+        }
+        if (!inactive.isEmpty()) {
+            // Inserts into the active store must not reuse cold ids
+            repository.reserveIds(maxInactiveId);
+            cold.addAll(inactive);
+        }
+        active.forEach(aggregates::onLoad);
+        inactive.forEach(aggregates::onLoad);
+        active.forEach(this::indexNames);
+        inactive.forEach(this::indexNames);
+        event.finish(active.size() + inactive.size(), users.size());
+        return active.size() + inactive.size();
+    }
+
+    /**
+     * Count the users importUsers would add: those whose ID is not taken
+     * 
+     * Repeats within the batch count once. A write between this call and
+     * the import may change the answer.
+     * 
+     * @param users Users with their IDs set
+     * @return Number of users not in the store
+     */
+    public int countNewUsers(List<User> users) {
+        Set<Long> taken = takenIds(users);
+        int count = 0;
+        for (User user : users) {
+            if (taken.add(user.getId())) {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    private Set<Long> takenIds(List<User> users) {
+        long[] ids = new long[users.size()];
+        for (int i = 0; i < ids.length; i++) {
+            ids[i] = users.get(i).getId();
+        }
+        Set<Long> taken = new HashSet<>();
+        repository.findAllById(ids, user -> taken.add(user.getId()), id -> { });
+        cold.findAllById(ids, user -> taken.add(user.getId()), id -> { });
+        return taken;
+    }
+
+    private void indexNames(User user) {
+        nameIndex.add(user.getId(), user.getFirstName(), user.getLastName());
+    }
+
+    private void unindexNames(User user) {
+        nameIndex.remove(user.getId(), user.getFirstName(), user.getLastName());
+    }
+
+    private Optional<User> findHotOrCold(Long id) {
+        Optional<User> user = repository.findById(id);
+        return user.isPresent() ? user : cold.findById(id);
+    }
+
+    // Add to cold before removing from hot, so the user is never missing
+    // Pages are keyed by the last id read, so users removed behind the walk do not shift it
+    private static void forEachPage(BiFunction<Long, Integer, List<User>> findPage, int pageSize,
+                                    Consumer<User> onUser) {
+        long afterId = 0;
+        List<User> page;
+        do {
+            page = findPage.apply(afterId, pageSize);
+            page.forEach(onUser);
+            if (!page.isEmpty()) {
+                afterId = page.get(page.size() - 1).getId();
+            }
+        } while (page.size() == pageSize);
+    }
+
+    private void moveToCold(User user) {
+        cold.add(user);
+        repository.deleteById(user.getId());
+    }
+
+    // Both lists are in id order; an id briefly in both keeps the hot copy
+    private static List<User> mergeById(List<User> hot, List<User> coldUsers) {
+        if (coldUsers.isEmpty()) {
+            return hot;
+        }
+        List<User> merged = new ArrayList<>(hot.size() + coldUsers.size());
+        int h = 0;
+        int c = 0;
+        while (h < hot.size() || c < coldUsers.size()) {
+            if (c == coldUsers.size()) {
+                merged.add(hot.get(h++));
+            } else if (h == hot.size()) {
+                merged.add(coldUsers.get(c++));
+            } else {
+                long hotId = hot.get(h).getId();
+                long coldId = coldUsers.get(c).getId();
+                if (hotId <= coldId) {
+                    merged.add(hot.get(h++));
+                    if (hotId == coldId) {
+                        c++;
+                    }
+                } else {
+                    merged.add(coldUsers.get(c++));
+                }
+            }
+        }
+        return merged;
+    }
+
+    /**
+     * One segment read a page at a time, keeping the users that match
+     */
+    private static final class Scan {
+
+        private final Predicate<User> filter;
+        private final List<User> matches = new ArrayList<>();
+        private long scanned;
+
+        Scan(Predicate<User> filter) {
+            this.filter = filter;
+        }
+
+        /**
+         * @return true if the segment was read to the end, false if the deadline cut it short
+         */
+        boolean run(BiFunction<Long, Integer, List<User>> pages, Deadline deadline) {
+            long afterId = 0;
+            List<User> page;
+            do {
+                if (deadline.isExpired()) {
+                    return false;
+                }
+                page = pages.apply(afterId, SCAN_PAGE_SIZE);
+                for (User user : page) {
+                    if (filter.test(user)) {
+                        matches.add(user);
+                    }
+                }
+                scanned += page.size();
+                if (!page.isEmpty()) {
+                    afterId = page.get(page.size() - 1).getId();
+                }
+            } while (page.size() == SCAN_PAGE_SIZE);
+            return true;
+        }
+    }
+
+    private static long idOf(Long id) {
+        return id == null ? -1 : id;
     }
 }
@@ -0,0 +1,34 @@
+package com.example.api.service;
+
+/**
+ * User Store State - Lifecycle state of the in-memory user store
+ * 
+ * Reported through the userStore readiness health indicator so that
+ * traffic is only routed to instances whose store can serve it.
+ * 
+ * @author Your Name
+ * @version 1.0.0
+ */
+public enum UserStoreState {
+
+    /** Store is being populated at startup */
+    LOADING,
+
+    /** Store is loaded; its hot paths are being exercised before it takes traffic */
+    WARMING_UP,
+
+    /** Store is serving requests */
+    READY,
+
+    /** Store is serving requests but is too busy to accept more */
+    OVERLOADED;
+
+    /**
+     * Check whether new traffic should be routed to the store
+     * 
+     * @return true only in the READY state
+     */
+    public boolean acceptsTraffic() {
+        return this == READY;
+    }
+}
@@ -0,0 +1,74 @@
+package com.example.api.service;
+
+import com.example.api.model.User;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Consumer;
+
+/**
+ * User Writer - Entry point for all user mutations
+ * 
+ * UserController submits writes through this interface so the write
+ * strategy can change without touching the endpoints. Selected by
+ * the app.users.write-mode property:
+ * - inline (default): applied on the calling thread
+ * - single-writer: queued and applied in batches by one writer thread
+ * 
+ * @author Your Name
+ * @version 1.0.0
+ */
+public interface UserWriter {
+
+    /**
+     * Create a new user
+     * 
+     * @param user User to create
+     * @return Future completed with the created user
+     */
+    CompletableFuture<User> createUser(User user);
+
+    /**
+     * Update an existing user
+     * 
+     * @param id User ID to update
+     * @param user Updated user data
+     * @return Future completed with the updated user, or empty if not found
+     */
+    CompletableFuture<Optional<User>> updateUser(Long id, User user);
+
+    /**
+     * Delete a user
+     * 
+     * @param id User ID to delete
+     * @return Future completed with true if the user was deleted
+     */
+    CompletableFuture<Boolean> deleteUser(Long id);
+
+    /**
+     * Deactivate a user (soft delete)
+     * 
+     * @param id User ID to deactivate
+     * @return Future completed with the deactivated user, or empty if not found
+     */
+    CompletableFuture<Optional<User>> deactivateUser(Long id);
+
+    /**
+     * Add users exported from another store, keeping their IDs
+     * 
+     * @param users Users with their IDs set
+     * @return Future completed with the number of users added
+     */
+    CompletableFuture<Integer> importUsers(List<User> users);
+
+    /**
+     * Remove a batch of users deactivated before the cutoff
+     * 
+     * @param cutoffMillis Users deactivated before this time are removed
+     * @param limit Maximum number of users to remove
+     * @param beforeRemove Receives the batch before removal, e.g. to archive it
+     * @return Future completed with the number of users removed
+     */
+    CompletableFuture<Integer> expireColdUsers(long cutoffMillis, int limit, Consumer<List<User>> beforeRemove);
+}
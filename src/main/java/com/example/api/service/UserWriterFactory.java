@@ -0,0 +1,52 @@
+package com.example.api.service;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+/**
+ * User Writer Factory - Builds the configured UserWriter for a UserService
+ *
+ * Used for the default tenant's UserWriter bean and for every tenant
+ * TenantRegistry creates, so app.users.write-mode applies to all of
+ * them. Each single-writer writer has its own writer thread; whoever
+ * creates one destroys it.
+ *
+ * Settings (app.users.*): write-mode (inline or single-writer),
+ * write-batch-size, write-queue-overload.
+ *
+ * @author Your Name
+ * @version 1.0.0
+ */
+@Component
+public class UserWriterFactory {
+
+    private final boolean singleWriter;
+    private final int batchSize;
+    private final int overloadThreshold;
+
+    @Autowired
+    public UserWriterFactory(@Value("${app.users.write-mode:inline}") String writeMode,
+                             @Value("${app.users.write-batch-size:256}") int batchSize,
+                             @Value("${app.users.write-queue-overload:10000}") int overloadThreshold) {
+        if (!"inline".equals(writeMode) && !"single-writer".equals(writeMode)) {
+            throw new IllegalArgumentException("app.users.write-mode must be inline or single-writer: " + writeMode);
+        }
+        this.singleWriter = "single-writer".equals(writeMode);
+        this.batchSize = batchSize;
+        this.overloadThreshold = overloadThreshold;
+    }
+
+    /**
+     * Create a writer for a service
+     *
+     * @param userService Service the writer applies mutations to
+     * @return New writer
+     */
+    public UserWriter create(UserService userService) {
+        if (singleWriter) {
+            return new SingleWriterUserWriter(userService, batchSize, overloadThreshold);
+        }
+        return new InlineUserWriter(userService);
+    }
+}
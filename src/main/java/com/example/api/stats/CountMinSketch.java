@@ -0,0 +1,76 @@
+package com.example.api.stats;
+
+/**
+ * Count-Min Sketch - Approximate frequency counts in fixed memory
+ * 
+ * Supports both increments and decrements (turnstile model), so
+ * counts stay correct when users are updated or deleted. Estimates
+ * never under-count while all true counts are non-negative.
+ * 
+ * Not thread-safe; callers synchronize externally.
+ * 
+ * @author Your Name
+ * @version 1.0.0
+ */
+public class CountMinSketch {
+
+    private final int width;
+    private final int depth;
+    private final long[][] table;
+
+    /**
+     * Create a sketch with the given dimensions
+     * 
+     * @param width Counters per row (rounded up to a power of two)
+     * @param depth Number of hash rows
+     */
+    public CountMinSketch(int width, int depth) {
+        if (width <= 0 || depth <= 0) {
+            throw new IllegalArgumentException("Width and depth must be positive");
+        }
+        int rounded = 1;
+        while (rounded < width) {
+            rounded <<= 1;
+        }
+        this.width = rounded;
+        this.depth = depth;
+        this.table = new long[depth][this.width];
+    }
+
+    /**
+     * Add a (possibly negative) delta to the count of a key
+     * 
+     * @param key Key to update
+     * @param delta Amount to add
+     * @return New estimated count for the key
+     */
+    public long add(String key, long delta) {
+        long hash = Hashing.hash64(key);
+        int h1 = (int) hash;
+        int h2 = (int) (hash >>> 32);
+        long min = Long.MAX_VALUE;
+        for (int row = 0; row < depth; row++) {
+            int index = (h1 + row * h2) & (width - 1);
+            table[row][index] += delta;
+            min = Math.min(min, table[row][index]);
+        }
+        return min;
+    }
+
+    /**
+     * Estimate the count of a key
+     * 
+     * @param key Key to look up
+     * @return Estimated count (an upper bound of the true count)
+     */
+    public long estimate(String key) {
+        long hash = Hashing.hash64(key);
+        int h1 = (int) hash;
+        int h2 = (int) (hash >>> 32);
+        long min = Long.MAX_VALUE;
+        for (int row = 0; row < depth; row++) {
+            min = Math.min(min, table[row][(h1 + row * h2) & (width - 1)]);
+        }
+        return min;
+    }
+}
@@ -0,0 +1,45 @@
+package com.example.api.stats;
+
+/**
+ * Hashing helpers shared by the probabilistic sketches
+ * 
+ * String.hashCode() only yields 32 bits with poor avalanche behaviour,
+ * which is not good enough for HyperLogLog register selection.
+ * This computes a 64-bit FNV-1a hash and finalises it with the
+ * MurmurHash3 fmix64 step.
+ * 
+ * @author Your Name
+ * @version 1.0.0
+ */
+final class Hashing {
+
+    private static final long FNV_OFFSET = 0xcbf29ce484222325L;
+    private static final long FNV_PRIME = 0x100000001b3L;
+
+    private Hashing() {
+    }
+
+    /**
+     * Compute a well-mixed 64-bit hash of a string
+     * 
+     * @param value String to hash
+     * @return 64-bit hash
+     */
+    static long hash64(String value) {
+        long h = FNV_OFFSET;
+        for (int i = 0; i < value.length(); i++) {
+            h ^= value.charAt(i);
+            h *= FNV_PRIME;
+        }
+        return fmix64(h);
+    }
+
+    private static long fmix64(long k) {
+        k ^= k >>> 33;
+        k *= 0xff51afd7ed558ccdL;
+        k ^= k >>> 33;
+        k *= 0xc4ceb9fe1a85ec53L;
+        k ^= k >>> 33;
+        return k;
+    }
+}
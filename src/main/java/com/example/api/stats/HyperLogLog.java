@@ -0,0 +1,73 @@
+package com.example.api.stats;
+
+/**
+ * HyperLogLog - Approximate distinct counting in fixed memory
+ * 
+ * Uses 2^precision one-byte registers; with the default precision
+ * of 12 this is 4 KB for a standard error of about 1.6%.
+ * HyperLogLog cannot forget values, so the estimate counts every
+ * distinct value ever offered, including ones since removed.
+ * 
+ * Not thread-safe; callers synchronize externally.
+ * 
+ * @author Your Name
+ * @version 1.0.0
+ */
+public class HyperLogLog {
+
+    private final int precision;
+    private final byte[] registers;
+
+    /**
+     * Create a HyperLogLog with the given precision
+     * 
+     * @param precision Number of index bits (4 to 16)
+     */
+    public HyperLogLog(int precision) {
+        if (precision < 4 || precision > 16) {
+            throw new IllegalArgumentException("Precision must be between 4 and 16");
+        }
+        this.precision = precision;
+        this.registers = new byte[1 << precision];
+    }
+
+    /**
+     * Offer a value to the sketch
+     * 
+     * @param value Value to record
+     */
+    public void offer(String value) {
+        long hash = Hashing.hash64(value);
+        int index = (int) (hash >>> (64 - precision));
+        // Sentinel bit keeps the rank bounded when the remaining bits are all zero
+        long remaining = (hash << precision) | (1L << (precision - 1));
+        byte rank = (byte) (Long.numberOfLeadingZeros(remaining) + 1);
+        if (rank > registers[index]) {
+            registers[index] = rank;
+        }
+    }
+
+    /**
+     * Estimate the number of distinct values offered
+     * 
+     * @return Estimated cardinality
+     */
+    public long cardinality() {
+        int m = registers.length;
+        double sum = 0;
+        int zeros = 0;
+        for (byte register : registers) {
+            sum += 1.0 / (1L << register);
+            if (register == 0) {
+                zeros++;
+            }
+        }
+        double alpha = 0.7213 / (1 + 1.079 / m);
+        double estimate = alpha * m * m / sum;
+        // Small-range correction: linear counting is more accurate here
+        if (estimate <= 2.5 * m && zeros > 0) {
+            estimate = m * Math.log((double) m / zeros);
+        }
+        return Math.round(estimate);
+    }
+}
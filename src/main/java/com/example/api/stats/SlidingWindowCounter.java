@@ -0,0 +1,70 @@
+package com.example.api.stats;
+
+import java.util.Arrays;
+import java.util.function.LongSupplier;
+
+/**
+ * Sliding Window Counter - Event counts over recent time windows
+ * 
+ * Events are counted into a ring of fixed-width time buckets. Each
+ * bucket remembers which time slot it belongs to, so stale buckets
+ * are reset lazily instead of by a background sweeper.
+ * 
+ * Not thread-safe; callers synchronize externally.
+ * 
+ * @author Your Name
+ * @version 1.0.0
+ */
+public class SlidingWindowCounter {
+
+    private final long bucketMillis;
+    private final long[] counts;
+    private final long[] slots;
+    private final LongSupplier clock;
+
+    /**
+     * Create a counter
+     * 
+     * @param bucketMillis Width of each bucket in milliseconds
+     * @param buckets Number of buckets retained
+     * @param clock Source of the current time in milliseconds
+     */
+    public SlidingWindowCounter(long bucketMillis, int buckets, LongSupplier clock) {
+        this.bucketMillis = bucketMillis;
+        this.counts = new long[buckets];
+        this.slots = new long[buckets];
+        this.clock = clock;
+        Arrays.fill(slots, -1);
+    }
+
+    /**
+     * Record one event at the current time
+     */
+    public void record() {
+        long slot = clock.getAsLong() / bucketMillis;
+        int index = (int) (slot % counts.length);
+        if (slots[index] != slot) {
+            slots[index] = slot;
+            counts[index] = 0;
+        }
+        counts[index]++;
+    }
+
+    /**
+     * Count events in the most recent buckets, including the current one
+     * 
+     * @param bucketCount Number of buckets to sum (capped at the ring size)
+     * @return Number of events in the window
+     */
+    public long count(int bucketCount) {
+        long current = clock.getAsLong() / bucketMillis;
+        long oldest = current - Math.min(bucketCount, counts.length) + 1;
+        long total = 0;
+        for (int i = 0; i < counts.length; i++) {
+            if (slots[i] >= oldest && slots[i] <= current) {
+                total += counts[i];
+            }
+        }
+        return total;
+    }
+}
@@ -0,0 +1,106 @@
+package com.example.api.stats;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Top-K Tracker - Heavy hitters over a Count-Min Sketch
+ * 
+ * Keeps a bounded candidate set of the most frequent keys seen so
+ * far, with counts estimated by a Count-Min Sketch. Memory and query
+ * cost depend only on the sketch size and candidate capacity, never
+ * on the number of users.
+ * 
+ * Not thread-safe; callers synchronize externally.
+ * 
+ * @author Your Name
+ * @version 1.0.0
+ */
+public class TopKTracker {
+
+    private final CountMinSketch sketch;
+    private final int capacity;
+    private final Map<String, Long> candidates = new HashMap<>();
+
+    /**
+     * Create a tracker
+     * 
+     * @param capacity Maximum number of candidate keys retained
+     * @param sketchWidth Count-Min Sketch width
+     * @param sketchDepth Count-Min Sketch depth
+     */
+    public TopKTracker(int capacity, int sketchWidth, int sketchDepth) {
+        this.capacity = capacity;
+        this.sketch = new CountMinSketch(sketchWidth, sketchDepth);
+    }
+
+    /**
+     * Record one occurrence of a key
+     * 
+     * @param key Key to increment
+     */
+    public void increment(String key) {
+        long estimate = sketch.add(key, 1);
+        if (candidates.containsKey(key) || candidates.size() < capacity) {
+            candidates.put(key, estimate);
+            return;
+        }
+        String weakest = null;
+        long weakestCount = Long.MAX_VALUE;
+        for (Map.Entry<String, Long> entry : candidates.entrySet()) {
+            if (entry.getValue() < weakestCount) {
+                weakest = entry.getKey();
+                weakestCount = entry.getValue();
+            }
+        }
+        if (estimate > weakestCount) {
+            candidates.remove(weakest);
+            candidates.put(key, estimate);
+        }
+    }
+
+    /**
+     * Remove one occurrence of a key
+     * 
+     * @param key Key to decrement
+     */
+    public void decrement(String key) {
+        long estimate = sketch.add(key, -1);
+        if (candidates.containsKey(key)) {
+            if (estimate <= 0) {
+                candidates.remove(key);
+            } else {
+                candidates.put(key, estimate);
+            }
+        }
+    }
+
+    /**
+     * Estimate the count of a single key
+     * 
+     * @param key Key to look up
+     * @return Estimated count
+     */
+    public long estimate(String key) {
+        return Math.max(0, sketch.estimate(key));
+    }
+
+    /**
+     * Get the k most frequent keys, most frequent first
+     * 
+     * @param k Number of keys to return
+     * @return Ordered map of key to estimated count
+     */
+    public Map<String, Long> top(int k) {
+        List<Map.Entry<String, Long>> entries = new ArrayList<>(candidates.entrySet());
+        entries.sort(Map.Entry.<String, Long>comparingByValue().reversed());
+        Map<String, Long> result = new LinkedHashMap<>();
+        for (int i = 0; i < Math.min(k, entries.size()); i++) {
+            result.put(entries.get(i).getKey(), entries.get(i).getValue());
+        }
+        return result;
+    }
+}
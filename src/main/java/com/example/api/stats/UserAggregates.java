@@ -0,0 +1,193 @@
+package com.example.api.stats;
+
+import com.example.api.model.User;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.function.LongSupplier;
+
+/**
+ * User Aggregates - Incrementally maintained user distributions
+ * 
+ * Updated by UserService on every mutation so that dashboard
+ * queries never need to scan the user list. Memory is fixed by the
+ * sketch sizes, however many users or distinct values there are:
+ * - approximate top-K email domains, last names and first names
+ *   (Count-Min Sketch)
+ * - approximate distinct email domains ever seen (HyperLogLog)
+ * - user creation counts over sliding time windows
+ * 
+ * @author Your Name
+ * @version 1.0.0
+ */
+public class UserAggregates {
+
+    private static final int TOP_K_CAPACITY = 64;
+    private static final int SKETCH_WIDTH = 2048;
+    private static final int SKETCH_DEPTH = 4;
+    private static final int HLL_PRECISION = 12;
+    private static final long MINUTE_MILLIS = 60_000L;
+    private static final int MINUTE_BUCKETS = 60;
+
+    private final TopKTracker domains = new TopKTracker(TOP_K_CAPACITY, SKETCH_WIDTH, SKETCH_DEPTH);
+    private final TopKTracker lastNames = new TopKTracker(TOP_K_CAPACITY, SKETCH_WIDTH, SKETCH_DEPTH);
+    private final TopKTracker firstNames = new TopKTracker(TOP_K_CAPACITY, SKETCH_WIDTH, SKETCH_DEPTH);
+    private final HyperLogLog distinctDomains = new HyperLogLog(HLL_PRECISION);
+    private final SlidingWindowCounter creations;
+
+    /**
+     * Create aggregates using the system clock
+     */
+    public UserAggregates() {
+        this(System::currentTimeMillis);
+    }
+
+    /**
+     * Create aggregates with a custom clock (used in tests)
+     * 
+     * @param clock Source of the current time in milliseconds
+     */
+    public UserAggregates(LongSupplier clock) {
+        this.creations = new SlidingWindowCounter(MINUTE_MILLIS, MINUTE_BUCKETS, clock);
+    }
+
+    /**
+     * Record a newly created user
+     * 
+     * @param user Created user
+     */
+    public synchronized void onCreate(User user) {
+        add(user.getEmail(), user.getLastName(), user.getFirstName());
+        creations.record();
+    }
+
+    /**
+     * Record a user that already existed when the store was opened
+     * 
+     * Counts it in the distributions but not in the creation rate.
+     * 
+     * @param user Existing user
+     */
+    public synchronized void onLoad(User user) {
+        add(user.getEmail(), user.getLastName(), user.getFirstName());
+    }
+
+    /**
+     * Record a change of user fields
+     * 
+     * @param oldEmail Email before the update
+     * @param oldLastName Last name before the update
+     * @param oldFirstName First name before the update
+     * @param user User after the update
+     */
+    public synchronized void onUpdate(String oldEmail, String oldLastName, String oldFirstName, User user) {
+        remove(oldEmail, oldLastName, oldFirstName);
+        add(user.getEmail(), user.getLastName(), user.getFirstName());
+    }
+
+    /**
+     * Record a deleted user
+     * 
+     * @param user Deleted user
+     */
+    public synchronized void onDelete(User user) {
+        remove(user.getEmail(), user.getLastName(), user.getFirstName());
+    }
+
+    /**
+     * Get the email domains with the most users (approximate)
+     * 
+     * Only the most common domains are tracked, so at most 64 are
+     * returned whatever the limit.
+     * 
+     * @param limit Maximum number of domains to return
+     * @return Ordered map of domain to estimated user count
+     */
+    public synchronized Map<String, Long> getDomainCounts(int limit) {
+        return domains.top(limit);
+    }
+
+    /**
+     * Get the most common last names (approximate)
+     * 
+     * @param k Number of names to return
+     * @return Ordered map of last name to estimated count
+     */
+    public synchronized Map<String, Long> getTopLastNames(int k) {
+        return lastNames.top(k);
+    }
+
+    /**
+     * Get the most common first names (approximate)
+     * 
+     * @param k Number of names to return
+     * @return Ordered map of first name to estimated count
+     */
+    public synchronized Map<String, Long> getTopFirstNames(int k) {
+        return firstNames.top(k);
+    }
+
+    /**
+     * Estimate the number of distinct email domains ever seen
+     * 
+     * @return Approximate distinct domain count
+     */
+    public synchronized long getDistinctDomainEstimate() {
+        return distinctDomains.cardinality();
+    }
+
+    /**
+     * Get user creation counts over the last 1, 5, 15 and 60 minutes
+     * 
+     * @return Ordered map of window label to creation count
+     */
+    public synchronized Map<String, Long> getCreationRate() {
+        Map<String, Long> rate = new LinkedHashMap<>();
+        rate.put("last1m", creations.count(1));
+        rate.put("last5m", creations.count(5));
+        rate.put("last15m", creations.count(15));
+        rate.put("last60m", creations.count(60));
+        return rate;
+    }
+
+    /**
+     * Extract the domain part of an email address
+     * 
+     * @param email Email address
+     * @return Lower-cased domain, or null if there is none
+     */
+    static String domainOf(String email) {
+        if (email == null) {
+            return null;
+        }
+        int at = email.lastIndexOf('@');
+        return at < 0 || at == email.length() - 1 ? null : email.substring(at + 1).toLowerCase();
+    }
+
+    private void add(String email, String lastName, String firstName) {
+        String domain = domainOf(email);
+        if (domain != null) {
+            domains.increment(domain);
+            distinctDomains.offer(domain);
+        }
+        if (lastName != null) {
+            lastNames.increment(lastName);
+        }
+        if (firstName != null) {
+            firstNames.increment(firstName);
+        }
+    }
+
+    private void remove(String email, String lastName, String firstName) {
+        String domain = domainOf(email);
+        if (domain != null) {
+            domains.decrement(domain);
+        }
+        if (lastName != null) {
+            lastNames.decrement(lastName);
+        }
+        if (firstName != null) {
+            firstNames.decrement(firstName);
+        }
+    }
+}
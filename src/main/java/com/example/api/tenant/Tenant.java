@@ -0,0 +1,116 @@
+package com.example.api.tenant;
+
+import com.example.api.exception.TenantBusyException;
+import com.example.api.exception.TenantQuotaExceededException;
+import com.example.api.service.UserService;
+import com.example.api.service.UserWriter;
+
+import java.util.concurrent.Semaphore;
+
+/**
+ * Tenant - One customer's partition of the user store
+ *
+ * Each tenant has its own UserService, and with it its own store,
+ * cold segment, statistics and ID sequence, so tenants never see each
+ * other's users. Two limits keep one tenant from crowding out the
+ * rest: a quota on its number of users, and a cap on how many scans
+ * (listings, searches, exports, imports) it may run at once. Scans
+ * over the cap are refused rather than queued, so a tenant running
+ * bulk work only ever holds that many request threads.
+ *
+ * The quota is checked before a write is submitted, so concurrent
+ * creates may overshoot it by the number in flight.
+ *
+ * @author Your Name
+ * @version 1.0.0
+ */
+public final class Tenant {
+
+    private final String id;
+    private final UserService service;
+    private final UserWriter writer;
+    private final long maxUsers;
+    private final int maxConcurrentScans;
+    private final Semaphore scans;
+
+    /**
+     * Create a tenant
+     *
+     * @param id Tenant ID
+     * @param service The tenant's users
+     * @param writer Write path for the tenant's users
+     * @param maxUsers Most users, active and deactivated, the tenant may hold
+     * @param maxConcurrentScans Most scans the tenant may run at once
+     */
+    public Tenant(String id, UserService service, UserWriter writer, long maxUsers, int maxConcurrentScans) {
+        this.id = id;
+        this.service = service;
+        this.writer = writer;
+        this.maxUsers = maxUsers;
+        this.maxConcurrentScans = maxConcurrentScans;
+        this.scans = new Semaphore(maxConcurrentScans);
+    }
+
+    public String getId() {
+        return id;
+    }
+
+    public UserService getService() {
+        return service;
+    }
+
+    public UserWriter getWriter() {
+        return writer;
+    }
+
+    public long getMaxUsers() {
+        return maxUsers;
+    }
+
+    /**
+     * Check that the tenant has room for more users
+     *
+     * @param additional Users about to be added
+     * @throws TenantQuotaExceededException if they would exceed the quota
+     */
+    public void checkQuota(long additional) {
+        if (service.getUserCount() + additional > maxUsers) {
+            throw new TenantQuotaExceededException(
+                    "Tenant '" + id + "' is limited to " + maxUsers + " users");
+        }
+    }
+
+    /**
+     * Take one of the tenant's scan slots, without waiting
+     *
+     * Use with try-with-resources so the slot is returned.
+     *
+     * @return Permit to close when the scan is done
+     * @throws TenantBusyException if every slot is in use
+     */
+    public ScanPermit startScan() {
+        if (!scans.tryAcquire()) {
+            throw new TenantBusyException(id, maxConcurrentScans);
+        }
+        return new ScanPermit();
+    }
+
+    /**
+     * A held scan slot
+     */
+    public final class ScanPermit implements AutoCloseable {
+
+        private boolean released;
+
+        private ScanPermit() {
+        }
+
+        @Override
+        public void close() {
+            if (!released) {
+                released = true;
+                scans.release();
+            }
+        }
+    }
+}
@@ -0,0 +1,46 @@
+package com.example.api.tenant;
+
+import org.springframework.core.MethodParameter;
+import org.springframework.web.bind.support.WebDataBinderFactory;
+import org.springframework.web.context.request.NativeWebRequest;
+import org.springframework.web.method.support.HandlerMethodArgumentResolver;
+import org.springframework.web.method.support.ModelAndViewContainer;
+
+import java.util.function.Supplier;
+
+/**
+ * Tenant Argument Resolver - Supplies the request's Tenant to handler methods
+ *
+ * A handler parameter of type Tenant receives the tenant named by the
+ * X-Tenant-Id header, or the default tenant if there is none.
+ *
+ * @author Your Name
+ * @version 1.0.0
+ */
+public class TenantArgumentResolver implements HandlerMethodArgumentResolver {
+
+    /** Request header naming the tenant */
+    public static final String TENANT_HEADER = "X-Tenant-Id";
+
+    private final Supplier<TenantRegistry> registry;
+
+    /**
+     * Create the resolver
+     *
+     * @param registry Looks up the tenant registry when first needed
+     */
+    public TenantArgumentResolver(Supplier<TenantRegistry> registry) {
+        this.registry = registry;
+    }
+
+    @Override
+    public boolean supportsParameter(MethodParameter parameter) {
+        return Tenant.class == parameter.getParameterType();
+    }
+
+    @Override
+    public Tenant resolveArgument(MethodParameter parameter, ModelAndViewContainer mavContainer,
+                                  NativeWebRequest webRequest, WebDataBinderFactory binderFactory) {
+        return registry.get().get(webRequest.getHeader(TENANT_HEADER));
+    }
+}
@@ -0,0 +1,246 @@
+package com.example.api.tenant;
+
+import com.example.api.exception.TenantQuotaExceededException;
+import com.example.api.repository.CachingUserRepository;
+import com.example.api.repository.ColdUserSegment;
+import com.example.api.repository.CompactUserRepository;
+import com.example.api.repository.InMemoryUserRepository;
+import com.example.api.repository.JdbcUserRepository;
+import com.example.api.repository.UserVersionHistory;
+import com.example.api.service.UserService;
+import com.example.api.service.UserWriter;
+import com.example.api.service.UserWriterFactory;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+import java.util.regex.Pattern;
+
+/**
+ * Tenant Registry - Finds or creates the partition for a tenant ID
+ *
+ * The default tenant, used when a request names none, is backed by the
+ * application's UserService bean, so single-tenant deployments behave
+ * as before. Other tenants are created on first use, up to
+ * app.tenants.max-tenants, each with an empty store of the configured
+ * kind (app.users.store): its own in-memory maps or columns, or its own
+ * users_t_{id} and users_cold_t_{id} tables, the first behind a
+ * CachingUserRepository with the app.users.cache.* settings, as for the
+ * default tenant. Every tenant's writer,
+ * the default one's included, comes from UserWriterFactory, so all of
+ * them follow app.users.write-mode. Writers are destroyed when their
+ * tenant is removed and at shutdown.
+ *
+ * Tenant IDs are 1 to 32 characters of lower-case letters, digits and
+ * underscores. Tenants live until shutdown.
+ *
+ * Settings (app.tenants.*): max-tenants, max-users, max-concurrent-scans.
+ *
+ * @author Your Name
+ * @version 1.0.0
+ */
+@Component
+public class TenantRegistry implements DisposableBean {
+
+    private static final Logger logger = LoggerFactory.getLogger(TenantRegistry.class);
+
+    /** ID of the tenant used when a request does not name one */
+    public static final String DEFAULT_TENANT = "default";
+
+    private static final Pattern TENANT_ID = Pattern.compile("[a-z0-9_]{1,32}");
+
+    private final Tenant defaultTenant;
+    private final Function<UserService, UserWriter> writerFactory;
+    private final Function<String, UserService> serviceFactory;
+    private final int maxTenants;
+    private final long maxUsers;
+    private final int maxConcurrentScans;
+    private final Map<String, Tenant> tenants = new ConcurrentHashMap<>();
+
+    @Autowired
+    public TenantRegistry(UserService userService, UserWriterFactory writerFactory,
+                          @Value("${app.users.store:memory}") String store,
+                          ObjectProvider<DataSource> dataSource,
+                          @Value("${app.tenants.max-tenants:100}") int maxTenants,
+                          @Value("${app.tenants.max-users:1000000}") long maxUsers,
+                          @Value("${app.tenants.max-concurrent-scans:4}") int maxConcurrentScans,
+                          @Value("${app.users.cache.max-size:100000}") int cacheMaxSize,
+                          @Value("${app.users.cache.ttl-ms:60000}") long cacheTtlMillis,
+                          @Value("${app.users.cache.negative-ttl-ms:5000}") long cacheNegativeTtlMillis,
+                          @Value("${app.users.dataset.chunk-rows:8192}") int loadPageSize) {
+        this(userService, writerFactory::create,
+                storeFactory(store, dataSource, cacheMaxSize, cacheTtlMillis, cacheNegativeTtlMillis, loadPageSize),
+                maxTenants, maxUsers, maxConcurrentScans);
+    }
+
+    /**
+     * Constructor with custom writer and store factories (used in tests)
+     *
+     * @param userService The default tenant's users
+     * @param writerFactory Creates the write path of each tenant's UserService
+     * @param serviceFactory Opens an empty UserService for a new tenant ID
+     * @param maxTenants Most tenants, including the default one
+     * @param maxUsers User quota of each tenant
+     * @param maxConcurrentScans Scans each tenant may run at once
+     */
+    public TenantRegistry(UserService userService, Function<UserService, UserWriter> writerFactory,
+                          Function<String, UserService> serviceFactory,
+                          int maxTenants, long maxUsers, int maxConcurrentScans) {
+        if (maxTenants < 1 || maxUsers < 1 || maxConcurrentScans < 1) {
+            throw new IllegalArgumentException("app.tenants.* limits must be positive");
+        }
+        this.writerFactory = writerFactory;
+        this.serviceFactory = serviceFactory;
+        this.maxTenants = maxTenants;
+        this.maxUsers = maxUsers;
+        this.maxConcurrentScans = maxConcurrentScans;
+        this.defaultTenant = new Tenant(DEFAULT_TENANT, userService, writerFactory.apply(userService),
+                maxUsers, maxConcurrentScans);
+    }
+
+    /**
+     * Get a tenant, creating it on first use
+     *
+     * @param tenantId Tenant ID, or null for the default tenant
+     * @return The tenant
+     * @throws IllegalArgumentException if the ID is malformed
+     * @throws TenantQuotaExceededException if the tenant is new and the tenant limit is reached
+     */
+    public Tenant get(String tenantId) {
+        if (tenantId == null || DEFAULT_TENANT.equals(tenantId)) {
+            return defaultTenant;
+        }
+        Tenant tenant = tenants.get(tenantId);
+        if (tenant != null) {
+            return tenant;
+        }
+        if (!TENANT_ID.matcher(tenantId).matches()) {
+            throw new IllegalArgumentException(
+                    "Tenant ID must be 1 to 32 lower-case letters, digits or underscores: " + tenantId);
+        }
+        synchronized (tenants) {
+            tenant = tenants.get(tenantId);
+            if (tenant == null) {
+                if (tenants.size() + 1 >= maxTenants) {
+                    throw new TenantQuotaExceededException("At most " + maxTenants + " tenants can be created");
+                }
+                UserService service = serviceFactory.apply(tenantId);
+                tenant = new Tenant(tenantId, service, writerFactory.apply(service), maxUsers, maxConcurrentScans);
+                tenants.put(tenantId, tenant);
+            }
+            return tenant;
+        }
+    }
+
+    /**
+     * Forget a tenant but keep its store
+     *
+     * Its writer is destroyed after applying what was queued. Its
+     * next request opens its store again: a database-backed tenant
+     * finds its tables, an in-memory one starts empty.
+     *
+     * @param tenantId ID of a tenant other than the default one
+     */
+    public void remove(String tenantId) {
+        Tenant tenant = tenants.remove(tenantId);
+        if (tenant != null) {
+            destroyWriter(tenant);
+        }
+    }
+
+    /**
+     * Forget a tenant and delete its store, e.g. the warm-up tenant
+     *
+     * A tenant that is not open is opened first, so tables left by an
+     * earlier run are dropped too. Its next request starts empty.
+     *
+     * @param tenantId ID of a tenant other than the default one
+     * @throws IllegalArgumentException for the default tenant or a malformed ID
+     */
+    public void drop(String tenantId) {
+        if (tenantId == null || DEFAULT_TENANT.equals(tenantId)) {
+            throw new IllegalArgumentException("The default tenant cannot be dropped");
+        }
+        if (!TENANT_ID.matcher(tenantId).matches()) {
+            throw new IllegalArgumentException(
+                    "Tenant ID must be 1 to 32 lower-case letters, digits or underscores: " + tenantId);
+        }
+        Tenant tenant = tenants.remove(tenantId);
+        if (tenant != null) {
+            destroyWriter(tenant);
+            tenant.getService().dropStore();
+        } else {
+            serviceFactory.apply(tenantId).dropStore();
+        }
+    }
+
+    /**
+     * List the tenants that exist, the default one first
+     *
+     * @return Tenants
+     */
+    public List<Tenant> getTenants() {
+        List<Tenant> all = new ArrayList<>(tenants.size() + 1);
+        all.add(defaultTenant);
+        all.addAll(tenants.values());
+        return all;
+    }
+
+    /**
+     * Destroy every tenant's writer, applying what was queued
+     */
+    @Override
+    public void destroy() {
+        for (Tenant tenant : getTenants()) {
+            destroyWriter(tenant);
+        }
+    }
+
+    private static void destroyWriter(Tenant tenant) {
+        if (!(tenant.getWriter() instanceof DisposableBean)) {
+            return;
+        }
+        try {
+            ((DisposableBean) tenant.getWriter()).destroy();
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        } catch (Exception ex) {
+            logger.warn("Stopping the writer of tenant {} failed", tenant.getId(), ex);
+        }
+    }
+
+    private static Function<String, UserService> storeFactory(String store, ObjectProvider<DataSource> dataSource,
+                                                              int cacheMaxSize, long cacheTtlMillis,
+                                                              long cacheNegativeTtlMillis, int loadPageSize) {
+        switch (store) {
+            case "memory":
+                return tenantId -> new UserService(new InMemoryUserRepository(),
+                        new ColdUserSegment(new InMemoryUserRepository()), false);
+            case "compact":
+                return tenantId -> new UserService(new CompactUserRepository(),
+                        new ColdUserSegment(new CompactUserRepository()), false);
+            case "jdbc":
+                return tenantId -> {
+                    JdbcTemplate jdbcTemplate = new JdbcTemplate(dataSource.getObject());
+                    return new UserService(new CachingUserRepository(
+                            new JdbcUserRepository(jdbcTemplate, "users_t_" + tenantId),
+                            cacheMaxSize, cacheTtlMillis, cacheNegativeTtlMillis),
+                            new ColdUserSegment(new JdbcUserRepository(jdbcTemplate, "users_cold_t_" + tenantId)),
+                            new UserVersionHistory(), false, loadPageSize);
+                };
+            default:
+                throw new IllegalArgumentException("Unknown app.users.store: " + store);
+        }
+    }
+}
@@ -0,0 +1,165 @@
+package com.example.api.validation;
+
+import java.net.IDN;
+import java.util.regex.Pattern;
+
+/**
+ * Email Address Validator - Allocation-free @Email equivalent
+ * 
+ * Accepts exactly the addresses Hibernate Validator's @Email accepts.
+ * Plain ASCII addresses (the common case) are checked by a single
+ * character scan. Quoted local parts, IP-literal domains, non-ASCII
+ * domains and characters outside the BMP fall back to the same
+ * precompiled patterns and IDN conversion Hibernate uses.
+ * 
+ * @author Your Name
+ * @version 1.0.0
+ */
+final class EmailAddressValidator {
+
+    private static final int MAX_LOCAL_PART_LENGTH = 64;
+    private static final int MAX_DOMAIN_PART_LENGTH = 255;
+    private static final int MAX_LABEL_LENGTH = 63;
+
+    private static final String LOCAL_PART_ATOM = "[a-z0-9!#$%&'*+/=?^_`{|}~\u0080-\uffff-]";
+    private static final String LOCAL_PART_INSIDE_QUOTES_ATOM =
+            "(?:[a-z0-9!#$%&'*.(),<>\\[\\]:;  @+/=?^_`{|}~\u0080-\uffff-]|\\\\\\\\|\\\\\\\")";
+    private static final Pattern LOCAL_PART_PATTERN = Pattern.compile(
+            "(?:" + LOCAL_PART_ATOM + "+|\"" + LOCAL_PART_INSIDE_QUOTES_ATOM + "+\")"
+                    + "(?:\\.(?:" + LOCAL_PART_ATOM + "+|\"" + LOCAL_PART_INSIDE_QUOTES_ATOM + "+\"))*",
+            Pattern.CASE_INSENSITIVE);
+
+    private static final String DOMAIN_CHARS_WITHOUT_DASH = "[a-z\u0080-\uffff0-9!#$%&'*+/=?^_`{|}~]";
+    private static final String DOMAIN_LABEL = "(?:" + DOMAIN_CHARS_WITHOUT_DASH + "-*)*" + DOMAIN_CHARS_WITHOUT_DASH + "++";
+    private static final String DOMAIN = DOMAIN_LABEL + "(?:\\." + DOMAIN_LABEL + ")*";
+    private static final String IP_DOMAIN = "[0-9]{1,3}\\.[0-9]{1,3}\\.[0-9]{1,3}\\.[0-9]{1,3}";
+    private static final String IP_V6_DOMAIN = "(?:(?:[0-9a-fA-F]{1,4}:){7,7}[0-9a-fA-F]{1,4}"
+            + "|(?:[0-9a-fA-F]{1,4}:){1,7}:|(?:[0-9a-fA-F]{1,4}:){1,6}:[0-9a-fA-F]{1,4}"
+            + "|(?:[0-9a-fA-F]{1,4}:){1,5}(?::[0-9a-fA-F]{1,4}){1,2}"
+            + "|(?:[0-9a-fA-F]{1,4}:){1,4}(?::[0-9a-fA-F]{1,4}){1,3}"
+            + "|(?:[0-9a-fA-F]{1,4}:){1,3}(?::[0-9a-fA-F]{1,4}){1,4}"
+            + "|(?:[0-9a-fA-F]{1,4}:){1,2}(?::[0-9a-fA-F]{1,4}){1,5}"
+            + "|[0-9a-fA-F]{1,4}:(?:(?::[0-9a-fA-F]{1,4}){1,6})|:(?:(?::[0-9a-fA-F]{1,4}){1,7}|:)"
+            + "|fe80:(?::[0-9a-fA-F]{0,4}){0,4}%[0-9a-zA-Z]{1,}"
+            + "|::(?:ffff(:0{1,4}){0,1}:){0,1}(?:(?:25[0-5]|(?:2[0-4]|1{0,1}[0-9]){0,1}[0-9])\\.){3,3}"
+            + "(?:25[0-5]|(?:2[0-4]|1{0,1}[0-9]){0,1}[0-9])"
+            + "|(?:[0-9a-fA-F]{1,4}:){1,4}:(?:(?:25[0-5]|(?:2[0-4]|1{0,1}[0-9]){0,1}[0-9])\\.){3,3}"
+            + "(?:25[0-5]|(?:2[0-4]|1{0,1}[0-9]){0,1}[0-9]))";
+    private static final Pattern EMAIL_DOMAIN_PATTERN = Pattern.compile(
+            DOMAIN + "|\\[" + IP_DOMAIN + "\\]|\\[IPv6:" + IP_V6_DOMAIN + "\\]",
+            Pattern.CASE_INSENSITIVE);
+
+    private EmailAddressValidator() {
+    }
+
+    /**
+     * Check an email address with @Email semantics
+     * 
+     * @param value Address to check
+     * @return true if valid; null and empty values are valid
+     */
+    static boolean isValid(String value) {
+        if (value == null || value.isEmpty()) {
+            return true;
+        }
+        int at = value.lastIndexOf('@');
+        if (at < 0) {
+            return false;
+        }
+        return isValidLocalPart(value, 0, at) && isValidDomain(value, at + 1);
+    }
+
+    private static boolean isValidLocalPart(String value, int start, int end) {
+        if (end - start > MAX_LOCAL_PART_LENGTH) {
+            return false;
+        }
+        // Dot-atom fast path: atoms separated by single dots
+        boolean expectAtom = true;
+        for (int i = start; i < end; i++) {
+            char c = value.charAt(i);
+            if (c == '.') {
+                if (expectAtom) {
+                    return false;
+                }
+                expectAtom = true;
+            } else if (isLocalAtomChar(c)) {
+                expectAtom = false;
+            } else if (c == '"' || Character.isSurrogate(c)) {
+                return LOCAL_PART_PATTERN.matcher(value.substring(start, end)).matches();
+            } else {
+                return false;
+            }
+        }
+        return !expectAtom;
+    }
+
+    private static boolean isValidDomain(String value, int start) {
+        int end = value.length();
+        if (value.charAt(end - 1) == '.') {
+            return false;
+        }
+        // Label scan for ASCII names; IDN.toASCII leaves those unchanged
+        int labelStart = start;
+        for (int i = start; i < end; i++) {
+            char c = value.charAt(i);
+            if (c == '.') {
+                if (!isValidAsciiLabel(value, labelStart, i)) {
+                    return false;
+                }
+                labelStart = i + 1;
+            } else if (c >= 0x80 || c == '[') {
+                return isValidDomainSlowPath(value.substring(start));
+            }
+        }
+        return isValidAsciiLabel(value, labelStart, end) && end - start <= MAX_DOMAIN_PART_LENGTH;
+    }
+
+    private static boolean isValidAsciiLabel(String value, int start, int end) {
+        if (end - start == 0 || end - start > MAX_LABEL_LENGTH) {
+            return false;
+        }
+        if (value.charAt(start) == '-' || value.charAt(end - 1) == '-') {
+            return false;
+        }
+        for (int i = start; i < end; i++) {
+            char c = value.charAt(i);
+            if (c != '-' && !isDomainChar(c)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static boolean isValidDomainSlowPath(String domain) {
+        String ascii;
+        try {
+            ascii = IDN.toASCII(domain);
+        } catch (IllegalArgumentException ex) {
+            return false;
+        }
+        return ascii.length() <= MAX_DOMAIN_PART_LENGTH && EMAIL_DOMAIN_PATTERN.matcher(domain).matches();
+    }
+
+    private static boolean isLocalAtomChar(char c) {
+        return isAsciiAlphanumeric(c) || c == '-' || isSharedSymbol(c) || (c >= 0x80 && !Character.isSurrogate(c));
+    }
+
+    private static boolean isDomainChar(char c) {
+        return isAsciiAlphanumeric(c) || isSharedSymbol(c);
+    }
+
+    private static boolean isAsciiAlphanumeric(char c) {
+        return (c >= 'a' && c <= 'z') || (c >= 'A' && c <= 'Z') || (c >= '0' && c <= '9');
+    }
+
+    private static boolean isSharedSymbol(char c) {
+        switch (c) {
+            case '!': case '#': case '$': case '%': case '&': case '\'': case '*': case '+':
+            case '/': case '=': case '?': case '^': case '_': case '`': case '{': case '|':
+            case '}': case '~':
+                return true;
+            default:
+                return false;
+        }
+    }
+}
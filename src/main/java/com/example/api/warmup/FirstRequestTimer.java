@@ -0,0 +1,54 @@
+package com.example.api.warmup;
+
+import org.springframework.lang.Nullable;
+import org.springframework.web.servlet.AsyncHandlerInterceptor;
+
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.util.function.Supplier;
+
+/**
+ * First Request Timer - Times requests for the WarmupReport
+ *
+ * Measures from the handler being chosen until the response is
+ * complete, across the async dispatch of endpoints that return a
+ * CompletableFuture, and hands the time to the report, which keeps
+ * only the first requests after warm-up.
+ *
+ * @author Your Name
+ * @version 1.0.0
+ */
+public class FirstRequestTimer implements AsyncHandlerInterceptor {
+
+    private static final String START_ATTRIBUTE = FirstRequestTimer.class.getName() + ".start";
+
+    private final Supplier<WarmupReport> report;
+
+    /**
+     * Create the timer
+     *
+     * @param report Looks up the report; may supply null, when warm-up is disabled
+     */
+    public FirstRequestTimer(Supplier<WarmupReport> report) {
+        this.report = report;
+    }
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        // Called again on the async dispatch; keep the original start
+        if (request.getAttribute(START_ATTRIBUTE) == null) {
+            request.setAttribute(START_ATTRIBUTE, System.nanoTime());
+        }
+        return true;
+    }
+
+    @Override
+    public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler,
+                                @Nullable Exception ex) {
+        Object start = request.getAttribute(START_ATTRIBUTE);
+        WarmupReport warmupReport = report.get();
+        if (start instanceof Long && warmupReport != null) {
+            warmupReport.recordRequest(System.nanoTime() - (Long) start);
+        }
+    }
+}
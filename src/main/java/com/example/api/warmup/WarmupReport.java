@@ -0,0 +1,193 @@
+package com.example.api.warmup;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.actuate.info.Info;
+import org.springframework.boot.actuate.info.InfoContributor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Warm-up Report - Latencies before and after the startup warm-up
+ *
+ * Keeps, per warm-up operation, the latency of its first (cold) call
+ * and the median of its most recent calls, then times the first real
+ * /users requests once warm-up is done. When those have all been seen
+ * it logs their p50 and p99 next to the cold calls', which is what
+ * traffic would have met without warm-up. Warm-up calls are timed by
+ * the client, so they also include the loopback round trip.
+ *
+ * Published as "warmup" in /actuator/info.
+ *
+ * Settings (app.warmup.*): first-requests.
+ *
+ * @author Your Name
+ * @version 1.0.0
+ */
+@Component
+@ConditionalOnProperty(name = "app.warmup.enabled", havingValue = "true")
+public class WarmupReport implements InfoContributor {
+
+    private static final Logger logger = LoggerFactory.getLogger(WarmupReport.class);
+
+    // Recent calls per operation the warm median is taken over
+    private static final int RECENT_CALLS = 64;
+
+    // Written by the warm-up thread only, read once it is done
+    private final Map<String, OperationLatency> operations = new LinkedHashMap<>();
+    private volatile boolean finished;
+    private volatile int rounds;
+    private volatile long durationNanos;
+
+    private final AtomicLongArray firstRequests;
+    private final AtomicInteger claimed = new AtomicInteger();
+    private final AtomicInteger recorded = new AtomicInteger();
+
+    public WarmupReport(@Value("${app.warmup.first-requests:100}") int firstRequests) {
+        if (firstRequests < 1) {
+            throw new IllegalArgumentException("app.warmup.first-requests must be positive: " + firstRequests);
+        }
+        this.firstRequests = new AtomicLongArray(firstRequests);
+    }
+
+    /**
+     * Record one call made by the warm-up
+     *
+     * @param operation Operation name, e.g. "GET /users/{id}"
+     * @param nanos Time the call took
+     */
+    void recordWarmupCall(String operation, long nanos) {
+        operations.computeIfAbsent(operation, name -> new OperationLatency()).record(nanos);
+    }
+
+    /**
+     * Mark warm-up as done and start timing real requests
+     *
+     * @param rounds Warm-up rounds completed
+     * @param durationNanos Time warm-up took
+     */
+    void warmupFinished(int rounds, long durationNanos) {
+        this.rounds = rounds;
+        this.durationNanos = durationNanos;
+        this.finished = true;
+    }
+
+    /**
+     * Record a real request, if it is one of the first after warm-up
+     *
+     * @param nanos Time the request took
+     */
+    void recordRequest(long nanos) {
+        if (!finished) {
+            return;
+        }
+        int slot = claimed.getAndIncrement();
+        if (slot >= firstRequests.length()) {
+            return;
+        }
+        firstRequests.set(slot, nanos);
+        if (recorded.incrementAndGet() == firstRequests.length()) {
+            long[] cold = coldNanos();
+            long[] first = firstRequestNanos();
+            logger.info("First {} requests after warm-up: p50 {} ms, p99 {} ms; cold warm-up calls: p50 {} ms, max {} ms",
+                    first.length, millis(percentile(first, 50)), millis(percentile(first, 99)),
+                    millis(percentile(cold, 50)), millis(percentile(cold, 100)));
+        }
+    }
+
+    @Override
+    public void contribute(Info.Builder builder) {
+        Map<String, Object> warmup = new LinkedHashMap<>();
+        warmup.put("finished", finished);
+        if (!finished) {
+            builder.withDetail("warmup", warmup);
+            return;
+        }
+        warmup.put("rounds", rounds);
+        warmup.put("durationMs", durationNanos / 1_000_000);
+        Map<String, Object> byOperation = new LinkedHashMap<>();
+        for (Map.Entry<String, OperationLatency> entry : operations.entrySet()) {
+            Map<String, Object> latency = new LinkedHashMap<>();
+            latency.put("coldMs", millis(entry.getValue().cold));
+            latency.put("warmMs", millis(entry.getValue().recentMedian()));
+            byOperation.put(entry.getKey(), latency);
+        }
+        warmup.put("operations", byOperation);
+        long[] first = firstRequestNanos();
+        Map<String, Object> requests = new LinkedHashMap<>();
+        requests.put("count", first.length);
+        if (first.length > 0) {
+            requests.put("p50Ms", millis(percentile(first, 50)));
+            requests.put("p99Ms", millis(percentile(first, 99)));
+            requests.put("maxMs", millis(percentile(first, 100)));
+        }
+        warmup.put("firstRequests", requests);
+        builder.withDetail("warmup", warmup);
+    }
+
+    private long[] coldNanos() {
+        long[] cold = new long[operations.size()];
+        int i = 0;
+        for (OperationLatency latency : operations.values()) {
+            cold[i++] = latency.cold;
+        }
+        return cold;
+    }
+
+    // Slots can be filled out of order; unfilled ones are still 0
+    private long[] firstRequestNanos() {
+        int claimedSlots = Math.min(claimed.get(), firstRequests.length());
+        long[] first = new long[claimedSlots];
+        int count = 0;
+        for (int i = 0; i < claimedSlots; i++) {
+            long nanos = firstRequests.get(i);
+            if (nanos > 0) {
+                first[count++] = nanos;
+            }
+        }
+        return Arrays.copyOf(first, count);
+    }
+
+    // Nearest-rank percentile; 0 for no samples
+    static long percentile(long[] samples, int percent) {
+        if (samples.length == 0) {
+            return 0;
+        }
+        long[] sorted = samples.clone();
+        Arrays.sort(sorted);
+        int rank = (int) Math.ceil(percent / 100.0 * sorted.length);
+        return sorted[Math.max(rank, 1) - 1];
+    }
+
+    private static double millis(long nanos) {
+        return Math.round(nanos / 10_000.0) / 100.0;
+    }
+
+    /**
+     * First call and a ring of recent calls for one operation
+     */
+    private static final class OperationLatency {
+
+        private long cold = -1;
+        private final long[] recent = new long[RECENT_CALLS];
+        private int calls;
+
+        void record(long nanos) {
+            if (cold < 0) {
+                cold = nanos;
+            }
+            recent[calls++ % RECENT_CALLS] = nanos;
+        }
+
+        long recentMedian() {
+            return percentile(Arrays.copyOf(recent, Math.min(calls, RECENT_CALLS)), 50);
+        }
+    }
+}
@@ -0,0 +1,206 @@
+package com.example.api.warmup;
+
+import com.example.api.service.UserService;
+import com.example.api.service.UserStoreState;
+import com.example.api.tenant.TenantArgumentResolver;
+import com.example.api.tenant.TenantRegistry;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ApplicationContext;
+import org.springframework.context.ApplicationListener;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.HttpURLConnection;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+
+/**
+ * Warm-up Runner - Exercises the user endpoints before the instance takes traffic
+ *
+ * Runs once the web server is up but before the application reports
+ * ready: Spring Boot only marks readiness ACCEPTING_TRAFFIC after the
+ * ApplicationReadyEvent listeners return, and the user store reports
+ * WARMING_UP meanwhile, so the readiness probe stays down throughout.
+ *
+ * Each round sends real HTTP requests to this instance, through
+ * Tomcat, Spring MVC, the JSON reader, validation and Jackson into
+ * UserService: a create, lookups, an update that deactivates, a
+ * search, a listing, a multi-get, statistics, a create that fails
+ * validation and a delete. They run against a scratch tenant whose
+ * store (for JDBC, its users_t_warmup and users_cold_t_warmup tables)
+ * is dropped afterwards, even if warm-up fails, so the users they
+ * create never mix with real ones. A lookup of user 1 in the default
+ * tenant exercises the real store read-only.
+ *
+ * Rounds continue until the iteration count or the time budget runs
+ * out, whichever is first; a failing request ends warm-up early
+ * without holding up startup. Latencies go to the WarmupReport.
+ *
+ * Runs before other ready listeners, so a CDS training run (see
+ * StartupTrainingRunListener) archives the classes warm-up loads.
+ *
+ * Off by default. Settings (app.warmup.*): enabled, iterations,
+ * max-duration, tenant.
+ *
+ * @author Your Name
+ * @version 1.0.0
+ */
+@Component
+@ConditionalOnProperty(name = "app.warmup.enabled", havingValue = "true")
+@Order(Ordered.HIGHEST_PRECEDENCE)
+public class WarmupRunner implements ApplicationListener<ApplicationReadyEvent> {
+
+    private static final Logger logger = LoggerFactory.getLogger(WarmupRunner.class);
+
+    private final UserService userService;
+    private final TenantRegistry tenantRegistry;
+    private final ObjectMapper objectMapper;
+    private final WarmupReport report;
+    private final int iterations;
+    private final Duration maxDuration;
+    private final String tenantId;
+
+    @Autowired
+    public WarmupRunner(UserService userService,
+                        TenantRegistry tenantRegistry,
+                        ObjectMapper objectMapper,
+                        WarmupReport report,
+                        @Value("${app.warmup.iterations:1000}") int iterations,
+                        @Value("${app.warmup.max-duration:20s}") Duration maxDuration,
+                        @Value("${app.warmup.tenant:warmup}") String tenantId) {
+        if (TenantRegistry.DEFAULT_TENANT.equals(tenantId)) {
+            throw new IllegalArgumentException("app.warmup.tenant must not be the default tenant");
+        }
+        this.userService = userService;
+        this.tenantRegistry = tenantRegistry;
+        this.objectMapper = objectMapper;
+        this.report = report;
+        this.iterations = iterations;
+        this.maxDuration = maxDuration;
+        this.tenantId = tenantId;
+    }
+
+    @Override
+    public void onApplicationEvent(ApplicationReadyEvent event) {
+        ApplicationContext context = event.getApplicationContext();
+        if (!(context instanceof WebServerApplicationContext)) {
+            return;
+        }
+        int port = ((WebServerApplicationContext) context).getWebServer().getPort();
+        String contextPath = context.getEnvironment().getProperty("server.servlet.context-path", "");
+        run("http://localhost:" + port + contextPath);
+    }
+
+    /**
+     * Run warm-up rounds against a running instance
+     *
+     * @param baseUrl URL the /users endpoints are under, e.g. http://localhost:8080/api
+     * @return Number of rounds completed
+     */
+    public int run(String baseUrl) {
+        boolean holdingReadiness = userService.getStoreState() == UserStoreState.READY;
+        if (holdingReadiness) {
+            userService.setStoreState(UserStoreState.WARMING_UP);
+        }
+        long start = System.nanoTime();
+        long stopAt = start + maxDuration.toNanos();
+        int rounds = 0;
+        try {
+            while (rounds < iterations && System.nanoTime() < stopAt) {
+                round(baseUrl, rounds);
+                rounds++;
+            }
+        } catch (IOException | RuntimeException ex) {
+            logger.warn("Warm-up stopped after {} rounds: {}", rounds, ex.toString());
+        } finally {
+            try {
+                tenantRegistry.drop(tenantId);
+            } catch (RuntimeException ex) {
+                logger.warn("Dropping the warm-up tenant {} failed: {}", tenantId, ex.toString());
+            }
+            if (holdingReadiness && userService.getStoreState() == UserStoreState.WARMING_UP) {
+                userService.setStoreState(UserStoreState.READY);
+            }
+        }
+        long elapsed = System.nanoTime() - start;
+        report.warmupFinished(rounds, elapsed);
+        logger.info("Warm-up finished: {} rounds in {} ms", rounds, elapsed / 1_000_000);
+        return rounds;
+    }
+
+    private void round(String baseUrl, int round) throws IOException {
+        String created = call(baseUrl, "POST /users", "POST", "/users", tenantId,
+                userJson("warmup" + round, "Up", true));
+        long id = objectMapper.readTree(created).path("id").asLong(-1);
+        if (id < 0) {
+            throw new IllegalStateException("create returned " + created);
+        }
+        call(baseUrl, "GET /users/{id}", "GET", "/users/" + id, tenantId, null);
+        call(baseUrl, "PUT /users/{id}", "PUT", "/users/" + id, tenantId,
+                userJson("warmup" + round, "Updated", false));
+        call(baseUrl, "GET /users/search", "GET", "/users/search?name=Warm", tenantId, null);
+        call(baseUrl, "GET /users", "GET", "/users", tenantId, null);
+        call(baseUrl, "GET /users/batch", "GET", "/users/batch?ids=" + id + ",0", tenantId, null);
+        call(baseUrl, "GET /users/stats", "GET", "/users/stats", tenantId, null);
+        call(baseUrl, "POST /users (invalid)", "POST", "/users", tenantId,
+                "{\"username\":\"w\",\"email\":\"not-an-email\",\"firstName\":\"W\"}");
+        call(baseUrl, "DELETE /users/{id}", "DELETE", "/users/" + id, tenantId, null);
+        call(baseUrl, "GET /users/{id} (default tenant)", "GET", "/users/1", null, null);
+    }
+
+    private static String userJson(String username, String lastName, boolean active) {
+        return "{\"username\":\"" + username + "\",\"email\":\"" + username + "@example.com\","
+                + "\"firstName\":\"Warm\",\"lastName\":\"" + lastName + "\",\"active\":" + active + "}";
+    }
+
+    // HttpURLConnection keeps the connection alive when the body is read to the end
+    private String call(String baseUrl, String operation, String method, String path, String tenant, String body)
+            throws IOException {
+        long start = System.nanoTime();
+        HttpURLConnection connection = (HttpURLConnection) new URL(baseUrl + path).openConnection();
+        connection.setRequestMethod(method);
+        if (tenant != null) {
+            connection.setRequestProperty(TenantArgumentResolver.TENANT_HEADER, tenant);
+        }
+        if (body != null) {
+            connection.setDoOutput(true);
+            connection.setRequestProperty("Content-Type", "application/json");
+            try (OutputStream out = connection.getOutputStream()) {
+                out.write(body.getBytes(StandardCharsets.UTF_8));
+            }
+        }
+        int status = connection.getResponseCode();
+        if (status >= 500) {
+            throw new IOException(operation + " returned " + status);
+        }
+        String response;
+        try (InputStream in = status < 400 ? connection.getInputStream() : connection.getErrorStream()) {
+            response = in == null ? "" : readAll(in);
+        }
+        report.recordWarmupCall(operation, System.nanoTime() - start);
+        return response;
+    }
+
+    private static String readAll(InputStream in) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        byte[] buffer = new byte[4096];
+        int read;
+        while ((read = in.read(buffer)) != -1) {
+            out.write(buffer, 0, read);
+        }
+        return new String(out.toByteArray(), StandardCharsets.UTF_8);
+    }
+}
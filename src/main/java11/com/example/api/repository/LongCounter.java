@@ -0,0 +1,101 @@
+package com.example.api.repository;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+
+/**
+ * Long Counter - Lock-free counter for IDs, sizes and statistics
+ *
+ * JDK 11+ implementation, packaged in META-INF/versions/11 of the
+ * multi-release jar. A VarHandle on the field compiles to the bare
+ * atomic instruction, without the receiver class check that
+ * AtomicLongFieldUpdater performs on every update; advanceTo uses
+ * compareAndExchange so a failed attempt already has the new value.
+ *
+ * Must keep the same public API as src/main/java's LongCounter.
+ *
+ * @author Your Name
+ * @version 1.0.0
+ */
+public final class LongCounter {
+
+    private static final VarHandle VALUE;
+
+    static {
+        try {
+            VALUE = MethodHandles.lookup().findVarHandle(LongCounter.class, "value", long.class);
+        } catch (ReflectiveOperationException ex) {
+            throw new ExceptionInInitializerError(ex);
+        }
+    }
+
+    private volatile long value;
+
+    /**
+     * Create a counter starting at zero
+     */
+    public LongCounter() {
+        this(0);
+    }
+
+    /**
+     * Create a counter
+     *
+     * @param initial Starting value
+     */
+    public LongCounter(long initial) {
+        this.value = initial;
+    }
+
+    /**
+     * Name the implementation in use, for benchmarks and diagnostics
+     *
+     * @return "VarHandle"
+     */
+    public static String implementation() {
+        return "VarHandle";
+    }
+
+    public long get() {
+        return value;
+    }
+
+    public long getAndIncrement() {
+        return (long) VALUE.getAndAdd(this, 1L);
+    }
+
+    public long incrementAndGet() {
+        return (long) VALUE.getAndAdd(this, 1L) + 1;
+    }
+
+    public long decrementAndGet() {
+        return (long) VALUE.getAndAdd(this, -1L) - 1;
+    }
+
+    public long addAndGet(long delta) {
+        return (long) VALUE.getAndAdd(this, delta) + delta;
+    }
+
+    /**
+     * Raise the value to at least the given minimum
+     *
+     * @param minimum Lowest value the counter may hold afterwards
+     * @return Value after the call
+     */
+    public long advanceTo(long minimum) {
+        long current = value;
+        while (current < minimum) {
+            long witness = (long) VALUE.compareAndExchange(this, current, minimum);
+            if (witness == current) {
+                return minimum;
+            }
+            current = witness;
+        }
+        return current;
+    }
+
+    @Override
+    public String toString() {
+        return Long.toString(value);
+    }
+}
@@ -0,0 +1,45 @@
+package com.example.api.config;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.SpringApplication;
+import org.springframework.mock.env.MockEnvironment;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for JdbcStoreEnvironmentPostProcessor
+ * 
+ * @author Your Name
+ * @version 1.0.0
+ */
+class JdbcStoreEnvironmentPostProcessorTest {
+
+    private final JdbcStoreEnvironmentPostProcessor postProcessor = new JdbcStoreEnvironmentPostProcessor();
+
+    @Test
+    void postProcessEnvironment_WithMemoryStore_ShouldExcludeDataSource() {
+        // Arrange
+        MockEnvironment environment = new MockEnvironment()
+                .withProperty("app.users.store", "memory")
+                .withProperty(JdbcStoreEnvironmentPostProcessor.EXCLUDE_PROPERTY, "com.example.Other");
+
+        // Act
+        postProcessor.postProcessEnvironment(environment, new SpringApplication());
+
+        // Assert
+        assertEquals("com.example.Other," + JdbcStoreEnvironmentPostProcessor.DATA_SOURCE_AUTO_CONFIGURATIONS,
+                environment.getProperty(JdbcStoreEnvironmentPostProcessor.EXCLUDE_PROPERTY));
+    }
+
+    @Test
+    void postProcessEnvironment_WithJdbcStore_ShouldKeepDataSource() {
+        // Arrange
+        MockEnvironment environment = new MockEnvironment().withProperty("app.users.store", "jdbc");
+
+        // Act
+        postProcessor.postProcessEnvironment(environment, new SpringApplication());
+
+        // Assert
+        assertNull(environment.getProperty(JdbcStoreEnvironmentPostProcessor.EXCLUDE_PROPERTY));
+    }
+}
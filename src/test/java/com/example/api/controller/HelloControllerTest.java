@@ -0,0 +1,73 @@
+package com.example.api.controller;
+
+import com.example.api.health.ReadinessCache;
+import com.example.api.repository.LongCounter;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+/**
+ * Unit tests for HelloController
+ * 
+ * Tests the health and probe endpoints with a mocked readiness cache
+ * 
+ * @author Your Name
+ * @version 1.0.0
+ */
+@WebMvcTest(HelloController.class)
+class HelloControllerTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @MockBean
+    private ReadinessCache readinessCache;
+
+    @Test
+    void health_ShouldReturnStatusAndJavaVersion() throws Exception {
+        // Act & Assert
+        mockMvc.perform(get("/hello/health"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.status").value("UP"))
+                .andExpect(jsonPath("$.javaVersion").value(System.getProperty("java.version")))
+                .andExpect(jsonPath("$.counterImplementation").value(LongCounter.implementation()));
+    }
+
+    @Test
+    void live_ShouldReturnPreEncodedBody() throws Exception {
+        // Act & Assert
+        mockMvc.perform(get("/hello/live"))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(MediaType.APPLICATION_JSON))
+                .andExpect(content().json("{\"status\":\"UP\"}"));
+    }
+
+    @Test
+    void ready_WhenReady_ShouldReturn200() throws Exception {
+        // Arrange
+        when(readinessCache.isReady()).thenReturn(true);
+
+        // Act & Assert
+        mockMvc.perform(get("/hello/ready"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.status").value("UP"));
+    }
+
+    @Test
+    void ready_WhenNotReady_ShouldReturn503() throws Exception {
+        // Arrange
+        when(readinessCache.isReady()).thenReturn(false);
+
+        // Act & Assert
+        mockMvc.perform(get("/hello/ready"))
+                .andExpect(status().isServiceUnavailable())
+                .andExpect(jsonPath("$.status").value("OUT_OF_SERVICE"));
+    }
+}
@@ -0,0 +1,165 @@
+package com.example.api.controller;
+
+import com.example.api.exception.IdempotencyKeyReuseException;
+import com.example.api.model.User;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+
+import java.util.Arrays;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for IdempotencyCache
+ *
+ * @author Your Name
+ * @version 1.0.0
+ */
+class IdempotencyCacheTest {
+
+    private final AtomicLong now = new AtomicLong(1_000);
+    private final AtomicInteger creates = new AtomicInteger();
+
+    private IdempotencyCache cache;
+
+    @BeforeEach
+    void setUp() {
+        cache = new IdempotencyCache(2, 60_000, now::get);
+    }
+
+    @Test
+    void execute_WithSameKey_ShouldCreateOnceAndReplay() {
+        // Act
+        ResponseEntity<User> first = cache.execute("default", "key-1", "alice", this::create).join();
+        ResponseEntity<User> replay = cache.execute("default", "key-1", "alice", this::create).join();
+
+        // Assert
+        assertEquals(1, creates.get());
+        assertEquals(HttpStatus.CREATED, replay.getStatusCode());
+        assertEquals(first.getBody().getId(), replay.getBody().getId());
+        assertEquals("true", replay.getHeaders().getFirst(IdempotencyCache.REPLAYED_HEADER));
+        assertNull(first.getHeaders().getFirst(IdempotencyCache.REPLAYED_HEADER));
+        assertEquals(1, cache.getReplays());
+    }
+
+    @Test
+    void execute_WhileFirstRequestRuns_ShouldShareItsResponse() {
+        // Arrange
+        CompletableFuture<ResponseEntity<User>> pending = new CompletableFuture<>();
+        Supplier<CompletableFuture<ResponseEntity<User>>> slowCreate = () -> {
+            creates.incrementAndGet();
+            return pending;
+        };
+
+        // Act
+        CompletableFuture<ResponseEntity<User>> first = cache.execute("default", "key-1", "alice", slowCreate);
+        CompletableFuture<ResponseEntity<User>> second = cache.execute("default", "key-1", "alice", slowCreate);
+        assertFalse(second.isDone());
+        pending.complete(ResponseEntity.status(HttpStatus.CREATED).body(new User(7L, "alice", "a@example.com", "Al", "Ice")));
+
+        // Assert
+        assertEquals(1, creates.get());
+        assertEquals(7L, first.join().getBody().getId());
+        assertEquals(7L, second.join().getBody().getId());
+    }
+
+    @Test
+    void execute_WithDifferentBody_ShouldRejectKeyReuse() {
+        // Arrange
+        cache.execute("default", "key-1", "alice", this::create).join();
+
+        // Act & Assert
+        assertThrows(IdempotencyKeyReuseException.class, () -> cache.execute("default", "key-1", "bob", this::create));
+        assertEquals(1, creates.get());
+    }
+
+    @Test
+    void execute_AfterFailure_ShouldRunAgain() {
+        // Arrange
+        CompletableFuture<ResponseEntity<User>> failed = new CompletableFuture<>();
+        failed.completeExceptionally(new IllegalStateException("write queue full"));
+
+        // Act
+        assertTrue(cache.execute("default", "key-1", "alice", () -> failed).isCompletedExceptionally());
+        ResponseEntity<User> retried = cache.execute("default", "key-1", "alice", this::create).join();
+
+        // Assert
+        assertEquals(HttpStatus.CREATED, retried.getStatusCode());
+        assertEquals(1, creates.get());
+        assertEquals(0, cache.getReplays());
+    }
+
+    @Test
+    void execute_AfterTtlOrEviction_ShouldForgetKey() {
+        // Arrange
+        cache.execute("default", "key-1", "alice", this::create).join();
+        cache.execute("default", "key-2", "alice", this::create).join();
+        cache.execute("default", "key-3", "alice", this::create).join();
+
+        // Act
+        now.addAndGet(60_000);
+        cache.execute("default", "key-2", "alice", this::create).join();
+
+        // Assert
+        assertEquals(1, cache.getEvictions());
+        assertEquals(4, creates.get());
+        assertEquals(1, cache.size());
+    }
+
+    @Test
+    void execute_WhenFull_ShouldNotEvictKeyWhoseCreateIsRunning() {
+        // Arrange: key-1's create is still running when two more keys arrive
+        CompletableFuture<ResponseEntity<User>> pending = new CompletableFuture<>();
+        Supplier<CompletableFuture<ResponseEntity<User>>> slowCreate = () -> {
+            creates.incrementAndGet();
+            return pending;
+        };
+        cache.execute("default", "key-1", "alice", slowCreate);
+        cache.execute("default", "key-2", "alice", this::create).join();
+        cache.execute("default", "key-3", "alice", this::create).join();
+
+        // Act
+        CompletableFuture<ResponseEntity<User>> retry = cache.execute("default", "key-1", "alice", slowCreate);
+        pending.complete(ResponseEntity.status(HttpStatus.CREATED).body(new User(7L, "alice", "a@example.com", "Al", "Ice")));
+
+        // Assert: key-2 went instead, and the retry shared the running create
+        assertEquals(3, creates.get());
+        assertEquals(1, cache.getEvictions());
+        assertEquals(7L, retry.join().getBody().getId());
+    }
+
+    @Test
+    void execute_SameKeyForAnotherTenant_ShouldRunSeparately() {
+        // Act
+        cache.execute("default", "key-1", "alice", this::create).join();
+        cache.execute("acme", "key-1", "bob", this::create).join();
+
+        // Assert
+        assertEquals(2, creates.get());
+        assertEquals(0, cache.getReplays());
+    }
+
+    @Test
+    void execute_WithOverlongKey_ShouldReject() {
+        // Arrange
+        char[] key = new char[256];
+        Arrays.fill(key, 'k');
+
+        // Act & Assert
+        assertThrows(IllegalArgumentException.class,
+                () -> cache.execute("default", new String(key), "alice", this::create));
+        assertEquals(0, creates.get());
+    }
+
+    private CompletableFuture<ResponseEntity<User>> create() {
+        long id = creates.incrementAndGet();
+        User user = new User(id, "alice", "alice@example.com", "Alice", "Jones");
+        return CompletableFuture.completedFuture(ResponseEntity.status(HttpStatus.CREATED).body(user));
+    }
+}
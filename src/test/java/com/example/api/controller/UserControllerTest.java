@@ -1,23 +1,41 @@
 package com.example.api.controller;
 
+import com.example.api.deadline.Deadline;
+import com.example.api.exception.DeadlineExceededException;
 import com.example.api.model.User;
+import com.example.api.service.SearchResult;
 import com.example.api.service.UserService;
+import com.example.api.service.UserWriterFactory;
+import com.example.api.tenant.TenantRegistry;
+import com.example.api.validation.UserValidator;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
 
 import java.util.Arrays;
+import java.util.Collections;
 import java.util.List;
 import java.util.Optional;
+import java.util.function.Consumer;
+import java.util.function.LongConsumer;
 
+import static org.hamcrest.Matchers.containsString;
 import static org.hamcrest.Matchers.hasSize;
+import static org.mockito.AdditionalMatchers.aryEq;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
 import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
@@ -31,6 +49,7 @@ import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.
  * @version 1.0.0
  */
 @WebMvcTest(UserController.class)
+@Import({UserWriterFactory.class, UserValidator.class, IdempotencyCache.class, TenantRegistry.class})
 class UserControllerTest {
 
     @Autowired
@@ -59,7 +78,7 @@ class UserControllerTest {
     @Test
     void getAllUsers_ShouldReturnListOfUsers() throws Exception {
         // Arrange
-        when(userService.getAllUsers()).thenReturn(testUsers);
+        when(userService.getAllUsers(any(Deadline.class))).thenReturn(testUsers);
 
         // Act & Assert
         mockMvc.perform(get("/users"))
@@ -105,16 +124,72 @@ class UserControllerTest {
         
         when(userService.createUser(any(User.class))).thenReturn(createdUser);
 
-        // Act & Assert
-        mockMvc.perform(post("/users")
+        // Act
+        MvcResult result = mockMvc.perform(post("/users")
                 .contentType(MediaType.APPLICATION_JSON)
                 .content(objectMapper.writeValueAsString(newUser)))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        // Assert
+        mockMvc.perform(asyncDispatch(result))
                 .andExpect(status().isCreated())
                 .andExpect(jsonPath("$.id").value(4))
                 .andExpect(jsonPath("$.username").value("newuser"))
                 .andExpect(jsonPath("$.email").value("new@example.com"));
     }
 
+    @Test
+    void createUser_RetriedWithIdempotencyKey_ShouldCreateOnceAndReplay() throws Exception {
+        // Arrange
+        User newUser = new User(null, "newuser", "new@example.com", "New", "User");
+        when(userService.createUser(any(User.class)))
+                .thenReturn(new User(4L, "newuser", "new@example.com", "New", "User"));
+        String body = objectMapper.writeValueAsString(newUser);
+
+        // Act
+        MvcResult first = mockMvc.perform(post("/users")
+                .header("Idempotency-Key", "retry-1")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(body))
+                .andReturn();
+        mockMvc.perform(asyncDispatch(first))
+                .andExpect(status().isCreated())
+                .andExpect(header().doesNotExist("Idempotent-Replayed"));
+        MvcResult retry = mockMvc.perform(post("/users")
+                .header("Idempotency-Key", "retry-1")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(body))
+                .andReturn();
+
+        // Assert
+        mockMvc.perform(asyncDispatch(retry))
+                .andExpect(status().isCreated())
+                .andExpect(header().string("Idempotent-Replayed", "true"))
+                .andExpect(jsonPath("$.id").value(4));
+        verify(userService, times(1)).createUser(any(User.class));
+    }
+
+    @Test
+    void createUser_WithReusedIdempotencyKey_ShouldReturn422() throws Exception {
+        // Arrange
+        when(userService.createUser(any(User.class)))
+                .thenReturn(new User(4L, "newuser", "new@example.com", "New", "User"));
+        MvcResult first = mockMvc.perform(post("/users")
+                .header("Idempotency-Key", "reused-1")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(new User(null, "newuser", "new@example.com", "New", "User"))))
+                .andReturn();
+        mockMvc.perform(asyncDispatch(first)).andExpect(status().isCreated());
+
+        // Act & Assert
+        mockMvc.perform(post("/users")
+                .header("Idempotency-Key", "reused-1")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(new User(null, "other", "other@example.com", "Ot", "Her"))))
+                .andExpect(status().isUnprocessableEntity());
+    }
+
     @Test
     void createUser_WithInvalidEmail_ShouldReturn400() throws Exception {
         // Arrange
@@ -133,10 +208,15 @@ class UserControllerTest {
         User updatedUser = new User(1L, "johndoe_updated", "john.updated@example.com", "John", "Doe");
         when(userService.updateUser(eq(1L), any(User.class))).thenReturn(Optional.of(updatedUser));
 
-        // Act & Assert
-        mockMvc.perform(put("/users/1")
+        // Act
+        MvcResult result = mockMvc.perform(put("/users/1")
                 .contentType(MediaType.APPLICATION_JSON)
                 .content(objectMapper.writeValueAsString(updatedUser)))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        // Assert
+        mockMvc.perform(asyncDispatch(result))
                 .andExpect(status().isOk())
                 .andExpect(jsonPath("$.username").value("johndoe_updated"))
                 .andExpect(jsonPath("$.email").value("john.updated@example.com"));
@@ -148,10 +228,15 @@ class UserControllerTest {
         User updatedUser = new User(999L, "test", "test@example.com", "Test", "User");
         when(userService.updateUser(eq(999L), any(User.class))).thenReturn(Optional.empty());
 
-        // Act & Assert
-        mockMvc.perform(put("/users/999")
+        // Act
+        MvcResult result = mockMvc.perform(put("/users/999")
                 .contentType(MediaType.APPLICATION_JSON)
                 .content(objectMapper.writeValueAsString(updatedUser)))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        // Assert
+        mockMvc.perform(asyncDispatch(result))
                 .andExpect(status().isNotFound());
     }
 
@@ -160,8 +245,13 @@ class UserControllerTest {
         // Arrange
         when(userService.deleteUser(1L)).thenReturn(true);
 
-        // Act & Assert
-        mockMvc.perform(delete("/users/1"))
+        // Act
+        MvcResult result = mockMvc.perform(delete("/users/1"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        // Assert
+        mockMvc.perform(asyncDispatch(result))
                 .andExpect(status().isNoContent());
     }
 
@@ -170,8 +260,13 @@ class UserControllerTest {
         // Arrange
         when(userService.deleteUser(999L)).thenReturn(false);
 
-        // Act & Assert
-        mockMvc.perform(delete("/users/999"))
+        // Act
+        MvcResult result = mockMvc.perform(delete("/users/999"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        // Assert
+        mockMvc.perform(asyncDispatch(result))
                 .andExpect(status().isNotFound());
     }
 
@@ -179,7 +274,7 @@ class UserControllerTest {
     void getActiveUsers_ShouldReturnOnlyActiveUsers() throws Exception {
         // Arrange
         List<User> activeUsers = Arrays.asList(testUser);
-        when(userService.getActiveUsers()).thenReturn(activeUsers);
+        when(userService.getActiveUsers(any(Deadline.class))).thenReturn(activeUsers);
 
         // Act & Assert
         mockMvc.perform(get("/users/active"))
@@ -192,13 +287,70 @@ class UserControllerTest {
     void searchUsers_ShouldReturnMatchingUsers() throws Exception {
         // Arrange
         List<User> searchResults = Arrays.asList(testUser);
-        when(userService.searchUsersByName("John")).thenReturn(searchResults);
+        when(userService.searchUsersByName(eq("John"), any(Deadline.class)))
+                .thenReturn(new SearchResult(searchResults, true, 3));
 
         // Act & Assert
         mockMvc.perform(get("/users/search").param("name", "John"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", hasSize(1)))
+                .andExpect(jsonPath("$[0].firstName").value("John"))
+                .andExpect(header().doesNotExist("X-Partial-Results"));
+    }
+
+    @Test
+    void searchUsers_WhenDeadlinePasses_ShouldReturnPartialResults() throws Exception {
+        // Arrange
+        when(userService.searchUsersByName(eq("John"), any(Deadline.class)))
+                .thenAnswer(invocation -> {
+                    Deadline deadline = invocation.getArgument(1);
+                    return new SearchResult(Arrays.asList(testUser), !deadline.isExpired(), 1);
+                });
+
+        // Act & Assert
+        mockMvc.perform(get("/users/search").param("name", "John").header("X-Request-Timeout-Ms", "0"))
+                .andExpect(status().isOk())
+                .andExpect(header().string("X-Partial-Results", "true"))
+                .andExpect(jsonPath("$", hasSize(1)));
+    }
+
+    @Test
+    void searchUsers_WithFuzzy_ShouldUseTheNameIndex() throws Exception {
+        // Arrange
+        when(userService.searchUsersByNameFuzzy("Jonh", 1, 100)).thenReturn(Arrays.asList(testUser));
+
+        // Act & Assert
+        mockMvc.perform(get("/users/search").param("name", "Jonh").param("fuzzy", "1"))
                 .andExpect(status().isOk())
                 .andExpect(jsonPath("$", hasSize(1)))
                 .andExpect(jsonPath("$[0].firstName").value("John"));
+        verify(userService, never()).searchUsersByName(any(String.class), any(Deadline.class));
+    }
+
+    @Test
+    void searchUsers_WithTooManyEdits_ShouldReturn400() throws Exception {
+        // Act & Assert
+        mockMvc.perform(get("/users/search").param("name", "Jonh").param("fuzzy", "3"))
+                .andExpect(status().isBadRequest());
+        verify(userService, never()).searchUsersByNameFuzzy(any(String.class), anyInt(), anyInt());
+    }
+
+    @Test
+    void getAllUsers_WhenDeadlinePasses_ShouldReturn503() throws Exception {
+        // Arrange
+        when(userService.getAllUsers(any(Deadline.class))).thenThrow(new DeadlineExceededException("getAllUsers"));
+
+        // Act & Assert
+        mockMvc.perform(get("/users"))
+                .andExpect(status().isServiceUnavailable())
+                .andExpect(jsonPath("$.message").value("Request deadline exceeded during getAllUsers"));
+    }
+
+    @Test
+    void getAllUsers_WithInvalidTimeoutHeader_ShouldReturn400() throws Exception {
+        // Act & Assert
+        mockMvc.perform(get("/users").header("X-Request-Timeout-Ms", "soon"))
+                .andExpect(status().isBadRequest());
     }
 
     @Test
@@ -214,4 +366,209 @@ class UserControllerTest {
                 .andExpect(jsonPath("$.activeUsers").value(3))
                 .andExpect(jsonPath("$.inactiveUsers").value(0));
     }
+
+    @Test
+    void getDomainStats_ShouldReturnDistribution() throws Exception {
+        // Arrange
+        when(userService.getEmailDomainCounts(10)).thenReturn(Collections.singletonMap("example.com", 3L));
+        when(userService.getDistinctEmailDomainEstimate()).thenReturn(1L);
+
+        // Act & Assert
+        mockMvc.perform(get("/users/stats/domains"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.domains['example.com']").value(3))
+                .andExpect(jsonPath("$.distinctDomainsEstimate").value(1));
+    }
+
+    @Test
+    void getFirstNameStats_ShouldReturnTopNames() throws Exception {
+        // Arrange
+        when(userService.getTopFirstNames(2)).thenReturn(Collections.singletonMap("John", 5L));
+
+        // Act & Assert
+        mockMvc.perform(get("/users/stats/first-names").param("limit", "2"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.John").value(5));
+    }
+
+    @Test
+    void createUser_WithInvalidFields_ShouldReturnValidationErrorMap() throws Exception {
+        // Arrange
+        User invalidUser = new User(null, "ab", "invalid-email", "T", "User");
+
+        // Act & Assert
+        mockMvc.perform(post("/users")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(invalidUser)))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.error").value("Validation Failed"))
+                .andExpect(jsonPath("$.validationErrors.username")
+                        .value("Username must be between 3 and 50 characters"))
+                .andExpect(jsonPath("$.validationErrors.email").value("Email must be valid"))
+                .andExpect(jsonPath("$.validationErrors.firstName")
+                        .value("First name must be between 2 and 50 characters"))
+                .andExpect(jsonPath("$.validationErrors.lastName").doesNotExist());
+    }
+
+    @Test
+    void createUser_WithOverLongField_ShouldFailWhileParsing() throws Exception {
+        // Arrange
+        StringBuilder username = new StringBuilder();
+        for (int i = 0; i < 200; i++) {
+            username.append('u');
+        }
+
+        // Act & Assert
+        mockMvc.perform(post("/users")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"username\":\"" + username + "\",\"email\":\"u@example.com\"}"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.error").value("Validation Failed"))
+                .andExpect(jsonPath("$.validationErrors.username")
+                        .value("Username must be between 3 and 50 characters"));
+        verify(userService, times(0)).createUser(any(User.class));
+    }
+
+    @Test
+    void createUser_WithMalformedOrOversizedBody_ShouldReturn400Or413() throws Exception {
+        // Arrange
+        char[] padding = new char[20_000];
+        Arrays.fill(padding, ' ');
+
+        // Act & Assert
+        mockMvc.perform(post("/users")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"username\": \"newuser\""))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.error").value("Bad Request"));
+        mockMvc.perform(put("/users/1")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{" + new String(padding) + "}"))
+                .andExpect(status().isPayloadTooLarge())
+                .andExpect(jsonPath("$.error").value("Payload Too Large"));
+    }
+
+    @Test
+    void getUsersBatch_ShouldReturnFoundAndMissing() throws Exception {
+        // Arrange
+        doAnswer(invocation -> {
+            Consumer<User> onFound = invocation.getArgument(1);
+            LongConsumer onMissing = invocation.getArgument(2);
+            onFound.accept(testUser);
+            onMissing.accept(999L);
+            return null;
+        }).when(userService).getUsersByIds(aryEq(new long[] {1L, 999L}), any(), any());
+
+        // Act & Assert
+        mockMvc.perform(get("/users/batch").param("ids", "1,999"))
+                .andExpect(status().isOk())
+                .andExpect(content().contentTypeCompatibleWith(MediaType.APPLICATION_JSON))
+                .andExpect(jsonPath("$.users", hasSize(1)))
+                .andExpect(jsonPath("$.users[0].username").value("johndoe"))
+                .andExpect(jsonPath("$.missing[0]").value(999));
+    }
+
+    @Test
+    void postUsersBatch_ShouldAcceptJsonArray() throws Exception {
+        // Arrange
+        doAnswer(invocation -> {
+            Consumer<User> onFound = invocation.getArgument(1);
+            testUsers.forEach(onFound);
+            return null;
+        }).when(userService).getUsersByIds(aryEq(new long[] {1L, 2L, 3L}), any(), any());
+
+        // Act & Assert
+        mockMvc.perform(post("/users/batch")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("[1, 2, 3]"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.users", hasSize(3)))
+                .andExpect(jsonPath("$.missing", hasSize(0)));
+    }
+
+    @Test
+    void postUsersBatch_WithTooManyIds_ShouldReturn400() throws Exception {
+        // Arrange
+        StringBuilder ids = new StringBuilder("[0");
+        for (int i = 1; i <= 10_000; i++) {
+            ids.append(',').append(i);
+        }
+        ids.append(']');
+
+        // Act & Assert
+        mockMvc.perform(post("/users/batch")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(ids.toString()))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void createUser_ForAnotherTenant_ShouldStayInThatTenant() throws Exception {
+        // Arrange
+        User newUser = new User(null, "newuser", "new@example.com", "New", "User");
+        when(userService.getUserById(1L)).thenReturn(Optional.of(testUser));
+
+        // Act
+        MvcResult result = mockMvc.perform(post("/users")
+                .header("X-Tenant-Id", "acme")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(newUser)))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isCreated())
+                .andExpect(jsonPath("$.id").value(1));
+
+        // Assert
+        mockMvc.perform(get("/users/1").header("X-Tenant-Id", "acme"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.username").value("newuser"));
+        mockMvc.perform(get("/users/1"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.username").value("johndoe"));
+        verify(userService, never()).createUser(any(User.class));
+    }
+
+    @Test
+    void getAllUsers_WithInvalidTenantId_ShouldReturn400() throws Exception {
+        // Act & Assert
+        mockMvc.perform(get("/users").header("X-Tenant-Id", "Not A Tenant"))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void createUser_WhenTenantAtQuota_ShouldReturn403() throws Exception {
+        // Arrange
+        User newUser = new User(null, "newuser", "new@example.com", "New", "User");
+        when(userService.getUserCount()).thenReturn(1_000_000L);
+
+        // Act & Assert
+        mockMvc.perform(post("/users")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(newUser)))
+                .andExpect(status().isForbidden())
+                .andExpect(jsonPath("$.error").value("Forbidden"));
+        verify(userService, never()).createUser(any(User.class));
+    }
+
+    @Test
+    void getUserById_WithAsOf_ShouldReadThatVersion() throws Exception {
+        // Arrange
+        User oldVersion = new User(1L, "johndoe", "john@old.com", "John", "Doe");
+        when(userService.getUserByIdAsOf(1L, 1_700_000_000_000L)).thenReturn(Optional.of(oldVersion));
+
+        // Act & Assert
+        mockMvc.perform(get("/users/1").param("asOf", "2023-11-14T22:13:20Z"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.email").value("john@old.com"));
+        verify(userService, never()).getUserById(1L);
+    }
+
+    @Test
+    void getAllUsers_WithMalformedAsOf_ShouldReturn400() throws Exception {
+        // Act & Assert
+        mockMvc.perform(get("/users").param("asOf", "yesterday"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.message").value(containsString("ISO-8601")));
+    }
 }
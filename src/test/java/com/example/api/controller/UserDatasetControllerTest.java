@@ -0,0 +1,112 @@
+package com.example.api.controller;
+
+import com.example.api.dataset.UserDatasetWriter;
+import com.example.api.model.User;
+import com.example.api.service.UserService;
+import com.example.api.service.UserWriterFactory;
+import com.example.api.tenant.TenantRegistry;
+import com.example.api.validation.UserValidator;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.channels.Channels;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.hamcrest.Matchers.containsString;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+/**
+ * Unit tests for UserDatasetController
+ *
+ * @author Your Name
+ * @version 1.0.0
+ */
+@WebMvcTest(UserDatasetController.class)
+@Import({UserWriterFactory.class, UserValidator.class, TenantRegistry.class})
+class UserDatasetControllerTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @MockBean
+    private UserService userService;
+
+    @Test
+    void importUsers_ShouldApplyEveryChunk() throws Exception {
+        // Arrange
+        byte[] dataset = write(Arrays.asList(
+                new User(1L, "johndoe", "john@example.com", "John", "Doe"),
+                new User(2L, "janedoe", "jane@example.com", "Jane", "Doe"),
+                new User(3L, "bobsmith", "bob@example.com", "Bob", "Smith")), 2);
+        when(userService.importUsers(anyList())).thenReturn(2, 1);
+
+        // Act & Assert
+        mockMvc.perform(post("/admin/users/import")
+                .contentType(UserDatasetController.DATASET_MEDIA_TYPE)
+                .content(dataset))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.read").value(3))
+                .andExpect(jsonPath("$.imported").value(3))
+                .andExpect(jsonPath("$.skipped").value(0));
+    }
+
+    @Test
+    void importUsers_WithInvalidUser_ShouldRejectItsChunk() throws Exception {
+        // Arrange: the second chunk has a user without a first name
+        byte[] dataset = write(Arrays.asList(
+                new User(1L, "johndoe", "john@example.com", "John", "Doe"),
+                new User(2L, "janedoe", "jane@example.com", "Jane", "Doe"),
+                new User(3L, "bobsmith", "bob@example.com", "Bob", "Smith"),
+                new User(4L, "noname", "noname@example.com", null, "Smith")), 2);
+        when(userService.importUsers(anyList())).thenReturn(2);
+
+        // Act & Assert
+        mockMvc.perform(post("/admin/users/import")
+                .contentType(UserDatasetController.DATASET_MEDIA_TYPE)
+                .content(dataset))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.message").value(containsString("Invalid user 4")));
+        verify(userService, times(1)).importUsers(anyList());
+    }
+
+    @Test
+    void importUsers_AtQuota_ShouldCountOnlyNewUsers() throws Exception {
+        // Arrange: the tenant is full, but the dataset holds only users it already has
+        byte[] dataset = write(Arrays.asList(
+                new User(1L, "johndoe", "john@example.com", "John", "Doe"),
+                new User(2L, "janedoe", "jane@example.com", "Jane", "Doe")), 2);
+        when(userService.getUserCount()).thenReturn(1_000_000L);
+        when(userService.countNewUsers(anyList())).thenReturn(0, 1);
+
+        // Act & Assert
+        mockMvc.perform(post("/admin/users/import")
+                .contentType(UserDatasetController.DATASET_MEDIA_TYPE)
+                .content(dataset))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.skipped").value(2));
+        mockMvc.perform(post("/admin/users/import")
+                .contentType(UserDatasetController.DATASET_MEDIA_TYPE)
+                .content(dataset))
+                .andExpect(status().isForbidden());
+        verify(userService, times(1)).importUsers(anyList());
+    }
+
+    private static byte[] write(List<User> users, int chunkRows) throws Exception {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        UserDatasetWriter writer = new UserDatasetWriter(Channels.newChannel(out), chunkRows);
+        writer.writeAll(users);
+        writer.finish();
+        return out.toByteArray();
+    }
+}
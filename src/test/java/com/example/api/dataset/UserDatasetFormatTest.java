@@ -0,0 +1,116 @@
+package com.example.api.dataset;
+
+import com.example.api.model.User;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.nio.channels.Channels;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for UserDatasetWriter and UserDatasetReader
+ *
+ * @author Your Name
+ * @version 1.0.0
+ */
+class UserDatasetFormatTest {
+
+    @Test
+    void writeAndRead_ShouldRoundTripUsersAcrossChunks() throws Exception {
+        // Arrange
+        User inactive = new User(9L, "zoë", "zoë@exämple.com", "Zoë", "Ünal");
+        inactive.setActive(false);
+        User noDomain = new User(12L, "nodomain", "local-only", null, "Doe");
+        User nulls = new User(3L, null, null, "Jane", null);
+        List<User> users = Arrays.asList(
+                new User(1L, "johndoe", "john@example.com", "John", "Doe"),
+                new User(2L, "janedoe", "jane@example.com", "Jane", "Doe"),
+                inactive, noDomain, nulls);
+
+        // Act
+        byte[] dataset = write(users, 2);
+        List<User> read = readAll(dataset);
+
+        // Assert
+        assertEquals(users.size(), read.size());
+        for (int i = 0; i < users.size(); i++) {
+            User expected = users.get(i);
+            User actual = read.get(i);
+            assertEquals(expected.getId(), actual.getId());
+            assertEquals(expected.getUsername(), actual.getUsername());
+            assertEquals(expected.getEmail(), actual.getEmail());
+            assertEquals(expected.getFirstName(), actual.getFirstName());
+            assertEquals(expected.getLastName(), actual.getLastName());
+            assertEquals(expected.isActive(), actual.isActive());
+        }
+    }
+
+    @Test
+    void write_ShouldCompressRepetitiveColumns() throws Exception {
+        // Arrange
+        List<User> users = new ArrayList<>();
+        for (long id = 1; id <= 10_000; id++) {
+            users.add(new User(id, "user" + id, "user" + id + "@example.com", "First" + (id % 50), "Last" + (id % 200)));
+        }
+
+        // Act
+        byte[] dataset = write(users, 4096);
+
+        // Assert: well under the ~60 bytes per user of the JSON list
+        assertTrue(dataset.length < users.size() * 12, "dataset is " + dataset.length + " bytes");
+        assertEquals(10_000, readAll(dataset).size());
+    }
+
+    @Test
+    void read_WithoutTrailer_ShouldBeRejected() throws Exception {
+        // Arrange
+        byte[] dataset = write(Arrays.asList(new User(1L, "johndoe", "john@example.com", "John", "Doe")), 10);
+        byte[] truncated = Arrays.copyOf(dataset, dataset.length - 12);
+
+        // Act & Assert
+        IllegalArgumentException ex = assertThrows(IllegalArgumentException.class, () -> readAll(truncated));
+        assertTrue(ex.getMessage().contains("end of stream"));
+    }
+
+    @Test
+    void read_WithDamagedChunk_ShouldBeRejected() throws Exception {
+        // Arrange
+        byte[] dataset = write(Arrays.asList(new User(1L, "johndoe", "john@example.com", "John", "Doe")), 10);
+        dataset[30] ^= 0x5A;
+
+        // Act & Assert
+        assertThrows(IllegalArgumentException.class, () -> readAll(dataset));
+    }
+
+    @Test
+    void read_WithOtherContent_ShouldBeRejected() {
+        // Act & Assert
+        byte[] json = "[{\"id\":1}]".getBytes();
+        IllegalArgumentException ex = assertThrows(IllegalArgumentException.class, () -> readAll(json));
+        assertEquals("Not a user dataset", ex.getMessage());
+    }
+
+    private static byte[] write(List<User> users, int chunkRows) throws Exception {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        UserDatasetWriter writer = new UserDatasetWriter(Channels.newChannel(out), chunkRows);
+        writer.writeAll(users);
+        writer.finish();
+        assertEquals(users.size(), writer.getRowCount());
+        return out.toByteArray();
+    }
+
+    private static List<User> readAll(byte[] dataset) throws Exception {
+        UserDatasetReader reader = new UserDatasetReader(Channels.newChannel(new ByteArrayInputStream(dataset)));
+        List<User> users = new ArrayList<>();
+        List<User> chunk;
+        while ((chunk = reader.readChunk()) != null) {
+            users.addAll(chunk);
+        }
+        return users;
+    }
+}
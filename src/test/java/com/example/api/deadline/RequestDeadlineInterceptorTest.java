@@ -0,0 +1,206 @@
+package com.example.api.deadline;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for RequestDeadlineInterceptor and Deadline
+ *
+ * @author Your Name
+ * @version 1.0.0
+ */
+class RequestDeadlineInterceptorTest {
+
+    private SimpleMeterRegistry meterRegistry;
+    private RequestDeadlineInterceptor interceptor;
+    private MockHttpServletRequest request;
+    private MockHttpServletResponse response;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        meterRegistry = new SimpleMeterRegistry();
+        interceptor = new RequestDeadlineInterceptor(
+                value -> value.replace("${app.deadlines.search-ms:2000}", "1500"), () -> meterRegistry);
+        request = new MockHttpServletRequest("GET", "/users/search");
+        request.setAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE, "/users/search");
+        response = new MockHttpServletResponse();
+    }
+
+    @Test
+    void preHandle_ShouldUseEndpointBudgetOrShorterHeader() throws Exception {
+        // Act
+        interceptor.preHandle(request, response, handler("search"));
+        Deadline configured = (Deadline) request.getAttribute(Deadline.REQUEST_ATTRIBUTE);
+        request.addHeader(RequestDeadlineInterceptor.TIMEOUT_HEADER, "100");
+        interceptor.preHandle(request, response, handler("search"));
+        Deadline shortened = (Deadline) request.getAttribute(Deadline.REQUEST_ATTRIBUTE);
+
+        // Assert
+        assertTrue(configured.remainingMillis() > 1000 && configured.remainingMillis() <= 1500);
+        assertTrue(shortened.remainingMillis() <= 100);
+    }
+
+    @Test
+    void preHandle_WithLongerHeader_ShouldKeepEndpointBudget() throws Exception {
+        // Arrange
+        request.addHeader(RequestDeadlineInterceptor.TIMEOUT_HEADER, "60000");
+
+        // Act
+        interceptor.preHandle(request, response, handler("search"));
+
+        // Assert
+        Deadline deadline = (Deadline) request.getAttribute(Deadline.REQUEST_ATTRIBUTE);
+        assertTrue(deadline.remainingMillis() <= 1500);
+    }
+
+    @Test
+    void preHandle_WithoutAnnotation_ShouldNotSetDeadline() throws Exception {
+        // Act
+        interceptor.preHandle(request, response, handler("unbounded"));
+
+        // Assert
+        assertNull(request.getAttribute(Deadline.REQUEST_ATTRIBUTE));
+    }
+
+    @Test
+    void afterCompletion_ShouldCountHitDeadlinesByOutcome() throws Exception {
+        // Arrange
+        request.addHeader(RequestDeadlineInterceptor.TIMEOUT_HEADER, "0");
+        interceptor.preHandle(request, response, handler("search"));
+        Deadline deadline = (Deadline) request.getAttribute(Deadline.REQUEST_ATTRIBUTE);
+        assertTrue(deadline.isExpired());
+
+        // Act
+        interceptor.afterCompletion(request, response, handler("search"), null);
+        response.setStatus(503);
+        interceptor.afterCompletion(request, response, handler("search"), null);
+
+        // Assert
+        assertEquals(1.0, meterRegistry.get("users.deadline.exceeded")
+                .tag("uri", "/users/search").tag("outcome", "partial").counter().count());
+        assertEquals(1.0, meterRegistry.get("users.deadline.exceeded")
+                .tag("outcome", "rejected").counter().count());
+    }
+
+    @Test
+    void deadline_ShouldExpireOnItsClockAndRememberTheHit() {
+        // Arrange
+        AtomicLong nanos = new AtomicLong(-5_000_000_000L);
+        Deadline deadline = Deadline.afterMillis(10, nanos::get);
+
+        // Act & Assert
+        assertFalse(deadline.isExpired());
+        assertEquals(10, deadline.remainingMillis());
+        nanos.addAndGet(10_000_000L);
+        assertFalse(deadline.wasHit());
+        assertTrue(deadline.isExpired());
+        assertTrue(deadline.wasHit());
+        assertFalse(Deadline.none().isExpired());
+    }
+
+    @Test
+    void adaptive_ShouldShrinkBudgetToObservedLatencyAndBackOffWhenHit() throws Exception {
+        // Arrange: 1500ms configured, 100ms floor, adapts after 10 requests
+        AtomicLong nanos = new AtomicLong();
+        RequestDeadlineInterceptor adaptive = new RequestDeadlineInterceptor(
+                value -> value.replace("${app.deadlines.search-ms:2000}", "1500"), () -> meterRegistry,
+                true, 100, 4, 10, nanos::get);
+
+        // Act: requests taking 20ms, then requests stopped by their deadline
+        for (int i = 0; i < 10; i++) {
+            assertEquals(1500, serve(adaptive, nanos, 20));
+        }
+        long shrunk = serve(adaptive, nanos, 20);
+        double gauge = meterRegistry.get("users.deadline.budget").tag("uri", "/users/search").gauge().value();
+        long backedOff = shrunk;
+        for (int i = 0; i < 3; i++) {
+            backedOff = serve(adaptive, nanos, Long.MAX_VALUE);
+        }
+
+        // Assert
+        assertEquals(100, shrunk);
+        assertEquals(100.0, gauge);
+        assertTrue(backedOff > shrunk && backedOff <= 1500);
+    }
+
+    @Test
+    void adaptive_ShouldNotSampleRequestsStoppedByClientHeader() throws Exception {
+        // Arrange
+        AtomicLong nanos = new AtomicLong();
+        RequestDeadlineInterceptor adaptive = new RequestDeadlineInterceptor(
+                value -> value.replace("${app.deadlines.search-ms:2000}", "1500"), () -> meterRegistry,
+                true, 100, 4, 1, nanos::get);
+        request.addHeader(RequestDeadlineInterceptor.TIMEOUT_HEADER, "10");
+
+        // Act
+        serve(adaptive, nanos, Long.MAX_VALUE);
+        request.removeHeader(RequestDeadlineInterceptor.TIMEOUT_HEADER);
+        long budget = serve(adaptive, nanos, 0);
+
+        // Assert: the shortened request taught the estimate nothing
+        assertEquals(1500, budget);
+    }
+
+    @Test
+    void adaptive_ShouldNotSampleRequestsThatNeverCheckTheDeadline() throws Exception {
+        // Arrange
+        AtomicLong nanos = new AtomicLong();
+        RequestDeadlineInterceptor adaptive = new RequestDeadlineInterceptor(
+                value -> value.replace("${app.deadlines.search-ms:2000}", "1500"), () -> meterRegistry,
+                true, 100, 4, 1, nanos::get);
+
+        // Act: fast requests answered without a deadline check
+        for (int i = 0; i < 10; i++) {
+            serve(adaptive, nanos, 1, false);
+        }
+        long budget = serve(adaptive, nanos, 0);
+
+        // Assert
+        assertEquals(1500, budget);
+    }
+
+    private long serve(RequestDeadlineInterceptor adaptive, AtomicLong nanos, long millis) throws Exception {
+        return serve(adaptive, nanos, millis, true);
+    }
+
+    // Run one request taking up to millis on the fake clock; returns the budget it got
+    private long serve(RequestDeadlineInterceptor adaptive, AtomicLong nanos, long millis, boolean check)
+            throws Exception {
+        HandlerMethod handler = handler("search");
+        adaptive.preHandle(request, response, handler);
+        Deadline deadline = (Deadline) request.getAttribute(Deadline.REQUEST_ATTRIBUTE);
+        long budget = deadline.remainingMillis();
+        nanos.addAndGet(Math.min(millis, budget) * 1_000_000L);
+        if (check) {
+            deadline.isExpired();
+        }
+        adaptive.afterCompletion(request, response, handler, null);
+        return budget;
+    }
+
+    private static HandlerMethod handler(String method) throws NoSuchMethodException {
+        return new HandlerMethod(new Endpoints(), Endpoints.class.getMethod(method));
+    }
+
+    /**
+     * Handler methods with and without a budget
+     */
+    public static class Endpoints {
+
+        @RequestDeadline("${app.deadlines.search-ms:2000}")
+        public void search() {
+        }
+
+        public void unbounded() {
+        }
+    }
+}
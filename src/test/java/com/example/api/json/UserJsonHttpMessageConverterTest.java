@@ -0,0 +1,184 @@
+package com.example.api.json;
+
+import com.example.api.exception.UserPayloadException;
+import com.example.api.model.User;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.mock.http.MockHttpInputMessage;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for UserJsonHttpMessageConverter and UserJsonParser
+ *
+ * @author Your Name
+ * @version 1.0.0
+ */
+class UserJsonHttpMessageConverterTest {
+
+    private final UserJsonHttpMessageConverter converter = new UserJsonHttpMessageConverter(1024);
+
+    @Test
+    void read_ShouldParseAllFieldsAndSkipUnknownOnes() throws IOException {
+        // Arrange
+        String json = "{ \"id\": 7, \"username\": \"j\\u00f6rg\", \"email\": \"jorg@example.com\","
+                + " \"extra\": {\"nested\": [1, 2.5e3, true, null, \"x\"]},"
+                + " \"firstName\": \"J\u00f6rg \\\"JJ\\\" \ud83d\ude00\", \"lastName\": \"M\u00fcller\","
+                + " \"active\": false }";
+
+        // Act
+        User user = read(json);
+
+        // Assert
+        assertEquals(7L, user.getId());
+        assertEquals("j\u00f6rg", user.getUsername());
+        assertEquals("jorg@example.com", user.getEmail());
+        assertEquals("J\u00f6rg \"JJ\" \ud83d\ude00", user.getFirstName());
+        assertEquals("M\u00fcller", user.getLastName());
+        assertFalse(user.isActive());
+    }
+
+    @Test
+    void read_WithMissingAndNullFields_ShouldLeaveDefaults() throws IOException {
+        // Act
+        User user = read("{\"id\":null,\"username\":null,\"email\":\"a@b.co\"}");
+
+        // Assert
+        assertNull(user.getId());
+        assertNull(user.getUsername());
+        assertNull(user.getFirstName());
+        assertTrue(user.isActive());
+    }
+
+    @Test
+    void read_WithOverLongField_ShouldFailOnThatField() {
+        // Arrange
+        StringBuilder name = new StringBuilder();
+        for (int i = 0; i < 51; i++) {
+            name.append('a');
+        }
+
+        // Act
+        UserPayloadException ex = assertThrows(UserPayloadException.class,
+                () -> read("{\"lastName\":\"" + name + "\"}"));
+
+        // Assert
+        assertEquals(HttpStatus.BAD_REQUEST, ex.getStatus());
+        assertEquals("lastName", ex.getField());
+        assertEquals("Last name must be between 2 and 50 characters", ex.getMessage());
+    }
+
+    @Test
+    void read_WithMalformedBodies_ShouldRejectThem() {
+        String[] bodies = {
+            "", "[]", "{\"username\":\"abc\"", "{\"username\":abc}", "{\"id\":1.5}",
+            "{\"id\":99999999999999999999}", "{\"active\":\"yes\"}", "{\"username\":\"a\tb\"}",
+            "{\"username\":\"\\x\"}", "{} {}", "{\"a\":1,}"
+        };
+        for (String body : bodies) {
+            UserPayloadException ex = assertThrows(UserPayloadException.class, () -> read(body), body);
+            assertEquals(HttpStatus.BAD_REQUEST, ex.getStatus(), body);
+            assertNull(ex.getField(), body);
+        }
+    }
+
+    @Test
+    void read_WithNumbersJacksonRejects_ShouldRejectThem() {
+        String[] bodies = {
+            "{\"id\":007}", "{\"id\":-01}", "{\"x\":-}", "{\"x\":1-2-3}", "{\"x\":01}",
+            "{\"x\":1.}", "{\"x\":.5}", "{\"x\":1e}", "{\"x\":1e+}", "{\"x\":+1}", "{\"x\":1.2.3}"
+        };
+        for (String body : bodies) {
+            UserPayloadException ex = assertThrows(UserPayloadException.class, () -> read(body), body);
+            assertEquals(HttpStatus.BAD_REQUEST, ex.getStatus(), body);
+        }
+    }
+
+    @Test
+    void read_WithValidNumbersInUnknownFields_ShouldSkipThem() throws IOException {
+        // Act
+        User user = read("{\"a\":0,\"b\":-0.5,\"c\":10E+3,\"d\":[1e-2,-7],\"id\":0}");
+
+        // Assert
+        assertEquals(0L, user.getId());
+    }
+
+    @Test
+    void read_WithInvalidUtf8_ShouldReject() {
+        // Arrange: an overlong encoding of '/'
+        byte[] body = {'{', '"', 'u', 's', 'e', 'r', 'n', 'a', 'm', 'e', '"', ':', '"', (byte) 0xC0, (byte) 0xAF, '"', '}'};
+
+        // Act & Assert
+        assertThrows(UserPayloadException.class, () -> converter.read(User.class, message(body)));
+    }
+
+    @Test
+    void read_WithDeclaredLengthOverLimit_ShouldFailBeforeReadingBody() {
+        // Arrange
+        MockHttpInputMessage message = new MockHttpInputMessage(new InputStream() {
+            @Override
+            public int read() {
+                throw new AssertionError("body should not be read");
+            }
+        });
+        message.getHeaders().setContentType(MediaType.APPLICATION_JSON);
+        message.getHeaders().setContentLength(4096);
+
+        // Act
+        UserPayloadException ex = assertThrows(UserPayloadException.class,
+                () -> converter.read(User.class, message));
+
+        // Assert
+        assertEquals(HttpStatus.PAYLOAD_TOO_LARGE, ex.getStatus());
+    }
+
+    @Test
+    void read_WithUndeclaredLengthOverLimit_ShouldStopAtLimit() {
+        // Arrange: an endless body of whitespace inside an unknown string
+        InputStream endless = new InputStream() {
+            private long served;
+
+            @Override
+            public int read() {
+                served++;
+                return served == 1 ? '{' : served == 2 ? '"' : 'x';
+            }
+        };
+        MockHttpInputMessage message = new MockHttpInputMessage(endless);
+        message.getHeaders().setContentType(MediaType.APPLICATION_JSON);
+
+        // Act
+        UserPayloadException ex = assertThrows(UserPayloadException.class,
+                () -> converter.read(User.class, message));
+
+        // Assert
+        assertEquals(HttpStatus.PAYLOAD_TOO_LARGE, ex.getStatus());
+    }
+
+    @Test
+    void converter_ShouldOnlyReadUsers() {
+        // Act & Assert
+        assertTrue(converter.canRead(User.class, MediaType.APPLICATION_JSON));
+        assertFalse(converter.canRead(String.class, MediaType.APPLICATION_JSON));
+        assertFalse(converter.canRead(User.class, MediaType.TEXT_PLAIN));
+        assertTrue(converter.canRead(User.class, MediaType.parseMediaType("application/merge-patch+json")));
+        assertFalse(converter.canWrite(User.class, MediaType.APPLICATION_JSON));
+        assertFalse(converter.canWrite(User.class, null));
+    }
+
+    private User read(String json) throws IOException {
+        return converter.read(User.class, message(json.getBytes(StandardCharsets.UTF_8)));
+    }
+
+    private static MockHttpInputMessage message(byte[] body) {
+        MockHttpInputMessage message = new MockHttpInputMessage(new ByteArrayInputStream(body));
+        message.getHeaders().setContentType(MediaType.APPLICATION_JSON);
+        return message;
+    }
+}
@@ -0,0 +1,113 @@
+package com.example.api.profiling;
+
+import com.example.api.model.User;
+import com.example.api.service.UserService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.boot.actuate.endpoint.web.WebEndpointResponse;
+
+import java.io.ByteArrayOutputStream;
+import java.io.PrintStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.Duration;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for JfrRecordingEndpoint and UserOperationReport
+ *
+ * Records real UserService calls, dumps them and reads the file back
+ *
+ * @author Your Name
+ * @version 1.0.0
+ */
+class JfrRecordingEndpointTest {
+
+    @TempDir
+    Path dumpDir;
+
+    private JfrRecordingEndpoint endpoint;
+
+    @BeforeEach
+    void setUp() {
+        endpoint = new JfrRecordingEndpoint(dumpDir.toString(), Duration.ofMinutes(1));
+    }
+
+    @AfterEach
+    void tearDown() {
+        endpoint.close();
+    }
+
+    @Test
+    void startAndStop_ShouldWriteRecordingWithUserOperations() throws Exception {
+        // Arrange
+        UserService userService = new UserService();
+        assertEquals(200, endpoint.control("start", null).getStatus());
+        assertEquals(true, endpoint.status().get("recording"));
+
+        // Act
+        userService.createUser(new User(null, "alice", "alice@example.com", "Alice", "Jones"));
+        userService.getUserById(4L);
+        userService.getUserById(99L);
+        userService.searchUsersByName("doe");
+        WebEndpointResponse<Map<String, Object>> stopped = endpoint.control("stop", null);
+
+        // Assert
+        assertEquals(200, stopped.getStatus());
+        assertEquals(false, stopped.getBody().get("recording"));
+        Path file = Paths.get((String) stopped.getBody().get("file"));
+        assertTrue(Files.size(file) > 0);
+
+        UserOperationReport report = UserOperationReport.read(file, 3);
+        assertEquals(2, report.getOperations().get("getUserById").getCount());
+        assertEquals(1, report.getOperations().get("createUser").getCount());
+        assertEquals(4, report.getOperations().get("searchUsersByName").getScanned());
+        assertEquals(3, report.getSlowest().size());
+        assertTrue(report.getSlowest().get(0).getDuration()
+                .compareTo(report.getSlowest().get(2).getDuration()) >= 0);
+
+        ByteArrayOutputStream text = new ByteArrayOutputStream();
+        report.print(new PrintStream(text, true, "UTF-8"));
+        assertTrue(text.toString("UTF-8").contains("searchUsersByName"));
+    }
+
+    @Test
+    void control_InWrongState_ShouldReturnConflict() {
+        // Act & Assert
+        assertEquals(409, endpoint.control("dump", null).getStatus());
+        assertEquals(409, endpoint.control("stop", null).getStatus());
+        assertEquals(200, endpoint.control("start", "profile").getStatus());
+        assertEquals(409, endpoint.control("start", null).getStatus());
+    }
+
+    @Test
+    void control_WithUnknownActionOrSettings_ShouldReturnBadRequest() {
+        // Act & Assert
+        assertEquals(400, endpoint.control("restart", null).getStatus());
+        assertEquals(400, endpoint.control("start", "no-such-settings").getStatus());
+        assertEquals(false, endpoint.status().get("recording"));
+    }
+
+    @Test
+    void stop_WhenDumpFails_ShouldDiscardTheRecording() throws Exception {
+        // Arrange
+        Path notADirectory = Files.createFile(dumpDir.resolve("file"));
+        JfrRecordingEndpoint failing = new JfrRecordingEndpoint(notADirectory.resolve("jfr").toString(),
+                Duration.ofMinutes(1));
+        assertEquals(200, failing.control("start", null).getStatus());
+
+        // Act
+        int stopStatus = failing.control("stop", null).getStatus();
+
+        // Assert
+        assertEquals(500, stopStatus);
+        assertEquals(false, failing.status().get("recording"));
+        assertEquals(200, failing.control("start", null).getStatus());
+        failing.close();
+    }
+}
@@ -0,0 +1,240 @@
+package com.example.api.repository;
+
+import com.example.api.model.User;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+import java.util.function.LongConsumer;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for CachingUserRepository
+ * 
+ * Uses a counting in-memory delegate and a manual clock
+ * 
+ * @author Your Name
+ * @version 1.0.0
+ */
+class CachingUserRepositoryTest {
+
+    private AtomicLong clock;
+    private CountingRepository delegate;
+    private CachingUserRepository cache;
+
+    @BeforeEach
+    void setUp() {
+        clock = new AtomicLong(1_000L);
+        delegate = new CountingRepository();
+        delegate.insert(new User(null, "johndoe", "john@example.com", "John", "Doe"));
+        delegate.insert(new User(null, "janedoe", "jane@example.com", "Jane", "Doe"));
+        cache = new CachingUserRepository(delegate, 2, 1_000, 100, clock::get);
+    }
+
+    @Test
+    void findById_ShouldLoadOnceThenHit() {
+        // Act
+        cache.findById(1L);
+        cache.findById(1L);
+        cache.findById(1L);
+
+        // Assert
+        assertEquals(1, delegate.lookups.get());
+        assertEquals(2, cache.getHitCount());
+        assertEquals(1, cache.getMissCount());
+        assertEquals(2.0 / 3, cache.getHitRate(), 1e-9);
+    }
+
+    @Test
+    void findById_AfterTtl_ShouldReload() {
+        // Arrange
+        cache.findById(1L);
+
+        // Act
+        clock.addAndGet(1_001);
+        cache.findById(1L);
+
+        // Assert
+        assertEquals(2, delegate.lookups.get());
+    }
+
+    @Test
+    void findById_MissingId_ShouldBeNegativelyCached() {
+        // Act
+        assertFalse(cache.findById(99L).isPresent());
+        assertFalse(cache.findById(99L).isPresent());
+        clock.addAndGet(101);
+        assertFalse(cache.findById(99L).isPresent());
+
+        // Assert
+        assertEquals(2, delegate.lookups.get());
+        assertEquals(1, cache.getNegativeHitCount());
+    }
+
+    @Test
+    void insert_ShouldReplaceNegativeEntry() {
+        // Arrange
+        assertFalse(cache.findById(3L).isPresent());
+
+        // Act
+        cache.insert(new User(null, "bobsmith", "bob@example.com", "Bob", "Smith"));
+
+        // Assert
+        assertEquals("bobsmith", cache.findById(3L).get().getUsername());
+        assertEquals(1, delegate.lookups.get());
+    }
+
+    @Test
+    void update_ShouldWriteThrough() {
+        // Arrange
+        User user = new User(1L, "johnny", "john@example.com", "John", "Doe");
+
+        // Act
+        cache.update(user);
+
+        // Assert
+        assertEquals("johnny", delegate.findById(1L).get().getUsername());
+        assertEquals("johnny", cache.findById(1L).get().getUsername());
+    }
+
+    @Test
+    void findById_BeyondMaxSize_ShouldEvictLeastRecentlyUsed() {
+        // Act
+        cache.findById(1L);
+        cache.findById(2L);
+        cache.findById(1L);
+        cache.findById(3L);
+        cache.findById(1L);
+        cache.findById(2L);
+
+        // Assert
+        assertEquals(2, cache.size());
+        assertEquals(2, cache.getEvictionCount());
+        assertEquals(4, delegate.lookups.get());
+    }
+
+    @Test
+    void findById_ConcurrentMisses_ShouldLoadOnce() throws Exception {
+        // Arrange
+        delegate.gate = new CountDownLatch(1);
+        ExecutorService pool = Executors.newFixedThreadPool(8);
+        List<CompletableFuture<Optional<User>>> results = new ArrayList<>();
+
+        // Act
+        for (int i = 0; i < 8; i++) {
+            results.add(CompletableFuture.supplyAsync(() -> cache.findById(1L), pool));
+        }
+        Thread.sleep(100);
+        delegate.gate.countDown();
+
+        // Assert
+        for (CompletableFuture<Optional<User>> result : results) {
+            assertEquals("johndoe", result.get(5, TimeUnit.SECONDS).get().getUsername());
+        }
+        pool.shutdown();
+        assertEquals(1, delegate.lookups.get());
+    }
+
+    @Test
+    void findById_WithConcurrentWritesToOtherIds_ShouldStillCache() throws Exception {
+        // Arrange
+        delegate.gate = new CountDownLatch(1);
+        ExecutorService pool = Executors.newSingleThreadExecutor();
+        CompletableFuture<Optional<User>> load = CompletableFuture.supplyAsync(() -> cache.findById(1L), pool);
+        Thread.sleep(100);
+
+        // Act
+        cache.update(new User(2L, "janedoe", "jane.doe@example.com", "Jane", "Doe"));
+        cache.deleteById(3L);
+        delegate.gate.countDown();
+        load.get(5, TimeUnit.SECONDS);
+        cache.findById(1L);
+        pool.shutdown();
+
+        // Assert
+        assertEquals(1, delegate.lookups.get());
+        assertEquals(1, cache.getHitCount());
+    }
+
+    @Test
+    void findById_WithConcurrentWriteToSameId_ShouldKeepTheWrittenUser() throws Exception {
+        // Arrange
+        delegate.gate = new CountDownLatch(1);
+        delegate.staleRead = true;
+        ExecutorService pool = Executors.newSingleThreadExecutor();
+        CompletableFuture<Optional<User>> load = CompletableFuture.supplyAsync(() -> cache.findById(1L), pool);
+        Thread.sleep(100);
+
+        // Act
+        cache.update(new User(1L, "johnny", "john@example.com", "John", "Doe"));
+        delegate.gate.countDown();
+        load.get(5, TimeUnit.SECONDS);
+        pool.shutdown();
+
+        // Assert
+        assertEquals("johnny", cache.findById(1L).get().getUsername());
+        assertEquals(1, delegate.lookups.get());
+    }
+
+    /**
+     * In-memory repository that counts lookups and can hold them at a gate
+     */
+    private static class CountingRepository extends InMemoryUserRepository {
+
+        final AtomicInteger lookups = new AtomicInteger();
+        final AtomicInteger batchLookups = new AtomicInteger();
+        volatile CountDownLatch gate;
+        volatile boolean staleRead;
+
+        @Override
+        public void findAllById(long[] ids, Consumer<User> onFound, LongConsumer onMissing) {
+            batchLookups.incrementAndGet();
+            super.findAllById(ids, onFound, onMissing);
+        }
+
+        @Override
+        public Optional<User> findById(Long id) {
+            lookups.incrementAndGet();
+            // Read before waiting at the gate, as a slow query would
+            Optional<User> before = staleRead ? super.findById(id).map(User::new) : null;
+            if (gate != null) {
+                try {
+                    gate.await(5, TimeUnit.SECONDS);
+                } catch (InterruptedException ex) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+            return before != null ? before : super.findById(id);
+        }
+    }
+
+    @Test
+    void findAllById_ShouldServeHitsAndLoadMissesInOneCall() {
+        // Arrange
+        cache.findById(1L);
+        List<User> found = new ArrayList<>();
+        List<Long> missing = new ArrayList<>();
+
+        // Act
+        cache.findAllById(new long[] {1L, 2L, 7L}, found::add, missing::add);
+        cache.findAllById(new long[] {2L, 7L}, found::add, missing::add);
+
+        // Assert
+        assertEquals(3, found.size());
+        assertEquals(2, missing.size());
+        assertEquals(1, delegate.lookups.get());
+        assertEquals(1, delegate.batchLookups.get());
+        assertEquals(1, cache.getNegativeHitCount());
+    }
+}
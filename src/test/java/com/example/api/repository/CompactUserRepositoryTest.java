@@ -0,0 +1,203 @@
+package com.example.api.repository;
+
+import com.example.api.model.User;
+import com.example.api.service.UserService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for CompactUserRepository
+ *
+ * @author Your Name
+ * @version 1.0.0
+ */
+class CompactUserRepositoryTest {
+
+    private CompactUserRepository repository;
+
+    @BeforeEach
+    void setUp() {
+        repository = new CompactUserRepository();
+    }
+
+    @Test
+    void insertAndFind_ShouldRoundTripAllFields() {
+        // Arrange
+        User user = new User(null, "johndoe", "john@example.com", "John", "Doe");
+        user.setActive(false);
+
+        // Act
+        User inserted = repository.insert(user);
+        Optional<User> found = repository.findById(inserted.getId());
+
+        // Assert
+        assertEquals(1L, inserted.getId());
+        assertTrue(found.isPresent());
+        assertEquals("johndoe", found.get().getUsername());
+        assertEquals("john@example.com", found.get().getEmail());
+        assertEquals("John", found.get().getFirstName());
+        assertEquals("Doe", found.get().getLastName());
+        assertFalse(found.get().isActive());
+    }
+
+    @Test
+    void insert_NonLatin1AndOddValues_ShouldRoundTrip() {
+        // Arrange
+        String longLocalPart = new String(new char[300]).replace('\0', 'x');
+        User unicode = new User(null, "zoë_日本", "用户@例子.测试", "Zoë", "Łukasz");
+        User noAt = new User(null, "plain", "not-an-email", null, null);
+        User longEmail = new User(null, "long", longLocalPart + "@a@example.com", "Long", "Name");
+
+        // Act
+        repository.insert(unicode);
+        repository.insert(noAt);
+        repository.insert(longEmail);
+
+        // Assert
+        User foundUnicode = repository.findById(1L).get();
+        assertEquals("zoë_日本", foundUnicode.getUsername());
+        assertEquals("用户@例子.测试", foundUnicode.getEmail());
+        assertEquals("Łukasz", foundUnicode.getLastName());
+        User foundNoAt = repository.findById(2L).get();
+        assertEquals("not-an-email", foundNoAt.getEmail());
+        assertNull(foundNoAt.getFirstName());
+        assertNull(foundNoAt.getLastName());
+        assertEquals(longLocalPart + "@a@example.com", repository.findById(3L).get().getEmail());
+    }
+
+    @Test
+    void insert_ShouldShareLastNamesAndDomains() {
+        // Act
+        for (int i = 0; i < 1000; i++) {
+            repository.insert(new User(null, "user" + i, "user" + i + "@example" + (i % 3) + ".com",
+                    "First" + i, i % 2 == 0 ? "Doe" : "Smith"));
+        }
+
+        // Assert
+        assertEquals(1000, repository.count());
+        assertEquals(2, repository.getDistinctLastNames());
+        assertEquals(3, repository.getDistinctEmailDomains());
+        assertEquals("user999@example0.com", repository.findById(1000L).get().getEmail());
+    }
+
+    @Test
+    void updateAndDelete_ShouldPersistChanges() {
+        // Arrange
+        User user = repository.insert(new User(null, "johndoe", "john@example.com", "John", "Doe"));
+        user.setEmail("john.new@example.org");
+        user.setActive(false);
+
+        // Act
+        repository.update(user);
+
+        // Assert
+        User found = repository.findById(user.getId()).get();
+        assertEquals("john.new@example.org", found.getEmail());
+        assertFalse(found.isActive());
+        assertTrue(repository.deleteById(user.getId()).isPresent());
+        assertFalse(repository.deleteById(user.getId()).isPresent());
+        assertFalse(repository.findById(user.getId()).isPresent());
+        assertEquals(0, repository.count());
+    }
+
+    @Test
+    void findAllAndFindAllById_ShouldSkipDeletedSlots() {
+        // Arrange
+        for (int i = 0; i < 5; i++) {
+            repository.insert(new User(null, "user" + i, "user" + i + "@example.com", "First", "Last"));
+        }
+        repository.deleteById(2L);
+        List<Long> found = new ArrayList<>();
+        List<Long> missing = new ArrayList<>();
+
+        // Act
+        repository.findAllById(new long[] {1L, 2L, 5L, 6L, -1L}, u -> found.add(u.getId()), missing::add);
+
+        // Assert
+        assertEquals(4, repository.findAll().size());
+        assertEquals(1L, repository.findAll().get(0).getId());
+        assertEquals(6L, repository.insert(new User(null, "next", "n@example.com", "Ne", "Xt")).getId());
+        assertEquals(2, found.size());
+        assertEquals(3, missing.size());
+    }
+
+    @Test
+    void userService_OnCompactStore_ShouldSeedSampleUsers() {
+        // Act
+        UserService service = new UserService(repository);
+
+        // Assert
+        assertEquals(3, service.getUserCount());
+        assertEquals("john.doe@example.com", service.getUserById(1L).get().getEmail());
+    }
+
+    @Test
+    void restore_ShouldKeepIdAndGrowPastUnusedSlots() {
+        // Arrange
+        User user = new User(5000L, "cold", "cold@example.com", "Cold", "User");
+        user.setActive(false);
+
+        // Act
+        repository.restore(user);
+
+        // Assert
+        assertEquals(1, repository.count());
+        assertFalse(repository.findById(5000L).get().isActive());
+        assertFalse(repository.findById(4999L).isPresent());
+        assertEquals(5001L, repository.insert(new User(null, "next", "n@example.com", "Ne", "Xt")).getId());
+    }
+
+    @Test
+    void updateAndDelete_UnderChurn_ShouldKeepFootprintBounded() {
+        // Arrange
+        long[] previousRound = new long[0];
+
+        // Act
+        for (int round = 0; round < 40; round++) {
+            long[] ids = new long[1000];
+            for (int i = 0; i < ids.length; i++) {
+                ids[i] = repository.insert(new User(null, "user" + round + "_" + i,
+                        "user" + i + "@round" + round + ".example.com", "First" + i, "Last" + round)).getId();
+            }
+            for (long id : ids) {
+                repository.update(new User(id, "renamed" + round + "_" + id,
+                        "renamed" + id + "@round" + round + ".example.com", "Renamed" + id, "Last" + round));
+            }
+            for (long id : previousRound) {
+                repository.deleteById(id);
+            }
+            previousRound = ids;
+        }
+
+        // Assert
+        assertEquals(1000, repository.count());
+        assertTrue(repository.allocatedBytes() <= 2 * 1024 * 1024, "allocated " + repository.allocatedBytes());
+        assertTrue(repository.getDistinctLastNames() <= 2);
+        assertTrue(repository.getDistinctEmailDomains() <= 2);
+        User last = repository.findById(previousRound[999]).get();
+        assertEquals("renamed39_" + previousRound[999], last.getUsername());
+        assertEquals("renamed" + previousRound[999] + "@round39.example.com", last.getEmail());
+        assertEquals("Last39", last.getLastName());
+    }
+
+    @Test
+    void restore_WithSparseIds_ShouldOnlyAllocateUsedPages() {
+        // Arrange
+        User user = new User(1_000_000L, "cold", "cold@example.com", "Cold", "User");
+
+        // Act
+        repository.restore(user);
+
+        // Assert
+        assertTrue(repository.allocatedBytes() < 2 * 1024 * 1024, "allocated " + repository.allocatedBytes());
+        assertEquals(1, repository.findAll().size());
+        assertEquals(1, repository.findPage(0, 10).size());
+        assertTrue(repository.findPage(1_000_000L, 10).isEmpty());
+    }
+}
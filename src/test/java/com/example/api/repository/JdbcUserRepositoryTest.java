@@ -0,0 +1,191 @@
+package com.example.api.repository;
+
+import com.example.api.model.User;
+import com.example.api.service.UserService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabase;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseBuilder;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseType;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for JdbcUserRepository
+ * 
+ * Runs against an embedded H2 database
+ * 
+ * @author Your Name
+ * @version 1.0.0
+ */
+class JdbcUserRepositoryTest {
+
+    private EmbeddedDatabase database;
+    private JdbcUserRepository repository;
+
+    @BeforeEach
+    void setUp() {
+        database = new EmbeddedDatabaseBuilder()
+                .setType(EmbeddedDatabaseType.H2)
+                .generateUniqueName(true)
+                .build();
+        repository = new JdbcUserRepository(new JdbcTemplate(database));
+    }
+
+    @AfterEach
+    void tearDown() {
+        database.shutdown();
+    }
+
+    @Test
+    void insert_ShouldRunCallbackBeforeCommitAndRollBackIfItThrows() {
+        // Arrange
+        JdbcUserRepository otherConnection = new JdbcUserRepository(new JdbcTemplate(database));
+        List<Optional<User>> seenByCallback = new ArrayList<>();
+
+        // Act
+        User inserted = repository.insert(new User(null, "ann", "ann@example.com", "Ann", "Lee"),
+                id -> seenByCallback.add(otherConnection.findById(id)));
+        assertThrows(IllegalStateException.class, () -> repository.insert(
+                new User(null, "bob", "bob@example.com", "Bob", "Lee"), id -> {
+                    throw new IllegalStateException("refused");
+                }));
+
+        // Assert
+        assertFalse(seenByCallback.get(0).isPresent());
+        assertTrue(repository.findById(inserted.getId()).isPresent());
+        assertEquals(1, repository.count());
+    }
+
+    @Test
+    void drop_ShouldDeleteTheTable() {
+        // Arrange
+        JdbcTemplate jdbcTemplate = new JdbcTemplate(database);
+        JdbcUserRepository scratch = new JdbcUserRepository(jdbcTemplate, "users_t_scratch");
+        scratch.insert(new User(null, "ann", "ann@example.com", "Ann", "Lee"));
+
+        // Act
+        scratch.drop();
+
+        // Assert
+        assertEquals(0, jdbcTemplate.queryForObject("SELECT COUNT(*) FROM INFORMATION_SCHEMA.TABLES "
+                + "WHERE TABLE_NAME = 'USERS_T_SCRATCH'", Integer.class));
+        assertEquals(0, repository.count());
+    }
+
+    @Test
+    void insertAndFind_ShouldRoundTripAllFields() {
+        // Arrange
+        User user = new User(null, "johndoe", "john@example.com", "John", "Doe");
+        user.setActive(false);
+
+        // Act
+        User inserted = repository.insert(user);
+        Optional<User> found = repository.findById(inserted.getId());
+
+        // Assert
+        assertNotNull(inserted.getId());
+        assertTrue(found.isPresent());
+        assertEquals("johndoe", found.get().getUsername());
+        assertEquals("john@example.com", found.get().getEmail());
+        assertEquals("Doe", found.get().getLastName());
+        assertFalse(found.get().isActive());
+    }
+
+    @Test
+    void updateAndDelete_ShouldPersistChanges() {
+        // Arrange
+        User user = repository.insert(new User(null, "johndoe", "john@example.com", "John", "Doe"));
+        user.setEmail("john.new@example.com");
+
+        // Act
+        repository.update(user);
+
+        // Assert
+        assertEquals("john.new@example.com", repository.findById(user.getId()).get().getEmail());
+        assertTrue(repository.deleteById(user.getId()).isPresent());
+        assertFalse(repository.deleteById(user.getId()).isPresent());
+        assertEquals(0, repository.count());
+    }
+
+    @Test
+    void userService_OnExistingDatabase_ShouldNotReseed() {
+        // Arrange
+        new UserService(repository);
+
+        // Act
+        UserService reopened = new UserService(new JdbcUserRepository(new JdbcTemplate(database)));
+        List<User> users = reopened.getAllUsers();
+
+        // Assert
+        assertEquals(3, users.size());
+        assertEquals("johndoe", users.get(0).getUsername());
+        assertEquals(3L, reopened.getEmailDomainCounts(1).get("example.com"));
+    }
+
+    @Test
+    void findAllById_AcrossChunks_ShouldResolveEveryId() {
+        // Arrange
+        long[] ids = new long[1200];
+        for (int i = 0; i < 600; i++) {
+            ids[i] = repository.insert(new User(null, "user" + i, "u" + i + "@example.com", "First", "Last")).getId();
+        }
+        for (int i = 600; i < ids.length; i++) {
+            ids[i] = 100_000 + i;
+        }
+        List<User> found = new ArrayList<>();
+        List<Long> missing = new ArrayList<>();
+
+        // Act
+        repository.findAllById(ids, found::add, missing::add);
+
+        // Assert
+        assertEquals(600, found.size());
+        assertEquals(600, missing.size());
+    }
+
+    @Test
+    void restore_IntoNamedTable_ShouldKeepId() {
+        // Arrange
+        JdbcUserRepository coldRepository = new JdbcUserRepository(new JdbcTemplate(database), "users_cold");
+        User user = repository.insert(new User(null, "johndoe", "john@example.com", "John", "Doe"));
+        user.setActive(false);
+
+        // Act
+        repository.deleteById(user.getId());
+        coldRepository.restore(user);
+
+        // Assert
+        assertEquals(0, repository.count());
+        assertEquals(user.getId(), coldRepository.findById(user.getId()).get().getId());
+        assertFalse(coldRepository.findById(user.getId()).get().isActive());
+        assertNotEquals(user.getId(), repository.insert(new User(null, "next", "n@example.com", "Ne", "Xt")).getId());
+    }
+
+    @Test
+    void restoreAll_ShouldMoveIdentityPastRestoredIds() {
+        // Arrange: the identity column would hand out 1 next
+        User first = new User(1L, "first", "first@example.com", "Fir", "St");
+        User second = new User(2L, "second", "second@example.com", "Sec", "Ond");
+
+        // Act
+        repository.restoreAll(Arrays.asList(first, second));
+        repository.reserveIds(2L);
+        User inserted = repository.insert(new User(null, "next", "next@example.com", "Ne", "Xt"));
+
+        // Assert
+        assertEquals(3L, inserted.getId());
+        assertEquals(3, repository.count());
+        List<User> page = repository.findPage(1L, 10);
+        assertEquals(2, page.size());
+        assertEquals(2L, page.get(0).getId());
+        assertEquals(3L, page.get(1).getId());
+    }
+}
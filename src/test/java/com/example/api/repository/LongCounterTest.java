@@ -0,0 +1,77 @@
+package com.example.api.repository;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for LongCounter
+ *
+ * Tests run against target/classes, so they cover the Java 8
+ * implementation; the multi-release overlay keeps the same contract.
+ *
+ * @author Your Name
+ * @version 1.0.0
+ */
+class LongCounterTest {
+
+    @Test
+    void updates_ShouldReturnValuesLikeAtomicLong() {
+        // Arrange
+        LongCounter counter = new LongCounter(5);
+
+        // Act & Assert
+        assertEquals(5, counter.getAndIncrement());
+        assertEquals(7, counter.incrementAndGet());
+        assertEquals(6, counter.decrementAndGet());
+        assertEquals(10, counter.addAndGet(4));
+        assertEquals(10, counter.get());
+        assertEquals("10", counter.toString());
+    }
+
+    @Test
+    void advanceTo_ShouldOnlyEverRaiseTheValue() {
+        // Arrange
+        LongCounter counter = new LongCounter(10);
+
+        // Act & Assert
+        assertEquals(10, counter.advanceTo(3));
+        assertEquals(42, counter.advanceTo(42));
+        assertEquals(42, counter.get());
+    }
+
+    @Test
+    void concurrentIncrements_ShouldNotLoseUpdates() throws Exception {
+        // Arrange
+        LongCounter counter = new LongCounter();
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        CountDownLatch start = new CountDownLatch(1);
+
+        // Act
+        for (int t = 0; t < 4; t++) {
+            executor.execute(() -> {
+                try {
+                    start.await();
+                } catch (InterruptedException ex) {
+                    Thread.currentThread().interrupt();
+                    return;
+                }
+                for (int i = 0; i < 10_000; i++) {
+                    counter.incrementAndGet();
+                    counter.advanceTo(i);
+                }
+            });
+        }
+        start.countDown();
+        executor.shutdown();
+
+        // Assert
+        assertTrue(executor.awaitTermination(30, TimeUnit.SECONDS));
+        assertEquals(40_000, counter.get());
+    }
+}
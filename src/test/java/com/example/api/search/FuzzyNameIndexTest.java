@@ -0,0 +1,115 @@
+package com.example.api.search;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for FuzzyNameIndex
+ *
+ * @author Your Name
+ * @version 1.0.0
+ */
+class FuzzyNameIndexTest {
+
+    @Test
+    void editDistance_ShouldCountInsertionsDeletionsAndSubstitutions() {
+        // Act & Assert
+        assertEquals(0, FuzzyNameIndex.editDistance("smith", "smith"));
+        assertEquals(1, FuzzyNameIndex.editDistance("smith", "smyth"));
+        assertEquals(1, FuzzyNameIndex.editDistance("jon", "john"));
+        assertEquals(2, FuzzyNameIndex.editDistance("jonh", "john"));
+        assertEquals(3, FuzzyNameIndex.editDistance("kitten", "sitting"));
+        assertEquals(4, FuzzyNameIndex.editDistance("", "anne"));
+    }
+
+    @Test
+    void search_ShouldRankByDistanceThenIdAndReportEachUserOnce() {
+        // Arrange
+        FuzzyNameIndex index = new FuzzyNameIndex();
+        index.add(5L, "John", "Smith");
+        index.add(2L, "Jon", "Smyth");
+        index.add(9L, "Jane", "Doe");
+        index.add(7L, "Joan", "Smith");
+
+        // Act
+        long[] smith = index.search("SMITH", 1, 10);
+        long[] jon = index.search("jon", 1, 10);
+        long[] limited = index.search("smith", 1, 2);
+
+        // Assert
+        assertArrayEquals(new long[] {5L, 7L, 2L}, smith);
+        assertArrayEquals(new long[] {2L, 5L, 7L}, jon);
+        assertArrayEquals(new long[] {5L, 7L}, limited);
+    }
+
+    @Test
+    void search_WithInvalidTerm_ShouldThrow() {
+        // Arrange
+        FuzzyNameIndex index = new FuzzyNameIndex();
+        char[] tooLong = new char[FuzzyNameIndex.MAX_TERM_LENGTH + 1];
+        Arrays.fill(tooLong, 'a');
+
+        // Act & Assert
+        assertThrows(IllegalArgumentException.class, () -> index.search("  ", 1, 10));
+        assertThrows(IllegalArgumentException.class, () -> index.search(new String(tooLong), 1, 10));
+        assertEquals(0, index.search("anne", 2, 10).length);
+    }
+
+    @Test
+    void remove_ShouldDropUsersAndRebuildOnceMostNamesAreEmpty() {
+        // Arrange
+        FuzzyNameIndex index = new FuzzyNameIndex();
+        for (long id = 0; id < 3000; id++) {
+            index.add(id, "name" + id, "Lee");
+        }
+
+        // Act
+        for (long id = 0; id < 2000; id++) {
+            index.remove(id, "name" + id, "Lee");
+        }
+
+        // Assert
+        assertTrue(index.size() < 3000);
+        assertEquals(0, index.search("name1", 0, 10).length);
+        assertArrayEquals(new long[] {2001L}, index.search("name2001", 0, 10));
+        assertEquals(1000, index.search("lee", 0, 5000).length);
+    }
+
+    @Test
+    void search_ShouldMatchABruteForceScan() {
+        // Arrange
+        Random random = new Random(42);
+        String[] names = new String[2000];
+        FuzzyNameIndex index = new FuzzyNameIndex();
+        for (int id = 0; id < names.length; id++) {
+            char[] name = new char[3 + random.nextInt(6)];
+            for (int i = 0; i < name.length; i++) {
+                name[i] = (char) ('a' + random.nextInt(6));
+            }
+            names[id] = new String(name);
+            index.add(id, names[id], null);
+        }
+
+        for (int query = 0; query < 50; query++) {
+            // Act
+            String term = names[random.nextInt(names.length)].substring(1);
+            long[] found = index.search(term, 2, names.length);
+
+            // Assert
+            long expected = 0;
+            for (String name : names) {
+                if (FuzzyNameIndex.editDistance(term, name) <= 2) {
+                    expected++;
+                }
+            }
+            assertEquals(expected, found.length, term);
+            for (long id : found) {
+                assertTrue(FuzzyNameIndex.editDistance(term, names[(int) id]) <= 2);
+            }
+        }
+    }
+}
@@ -0,0 +1,184 @@
+package com.example.api.service;
+
+import com.example.api.model.User;
+import com.example.api.repository.ColdUserSegment;
+import com.example.api.repository.InMemoryUserRepository;
+import com.example.api.tenant.Tenant;
+import com.example.api.tenant.TenantRegistry;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for ColdSegmentCompactor
+ *
+ * @author Your Name
+ * @version 1.0.0
+ */
+class ColdSegmentCompactorTest {
+
+    @TempDir
+    Path tempDir;
+
+    private AtomicLong clock;
+    private UserService userService;
+    private TenantRegistry registry;
+
+    @BeforeEach
+    void setUp() {
+        clock = new AtomicLong(0L);
+        userService = newService();
+        registry = new TenantRegistry(userService, InlineUserWriter::new, tenantId -> newService(), 10, 1000, 1);
+        deactivateUsers(userService, 7);
+    }
+
+    @Test
+    void compactOnce_Archive_ShouldWriteExpiredUsersInBatches() throws Exception {
+        // Arrange
+        Path archive = tempDir.resolve("archive/users.jsonl");
+        ColdSegmentCompactor compactor = new ColdSegmentCompactor(registry, new ObjectMapper(),
+                Duration.ofMillis(1_000), "archive", archive, 3, 0, clock::get);
+
+        // Act
+        int beforeRetention = compactor.compactOnce();
+        clock.set(1_001L);
+        int afterRetention = compactor.compactOnce();
+
+        // Assert
+        assertEquals(0, beforeRetention);
+        assertEquals(7, afterRetention);
+        assertEquals(0, userService.getColdUserCount());
+        assertEquals(3, userService.getActiveUserCount());
+        List<String> lines = Files.readAllLines(archive, StandardCharsets.UTF_8);
+        assertEquals(7, lines.size());
+        assertTrue(lines.get(0).contains("\"username\":\"user0\""));
+    }
+
+    @Test
+    void compactOnce_Purge_ShouldNotWriteArchive() {
+        // Arrange
+        Path archive = tempDir.resolve("users.jsonl");
+        ColdSegmentCompactor compactor = new ColdSegmentCompactor(registry, new ObjectMapper(),
+                Duration.ZERO, "purge", archive, 100, 0, clock::get);
+        clock.set(1L);
+
+        // Act
+        int removed = compactor.compactOnce();
+
+        // Assert
+        assertEquals(7, removed);
+        assertFalse(Files.exists(archive));
+    }
+
+    @Test
+    void constructor_WithUnknownExpiredAction_ShouldFail() {
+        // Act & Assert
+        assertThrows(IllegalArgumentException.class, () -> new ColdSegmentCompactor(registry, new ObjectMapper(),
+                Duration.ZERO, "delete", tempDir.resolve("x"), 1, 0, clock::get));
+    }
+
+    @Test
+    void compactOnce_ShouldCompactEveryTenantIntoItsOwnArchive() throws Exception {
+        // Arrange
+        Tenant acme = registry.get("acme");
+        deactivateUsers(acme.getService(), 2);
+        Path archive = tempDir.resolve("users.jsonl");
+        ColdSegmentCompactor compactor = new ColdSegmentCompactor(registry, new ObjectMapper(),
+                Duration.ZERO, "archive", archive, 100, 0, clock::get);
+        clock.set(1L);
+
+        // Act
+        int removed = compactor.compactOnce();
+
+        // Assert
+        assertEquals(9, removed);
+        assertEquals(0, acme.getService().getColdUserCount());
+        assertEquals(7, Files.readAllLines(archive, StandardCharsets.UTF_8).size());
+        assertEquals(2, Files.readAllLines(tempDir.resolve("users-t_acme.jsonl"), StandardCharsets.UTF_8).size());
+    }
+
+    @Test
+    void compactOnce_WithSingleWriter_ShouldNotRaceConcurrentWrites() throws Exception {
+        // Arrange: 2000 deactivated users; each is deleted or renamed while the compactor runs
+        UserService service = newService();
+        TenantRegistry singleWriter = new TenantRegistry(service,
+                s -> new SingleWriterUserWriter(s, 16, 100_000), tenantId -> newService(), 10, 100_000, 1);
+        List<Long> ids = new ArrayList<>();
+        for (int i = 0; i < 2000; i++) {
+            User user = service.createUser(new User(null, "cold" + i, "cold" + i + "@example.com", "User", "Cold"));
+            service.deactivateUser(user.getId());
+            ids.add(user.getId());
+        }
+        ColdSegmentCompactor compactor = new ColdSegmentCompactor(singleWriter, new ObjectMapper(),
+                Duration.ZERO, "purge", tempDir.resolve("users.jsonl"), 5, 0, clock::get);
+        clock.set(1L);
+        UserWriter writer = singleWriter.get(TenantRegistry.DEFAULT_TENANT).getWriter();
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+
+        try {
+            // Act
+            Future<Integer> expired = executor.submit(compactor::compactOnce);
+            List<CompletableFuture<Boolean>> deletes = new ArrayList<>();
+            List<CompletableFuture<Optional<User>>> renames = new ArrayList<>();
+            for (Long id : ids) {
+                if (id % 2 == 0) {
+                    deletes.add(writer.deleteUser(id));
+                } else {
+                    User renamed = new User(id, "cold" + id, "cold" + id + "@example.com", "User", "Frost");
+                    renamed.setActive(false);
+                    renames.add(writer.updateUser(id, renamed));
+                }
+            }
+
+            // Assert: every user was removed exactly once or is still there, renamed
+            int deleted = 0;
+            for (CompletableFuture<Boolean> delete : deletes) {
+                deleted += delete.get() ? 1 : 0;
+            }
+            for (CompletableFuture<Optional<User>> rename : renames) {
+                rename.get();
+            }
+            int expiredCount = expired.get();
+            long remaining = service.getColdUserCount();
+            assertEquals(ids.size(), expiredCount + deleted + remaining);
+            assertEquals(0L, service.getTopLastNames(10).getOrDefault("Cold", 0L).longValue());
+            assertEquals(remaining, service.getTopLastNames(10).getOrDefault("Frost", 0L).longValue());
+            List<User> frost = service.searchUsersByNameFuzzy("Frost", 0, 10_000);
+            assertEquals(remaining, frost.size());
+            for (User user : frost) {
+                assertTrue(service.getUserById(user.getId()).isPresent(), "user " + user.getId());
+            }
+        } finally {
+            executor.shutdownNow();
+            singleWriter.destroy();
+        }
+    }
+
+    private UserService newService() {
+        return new UserService(new InMemoryUserRepository(),
+                new ColdUserSegment(new InMemoryUserRepository(), clock::get));
+    }
+
+    private static void deactivateUsers(UserService service, int count) {
+        for (int i = 0; i < count; i++) {
+            User user = service.createUser(new User(null, "user" + i, "user" + i + "@example.com", "User", "Cold"));
+            service.deactivateUser(user.getId());
+        }
+    }
+}
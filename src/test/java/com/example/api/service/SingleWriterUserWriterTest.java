@@ -0,0 +1,174 @@
+package com.example.api.service;
+
+import com.example.api.model.User;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for SingleWriterUserWriter
+ * 
+ * Tests batching, update coalescing and concurrent submission
+ * 
+ * @author Your Name
+ * @version 1.0.0
+ */
+class SingleWriterUserWriterTest {
+
+    private static final long GATE_ID = -1L;
+    private static final long ERROR_ID = -2L;
+
+    private CountDownLatch gateEntered;
+    private CountDownLatch gateReleased;
+    private UserService userService;
+    private SingleWriterUserWriter writer;
+
+    @BeforeEach
+    void setUp() {
+        gateEntered = new CountDownLatch(1);
+        gateReleased = new CountDownLatch(1);
+        // Deleting GATE_ID parks the writer thread so the test controls batch contents;
+        // deleting ERROR_ID throws an Error
+        userService = new UserService() {
+            @Override
+            public boolean deleteUser(Long id) {
+                if (id == GATE_ID) {
+                    gateEntered.countDown();
+                    try {
+                        gateReleased.await(5, TimeUnit.SECONDS);
+                    } catch (InterruptedException ex) {
+                        Thread.currentThread().interrupt();
+                    }
+                    return false;
+                }
+                if (id == ERROR_ID) {
+                    throw new StackOverflowError();
+                }
+                return super.deleteUser(id);
+            }
+        };
+        writer = new SingleWriterUserWriter(userService, 256, 10_000);
+    }
+
+    @AfterEach
+    void tearDown() throws InterruptedException {
+        gateReleased.countDown();
+        writer.destroy();
+    }
+
+    @Test
+    void createUser_ShouldCompleteWithAssignedId() throws Exception {
+        // Act
+        User created = writer.createUser(new User(null, "alice", "alice@example.com", "Alice", "Wonder"))
+                .get(5, TimeUnit.SECONDS);
+
+        // Assert
+        assertEquals(4L, created.getId());
+        assertEquals(4, userService.getUserCount());
+    }
+
+    @Test
+    void updateUser_SameIdInOneBatch_ShouldCoalesceToLastPayload() throws Exception {
+        // Arrange
+        writer.deleteUser(GATE_ID);
+        assertTrue(gateEntered.await(5, TimeUnit.SECONDS));
+
+        // Act
+        List<CompletableFuture<Optional<User>>> futures = new ArrayList<>();
+        for (int i = 1; i <= 3; i++) {
+            futures.add(writer.updateUser(1L, new User(null, "johndoe" + i, "john@example.com", "John", "Doe")));
+        }
+        gateReleased.countDown();
+
+        // Assert
+        for (CompletableFuture<Optional<User>> future : futures) {
+            assertEquals("johndoe3", future.get(5, TimeUnit.SECONDS).get().getUsername());
+        }
+        assertEquals(2, writer.getCoalescedCount());
+        assertEquals("johndoe3", userService.getUserById(1L).get().getUsername());
+    }
+
+    @Test
+    void updateUser_SeparatedByDelete_ShouldNotCoalesce() throws Exception {
+        // Arrange
+        writer.deleteUser(GATE_ID);
+        assertTrue(gateEntered.await(5, TimeUnit.SECONDS));
+
+        // Act
+        CompletableFuture<Optional<User>> first =
+                writer.updateUser(2L, new User(null, "janedoe1", "jane@example.com", "Jane", "Doe"));
+        CompletableFuture<Boolean> deleted = writer.deleteUser(2L);
+        CompletableFuture<Optional<User>> second =
+                writer.updateUser(2L, new User(null, "janedoe2", "jane@example.com", "Jane", "Doe"));
+        gateReleased.countDown();
+
+        // Assert
+        assertEquals("janedoe1", first.get(5, TimeUnit.SECONDS).get().getUsername());
+        assertTrue(deleted.get(5, TimeUnit.SECONDS));
+        assertFalse(second.get(5, TimeUnit.SECONDS).isPresent());
+        assertEquals(0, writer.getCoalescedCount());
+    }
+
+    @Test
+    void createUser_FromManyThreads_ShouldAssignUniqueIds() throws Exception {
+        // Arrange
+        ExecutorService pool = Executors.newFixedThreadPool(8);
+        List<CompletableFuture<User>> futures = new ArrayList<>();
+
+        // Act
+        for (int i = 0; i < 1000; i++) {
+            final int n = i;
+            futures.add(CompletableFuture.supplyAsync(() -> writer.createUser(
+                    new User(null, "user" + n, "user" + n + "@example.com", "First", "Last")), pool)
+                    .thenCompose(future -> future));
+        }
+        CompletableFuture.allOf(futures.toArray(new CompletableFuture[0])).get(10, TimeUnit.SECONDS);
+        pool.shutdown();
+
+        // Assert
+        assertEquals(1003, userService.getUserCount());
+        assertEquals(1000, futures.stream().map(CompletableFuture::join).map(User::getId).distinct().count());
+        assertEquals(0, writer.getQueueDepth());
+    }
+
+    @Test
+    void deleteUser_ThrowingAnError_ShouldFailOnlyThatMutation() throws Exception {
+        // Act
+        CompletableFuture<Boolean> failed = writer.deleteUser(ERROR_ID);
+        CompletableFuture<User> created =
+                writer.createUser(new User(null, "alice", "alice@example.com", "Alice", "Wonder"));
+
+        // Assert
+        ExecutionException ex = assertThrows(ExecutionException.class, () -> failed.get(5, TimeUnit.SECONDS));
+        assertTrue(ex.getCause() instanceof StackOverflowError);
+        assertEquals(4L, created.get(5, TimeUnit.SECONDS).getId());
+    }
+
+    @Test
+    void createUser_AfterDestroy_ShouldBeRejected() throws Exception {
+        // Arrange
+        writer.destroy();
+
+        // Act
+        CompletableFuture<User> future =
+                writer.createUser(new User(null, "alice", "alice@example.com", "Alice", "Wonder"));
+
+        // Assert
+        ExecutionException ex = assertThrows(ExecutionException.class, () -> future.get(5, TimeUnit.SECONDS));
+        assertTrue(ex.getCause() instanceof RejectedExecutionException);
+        assertEquals(0, writer.getQueueDepth());
+    }
+}
@@ -0,0 +1,53 @@
+package com.example.api.service;
+
+import com.example.api.model.User;
+import com.example.api.repository.ColdUserSegment;
+import com.example.api.repository.InMemoryUserRepository;
+import com.example.api.repository.UserVersionHistory;
+import com.example.api.tenant.Tenant;
+import com.example.api.tenant.TenantRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for UserHistoryCollector
+ *
+ * @author Your Name
+ * @version 1.0.0
+ */
+class UserHistoryCollectorTest {
+
+    @Test
+    void collectOnce_ShouldTrimEveryTenantToTheRetentionWindow() {
+        // Arrange
+        AtomicLong clock = new AtomicLong(0L);
+        UserService defaultService = versionedService(clock);
+        TenantRegistry registry = new TenantRegistry(defaultService, InlineUserWriter::new,
+                tenantId -> versionedService(clock), 10, 100, 1);
+        Tenant acme = registry.get("acme");
+        User ann = defaultService.createUser(new User(null, "ann", "ann@example.com", "Ann", "Lee"));
+        User bob = acme.getService().createUser(new User(null, "bob", "bob@example.com", "Bob", "Lee"));
+        clock.set(10_000L);
+        acme.getService().updateUser(bob.getId(), new User(null, "bob", "bob@new.com", "Bob", "Lee"));
+        UserHistoryCollector collector = new UserHistoryCollector(registry, Duration.ofMillis(5_000), clock::get);
+        clock.set(12_000L);
+
+        // Act
+        int dropped = collector.collectOnce();
+
+        // Assert
+        assertEquals(2, dropped);
+        assertThrows(IllegalArgumentException.class, () -> defaultService.getUserByIdAsOf(ann.getId(), 6_999L));
+        assertEquals("bob@example.com", acme.getService().getUserByIdAsOf(bob.getId(), 7_000L).get().getEmail());
+    }
+
+    private static UserService versionedService(AtomicLong clock) {
+        return new UserService(new InMemoryUserRepository(),
+                new ColdUserSegment(new InMemoryUserRepository(), clock::get),
+                new UserVersionHistory(clock::get), false);
+    }
+}
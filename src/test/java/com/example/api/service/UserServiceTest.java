@@ -1,11 +1,21 @@
 package com.example.api.service;
 
+import com.example.api.deadline.Deadline;
+import com.example.api.exception.DeadlineExceededException;
 import com.example.api.model.User;
+import com.example.api.repository.ColdUserSegment;
+import com.example.api.repository.InMemoryUserRepository;
+import com.example.api.repository.UserVersionHistory;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongConsumer;
 
 import static org.junit.jupiter.api.Assertions.*;
 
@@ -195,6 +205,29 @@ class UserServiceTest {
         assertTrue(results.isEmpty());
     }
 
+    @Test
+    void searchUsersByNameFuzzy_ShouldRankByEditDistanceAndFollowUpdates() {
+        // Arrange
+        userService.createUser(new User(null, "jonsmith", "jon.smith@example.com", "Jon", "Smith"));
+        userService.deactivateUser(2L);
+        User renamed = new User(null, "bobsmith", "bob.smith@example.com", "Robert", "Smith");
+
+        // Act
+        List<User> typo = userService.searchUsersByNameFuzzy("Jhon", 2, 10);
+        List<User> limited = userService.searchUsersByNameFuzzy("Jhon", 2, 1);
+        List<User> deactivated = userService.searchUsersByNameFuzzy("jame", 1, 10);
+        userService.updateUser(3L, renamed);
+        List<User> oldName = userService.searchUsersByNameFuzzy("Bob", 0, 10);
+        List<User> newName = userService.searchUsersByNameFuzzy("Robbert", 1, 10);
+
+        // Assert
+        assertEquals(Arrays.asList("jonsmith", "johndoe"), usernames(typo));
+        assertEquals(Arrays.asList("jonsmith"), usernames(limited));
+        assertEquals(Arrays.asList("janedoe"), usernames(deactivated));
+        assertTrue(oldName.isEmpty());
+        assertEquals(Arrays.asList("bobsmith"), usernames(newName));
+    }
+
     @Test
     void getActiveUsers_ShouldReturnOnlyActiveUsers() {
         // Arrange
@@ -229,4 +262,432 @@ class UserServiceTest {
         // Assert
         assertEquals(1, activeCount);
     }
+
+    @Test
+    void getEmailDomainCounts_ShouldTrackMutations() {
+        // Arrange
+        userService.createUser(new User(null, "alice", "alice@wonder.org", "Alice", "Wonder"));
+        userService.deleteUser(1L);
+
+        // Act
+        Map<String, Long> domains = userService.getEmailDomainCounts(10);
+
+        // Assert
+        assertEquals(2L, domains.get("example.com"));
+        assertEquals(1L, domains.get("wonder.org"));
+    }
+
+    @Test
+    void getTopLastNames_ShouldReflectUpdates() {
+        // Arrange
+        userService.updateUser(3L, new User(null, "bobsmith", "bob.smith@example.com", "Bob", "Doe"));
+
+        // Act
+        Map<String, Long> lastNames = userService.getTopLastNames(5);
+
+        // Assert
+        assertEquals(3L, lastNames.get("Doe"));
+        assertFalse(lastNames.containsKey("Smith"));
+    }
+
+    @Test
+    void getStoreState_AfterConstruction_ShouldBeReady() {
+        // Assert
+        assertEquals(UserStoreState.READY, userService.getStoreState());
+        assertTrue(userService.getStoreState().acceptsTraffic());
+
+        // Act
+        userService.setStoreState(UserStoreState.OVERLOADED);
+
+        // Assert
+        assertFalse(userService.getStoreState().acceptsTraffic());
+    }
+
+    @Test
+    void getUsersByIds_ShouldReportFoundAndMissingOnce() {
+        // Arrange
+        List<User> found = new ArrayList<>();
+        List<Long> missing = new ArrayList<>();
+
+        // Act
+        userService.getUsersByIds(new long[] {3L, 1L, 42L, 3L}, found::add, missing::add);
+
+        // Assert
+        assertEquals(2, found.size());
+        assertTrue(found.stream().anyMatch(u -> u.getUsername().equals("johndoe")));
+        assertTrue(found.stream().anyMatch(u -> u.getUsername().equals("bobsmith")));
+        assertEquals(1, missing.size());
+        assertEquals(42L, missing.get(0));
+    }
+
+    @Test
+    void deactivateUser_ShouldMoveUserToColdSegmentKeepingId() {
+        // Arrange
+        InMemoryUserRepository hot = new InMemoryUserRepository();
+        UserService service = new UserService(hot, new ColdUserSegment(new InMemoryUserRepository()));
+
+        // Act
+        service.deactivateUser(2L);
+
+        // Assert
+        assertEquals(2, hot.count());
+        assertFalse(hot.findById(2L).isPresent());
+        assertEquals(1, service.getColdUserCount());
+        assertEquals(3, service.getUserCount());
+        assertFalse(service.getUserById(2L).get().isActive());
+        assertEquals(3, service.getAllUsers().size());
+        assertEquals(2L, service.getAllUsers().get(1).getId());
+        assertEquals(1, service.searchUsersByName("jane").size());
+    }
+
+    @Test
+    void updateUser_Reactivating_ShouldMoveUserBackToHotSegment() {
+        // Arrange
+        userService.deactivateUser(1L);
+        User update = new User(null, "johndoe", "john.doe@example.com", "John", "Doe");
+        update.setActive(true);
+
+        // Act
+        Optional<User> result = userService.updateUser(1L, update);
+
+        // Assert
+        assertTrue(result.isPresent());
+        assertEquals(1L, result.get().getId());
+        assertEquals(3, userService.getActiveUserCount());
+        assertEquals(0, userService.getColdUserCount());
+    }
+
+    @Test
+    void createUser_Inactive_ShouldGoStraightToColdSegment() {
+        // Arrange
+        User user = new User(null, "ghost", "ghost@example.com", "Ghost", "User");
+        user.setActive(false);
+
+        // Act
+        userService.createUser(user);
+
+        // Assert
+        assertEquals(3, userService.getActiveUserCount());
+        assertEquals(4, userService.getUserCount());
+        assertTrue(userService.getUserByUsername("ghost").isPresent());
+        assertTrue(userService.deleteUser(user.getId()));
+        assertEquals(0, userService.getColdUserCount());
+    }
+
+    @Test
+    void constructor_WithInactiveUsersInRepository_ShouldMoveThemToColdSegment() {
+        // Arrange
+        InMemoryUserRepository hot = new InMemoryUserRepository();
+        User inactive = new User(null, "old", "old@example.com", "Old", "User");
+        inactive.setActive(false);
+        hot.insert(new User(null, "current", "current@example.com", "Current", "User"));
+        hot.insert(inactive);
+
+        // Act
+        UserService service = new UserService(hot, new ColdUserSegment(new InMemoryUserRepository()));
+
+        // Assert
+        assertEquals(1, hot.count());
+        assertEquals(1, service.getColdUserCount());
+        assertEquals(1, service.getActiveUsers().size());
+    }
+
+    @Test
+    void constructor_ShouldLoadStoredUsersInPagesAndCountEachOnce() {
+        // Arrange: 7 stored users, every other one inactive, read 2 at a time
+        List<Long> pages = new ArrayList<>();
+        InMemoryUserRepository hot = new InMemoryUserRepository() {
+            @Override
+            public List<User> findPage(long afterId, int limit) {
+                pages.add(afterId);
+                return super.findPage(afterId, limit);
+            }
+
+            @Override
+            public List<User> findAll() {
+                throw new AssertionError("store read in one go");
+            }
+        };
+        for (int i = 0; i < 7; i++) {
+            User user = new User(null, "user" + i, "user" + i + "@example.com", "User", "Stored");
+            user.setActive(i % 2 == 0);
+            hot.insert(user);
+        }
+        InMemoryUserRepository coldStore = new InMemoryUserRepository();
+        coldStore.restore(new User(100L, "frozen", "frozen@example.com", "Frozen", "Stored"));
+
+        // Act
+        UserService service = new UserService(hot, new ColdUserSegment(coldStore),
+                new UserVersionHistory(), false, 2);
+
+        // Assert
+        assertEquals(Arrays.asList(0L, 2L, 4L, 6L), pages);
+        assertEquals(4, service.getActiveUserCount());
+        assertEquals(4, service.getColdUserCount());
+        assertEquals(8L, service.getTopLastNames(1).get("Stored").longValue());
+        assertEquals(8, service.searchUsersByNameFuzzy("Stored", 0, 100).size());
+    }
+
+    @Test
+    void expireColdUsers_ShouldRemoveOnlyUsersPastCutoffOldestFirst() {
+        // Arrange
+        AtomicLong clock = new AtomicLong(1_000L);
+        UserService service = new UserService(new InMemoryUserRepository(),
+                new ColdUserSegment(new InMemoryUserRepository(), clock::get));
+        service.deactivateUser(3L);
+        clock.set(2_000L);
+        service.deactivateUser(1L);
+        clock.set(3_000L);
+        service.deactivateUser(2L);
+        List<User> archived = new ArrayList<>();
+
+        // Act
+        int removed = service.expireColdUsers(2_500L, 10, archived::addAll);
+
+        // Assert
+        assertEquals(2, removed);
+        assertEquals(3L, archived.get(0).getId());
+        assertEquals(1L, archived.get(1).getId());
+        assertEquals(1, service.getUserCount());
+        assertTrue(service.getUserById(2L).isPresent());
+        assertEquals(0, service.expireColdUsers(2_500L, 10, archived::addAll));
+    }
+
+    @Test
+    void expireColdUsers_WhenArchivingFails_ShouldKeepBatch() {
+        // Arrange
+        userService.deactivateUser(1L);
+
+        // Act & Assert
+        assertThrows(IllegalStateException.class, () -> userService.expireColdUsers(Long.MAX_VALUE, 10, batch -> {
+            throw new IllegalStateException("disk full");
+        }));
+        assertEquals(1, userService.getColdUserCount());
+    }
+
+    @Test
+    void countNewUsers_ShouldSkipTakenAndRepeatedIds() {
+        // Arrange: ids 1 to 3 exist, 2 is deactivated
+        userService.deactivateUser(2L);
+        List<User> batch = Arrays.asList(
+                new User(1L, "johndoe", "john.doe@example.com", "John", "Doe"),
+                new User(2L, "janedoe", "jane.doe@example.com", "Jane", "Doe"),
+                new User(4L, "alice", "alice@example.com", "Alice", "Jones"),
+                new User(4L, "alice", "alice@example.com", "Alice", "Jones"),
+                new User(5L, "bob", "bob@example.com", "Bob", "Jones"));
+
+        // Act
+        int counted = userService.countNewUsers(batch);
+
+        // Assert
+        assertEquals(2, counted);
+        assertEquals(counted, userService.importUsers(batch));
+    }
+
+    @Test
+    void exportAndImport_ShouldCopyAllUsersWithTheirIds() {
+        // Arrange
+        userService.createUser(new User(null, "alice", "alice@example.com", "Alice", "Jones"));
+        userService.deactivateUser(2L);
+        List<User> exported = new ArrayList<>();
+        UserService target = new UserService(new InMemoryUserRepository(),
+                new ColdUserSegment(new InMemoryUserRepository()));
+        target.deleteUser(1L);
+        target.deleteUser(2L);
+        target.deleteUser(3L);
+
+        // Act
+        long visited = userService.exportUsers(2, page -> exported.addAll(new ArrayList<>(page)));
+        int imported = target.importUsers(exported);
+
+        // Assert
+        assertEquals(4, visited);
+        assertEquals(4, imported);
+        assertEquals(3, target.getActiveUserCount());
+        assertEquals(1, target.getColdUserCount());
+        assertFalse(target.getUserById(2L).get().isActive());
+        assertEquals("alice", target.getUserById(4L).get().getUsername());
+        assertEquals(5L, target.createUser(new User(null, "bob", "bob@example.com", "Bob", "Brown")).getId());
+    }
+
+    @Test
+    void importUsers_ShouldSkipIdsAlreadyTaken() {
+        // Arrange
+        User clash = new User(1L, "other", "other@example.com", "Other", "User");
+        User fresh = new User(10L, "fresh", "fresh@example.com", "Fresh", "User");
+        fresh.setActive(false);
+
+        // Act
+        int imported = userService.importUsers(Arrays.asList(clash, fresh, fresh));
+
+        // Assert
+        assertEquals(1, imported);
+        assertEquals("johndoe", userService.getUserById(1L).get().getUsername());
+        assertEquals(1, userService.getColdUserCount());
+        // The cold id is reserved in the active store too
+        assertEquals(11L, userService.createUser(new User(null, "next", "next@example.com", "Ne", "Xt")).getId());
+    }
+
+    @Test
+    void searchUsersByName_WhenDeadlineHasPassed_ShouldReturnIncompleteResult() {
+        // Arrange
+        Deadline expired = Deadline.afterMillis(0);
+
+        // Act
+        SearchResult result = userService.searchUsersByName("doe", expired);
+
+        // Assert
+        assertFalse(result.isComplete());
+        assertEquals(0, result.getScanned());
+        assertTrue(expired.wasHit());
+    }
+
+    @Test
+    void searchUsersByName_WithinDeadline_ShouldScanEverything() {
+        // Arrange
+        userService.deactivateUser(2L);
+
+        // Act
+        SearchResult result = userService.searchUsersByName("doe", Deadline.afterMillis(60_000));
+
+        // Assert
+        assertTrue(result.isComplete());
+        assertEquals(3, result.getScanned());
+        assertEquals(2, result.getUsers().size());
+        assertEquals(2L, result.getUsers().get(1).getId());
+    }
+
+    @Test
+    void getAllUsers_WhenDeadlineHasPassed_ShouldThrow() {
+        // Act & Assert
+        assertThrows(DeadlineExceededException.class, () -> userService.getAllUsers(Deadline.afterMillis(0)));
+        assertThrows(DeadlineExceededException.class, () -> userService.getActiveUsers(Deadline.afterMillis(0)));
+    }
+
+    @Test
+    void getUserByIdAsOf_ShouldReturnTheVersionCurrentThen() {
+        // Arrange
+        AtomicLong clock = new AtomicLong(500L);
+        UserService service = versionedService(clock);
+        clock.set(1_000L);
+        Long id = service.createUser(new User(null, "ann", "ann@old.com", "Ann", "Lee")).getId();
+        clock.set(2_000L);
+        service.updateUser(id, new User(null, "ann", "ann@new.com", "Ann", "Lee"));
+        clock.set(3_000L);
+        service.deleteUser(id);
+        clock.set(4_000L);
+
+        // Act & Assert
+        assertFalse(service.getUserByIdAsOf(id, 500L).isPresent());
+        assertEquals("ann@old.com", service.getUserByIdAsOf(id, 1_500L).get().getEmail());
+        assertEquals("ann@new.com", service.getUserByIdAsOf(id, 2_999L).get().getEmail());
+        assertFalse(service.getUserByIdAsOf(id, 3_000L).isPresent());
+        assertThrows(IllegalArgumentException.class, () -> service.getUserByIdAsOf(id, 4_000L));
+        assertThrows(IllegalArgumentException.class, () -> service.getUserByIdAsOf(id, 499L));
+    }
+
+    @Test
+    void getAllUsersAsOf_ShouldIgnoreLaterWrites() {
+        // Arrange
+        AtomicLong clock = new AtomicLong(1_000L);
+        UserService service = versionedService(clock);
+        Long ann = service.createUser(new User(null, "ann", "ann@example.com", "Ann", "Lee")).getId();
+        Long bob = service.createUser(new User(null, "bob", "bob@example.com", "Bob", "Lee")).getId();
+        clock.set(2_000L);
+        service.deactivateUser(ann);
+        service.updateUser(bob, new User(null, "robert", "bob@example.com", "Robert", "Lee"));
+        service.createUser(new User(null, "cy", "cy@example.com", "Cy", "Lee"));
+        clock.set(3_000L);
+
+        // Act
+        List<User> before = service.getAllUsersAsOf(1_500L, Deadline.none());
+        List<User> after = service.getAllUsersAsOf(2_500L, Deadline.none());
+
+        // Assert
+        assertEquals(2, before.size());
+        assertTrue(before.get(0).isActive());
+        assertEquals("bob", before.get(1).getUsername());
+        assertEquals(3, after.size());
+        assertFalse(after.get(0).isActive());
+        assertEquals("robert", after.get(1).getUsername());
+    }
+
+    @Test
+    void trimHistory_ShouldDropOldVersionsAndRefuseOlderReads() {
+        // Arrange
+        AtomicLong clock = new AtomicLong(1_000L);
+        UserVersionHistory history = new UserVersionHistory(clock::get);
+        UserService service = new UserService(new InMemoryUserRepository(),
+                new ColdUserSegment(new InMemoryUserRepository(), clock::get), history, false);
+        Long id = service.createUser(new User(null, "ann", "ann@old.com", "Ann", "Lee")).getId();
+        clock.set(2_000L);
+        service.updateUser(id, new User(null, "ann", "ann@new.com", "Ann", "Lee"));
+        clock.set(5_000L);
+
+        // Act
+        int dropped = service.trimHistory(2_500L);
+
+        // Assert
+        assertEquals(2, dropped);
+        assertEquals(0, history.size());
+        assertEquals("ann@new.com", service.getUserByIdAsOf(id, 2_500L).get().getEmail());
+        assertThrows(IllegalArgumentException.class, () -> service.getUserByIdAsOf(id, 1_500L));
+    }
+
+    @Test
+    void createUser_ShouldRecordCreationBeforeUserIsVisible() {
+        // Arrange: as soon as the user is visible, read it as of before its creation
+        AtomicLong clock = new AtomicLong(1_000L);
+        UserVersionHistory history = new UserVersionHistory(clock::get);
+        List<Optional<User>> seenAsOfEarlier = new ArrayList<>();
+        InMemoryUserRepository repository = new InMemoryUserRepository() {
+            @Override
+            public User insert(User user, LongConsumer beforePublish) {
+                User inserted = super.insert(user, beforePublish);
+                seenAsOfEarlier.add(history.resolve(inserted.getId(), Optional.of(inserted), 1_500L));
+                return inserted;
+            }
+        };
+        UserService service = new UserService(repository,
+                new ColdUserSegment(new InMemoryUserRepository(), clock::get), history, false);
+        clock.set(2_000L);
+
+        // Act
+        service.createUser(new User(null, "ann", "ann@example.com", "Ann", "Lee"));
+
+        // Assert
+        assertEquals(1, seenAsOfEarlier.size());
+        assertFalse(seenAsOfEarlier.get(0).isPresent());
+    }
+
+    @Test
+    void updateAndDeactivate_ShouldNotChangeUsersAlreadyRead() {
+        // Arrange
+        Long id = userService.createUser(new User(null, "ann", "ann@old.com", "Ann", "Lee")).getId();
+        User read = userService.getUserById(id).get();
+
+        // Act
+        userService.updateUser(id, new User(null, "ann", "ann@new.com", "Annie", "Lee"));
+        User updated = userService.getUserById(id).get();
+        userService.deactivateUser(id);
+
+        // Assert
+        assertEquals("ann@old.com", read.getEmail());
+        assertEquals("Ann", read.getFirstName());
+        assertEquals("ann@new.com", updated.getEmail());
+        assertTrue(updated.isActive());
+        assertFalse(userService.getUserById(id).get().isActive());
+    }
+
+    private static List<String> usernames(List<User> users) {
+        List<String> usernames = new ArrayList<>();
+        users.forEach(user -> usernames.add(user.getUsername()));
+        return usernames;
+    }
+
+    private static UserService versionedService(AtomicLong clock) {
+        return new UserService(new InMemoryUserRepository(),
+                new ColdUserSegment(new InMemoryUserRepository(), clock::get),
+                new UserVersionHistory(clock::get), false);
+    }
 }
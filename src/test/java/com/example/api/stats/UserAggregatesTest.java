@@ -0,0 +1,136 @@
+package com.example.api.stats;
+
+import com.example.api.model.User;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for UserAggregates and the underlying sketches
+ * 
+ * @author Your Name
+ * @version 1.0.0
+ */
+class UserAggregatesTest {
+
+    private AtomicLong clock;
+    private UserAggregates aggregates;
+
+    @BeforeEach
+    void setUp() {
+        clock = new AtomicLong(1_000_000L);
+        aggregates = new UserAggregates(clock::get);
+    }
+
+    @Test
+    void onCreate_ShouldCountDomainsAndNames() {
+        // Act
+        aggregates.onCreate(new User(1L, "johndoe", "john@example.com", "John", "Doe"));
+        aggregates.onCreate(new User(2L, "janedoe", "jane@Example.com", "Jane", "Doe"));
+        aggregates.onCreate(new User(3L, "bobsmith", "bob@test.org", "Bob", "Smith"));
+
+        // Assert
+        Map<String, Long> domains = aggregates.getDomainCounts(10);
+        assertEquals(2L, domains.get("example.com"));
+        assertEquals(1L, domains.get("test.org"));
+        assertEquals("example.com", domains.keySet().iterator().next());
+        assertEquals(2L, aggregates.getTopLastNames(1).get("Doe"));
+        assertEquals(2, aggregates.getDistinctDomainEstimate());
+    }
+
+    @Test
+    void onUpdateAndDelete_ShouldMoveCounts() {
+        // Arrange
+        User user = new User(1L, "johndoe", "john@example.com", "John", "Doe");
+        aggregates.onCreate(user);
+        user.setEmail("john@other.com");
+        user.setFirstName("Johnny");
+
+        // Act
+        aggregates.onUpdate("john@example.com", "Doe", "John", user);
+
+        // Assert
+        assertNull(aggregates.getDomainCounts(10).get("example.com"));
+        assertEquals(1L, aggregates.getDomainCounts(10).get("other.com"));
+        assertFalse(aggregates.getTopFirstNames(10).containsKey("John"));
+        assertEquals(1L, aggregates.getTopFirstNames(10).get("Johnny"));
+
+        // Act
+        aggregates.onDelete(user);
+
+        // Assert
+        assertTrue(aggregates.getDomainCounts(10).isEmpty());
+        assertTrue(aggregates.getTopLastNames(10).isEmpty());
+    }
+
+    @Test
+    void getTopFirstNames_ShouldReturnMostFrequentFirst() {
+        // Arrange
+        for (int i = 0; i < 1000; i++) {
+            String firstName = i % 10 == 0 ? "Common" : "Rare" + i;
+            aggregates.onCreate(new User((long) i, "user" + i, "u" + i + "@example.com", firstName, "Doe"));
+        }
+
+        // Act
+        Map<String, Long> top = aggregates.getTopFirstNames(3);
+
+        // Assert
+        assertEquals(3, top.size());
+        assertEquals("Common", top.keySet().iterator().next());
+        assertTrue(top.get("Common") >= 100);
+    }
+
+    @Test
+    void getDomainCounts_WithManyDistinctDomains_ShouldStayBounded() {
+        // Arrange
+        for (int i = 0; i < 20_000; i++) {
+            String domain = i % 4 == 0 ? "example.com" : "domain" + i + ".org";
+            aggregates.onCreate(new User((long) i, "user" + i, "u" + i + "@" + domain, "First", "Last"));
+        }
+
+        // Act
+        Map<String, Long> domains = aggregates.getDomainCounts(Integer.MAX_VALUE);
+
+        // Assert
+        assertTrue(domains.size() <= 64, "tracked " + domains.size() + " domains");
+        assertEquals("example.com", domains.keySet().iterator().next());
+        assertTrue(domains.get("example.com") >= 5_000);
+    }
+
+    @Test
+    void getCreationRate_ShouldExpireOldBuckets() {
+        // Arrange
+        aggregates.onCreate(new User(1L, "johndoe", "john@example.com", "John", "Doe"));
+        clock.addAndGet(10 * 60_000L);
+        aggregates.onCreate(new User(2L, "janedoe", "jane@example.com", "Jane", "Doe"));
+
+        // Act
+        Map<String, Long> rate = aggregates.getCreationRate();
+
+        // Assert
+        assertEquals(1L, rate.get("last1m"));
+        assertEquals(1L, rate.get("last5m"));
+        assertEquals(2L, rate.get("last15m"));
+        assertEquals(2L, rate.get("last60m"));
+    }
+
+    @Test
+    void hyperLogLog_ShouldEstimateWithinTolerance() {
+        // Arrange
+        HyperLogLog hll = new HyperLogLog(12);
+
+        // Act
+        for (int i = 0; i < 100_000; i++) {
+            hll.offer("domain" + i + ".com");
+            hll.offer("domain" + i + ".com");
+        }
+
+        // Assert
+        long estimate = hll.cardinality();
+        assertTrue(Math.abs(estimate - 100_000) < 100_000 * 0.05, "estimate was " + estimate);
+    }
+}
@@ -0,0 +1,125 @@
+package com.example.api.tenant;
+
+import com.example.api.exception.TenantBusyException;
+import com.example.api.exception.TenantQuotaExceededException;
+import com.example.api.model.User;
+import com.example.api.repository.ColdUserSegment;
+import com.example.api.repository.InMemoryUserRepository;
+import com.example.api.service.InlineUserWriter;
+import com.example.api.service.SingleWriterUserWriter;
+import com.example.api.service.UserService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.RejectedExecutionException;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for TenantRegistry and Tenant
+ *
+ * @author Your Name
+ * @version 1.0.0
+ */
+class TenantRegistryTest {
+
+    private UserService defaultService;
+    private TenantRegistry registry;
+
+    @BeforeEach
+    void setUp() {
+        defaultService = new UserService(new InMemoryUserRepository(),
+                new ColdUserSegment(new InMemoryUserRepository()));
+        registry = new TenantRegistry(defaultService, InlineUserWriter::new,
+                tenantId -> new UserService(new InMemoryUserRepository(),
+                        new ColdUserSegment(new InMemoryUserRepository()), false),
+                3, 2, 1);
+    }
+
+    @Test
+    void get_ShouldKeepTenantsApart() {
+        // Arrange
+        Tenant acme = registry.get("acme");
+
+        // Act
+        acme.getWriter().createUser(new User(null, "acmeuser", "a@acme.com", "Acme", "User")).join();
+
+        // Assert
+        assertSame(acme, registry.get("acme"));
+        assertSame(registry.get(null), registry.get(TenantRegistry.DEFAULT_TENANT));
+        assertSame(defaultService, registry.get(null).getService());
+        assertEquals(1, acme.getService().getUserCount());
+        assertEquals(0, registry.get("globex").getService().getUserCount());
+        assertFalse(defaultService.getAllUsers().stream().anyMatch(u -> "acmeuser".equals(u.getUsername())));
+    }
+
+    @Test
+    void get_WithInvalidIdOrTooManyTenants_ShouldThrow() {
+        // Arrange
+        registry.get("acme");
+        registry.get("globex");
+
+        // Act & Assert
+        assertThrows(IllegalArgumentException.class, () -> registry.get("Acme Corp"));
+        assertThrows(TenantQuotaExceededException.class, () -> registry.get("initech"));
+        assertEquals(3, registry.getTenants().size());
+    }
+
+    @Test
+    void tenant_ShouldEnforceUserQuotaAndScanLimit() {
+        // Arrange
+        Tenant acme = registry.get("acme");
+        acme.getWriter().createUser(new User(null, "one", "one@acme.com", "One", "User")).join();
+        acme.getWriter().createUser(new User(null, "two", "two@acme.com", "Two", "User")).join();
+
+        // Act & Assert
+        assertThrows(TenantQuotaExceededException.class, () -> acme.checkQuota(1));
+        try (Tenant.ScanPermit scan = acme.startScan()) {
+            assertThrows(TenantBusyException.class, acme::startScan);
+            registry.get("globex").startScan().close();
+        }
+        acme.startScan().close();
+    }
+
+    @Test
+    void get_ShouldBuildEveryTenantsWriterWithTheFactoryAndRemoveShouldStopIt() {
+        // Arrange
+        TenantRegistry singleWriter = new TenantRegistry(defaultService,
+                service -> new SingleWriterUserWriter(service, 16, 100),
+                tenantId -> new UserService(new InMemoryUserRepository(),
+                        new ColdUserSegment(new InMemoryUserRepository()), false),
+                3, 2, 1);
+        Tenant acme = singleWriter.get("acme");
+
+        // Act
+        acme.getWriter().createUser(new User(null, "acmeuser", "a@acme.com", "Acme", "User")).join();
+        singleWriter.remove("acme");
+
+        // Assert
+        assertTrue(singleWriter.get(null).getWriter() instanceof SingleWriterUserWriter);
+        assertTrue(acme.getWriter() instanceof SingleWriterUserWriter);
+        assertEquals(1, acme.getService().getUserCount());
+        CompletionException ex = assertThrows(CompletionException.class, () -> acme.getWriter()
+                .createUser(new User(null, "lateuser", "l@acme.com", "Late", "User")).join());
+        assertTrue(ex.getCause() instanceof RejectedExecutionException);
+        singleWriter.destroy();
+    }
+
+    @Test
+    void drop_ShouldForgetTenantAndRefuseTheDefaultOne() {
+        // Arrange
+        Tenant acme = registry.get("acme");
+        acme.getWriter().createUser(new User(null, "acmeuser", "a@acme.com", "Acme", "User")).join();
+
+        // Act
+        registry.drop("acme");
+        registry.drop("never_opened");
+
+        // Assert
+        assertNotSame(acme, registry.get("acme"));
+        assertEquals(0, registry.get("acme").getService().getUserCount());
+        assertThrows(IllegalArgumentException.class, () -> registry.drop(TenantRegistry.DEFAULT_TENANT));
+        assertThrows(IllegalArgumentException.class, () -> registry.drop("x; DROP TABLE users"));
+    }
+}
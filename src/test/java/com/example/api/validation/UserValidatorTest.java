@@ -0,0 +1,127 @@
+package com.example.api.validation;
+
+import com.example.api.model.User;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.springframework.validation.BeanPropertyBindingResult;
+import org.springframework.validation.Errors;
+import org.springframework.validation.FieldError;
+import org.springframework.validation.beanvalidation.SpringValidatorAdapter;
+
+import javax.validation.Validation;
+import javax.validation.ValidatorFactory;
+import java.util.Set;
+import java.util.TreeSet;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for UserValidator
+ * 
+ * Checks that the compiled validator reports exactly the same field
+ * errors as Hibernate Validator for the annotations on User
+ * 
+ * @author Your Name
+ * @version 1.0.0
+ */
+class UserValidatorTest {
+
+    private static ValidatorFactory factory;
+    private static SpringValidatorAdapter reflective;
+    private final UserValidator compiled = new UserValidator();
+
+    @BeforeAll
+    static void setUpFactory() {
+        factory = Validation.buildDefaultValidatorFactory();
+        reflective = new SpringValidatorAdapter(factory.getValidator());
+    }
+
+    @AfterAll
+    static void closeFactory() {
+        factory.close();
+    }
+
+    @Test
+    void validate_WithValidUser_ShouldReportNoErrors() {
+        // Act
+        Errors errors = validate(compiled, new User(null, "johndoe", "john.doe@example.com", "John", "Doe"));
+
+        // Assert
+        assertFalse(errors.hasErrors());
+    }
+
+    @Test
+    void validate_WithMissingFields_ShouldMatchReflectiveValidator() {
+        // Arrange
+        User user = new User(null, null, null, null, null);
+
+        // Act & Assert
+        assertSameErrors(user);
+        assertEquals(4, validate(compiled, user).getFieldErrorCount());
+    }
+
+    @Test
+    void validate_WithBlankAndShortFields_ShouldMatchReflectiveValidator() {
+        assertSameErrors(new User(null, "  ", " ", "J", "\t"));
+        assertSameErrors(new User(null, "ab", "a@b.c", "Jo", "Do"));
+        assertSameErrors(new User(null, repeat('x', 51), "a@b.c", repeat('y', 50), repeat('z', 51)));
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {
+        "john@example.com", "John.Doe+tag@Example.COM", "a@b", "invalid-email", "@example.com",
+        "john@", "john@@example.com", ".john@example.com", "john.@example.com", "jo..hn@example.com",
+        "john@example.com.", "john@.example.com", "john@exa..mple.com", "john@-example.com",
+        "john@example-.com", "john@ex-ample.com", "john@ex--ample.com", "\"john doe\"@example.com",
+        "\"jo\\\"hn\"@example.com", "john@[192.168.0.1]", "john@[IPv6:::1]", "john@[300.1.1.1]",
+        "jöhn@exämple.com", "john@例え.テスト", "j😀n@example.com", "john@ex😀.com",
+        "john doe@example.com", "john@exa mple.com", "john(comment)@example.com", "!#$%&'*+/=?^_`{|}~-@x.y",
+        "john@a_b.com", "john@123.com", "john@xn--80ak6aa92e.com"
+    })
+    void validate_Email_ShouldMatchReflectiveValidator(String email) {
+        assertSameErrors(new User(null, "johndoe", email, "John", "Doe"));
+    }
+
+    @Test
+    void validate_WithOverlongEmailParts_ShouldMatchReflectiveValidator() {
+        assertSameErrors(new User(null, "johndoe", repeat('a', 64) + "@example.com", "John", "Doe"));
+        assertSameErrors(new User(null, "johndoe", repeat('a', 65) + "@example.com", "John", "Doe"));
+        assertSameErrors(new User(null, "johndoe", "a@" + repeat('b', 63) + ".com", "John", "Doe"));
+        assertSameErrors(new User(null, "johndoe", "a@" + repeat('b', 64) + ".com", "John", "Doe"));
+        StringBuilder domain = new StringBuilder();
+        while (domain.length() < 260) {
+            domain.append(repeat('c', 40)).append('.');
+        }
+        assertSameErrors(new User(null, "johndoe", "a@" + domain + "com", "John", "Doe"));
+    }
+
+    private static void assertSameErrors(User user) {
+        assertEquals(describe(validate(reflective, user)), describe(validate(new UserValidator(), user)),
+                () -> "Mismatch for " + user);
+    }
+
+    private static Errors validate(org.springframework.validation.Validator validator, User user) {
+        Errors errors = new BeanPropertyBindingResult(user, "user");
+        validator.validate(user, errors);
+        return errors;
+    }
+
+    private static Set<String> describe(Errors errors) {
+        Set<String> result = new TreeSet<>();
+        for (FieldError error : errors.getFieldErrors()) {
+            result.add(error.getField() + ": " + error.getDefaultMessage());
+        }
+        return result;
+    }
+
+    private static String repeat(char c, int count) {
+        StringBuilder builder = new StringBuilder(count);
+        for (int i = 0; i < count; i++) {
+            builder.append(c);
+        }
+        return builder.toString();
+    }
+}
@@ -0,0 +1,63 @@
+package com.example.api.warmup;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.actuate.info.Info;
+
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for WarmupReport
+ *
+ * @author Your Name
+ * @version 1.0.0
+ */
+class WarmupReportTest {
+
+    @Test
+    void recordRequest_ShouldOnlyKeepTheFirstRequestsAfterWarmup() {
+        // Arrange
+        WarmupReport report = new WarmupReport(3);
+        report.recordWarmupCall("GET /users", 40_000_000L);
+        report.recordWarmupCall("GET /users", 1_000_000L);
+        report.recordRequest(99_000_000L);
+
+        // Act
+        report.warmupFinished(2, 50_000_000L);
+        report.recordRequest(2_000_000L);
+        report.recordRequest(1_000_000L);
+        report.recordRequest(3_000_000L);
+        report.recordRequest(99_000_000L);
+
+        // Assert
+        Map<String, Object> warmup = warmup(report);
+        assertEquals(true, warmup.get("finished"));
+        assertEquals(2, warmup.get("rounds"));
+        Map<?, ?> operation = (Map<?, ?>) ((Map<?, ?>) warmup.get("operations")).get("GET /users");
+        assertEquals(40.0, operation.get("coldMs"));
+        Map<?, ?> firstRequests = (Map<?, ?>) warmup.get("firstRequests");
+        assertEquals(3, firstRequests.get("count"));
+        assertEquals(2.0, firstRequests.get("p50Ms"));
+        assertEquals(3.0, firstRequests.get("maxMs"));
+    }
+
+    @Test
+    void percentile_ShouldUseNearestRank() {
+        // Arrange
+        long[] samples = {5, 1, 4, 2, 3};
+
+        // Act & Assert
+        assertEquals(3, WarmupReport.percentile(samples, 50));
+        assertEquals(5, WarmupReport.percentile(samples, 99));
+        assertEquals(1, WarmupReport.percentile(samples, 1));
+        assertEquals(0, WarmupReport.percentile(new long[0], 50));
+    }
+
+    @SuppressWarnings("unchecked")
+    private static Map<String, Object> warmup(WarmupReport report) {
+        Info.Builder builder = new Info.Builder();
+        report.contribute(builder);
+        return (Map<String, Object>) builder.build().getDetails().get("warmup");
+    }
+}